@@ -0,0 +1,93 @@
+package desempenho;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import EstatisticaFramework.DataSet;
+import EstatisticaFramework.OpcoesCSV;
+
+/**
+ * Classe BenchmarkDataSet para medir a leitura do arquivo CSV e o acesso às colunas do DataSet.
+ * @author João Vittor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkDataSet {
+
+    /**
+     * Leitura sequencial do arquivo.
+     * @param estado arquivo e DataSet gerados
+     * @return DataSet carregado
+     * @throws IOException
+     */
+    @Benchmark
+    public DataSet construirDataSet(EstadoDados estado) throws IOException {
+        return new DataSet(estado.arquivo);
+    }
+
+    /**
+     * Leitura paralela do arquivo, com todos os processadores disponíveis.
+     * @param estado arquivo e DataSet gerados
+     * @return DataSet carregado
+     * @throws IOException
+     */
+    @Benchmark
+    public DataSet construirDataSetParalelo(EstadoDados estado) throws IOException {
+        return new DataSet(estado.arquivo, new OpcoesCSV().setParalelismo(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Leitura somente da primeira coluna do arquivo (projeção); as demais colunas não são convertidas.
+     * @param estado arquivo e DataSet gerados
+     * @return DataSet carregado
+     * @throws IOException
+     */
+    @Benchmark
+    public DataSet construirDataSetProjetado(EstadoDados estado) throws IOException {
+        return new DataSet(estado.arquivo, new OpcoesCSV().setColunas(0));
+    }
+
+    /**
+     * Abertura do mesmo DataSet a partir do arquivo colunar (DataSet.abrir), sem interpretar o CSV.
+     * @param estado arquivo e DataSet gerados
+     * @return DataSet aberto
+     * @throws IOException
+     */
+    @Benchmark
+    public DataSet abrirArquivoColunar(EstadoDados estado) throws IOException {
+        return DataSet.abrir(estado.arquivoColunar);
+    }
+
+    /**
+     * Cópia dos valores de uma coluna em uma lista (getColuna).
+     * @param estado arquivo e DataSet gerados
+     * @return valores da coluna
+     */
+    @Benchmark
+    public List<Double> getColuna(EstadoDados estado) {
+        return estado.dataSet.getColuna(0);
+    }
+
+    /**
+     * Cópia dos valores de uma coluna em um vetor primitivo (getValores).
+     * @param estado arquivo e DataSet gerados
+     * @return valores da coluna
+     */
+    @Benchmark
+    public double[] getValores(EstadoDados estado) {
+        return estado.dataSet.getValores(0);
+    }
+
+}
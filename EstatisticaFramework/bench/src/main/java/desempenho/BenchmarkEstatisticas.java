@@ -0,0 +1,98 @@
+package desempenho;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import EstatisticaFramework.EstatisticaFramework;
+import EstatisticaFramework.PerfilColuna;
+import EstatisticaFramework.Roll;
+
+/**
+ * Classe BenchmarkEstatisticas para medir os cálculos do EstatisticaFramework sobre uma coluna do DataSet
+ * (e, na matriz de correlação, sobre todas as colunas).
+ * O cache do DataSet está desativado (ver EstadoDados), então cada chamada refaz o cálculo.
+ * @author João Vittor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkEstatisticas {
+    /**
+     * Framework utilizado nos cálculos.
+     */
+    private final EstatisticaFramework estatisticaFramework = new EstatisticaFramework();
+
+    /**
+     * Matriz de frequência da coluna (getFrequencia).
+     * @param estado arquivo e DataSet gerados
+     * @return matriz de frequência
+     */
+    @Benchmark
+    public List<List<Double>> getFrequencia(EstadoDados estado) {
+        return estatisticaFramework.getFrequencia(estado.dataSet, 0);
+    }
+
+    /**
+     * Mediana da coluna.
+     * @param estado arquivo e DataSet gerados
+     * @return mediana
+     */
+    @Benchmark
+    public double calcularMediana(EstadoDados estado) {
+        return estatisticaFramework.calcularMediana(estado.dataSet, 0);
+    }
+
+    /**
+     * Moda da coluna.
+     * @param estado arquivo e DataSet gerados
+     * @return moda
+     */
+    @Benchmark
+    public double calcularModa(EstadoDados estado) {
+        return estatisticaFramework.calcularModa(estado.dataSet, 0);
+    }
+
+    /**
+     * Perfil completo da coluna (todas as estatísticas juntas).
+     * @param estado arquivo e DataSet gerados
+     * @return perfil da coluna
+     */
+    @Benchmark
+    public PerfilColuna calcularPerfil(EstadoDados estado) {
+        return estatisticaFramework.calcularPerfil(estado.dataSet, 0);
+    }
+
+    /**
+     * Tabela Roll da coluna.
+     * @param estado arquivo e DataSet gerados
+     * @return tabela Roll
+     */
+    @Benchmark
+    public Roll gerarRoll(EstadoDados estado) {
+        return estatisticaFramework.gerarRoll(estado.dataSet, 0);
+    }
+
+    /**
+     * Matriz de correlação de Pearson entre todas as colunas.
+     * @param estado arquivo e DataSet gerados
+     * @return matriz de correlação
+     */
+    @Benchmark
+    public double[][] calcularCorrelacao(EstadoDados estado) {
+        return estatisticaFramework.calcularCorrelacao(estado.dataSet);
+    }
+
+}
@@ -0,0 +1,113 @@
+package desempenho;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import EstatisticaFramework.EstatisticaFramework;
+import EstatisticaFramework.RenderizadorGrafico;
+
+/**
+ * Classe BenchmarkRelatorio para medir a geração do relatório HTML sem o custo de desenhar os gráficos.
+ * O renderizador é substituído por um que devolve uma imagem de 1x1 pixel, assim o resultado mede
+ * as estatísticas, a tabela Roll e a escrita das páginas.
+ * As mensagens de progresso escritas em System.out são descartadas durante as medições, e os arquivos gerados
+ * (páginas e imagens, criados na pasta atual com o nome "relatorio_benchmark") são removidos ao final.
+ * @author João Vittor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkRelatorio {
+    /**
+     * Framework com o renderizador de gráficos substituído.
+     */
+    private EstatisticaFramework estatisticaFramework;
+    /**
+     * Nome (sem extensão) do relatório gerado. As páginas recebem o número da coluna como prefixo,
+     * então o nome não pode conter pastas.
+     */
+    private static final String RELATORIO = "relatorio_benchmark";
+    /**
+     * Saída padrão original, restaurada ao final das medições.
+     */
+    private PrintStream saidaOriginal;
+
+    /**
+     * Método para preparar o framework e descartar as mensagens de progresso do relatório.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        estatisticaFramework = new EstatisticaFramework(new RenderizadorVazio());
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Método para restaurar a saída padrão e remover as páginas e imagens geradas.
+     * @param estado arquivo e DataSet gerados
+     * @throws IOException
+     */
+    @TearDown(Level.Trial)
+    public void limpar(EstadoDados estado) throws IOException {
+        System.setOut(saidaOriginal);
+        Files.deleteIfExists(Paths.get(RELATORIO + ".html"));
+        for (int i = 0; i < estado.dataSet.getLargura(); i++) {
+            Files.deleteIfExists(Paths.get(i + RELATORIO + ".html"));
+            for (String grafico : new String[] {"histograma", "setores", "pareto"}) {
+                Files.deleteIfExists(Paths.get(i + grafico + ".png"));
+            }
+        }
+    }
+
+    /**
+     * Relatório de todas as colunas, com as páginas geradas em paralelo.
+     * @param estado arquivo e DataSet gerados
+     * @return verdadeiro se o relatório foi gerado
+     */
+    @Benchmark
+    public boolean gerarRelatorio(EstadoDados estado) {
+        return estatisticaFramework.gerarRelatorio(estado.dataSet, RELATORIO);
+    }
+
+    /**
+     * Relatório de todas as colunas, gerado por uma única thread.
+     * @param estado arquivo e DataSet gerados
+     * @return verdadeiro se o relatório foi gerado
+     */
+    @Benchmark
+    public boolean gerarRelatorioSequencial(EstadoDados estado) {
+        return estatisticaFramework.gerarRelatorio(estado.dataSet, RELATORIO, 1);
+    }
+
+    /**
+     * Classe RenderizadorVazio que não desenha os gráficos.
+     */
+    private static class RenderizadorVazio extends RenderizadorGrafico {
+        @Override
+        public BufferedImage renderizar(String tipo, String[] rotulos, double[] quantidades) {
+            return new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package desempenho;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import EstatisticaFramework.DataSet;
+
+/**
+ * Classe EstadoDados com o arquivo sintético e o DataSet compartilhados pelos benchmarks.
+ * O arquivo é gerado uma única vez por combinação de parâmetros (tamanho, cardinalidade e densidade de "NA"),
+ * junto com a sua cópia no formato colunar (DataSet.salvar).
+ * O cache do DataSet é desativado, para que cada chamada meça o cálculo e não a consulta ao cache.
+ * Os tamanhos padrão vão até 10^6 linhas, para que a execução sem opções caiba na memória padrão da JVM.
+ * Tamanhos grandes são escolhidos na linha de comando, por exemplo "-p linhas=10000000,100000000 -jvmArgs -Xmx16g",
+ * e precisam de bastante memória e espaço em disco.
+ * @author João Vittor
+ */
+@State(Scope.Benchmark)
+public class EstadoDados {
+    /**
+     * Quantidade de linhas do arquivo.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public long linhas;
+    /**
+     * Perfil de cardinalidade da primeira coluna.
+     */
+    @Param({"BAIXA", "MEDIA", "ALTA"})
+    public GeradorDados.Cardinalidade cardinalidade;
+    /**
+     * Fração das células numéricas com "NA".
+     */
+    @Param({"0", "0.05"})
+    public double densidadeNA;
+
+    /**
+     * Caminho do arquivo gerado.
+     */
+    public String arquivo;
+    /**
+     * Caminho do arquivo colunar gravado a partir do DataSet.
+     */
+    public String arquivoColunar;
+    /**
+     * DataSet carregado a partir do arquivo.
+     */
+    public DataSet dataSet;
+
+    /**
+     * Método para gerar o arquivo e carregar o DataSet antes das medições.
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        arquivo = GeradorDados.gerarCSV(linhas, cardinalidade, densidadeNA);
+        dataSet = new DataSet(arquivo);
+        arquivoColunar = arquivo + ".colunar";
+        dataSet.salvar(arquivoColunar);
+        new File(arquivoColunar).deleteOnExit();
+        dataSet.setLimiteCache(0);
+    }
+
+    /**
+     * Método para remover os arquivos gerados ao final das medições de cada combinação de parâmetros.
+     */
+    @TearDown(Level.Trial)
+    public void limpar() {
+        new File(arquivo).delete();
+        new File(arquivoColunar).delete();
+    }
+
+}
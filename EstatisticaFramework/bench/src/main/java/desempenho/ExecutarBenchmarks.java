@@ -0,0 +1,40 @@
+package desempenho;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Classe ExecutarBenchmarks para executar os benchmarks JMH com o profiler de GC,
+ * que mostra a taxa de alocação (gc.alloc.rate e gc.alloc.rate.norm) de cada benchmark junto com o tempo.
+ * Aceita as mesmas opções de linha de comando do JMH, por exemplo:
+ * "BenchmarkEstatisticas -p linhas=1000,100000 -p cardinalidade=BAIXA" para executar somente parte dos benchmarks e tamanhos.
+ * As JVMs dos benchmarks são iniciadas com o módulo jdk.incubator.vector, para que as reduções vetoriais (SIMD) sejam medidas no Java 21+.
+ * O resultado também é gravado em resultado-jmh.json, que pode ser comparado entre versões para encontrar regressões.
+ * @author João Vittor
+ */
+public class ExecutarBenchmarks {
+
+    /**
+     * Método principal.
+     * @param args opções de linha de comando do JMH
+     * @throws RunnerException
+     * @throws CommandLineOptionException
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options opcoes = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("--add-modules=jdk.incubator.vector")
+                .resultFormat(ResultFormatType.JSON)
+                .result("resultado-jmh.json")
+                .build();
+        new Runner(opcoes).run();
+    }
+
+}
@@ -0,0 +1,103 @@
+package desempenho;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+/**
+ * Classe GeradorDados para gerar arquivos CSV sintéticos utilizados pelos benchmarks.
+ * Cada arquivo tem três colunas: valores inteiros com a cardinalidade escolhida, valores decimais e uma categoria de texto.
+ * A densidade de "NA" define a fração das células numéricas sem valor.
+ * Os arquivos são gerados com uma semente fixa, então a mesma configuração sempre gera o mesmo arquivo.
+ * @author João Vittor
+ */
+public class GeradorDados {
+    /**
+     * Perfis de cardinalidade (quantidade de valores distintos) da primeira coluna.
+     */
+    public enum Cardinalidade {
+        /**
+         * Poucos valores distintos (10), como notas ou categorias numéricas.
+         */
+        BAIXA(10),
+        /**
+         * Quantidade moderada de valores distintos (10 mil).
+         */
+        MEDIA(10_000),
+        /**
+         * Valores praticamente todos distintos.
+         */
+        ALTA(Integer.MAX_VALUE);
+
+        /**
+         * Quantidade máxima de valores distintos.
+         */
+        private final int distintos;
+
+        /**
+         * Construtor do perfil de cardinalidade.
+         * @param distintos quantidade máxima de valores distintos
+         */
+        Cardinalidade(int distintos) {
+            this.distintos = distintos;
+        }
+
+        /**
+         * Método para retornar a quantidade máxima de valores distintos.
+         * @return quantidade de valores distintos
+         */
+        public int getDistintos() {
+            return distintos;
+        }
+    }
+
+    /**
+     * Semente fixa dos valores gerados.
+     */
+    private static final long SEMENTE = 42;
+
+    /**
+     * Construtor privado, pois a classe possui apenas métodos estáticos.
+     */
+    private GeradorDados() {
+
+    }
+
+    /**
+     * Método para gerar um arquivo CSV sintético em um arquivo temporário (removido ao final da JVM).
+     * @param linhas quantidade de linhas do arquivo
+     * @param cardinalidade perfil de cardinalidade da primeira coluna
+     * @param densidadeNA fração das células numéricas com "NA", entre 0 e 1
+     * @return caminho do arquivo gerado
+     * @throws IOException
+     */
+    public static String gerarCSV(long linhas, Cardinalidade cardinalidade, double densidadeNA) throws IOException {
+        File arquivo = File.createTempFile("desempenho", ".csv");
+        arquivo.deleteOnExit();
+        SplittableRandom random = new SplittableRandom(SEMENTE);
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo.toPath(), StandardCharsets.UTF_8)) {
+            StringBuilder linha = new StringBuilder(64);
+            for (long i = 0; i < linhas; i++) {
+                linha.setLength(0);
+                if (random.nextDouble() < densidadeNA) {
+                    linha.append("NA");
+                } else {
+                    linha.append(random.nextInt(cardinalidade.getDistintos()));
+                }
+                linha.append(',');
+                if (random.nextDouble() < densidadeNA) {
+                    linha.append("NA");
+                } else {
+                    linha.append(Math.round(random.nextDouble() * 1_000_000) / 100.0);
+                }
+                linha.append(',').append("categoria").append(random.nextInt(20)).append('\n');
+                saida.append(linha);
+            }
+        }
+        return arquivo.getPath();
+    }
+
+}
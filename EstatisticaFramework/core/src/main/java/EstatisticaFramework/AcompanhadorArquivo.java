@@ -0,0 +1,472 @@
+package EstatisticaFramework;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe AcompanhadorArquivo para acompanhar um arquivo CSV que cresce (por exemplo, um log) e adicionar ao DataSet somente as linhas novas.
+ * O acompanhador guarda a posição (em bytes) até onde o arquivo já foi lido e, a cada verificação, lê apenas os bytes acrescentados depois dela,
+ * que são interpretados pelo LeitorCSV e adicionados ao DataSet (DataSet.adicionarLinhas), atualizando as estatísticas das colunas acompanhadas.
+ * <p>
+ * Uma linha incompleta no fim do arquivo (ainda sem quebra de linha) fica guardada até que o restante dela seja escrito.
+ * Rotações do arquivo também são tratadas: se o arquivo diminuir (truncado) ou se os últimos bytes já lidos mudarem (truncado e reescrito
+ * além da posição lida antes da verificação, como na rotação por cópia e truncamento), ele é lido novamente desde o início;
+ * se o arquivo for substituído por outro (renomeado e criado de novo), o restante do arquivo antigo é lido e o novo arquivo é lido desde o início.
+ * Quando o DataSet foi lido de um arquivo com cabeçalho, a primeira linha do arquivo lido desde o início é descartada.
+ * <p>
+ * As verificações podem ser feitas pelo método verificar ou por uma thread própria (iniciar), que espera por eventos do WatchService
+ * do diretório e também verifica o arquivo periodicamente, já que alguns sistemas de arquivos (por exemplo, de rede) não geram eventos.
+ * O DataSet sincroniza a adição das linhas com as suas leituras, e os cálculos da EstatisticaFramework são feitos sobre instantâneos das colunas,
+ * portanto o DataSet pode ser lido em outra thread enquanto o arquivo é acompanhado
+ * (somente colunas obtidas por getColunaArmazenada e percorridas diretamente exigem synchronized (ds)).
+ * @author João Vittor
+ */
+public class AcompanhadorArquivo implements Closeable {
+    /**
+     * Quantidade máxima de bytes lidos do arquivo de cada vez.
+     */
+    public static final int TAMANHO_LEITURA = 1 << 20;
+    /**
+     * Intervalo padrão (em milissegundos) entre as verificações da thread do acompanhador.
+     */
+    public static final long INTERVALO_PADRAO = 1000;
+    /**
+     * Quantidade máxima de bytes da assinatura do arquivo.
+     */
+    private static final int TAMANHO_ASSINATURA = 64;
+
+    /**
+     * DataSet que recebe as linhas novas.
+     */
+    private final DataSet dataSet;
+    /**
+     * Caminho do arquivo acompanhado.
+     */
+    private final Path caminho;
+    /**
+     * Canal do arquivo que está sendo lido (o arquivo antigo continua aberto até ser lido por inteiro depois de uma rotação).
+     */
+    private FileChannel canal;
+    /**
+     * Identificação do arquivo no sistema de arquivos (por exemplo, o inode), utilizada para perceber que o arquivo foi substituído.
+     */
+    private Object chaveArquivo;
+    /**
+     * Posição (em bytes) até onde o arquivo já foi lido.
+     */
+    private long posicao;
+    /**
+     * Últimos bytes já lidos do arquivo (os que estão imediatamente antes da posição de leitura), comparados a cada verificação
+     * para perceber um arquivo truncado que voltou a crescer além da posição lida.
+     */
+    private byte[] assinatura;
+    /**
+     * Bytes lidos que ainda não formam uma linha completa.
+     */
+    private byte[] pendente;
+    /**
+     * Quantidade de bytes guardados em pendente.
+     */
+    private int tamanhoPendente;
+    /**
+     * Quantidade de rotações (arquivo truncado ou substituído) percebidas.
+     */
+    private long rotacoes;
+    /**
+     * Indica que a primeira linha dos bytes pendentes é o cabeçalho de um arquivo lido desde o início e deve ser descartada.
+     */
+    private boolean pularCabecalho;
+
+    /**
+     * Thread das verificações periódicas (nula enquanto o acompanhamento não for iniciado).
+     */
+    private Thread tarefa;
+    /**
+     * Observador de eventos do diretório do arquivo (nulo caso o sistema de arquivos não ofereça um).
+     */
+    private volatile WatchService observador;
+    /**
+     * Sinal para o encerramento da thread das verificações.
+     */
+    private final CountDownLatch encerramento;
+    /**
+     * Erro que encerrou a thread das verificações (nulo caso não tenha ocorrido erro).
+     */
+    private volatile IOException erro;
+
+    /**
+     * Construtor da classe AcompanhadorArquivo.
+     * Acompanha um arquivo cujo início (até a posição informada) já está no DataSet.
+     * @param dataSet DataSet que recebe as linhas novas
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param posicao posição (em bytes) do início das linhas que ainda não foram lidas (deve ser o início de uma linha)
+     * @throws IOException
+     */
+    public AcompanhadorArquivo(DataSet dataSet, String arquivo, long posicao) throws IOException {
+        this.dataSet = dataSet;
+        this.caminho = Paths.get(arquivo);
+        this.canal = FileChannel.open(caminho, StandardOpenOption.READ);
+        this.chaveArquivo = lerChave(caminho);
+        this.posicao = Math.max(posicao, LeitorCSV.pularBOM(canal));
+        this.assinatura = lerAssinatura();
+        this.pendente = new byte[1024];
+        this.tamanhoPendente = 0;
+        this.rotacoes = 0;
+        this.encerramento = new CountDownLatch(1);
+    }
+
+    /**
+     * Método para ler um arquivo CSV em um DataSet e acompanhar as linhas que forem acrescentadas a ele.
+     * @param arquivo caminho e nome do arquivo CSV
+     * @return acompanhador do arquivo, com o DataSet das linhas já existentes
+     * @throws IOException
+     */
+    public static AcompanhadorArquivo abrir(String arquivo) throws IOException {
+        return abrir(arquivo, new OpcoesCSV());
+    }
+
+    /**
+     * Método para ler um arquivo CSV em um DataSet e acompanhar as linhas que forem acrescentadas a ele.
+     * O DataSet recebe somente as linhas completas; uma linha ainda incompleta no fim do arquivo é lida pelo acompanhador quando terminar.
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param opcoes opções de leitura do arquivo CSV
+     * @return acompanhador do arquivo, com o DataSet das linhas já existentes
+     * @throws IOException
+     */
+    public static AcompanhadorArquivo abrir(String arquivo, OpcoesCSV opcoes) throws IOException {
+        long fim;
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            fim = fimUltimaLinha(canal, canal.size());
+        }
+        DataSet dataSet = new DataSet(arquivo, opcoes, fim);
+        return new AcompanhadorArquivo(dataSet, arquivo, fim);
+    }
+
+    /**
+     * Método para retornar o DataSet que recebe as linhas novas.
+     * @return DataSet acompanhado
+     */
+    public DataSet getDataSet() {
+        return dataSet;
+    }
+
+    /**
+     * Método para retornar a posição (em bytes) até onde o arquivo atual já foi lido.
+     * @return posição de leitura
+     */
+    public synchronized long getPosicao() {
+        return posicao;
+    }
+
+    /**
+     * Método para retornar a quantidade de rotações (arquivo truncado ou substituído) percebidas.
+     * @return quantidade de rotações
+     */
+    public synchronized long getRotacoes() {
+        return rotacoes;
+    }
+
+    /**
+     * Método para retornar o erro que encerrou a thread das verificações.
+     * @return erro da thread (nulo caso não tenha ocorrido erro)
+     */
+    public IOException getErro() {
+        return erro;
+    }
+
+    /**
+     * Método para ler os bytes acrescentados ao arquivo desde a última verificação e adicionar as linhas completas ao DataSet.
+     * @return quantidade de linhas adicionadas
+     * @throws IOException
+     */
+    public synchronized int verificar() throws IOException {
+        int antes = dataSet.getAltura();
+        if (isReescrito()) {
+            // Arquivo truncado (e talvez já reescrito além da posição lida): o conteúdo atual é lido desde o início
+            // e a linha incompleta anterior é descartada.
+            rotacoes++;
+            tamanhoPendente = 0;
+            posicao = LeitorCSV.pularBOM(canal);
+            pularCabecalho = dataSet.isCabecalho();
+        }
+        lerNovosBytes();
+
+        Object chaveAtual = lerChave(caminho);
+        if (chaveAtual != null && chaveArquivo != null && !chaveAtual.equals(chaveArquivo)) {
+            // Arquivo substituído: o antigo já foi lido até o fim, então a sua última linha (mesmo sem quebra de linha) está completa.
+            rotacoes++;
+            consumirPendente(true);
+            FileChannel novo;
+            try {
+                novo = FileChannel.open(caminho, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                // O arquivo foi removido entre a verificação e a abertura: a troca é feita na próxima verificação.
+                assinatura = lerAssinatura();
+                return dataSet.getAltura() - antes;
+            }
+            canal.close();
+            canal = novo;
+            chaveArquivo = chaveAtual;
+            posicao = LeitorCSV.pularBOM(canal);
+            pularCabecalho = dataSet.isCabecalho();
+            lerNovosBytes();
+        }
+        assinatura = lerAssinatura();
+        return dataSet.getAltura() - antes;
+    }
+
+    /**
+     * Método para verificar se o arquivo atual foi truncado desde a última leitura: ele diminuiu, ou os bytes antes da posição de leitura
+     * não são mais os que foram lidos (o arquivo foi truncado e voltou a crescer além da posição lida).
+     * @return true caso o arquivo tenha sido truncado
+     * @throws IOException
+     */
+    private boolean isReescrito() throws IOException {
+        return canal.size() < posicao || !Arrays.equals(assinatura, lerAssinatura());
+    }
+
+    /**
+     * Método para ler a assinatura do arquivo atual: os últimos bytes (até TAMANHO_ASSINATURA) antes da posição de leitura.
+     * @return bytes antes da posição de leitura
+     * @throws IOException
+     */
+    private byte[] lerAssinatura() throws IOException {
+        int quantidade = (int) Math.min(TAMANHO_ASSINATURA, posicao);
+        ByteBuffer bytes = ByteBuffer.allocate(quantidade);
+        long inicio = posicao - quantidade;
+        while (bytes.hasRemaining() && canal.read(bytes, inicio + bytes.position()) > 0) {
+            // Lê a assinatura inteira.
+        }
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * Método para iniciar as verificações em uma thread própria, no intervalo padrão.
+     */
+    public void iniciar() {
+        iniciar(INTERVALO_PADRAO);
+    }
+
+    /**
+     * Método para iniciar as verificações em uma thread própria.
+     * A thread verifica o arquivo a cada evento do diretório e, na falta de eventos, a cada intervalo.
+     * Um erro de leitura encerra a thread e fica disponível em getErro.
+     * @param intervalo intervalo máximo (em milissegundos) entre as verificações
+     */
+    public synchronized void iniciar(long intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("O intervalo deve ser positivo: " + intervalo);
+        }
+        if (tarefa != null) {
+            throw new IllegalStateException("O acompanhamento do arquivo já foi iniciado: " + caminho);
+        }
+        observador = criarObservador();
+        tarefa = new Thread(() -> executar(intervalo), "AcompanhadorArquivo-" + caminho.getFileName());
+        tarefa.setDaemon(true);
+        tarefa.start();
+    }
+
+    /**
+     * Método para encerrar o acompanhamento: a thread das verificações (caso exista) é encerrada e o arquivo é fechado.
+     * As linhas já adicionadas continuam no DataSet.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        encerramento.countDown();
+        WatchService atual = observador;
+        if (atual != null) {
+            atual.close();
+        }
+        Thread thread;
+        synchronized (this) {
+            thread = tarefa;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            canal.close();
+        }
+    }
+
+    /**
+     * Método executado pela thread das verificações.
+     * @param intervalo intervalo máximo (em milissegundos) entre as verificações
+     */
+    private void executar(long intervalo) {
+        try {
+            while (encerramento.getCount() > 0) {
+                verificar();
+                WatchService atual = observador;
+                if (atual == null) {
+                    encerramento.await(intervalo, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                WatchKey chave = atual.poll(intervalo, TimeUnit.MILLISECONDS);
+                if (chave != null) {
+                    chave.pollEvents();
+                    chave.reset();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Acompanhamento encerrado.
+        } catch (IOException e) {
+            if (encerramento.getCount() > 0) {
+                erro = e;
+            }
+        }
+    }
+
+    /**
+     * Método para criar o observador de eventos do diretório do arquivo.
+     * @return observador do diretório (nulo caso o sistema de arquivos não ofereça um; nesse caso o arquivo é apenas verificado periodicamente)
+     */
+    private WatchService criarObservador() {
+        Path diretorio = caminho.toAbsolutePath().getParent();
+        WatchService novo = null;
+        try {
+            novo = diretorio.getFileSystem().newWatchService();
+            diretorio.register(novo, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return novo;
+        } catch (IOException | UnsupportedOperationException e) {
+            if (novo != null) {
+                try {
+                    novo.close();
+                } catch (IOException e2) {
+                    // O observador não chegou a ser utilizado.
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Método para ler os bytes do arquivo atual que estão depois da posição de leitura, adicionando as linhas completas ao DataSet.
+     * @throws IOException
+     */
+    private void lerNovosBytes() throws IOException {
+        long tamanho = canal.size();
+        while (posicao < tamanho) {
+            int quantidade = (int) Math.min(TAMANHO_LEITURA, tamanho - posicao);
+            if (tamanhoPendente + quantidade > pendente.length) {
+                pendente = Arrays.copyOf(pendente, Math.max(tamanhoPendente + quantidade, pendente.length * 2));
+            }
+            int lidos = canal.read(ByteBuffer.wrap(pendente, tamanhoPendente, quantidade), posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            posicao += lidos;
+            tamanhoPendente += lidos;
+            consumirPendente(false);
+        }
+    }
+
+    /**
+     * Método para adicionar ao DataSet as linhas completas dos bytes pendentes, mantendo somente a linha incompleta do final.
+     * @param fimArquivo verdadeiro se o arquivo terminou (a última linha é adicionada mesmo sem quebra de linha)
+     */
+    private void consumirPendente(boolean fimArquivo) {
+        if (pularCabecalho) {
+            int fimCabecalho = fimPrimeiraLinha(dataSet.getOpcoes().getAspas());
+            if (fimCabecalho < 0 && !fimArquivo) {
+                // O cabeçalho ainda não terminou de ser escrito.
+                return;
+            }
+            descartarPendente(fimCabecalho < 0 ? tamanhoPendente : fimCabecalho);
+            pularCabecalho = false;
+        }
+        if (tamanhoPendente == 0) {
+            return;
+        }
+        int consumido = dataSet.adicionarLinhas(ByteBuffer.wrap(pendente), tamanhoPendente, fimArquivo);
+        descartarPendente(consumido);
+    }
+
+    /**
+     * Método para descartar o início dos bytes pendentes.
+     * @param quantidade quantidade de bytes descartados
+     */
+    private void descartarPendente(int quantidade) {
+        System.arraycopy(pendente, quantidade, pendente, 0, tamanhoPendente - quantidade);
+        tamanhoPendente -= quantidade;
+    }
+
+    /**
+     * Método para encontrar o fim da primeira linha dos bytes pendentes (o byte seguinte à primeira quebra de linha fora de aspas).
+     * @param aspas caractere de aspas
+     * @return posição do fim da primeira linha (-1 caso a linha ainda não tenha quebra de linha)
+     */
+    private int fimPrimeiraLinha(char aspas) {
+        boolean emAspas = false;
+        for (int i = 0; i < tamanhoPendente; i++) {
+            if (pendente[i] == aspas) {
+                emAspas = !emAspas;
+            } else if (pendente[i] == '\n' && !emAspas) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Método para encontrar o fim da última linha completa (o byte seguinte à última quebra de linha) de um arquivo.
+     * @param canal canal do arquivo
+     * @param tamanho tamanho do arquivo
+     * @return posição do fim da última linha completa (zero caso o arquivo não tenha nenhuma quebra de linha)
+     * @throws IOException
+     */
+    private static long fimUltimaLinha(FileChannel canal, long tamanho) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(1 << 16);
+        long fim = tamanho;
+        while (fim > 0) {
+            long inicio = Math.max(0, fim - bloco.capacity());
+            bloco.clear();
+            bloco.limit((int) (fim - inicio));
+            while (bloco.hasRemaining() && canal.read(bloco, inicio + bloco.position()) > 0) {
+                // Lê o bloco inteiro.
+            }
+            for (int i = bloco.position() - 1; i >= 0; i--) {
+                if (bloco.get(i) == '\n') {
+                    return inicio + i + 1;
+                }
+            }
+            fim = inicio;
+        }
+        return 0;
+    }
+
+    /**
+     * Método para ler a identificação de um arquivo no sistema de arquivos.
+     * @param caminho caminho do arquivo
+     * @return identificação do arquivo (nula caso o arquivo não exista ou o sistema de arquivos não ofereça uma)
+     * @throws IOException
+     */
+    private static Object lerChave(Path caminho) throws IOException {
+        try {
+            return Files.readAttributes(caminho, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+}
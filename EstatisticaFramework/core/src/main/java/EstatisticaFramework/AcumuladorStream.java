@@ -0,0 +1,104 @@
+package EstatisticaFramework;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Classe AcumuladorStream para o cálculo das estatísticas de uma coluna no modo stream.
+ * Cada valor da coluna passa uma única vez pelo acumulador e não é guardado:
+ * média, variância, desvio padrão, máximo e mínimo são exatos (algoritmo de Welford),
+ * enquanto a mediana (esboço KLL) e a moda (algoritmo Space-Saving) são aproximadas e usam memória limitada.
+ * @author João Vittor
+ */
+class AcumuladorStream {
+    /**
+     * Estatísticas que serão calculadas.
+     */
+    private final Set<Estatistica> estatisticas;
+    /**
+     * Acumulador de contagem, média, variância, máximo e mínimo.
+     */
+    private final AcumuladorWelford welford;
+    /**
+     * Esboço de quantis utilizado para a mediana (nulo caso a mediana não tenha sido pedida).
+     */
+    private final EsbocoKLL mediana;
+    /**
+     * Esboço da moda (nulo caso a moda não tenha sido pedida).
+     */
+    private final EsbocoModa moda;
+
+    /**
+     * Construtor da classe AcumuladorStream.
+     * @param estatisticas estatísticas que serão calculadas
+     */
+    AcumuladorStream(Set<Estatistica> estatisticas) {
+        this.estatisticas = EnumSet.copyOf(estatisticas);
+        this.welford = new AcumuladorWelford();
+        this.mediana = estatisticas.contains(Estatistica.MEDIANA) ? new EsbocoKLL() : null;
+        this.moda = estatisticas.contains(Estatistica.MODA) ? new EsbocoModa() : null;
+    }
+
+    /**
+     * Método para receber um valor da coluna.
+     * @param valor valor da coluna
+     */
+    void adicionar(double valor) {
+        welford.adicionar(valor);
+        if (mediana != null) {
+            mediana.adicionar(valor);
+        }
+        if (moda != null) {
+            moda.adicionar(valor);
+        }
+    }
+
+    /**
+     * Método para retornar a quantidade de valores recebidos.
+     * @return quantidade de valores
+     */
+    long getContagem() {
+        return welford.getContagem();
+    }
+
+    /**
+     * Método para retornar o esboço de quantis da coluna.
+     * @return esboço de quantis
+     */
+    EsbocoKLL getEsboco() {
+        if (mediana == null) {
+            throw new IllegalArgumentException("A estatística não foi calculada: " + Estatistica.MEDIANA);
+        }
+        return mediana;
+    }
+
+    /**
+     * Método para retornar o valor de uma das estatísticas.
+     * @param estatistica estatística desejada
+     * @return valor da estatística
+     */
+    double getValor(Estatistica estatistica) {
+        if (!estatisticas.contains(estatistica)) {
+            throw new IllegalArgumentException("A estatística não foi calculada: " + estatistica);
+        }
+        switch (estatistica) {
+            case MEDIA:
+                return welford.getMedia();
+            case VARIANCIA:
+                return welford.getVariancia();
+            case DESVIO_PADRAO:
+                return welford.getDesvioPadrao();
+            case MAX:
+                return welford.getMax();
+            case MIN:
+                return welford.getMin();
+            case MEDIANA:
+                return mediana.getMediana();
+            case MODA:
+                return moda.getModa();
+            default:
+                throw new IllegalArgumentException("Estatística desconhecida: " + estatistica);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package EstatisticaFramework;
+
+/**
+ * Classe AcumuladorWelford para o cálculo da média e da variância em uma única passagem pelos dados.
+ * Utiliza o algoritmo de Welford, que atualiza a média e a soma dos quadrados dos desvios a cada valor,
+ * evitando a perda de precisão que acontece ao subtrair somas muito grandes.
+ * Também acompanha a contagem, a soma, o máximo e o mínimo dos valores.
+ * @author João Vittor
+ */
+public class AcumuladorWelford {
+    /**
+     * Quantidade de valores acumulados.
+     */
+    private long contagem;
+    /**
+     * Média dos valores acumulados.
+     */
+    private double media;
+    /**
+     * Soma dos quadrados dos desvios em relação à média (M2).
+     */
+    private double m2;
+    /**
+     * Soma dos valores acumulados.
+     */
+    private double soma;
+    /**
+     * Maior valor acumulado.
+     */
+    private double max;
+    /**
+     * Menor valor acumulado.
+     */
+    private double min;
+
+    /**
+     * Construtor da classe AcumuladorWelford.
+     * Cria um acumulador vazio.
+     */
+    public AcumuladorWelford() {
+        this.contagem = 0;
+        this.media = 0;
+        this.m2 = 0;
+        this.soma = 0;
+        this.max = -Double.MAX_VALUE;
+        this.min = Double.MAX_VALUE;
+    }
+
+    /**
+     * Método para acumular um novo valor.
+     * @param valor valor que será acumulado
+     */
+    public void adicionar(double valor) {
+        contagem++;
+        double delta = valor - media;
+        media += delta / contagem;
+        m2 += delta * (valor - media);
+        soma += valor;
+        if (valor > max) {
+            max = valor;
+        }
+        if (valor < min) {
+            min = valor;
+        }
+    }
+
+    /**
+     * Método para acumular os valores válidos de uma coluna numérica.
+     * @param coluna coluna numérica do DataSet
+     */
+    public void adicionar(ColunaNumerica coluna) {
+        for (int i = 0; i < coluna.getTamanho(); i++) {
+            if (coluna.isValido(i)) {
+                adicionar(coluna.getValor(i));
+            }
+        }
+    }
+
+    /**
+     * Método para retornar a quantidade de valores acumulados.
+     * @return quantidade de valores
+     */
+    public long getContagem() {
+        return contagem;
+    }
+
+    /**
+     * Método para retornar a soma dos valores acumulados.
+     * @return soma dos valores
+     */
+    public double getSoma() {
+        return soma;
+    }
+
+    /**
+     * Método para retornar a média dos valores acumulados.
+     * @return média dos valores (NaN caso nenhum valor tenha sido acumulado)
+     */
+    public double getMedia() {
+        return contagem == 0 ? Double.NaN : media;
+    }
+
+    /**
+     * Método para retornar a variância amostral dos valores acumulados (divisão por n - 1).
+     * @return variância dos valores
+     */
+    public double getVariancia() {
+        return m2 / (contagem - 1);
+    }
+
+    /**
+     * Método para retornar o desvio padrão amostral dos valores acumulados.
+     * @return desvio padrão dos valores
+     */
+    public double getDesvioPadrao() {
+        return Math.sqrt(getVariancia());
+    }
+
+    /**
+     * Método para retornar o maior valor acumulado.
+     * @return maior valor
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Método para retornar o menor valor acumulado.
+     * @return menor valor
+     */
+    public double getMin() {
+        return min;
+    }
+
+}
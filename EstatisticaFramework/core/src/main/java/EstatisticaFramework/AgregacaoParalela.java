@@ -0,0 +1,123 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Classe AgregacaoParalela para o cálculo dos agregados (contagem, soma, M2, máximo e mínimo) de várias colunas em paralelo.
+ * O trabalho é dividido por coluna e, dentro de cada coluna, por blocos de linhas: cada bloco é agregado com as reduções
+ * da coluna (vetoriais com Java 21+) e os agregados dos blocos são combinados pela fórmula de Chan (AgregadoParcial.combinar).
+ * <p>
+ * A divisão dos blocos depende somente do tamanho da coluna e do tamanho do bloco, e não da quantidade de threads,
+ * portanto o resultado é sempre o mesmo para os mesmos dados. Em relação ao cálculo sequencial, somente a ordem das somas muda:
+ * contagem, máximo e mínimo são iguais, e a média e a variância diferem no máximo em uma tolerância relativa de 1e-9
+ * (em geral nos últimos dígitos), já que a combinação por blocos acumula menos erro de arredondamento do que uma soma única.
+ * @author João Vittor
+ */
+public class AgregacaoParalela {
+    /**
+     * Quantidade padrão de linhas de cada bloco (64 mil linhas, ou 512 KB de valores).
+     */
+    public static final int TAMANHO_BLOCO_PADRAO = 1 << 16;
+
+    /**
+     * Pool utilizado para executar as tarefas.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Quantidade máxima de linhas de cada bloco.
+     */
+    private final int tamanhoBloco;
+
+    /**
+     * Construtor da classe AgregacaoParalela.
+     * @param pool pool utilizado para executar as tarefas
+     */
+    public AgregacaoParalela(ForkJoinPool pool) {
+        this(pool, TAMANHO_BLOCO_PADRAO);
+    }
+
+    /**
+     * Construtor da classe AgregacaoParalela.
+     * @param pool pool utilizado para executar as tarefas
+     * @param tamanhoBloco quantidade máxima de linhas de cada bloco (múltiplo de 64)
+     */
+    public AgregacaoParalela(ForkJoinPool pool, int tamanhoBloco) {
+        if (pool == null) {
+            throw new IllegalArgumentException("O pool não pode ser nulo");
+        }
+        if (tamanhoBloco <= 0 || tamanhoBloco % 64 != 0) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser um múltiplo positivo de 64: " + tamanhoBloco);
+        }
+        this.pool = pool;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Método para calcular os agregados de todas as colunas de um DataSet.
+     * Colunas que não são numéricas resultam em agregados vazios.
+     * @param ds DataSet que será utilizado
+     * @return lista de agregados de cada coluna, na ordem das colunas
+     */
+    public List<AgregadoParcial> agregar(DataSet ds) {
+        List<TarefaBloco> tarefas = new ArrayList<>(ds.getLargura());
+        for (int i = 0; i < ds.getLargura(); i++) {
+            ColunaNumerica coluna = ds.getColunaNumerica(i);
+            TarefaBloco tarefa = new TarefaBloco(coluna, 0, coluna.getTamanho(), tamanhoBloco);
+            pool.execute(tarefa);
+            tarefas.add(tarefa);
+        }
+
+        List<AgregadoParcial> agregados = new ArrayList<>(tarefas.size());
+        for (TarefaBloco tarefa : tarefas) {
+            agregados.add(tarefa.join());
+        }
+        return agregados;
+    }
+
+    /**
+     * Método para calcular o agregado de uma coluna numérica.
+     * @param coluna coluna numérica do DataSet
+     * @return agregado da coluna
+     */
+    public AgregadoParcial agregar(ColunaNumerica coluna) {
+        return pool.invoke(new TarefaBloco(coluna, 0, coluna.getTamanho(), tamanhoBloco));
+    }
+
+    /**
+     * Classe TarefaBloco para agregar um intervalo de linhas de uma coluna.
+     * Intervalos maiores do que o bloco são divididos ao meio (em um múltiplo de 64, para que cada metade comece
+     * no início de uma palavra do mapa de bits de validade), e as metades são agregadas em paralelo e combinadas em ordem.
+     */
+    private static class TarefaBloco extends RecursiveTask<AgregadoParcial> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ColunaNumerica coluna;
+        private final int inicio;
+        private final int fim;
+        private final int tamanhoBloco;
+
+        TarefaBloco(ColunaNumerica coluna, int inicio, int fim, int tamanhoBloco) {
+            this.coluna = coluna;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tamanhoBloco = tamanhoBloco;
+        }
+
+        @Override
+        protected AgregadoParcial compute() {
+            if (fim - inicio <= tamanhoBloco) {
+                return coluna.agregar(inicio, fim);
+            }
+            int meio = inicio + ((fim - inicio) / 2 + 63) / 64 * 64;
+            TarefaBloco esquerda = new TarefaBloco(coluna, inicio, meio, tamanhoBloco);
+            TarefaBloco direita = new TarefaBloco(coluna, meio, fim, tamanhoBloco);
+            esquerda.fork();
+            AgregadoParcial resultadoDireita = direita.compute();
+            return esquerda.join().combinar(resultadoDireita);
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package EstatisticaFramework;
+
+/**
+ * Classe AgregadoParcial para guardar as estatísticas de uma parte dos valores de uma coluna:
+ * contagem, soma, M2 (soma dos quadrados dos desvios em relação à média), máximo e mínimo.
+ * Agregados de partes diferentes são combinados pela fórmula de Chan, que junta os M2 sem percorrer os valores novamente
+ * e mantém a estabilidade numérica do algoritmo de Welford. A partir do agregado são obtidas média, variância e desvio padrão.
+ * @author João Vittor
+ */
+public class AgregadoParcial {
+    /**
+     * Quantidade de valores agregados.
+     */
+    private long contagem;
+    /**
+     * Soma dos valores agregados.
+     */
+    private double soma;
+    /**
+     * Soma dos quadrados dos desvios em relação à média (M2).
+     */
+    private double m2;
+    /**
+     * Maior valor agregado.
+     */
+    private double max;
+    /**
+     * Menor valor agregado.
+     */
+    private double min;
+
+    /**
+     * Construtor da classe AgregadoParcial.
+     * Cria um agregado vazio, que pode ser combinado com outros agregados.
+     */
+    public AgregadoParcial() {
+        this(0, 0, 0, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Construtor da classe AgregadoParcial.
+     * @param contagem quantidade de valores
+     * @param soma soma dos valores
+     * @param m2 soma dos quadrados dos desvios em relação à média
+     * @param max maior valor
+     * @param min menor valor
+     */
+    public AgregadoParcial(long contagem, double soma, double m2, double max, double min) {
+        this.contagem = contagem;
+        this.soma = soma;
+        this.m2 = m2;
+        this.max = max;
+        this.min = min;
+    }
+
+    /**
+     * Método para agregar um novo valor, atualizando o M2 pelo algoritmo de Welford.
+     * @param valor valor que será agregado
+     */
+    public void adicionar(double valor) {
+        double delta = contagem == 0 ? 0 : valor - soma / contagem;
+        contagem++;
+        soma += valor;
+        m2 += delta * (valor - soma / contagem);
+        if (valor > max) {
+            max = valor;
+        }
+        if (valor < min) {
+            min = valor;
+        }
+    }
+
+    /**
+     * Método para combinar outro agregado com este, como se os valores dos dois tivessem sido agregados juntos.
+     * @param outro agregado que será combinado (não é alterado)
+     * @return este agregado, já combinado
+     */
+    public AgregadoParcial combinar(AgregadoParcial outro) {
+        long contagemOutro = outro.contagem;
+        if (contagemOutro == 0) {
+            return this;
+        }
+        double somaOutro = outro.soma;
+        double m2Outro = outro.m2;
+        if (contagem == 0) {
+            m2 = m2Outro;
+        } else {
+            long total = contagem + contagemOutro;
+            double delta = somaOutro / contagemOutro - soma / contagem;
+            m2 += m2Outro + delta * delta * ((double) contagem * contagemOutro / total);
+        }
+        contagem += contagemOutro;
+        soma += somaOutro;
+        max = Math.max(max, outro.max);
+        min = Math.min(min, outro.min);
+        return this;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores agregados.
+     * @return quantidade de valores
+     */
+    public long getContagem() {
+        return contagem;
+    }
+
+    /**
+     * Método para retornar a soma dos valores agregados.
+     * @return soma dos valores
+     */
+    public double getSoma() {
+        return soma;
+    }
+
+    /**
+     * Método para retornar a soma dos quadrados dos desvios em relação à média (M2).
+     * @return M2 dos valores
+     */
+    public double getM2() {
+        return m2;
+    }
+
+    /**
+     * Método para retornar a média dos valores agregados.
+     * @return média dos valores (NaN caso o agregado esteja vazio)
+     */
+    public double getMedia() {
+        return soma / contagem;
+    }
+
+    /**
+     * Método para retornar a variância amostral dos valores agregados (divisão por n - 1).
+     * @return variância dos valores
+     */
+    public double getVariancia() {
+        return m2 / (contagem - 1);
+    }
+
+    /**
+     * Método para retornar o desvio padrão amostral dos valores agregados.
+     * @return desvio padrão dos valores
+     */
+    public double getDesvioPadrao() {
+        return Math.sqrt(getVariancia());
+    }
+
+    /**
+     * Método para retornar o maior valor agregado.
+     * @return maior valor (-Double.MAX_VALUE caso o agregado esteja vazio)
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Método para retornar o menor valor agregado.
+     * @return menor valor (Double.MAX_VALUE caso o agregado esteja vazio)
+     */
+    public double getMin() {
+        return min;
+    }
+
+}
@@ -0,0 +1,640 @@
+package EstatisticaFramework;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Classe AgrupamentoHash para o cálculo das estatísticas de colunas do DataSet agrupadas pelos valores de uma ou mais colunas de chave
+ * (como o GROUP BY do SQL), em uma única passagem pelas linhas.
+ * <p>
+ * As chaves são codificadas por dicionário: colunas de texto utilizam os códigos da própria ColunaTexto e colunas numéricas
+ * utilizam a posição do valor entre os valores distintos da coluna. Linhas sem valor em uma coluna de chave formam o grupo "NA".
+ * Os códigos de todas as colunas de chave são combinados em um único long, que é a chave de uma tabela hash de endereçamento aberto.
+ * Para cada grupo e coluna de valor são guardados um AgregadoParcial (contagem, média, variância, máximo e mínimo) e um EsbocoKLL (mediana);
+ * valores NaN e linhas sem valor são ignorados, como nas demais estatísticas.
+ * <p>
+ * Quando a memória estimada da tabela ultrapassa o limite, as linhas de grupos novos são gravadas em arquivos temporários,
+ * divididos em 16 partições pelos bits do hash da chave, enquanto os grupos que já estão na tabela continuam sendo agregados em memória.
+ * Depois da passagem, cada partição é processada separadamente com os grupos dela que estavam em memória, e partições que ainda
+ * não cabem no limite são divididas novamente pelos próximos bits do hash.
+ * Com um pool, as linhas são divididas em partes agregadas em paralelo (cada uma com sua tabela e uma fração do limite), e as tabelas
+ * parciais são combinadas no final, assim como os arquivos de cada partição.
+ * <p>
+ * Os métodos de alteração retornam o próprio objeto, para que várias opções possam ser definidas em sequência.
+ * @author João Vittor
+ */
+public class AgrupamentoHash {
+    /**
+     * Limite padrão de memória da tabela de grupos (64 MB).
+     */
+    public static final long LIMITE_MEMORIA_PADRAO = 64L << 20;
+
+    /**
+     * Quantidade de bits do hash utilizados para escolher a partição em cada nível.
+     */
+    private static final int BITS_PARTICAO = 4;
+    /**
+     * Quantidade de partições dos arquivos temporários em cada nível.
+     */
+    private static final int PARTICOES = 1 << BITS_PARTICAO;
+    /**
+     * Nível a partir do qual as linhas não são mais gravadas em disco (os 32 bits mais altos do hash já foram utilizados).
+     */
+    private static final int NIVEL_MAXIMO = 32 / BITS_PARTICAO;
+    /**
+     * Quantidade mínima de linhas de cada parte da agregação paralela.
+     */
+    private static final int LINHAS_MINIMAS_PARTE = 1 << 14;
+
+    /**
+     * Limite de memória estimada da tabela de grupos, em bytes.
+     */
+    private long limiteMemoria;
+    /**
+     * Pool utilizado na agregação paralela (nulo para agregação sequencial).
+     */
+    private ForkJoinPool pool;
+    /**
+     * Diretório dos arquivos temporários (nulo para o diretório temporário do sistema).
+     */
+    private Path diretorioTemporario;
+    /**
+     * Parâmetro k dos esboços KLL utilizados na mediana.
+     */
+    private int k;
+
+    /**
+     * Construtor da classe AgrupamentoHash.
+     * Cria um agrupamento sequencial com o limite de memória e o parâmetro k padrão.
+     */
+    public AgrupamentoHash() {
+        this.limiteMemoria = LIMITE_MEMORIA_PADRAO;
+        this.pool = null;
+        this.diretorioTemporario = null;
+        this.k = EsbocoKLL.K_PADRAO;
+    }
+
+    /**
+     * Método para alterar o limite de memória estimada da tabela de grupos.
+     * @param bytes novo limite, em bytes
+     * @return o próprio agrupamento
+     */
+    public AgrupamentoHash setLimiteMemoria(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("O limite de memória deve ser positivo: " + bytes);
+        }
+        this.limiteMemoria = bytes;
+        return this;
+    }
+
+    /**
+     * Método para retornar o limite de memória estimada da tabela de grupos.
+     * @return limite, em bytes
+     */
+    public long getLimiteMemoria() {
+        return limiteMemoria;
+    }
+
+    /**
+     * Método para alterar o pool utilizado na agregação paralela.
+     * @param pool novo pool (nulo para agregação sequencial)
+     * @return o próprio agrupamento
+     */
+    public AgrupamentoHash setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Método para retornar o pool utilizado na agregação paralela.
+     * @return pool (nulo para agregação sequencial)
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Método para alterar o diretório dos arquivos temporários.
+     * @param diretorio novo diretório (nulo para o diretório temporário do sistema)
+     * @return o próprio agrupamento
+     */
+    public AgrupamentoHash setDiretorioTemporario(Path diretorio) {
+        this.diretorioTemporario = diretorio;
+        return this;
+    }
+
+    /**
+     * Método para retornar o diretório dos arquivos temporários.
+     * @return diretório (nulo para o diretório temporário do sistema)
+     */
+    public Path getDiretorioTemporario() {
+        return diretorioTemporario;
+    }
+
+    /**
+     * Método para alterar o parâmetro k dos esboços KLL utilizados na mediana.
+     * Valores menores reduzem a memória de cada grupo, e a mediana é exata enquanto o grupo tem até k valores.
+     * @param k novo parâmetro dos esboços
+     * @return o próprio agrupamento
+     */
+    public AgrupamentoHash setK(int k) {
+        if (k < EsbocoKLL.CAPACIDADE_MINIMA) {
+            throw new IllegalArgumentException("O parâmetro k deve ser pelo menos " + EsbocoKLL.CAPACIDADE_MINIMA + ": " + k);
+        }
+        this.k = k;
+        return this;
+    }
+
+    /**
+     * Método para retornar o parâmetro k dos esboços KLL utilizados na mediana.
+     * @return parâmetro dos esboços
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Método para agrupar as linhas de um DataSet e calcular as estatísticas das colunas de valor em cada grupo.
+     * Colunas de valor que não são numéricas resultam em estatísticas vazias.
+     * @param ds DataSet que será utilizado
+     * @param colunasChave números (ou índices) das colunas de chave (começam em zero)
+     * @param colunasValor números (ou índices) das colunas de valor (começam em zero)
+     * @return grupos e suas estatísticas
+     * @throws IOException
+     */
+    public ResultadoAgrupamento agrupar(DataSet ds, int[] colunasChave, int[] colunasValor) throws IOException {
+        if (colunasChave.length == 0) {
+            throw new IllegalArgumentException("É necessária pelo menos uma coluna de chave");
+        }
+        for (int numeroColuna : colunasChave) {
+            if (numeroColuna < 0 || numeroColuna >= ds.getLargura()) {
+                throw new IllegalArgumentException("Coluna de chave inexistente: " + numeroColuna);
+            }
+        }
+        CodificadorChaves codificador = new CodificadorChaves(ds, colunasChave);
+        ColunaNumerica[] valores = new ColunaNumerica[colunasValor.length];
+        for (int i = 0; i < colunasValor.length; i++) {
+            valores[i] = ds.getColunaNumerica(colunasValor[i]);
+        }
+        long bytesPorGrupo = 96 + colunasValor.length * (160 + 8L * k);
+
+        List<Path> arquivos = Collections.synchronizedList(new ArrayList<>());
+        try {
+            int altura = ds.getAltura();
+            int partes = pool == null ? 1 : Math.max(1, Math.min(pool.getParallelism(), altura / LINHAS_MINIMAS_PARTE));
+            Parcial total;
+            if (partes == 1) {
+                total = agregarLinhas(codificador, valores, 0, altura, limiteMemoria, bytesPorGrupo, arquivos);
+            } else {
+                total = agregarParalelo(codificador, valores, altura, partes, bytesPorGrupo, arquivos);
+            }
+
+            List<EstadoGrupo> finais = new ArrayList<>();
+            long linhasDerramadas = finalizar(total.tabela, total.derramamento, valores.length, bytesPorGrupo, arquivos, finais);
+            finais.sort(Comparator.comparingLong(estado -> estado.chave));
+            List<Grupo> grupos = new ArrayList<>(finais.size());
+            for (EstadoGrupo estado : finais) {
+                grupos.add(new Grupo(codificador.decodificar(estado.chave), estado.linhas, estado.agregados, estado.esbocos));
+            }
+            return new ResultadoAgrupamento(colunasChave, colunasValor, grupos, linhasDerramadas);
+        } finally {
+            synchronized (arquivos) {
+                for (Path arquivo : arquivos) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Método para agregar as linhas em partes paralelas e combinar as tabelas e os arquivos de cada parte.
+     * @param codificador codificador das colunas de chave
+     * @param valores colunas de valor
+     * @param altura quantidade de linhas do DataSet
+     * @param partes quantidade de partes
+     * @param bytesPorGrupo memória estimada de cada grupo
+     * @param arquivos lista de todos os arquivos temporários criados
+     * @return tabela e arquivos combinados
+     * @throws IOException
+     */
+    private Parcial agregarParalelo(CodificadorChaves codificador, ColunaNumerica[] valores, int altura, int partes,
+            long bytesPorGrupo, List<Path> arquivos) throws IOException {
+        List<ForkJoinTask<Parcial>> tarefas = new ArrayList<>(partes);
+        try {
+            for (int i = 0; i < partes; i++) {
+                int inicio = (int) ((long) altura * i / partes);
+                int fim = (int) ((long) altura * (i + 1) / partes);
+                tarefas.add(pool.submit(() -> agregarLinhas(codificador, valores, inicio, fim, limiteMemoria / partes, bytesPorGrupo, arquivos)));
+            }
+            Parcial total = tarefas.get(0).get();
+            for (int i = 1; i < partes; i++) {
+                Parcial parcial = tarefas.get(i).get();
+                for (EstadoGrupo estado : parcial.tabela.grupos) {
+                    long hash = MapaFrequencia.espalhar(estado.chave);
+                    EstadoGrupo existente = total.tabela.buscar(estado.chave, hash);
+                    if (existente == null) {
+                        total.tabela.inserir(estado, hash);
+                    } else {
+                        existente.combinar(estado);
+                    }
+                }
+                total.derramamento.anexar(parcial.derramamento);
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Agrupamento interrompido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Erro no agrupamento", e.getCause());
+        } finally {
+            // nenhuma parte pode continuar criando arquivos depois que eles forem apagados
+            for (ForkJoinTask<Parcial> tarefa : tarefas) {
+                tarefa.quietlyJoin();
+            }
+        }
+    }
+
+    /**
+     * Método para agregar um intervalo de linhas do DataSet, gravando em disco as linhas de grupos novos que não cabem no limite.
+     * @param codificador codificador das colunas de chave
+     * @param colunas colunas de valor
+     * @param inicio primeira linha do intervalo
+     * @param fim linha seguinte à última linha do intervalo
+     * @param limite limite de memória estimada da tabela
+     * @param bytesPorGrupo memória estimada de cada grupo
+     * @param arquivos lista de todos os arquivos temporários criados
+     * @return tabela e arquivos do intervalo
+     * @throws IOException
+     */
+    private Parcial agregarLinhas(CodificadorChaves codificador, ColunaNumerica[] colunas, int inicio, int fim,
+            long limite, long bytesPorGrupo, List<Path> arquivos) throws IOException {
+        TabelaGrupos tabela = new TabelaGrupos(limite, bytesPorGrupo);
+        Derramamento derramamento = new Derramamento(0, colunas.length, diretorioTemporario, arquivos);
+        double[] valores = new double[colunas.length];
+        try {
+            for (int linha = inicio; linha < fim; linha++) {
+                for (int j = 0; j < colunas.length; j++) {
+                    ColunaNumerica coluna = colunas[j];
+                    valores[j] = linha < coluna.getTamanho() && coluna.isValido(linha) ? coluna.getValor(linha) : Double.NaN;
+                }
+                consumir(tabela, derramamento, codificador.codificar(linha), valores);
+            }
+        } finally {
+            derramamento.fechar();
+        }
+        return new Parcial(tabela, derramamento);
+    }
+
+    /**
+     * Método para processar os arquivos de cada partição, com os grupos da partição que estavam em memória.
+     * Partições que ainda ultrapassam o limite são divididas novamente no nível seguinte.
+     * @param tabela tabela com os grupos em memória
+     * @param derramamento arquivos gravados junto com a tabela
+     * @param quantidadeValores quantidade de colunas de valor
+     * @param bytesPorGrupo memória estimada de cada grupo
+     * @param arquivos lista de todos os arquivos temporários criados
+     * @param finais lista que recebe os grupos finalizados
+     * @return quantidade de linhas gravadas em disco neste nível e nos seguintes
+     * @throws IOException
+     */
+    private long finalizar(TabelaGrupos tabela, Derramamento derramamento, int quantidadeValores, long bytesPorGrupo,
+            List<Path> arquivos, List<EstadoGrupo> finais) throws IOException {
+        if (derramamento.linhas == 0) {
+            finais.addAll(tabela.grupos);
+            return 0;
+        }
+        long linhasDerramadas = derramamento.linhas;
+        int nivel = derramamento.nivel;
+        List<List<EstadoGrupo>> emMemoria = new ArrayList<>(PARTICOES);
+        for (int p = 0; p < PARTICOES; p++) {
+            emMemoria.add(new ArrayList<>());
+        }
+        for (EstadoGrupo estado : tabela.grupos) {
+            emMemoria.get(particao(MapaFrequencia.espalhar(estado.chave), nivel)).add(estado);
+        }
+        tabela.grupos.clear();
+
+        double[] valores = new double[quantidadeValores];
+        for (int p = 0; p < PARTICOES; p++) {
+            TabelaGrupos subtabela = new TabelaGrupos(limiteMemoria, bytesPorGrupo);
+            for (EstadoGrupo estado : emMemoria.get(p)) {
+                subtabela.inserir(estado, MapaFrequencia.espalhar(estado.chave));
+            }
+            emMemoria.set(p, null);
+            Derramamento subderramamento = new Derramamento(nivel + 1, quantidadeValores, diretorioTemporario, arquivos);
+            try {
+                for (Path arquivo : derramamento.arquivos.get(p)) {
+                    long linhas = Files.size(arquivo) / (8L + 8L * quantidadeValores);
+                    try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+                        for (long i = 0; i < linhas; i++) {
+                            long chave = entrada.readLong();
+                            for (int j = 0; j < quantidadeValores; j++) {
+                                valores[j] = entrada.readDouble();
+                            }
+                            consumir(subtabela, subderramamento, chave, valores);
+                        }
+                    }
+                    Files.deleteIfExists(arquivo);
+                }
+            } finally {
+                subderramamento.fechar();
+            }
+            linhasDerramadas += finalizar(subtabela, subderramamento, quantidadeValores, bytesPorGrupo, arquivos, finais);
+        }
+        return linhasDerramadas;
+    }
+
+    /**
+     * Método para agregar uma linha no seu grupo ou, caso o grupo não esteja na tabela e ela esteja cheia, gravar a linha em disco.
+     * @param tabela tabela de grupos
+     * @param derramamento arquivos das partições do nível da tabela
+     * @param chave código da chave da linha
+     * @param valores valores das colunas de valor da linha (NaN para linhas sem valor)
+     * @throws IOException
+     */
+    private void consumir(TabelaGrupos tabela, Derramamento derramamento, long chave, double[] valores) throws IOException {
+        long hash = MapaFrequencia.espalhar(chave);
+        EstadoGrupo estado = tabela.buscar(chave, hash);
+        if (estado == null) {
+            if (derramamento.nivel < NIVEL_MAXIMO && tabela.isCheia()) {
+                derramamento.escrever(particao(hash, derramamento.nivel), chave, valores);
+                return;
+            }
+            estado = new EstadoGrupo(chave, valores.length, k);
+            tabela.inserir(estado, hash);
+        }
+        estado.adicionar(valores);
+    }
+
+    /**
+     * Método para calcular a partição de um hash em um nível, a partir dos bits mais altos do hash.
+     * @param hash hash da chave
+     * @param nivel nível da divisão (começa em zero)
+     * @return partição do hash
+     */
+    private static int particao(long hash, int nivel) {
+        return (int) (hash >>> (64 - BITS_PARTICAO * (nivel + 1))) & (PARTICOES - 1);
+    }
+
+    /**
+     * Classe CodificadorChaves para converter os valores das colunas de chave de uma linha em um único código long, e de volta em textos.
+     * Cada coluna tem uma quantidade de códigos (valores distintos mais o código de "NA"), e o código da linha é o número
+     * formado pelos códigos das colunas nessa base mista.
+     */
+    private static class CodificadorChaves {
+        private final Coluna[] colunas;
+        private final double[][] distintos;
+        private final long[] quantidades;
+
+        CodificadorChaves(DataSet ds, int[] colunasChave) {
+            colunas = new Coluna[colunasChave.length];
+            distintos = new double[colunasChave.length][];
+            quantidades = new long[colunasChave.length];
+            long combinacoes = 1;
+            for (int j = 0; j < colunasChave.length; j++) {
+                colunas[j] = ds.getColunaArmazenada(colunasChave[j]);
+                if (colunas[j] instanceof ColunaTexto) {
+                    quantidades[j] = ((ColunaTexto) colunas[j]).getCardinalidade() + 1;
+                } else {
+                    MapaFrequencia mapa = new MapaFrequencia();
+                    mapa.adicionar((ColunaNumerica) colunas[j]);
+                    TabelaFrequencia tabela = mapa.paraTabela();
+                    distintos[j] = new double[tabela.getTamanho()];
+                    for (int i = 0; i < distintos[j].length; i++) {
+                        distintos[j][i] = tabela.getValor(i);
+                    }
+                    quantidades[j] = distintos[j].length + 1;
+                }
+                try {
+                    combinacoes = Math.multiplyExact(combinacoes, quantidades[j]);
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("As colunas de chave têm combinações demais para um código long", e);
+                }
+            }
+        }
+
+        long codificar(int linha) {
+            long codigo = 0;
+            for (int j = 0; j < colunas.length; j++) {
+                long codigoColuna = quantidades[j] - 1;
+                if (linha < colunas[j].getTamanho() && colunas[j].isValido(linha)) {
+                    if (distintos[j] == null) {
+                        codigoColuna = ((ColunaTexto) colunas[j]).getCodigo(linha);
+                    } else {
+                        double valor = ((ColunaNumerica) colunas[j]).getValor(linha);
+                        codigoColuna = Arrays.binarySearch(distintos[j], valor == 0 ? 0.0 : valor);
+                    }
+                }
+                codigo = codigo * quantidades[j] + codigoColuna;
+            }
+            return codigo;
+        }
+
+        List<String> decodificar(long codigo) {
+            String[] textos = new String[colunas.length];
+            for (int j = colunas.length - 1; j >= 0; j--) {
+                int codigoColuna = (int) (codigo % quantidades[j]);
+                codigo /= quantidades[j];
+                if (codigoColuna == quantidades[j] - 1) {
+                    textos[j] = "NA";
+                } else if (distintos[j] == null) {
+                    textos[j] = ((ColunaTexto) colunas[j]).getDicionario().get(codigoColuna);
+                } else {
+                    textos[j] = ColunaNumerica.formatar(distintos[j][codigoColuna]);
+                }
+            }
+            return Arrays.asList(textos);
+        }
+    }
+
+    /**
+     * Classe EstadoGrupo para guardar a chave, a quantidade de linhas, os agregados e os esboços de um grupo durante o agrupamento.
+     */
+    private static class EstadoGrupo {
+        private final long chave;
+        private long linhas;
+        private final AgregadoParcial[] agregados;
+        private final EsbocoKLL[] esbocos;
+
+        EstadoGrupo(long chave, int quantidadeValores, int k) {
+            this.chave = chave;
+            this.agregados = new AgregadoParcial[quantidadeValores];
+            this.esbocos = new EsbocoKLL[quantidadeValores];
+            for (int j = 0; j < quantidadeValores; j++) {
+                agregados[j] = new AgregadoParcial();
+                esbocos[j] = new EsbocoKLL(k);
+            }
+        }
+
+        void adicionar(double[] valores) {
+            linhas++;
+            for (int j = 0; j < valores.length; j++) {
+                if (!Double.isNaN(valores[j])) {
+                    agregados[j].adicionar(valores[j]);
+                    esbocos[j].adicionar(valores[j]);
+                }
+            }
+        }
+
+        void combinar(EstadoGrupo outro) {
+            linhas += outro.linhas;
+            for (int j = 0; j < agregados.length; j++) {
+                agregados[j].combinar(outro.agregados[j]);
+                esbocos[j].combinar(outro.esbocos[j]);
+            }
+        }
+    }
+
+    /**
+     * Classe TabelaGrupos para a tabela hash de endereçamento aberto (sondagem linear) que associa o código da chave ao grupo.
+     * A memória da tabela é estimada pela quantidade de grupos, já que cada grupo tem tamanho fixo.
+     */
+    private static class TabelaGrupos {
+        private final long limite;
+        private final long bytesPorGrupo;
+        private long[] chaves;
+        private int[] posicoes;
+        private final List<EstadoGrupo> grupos;
+
+        TabelaGrupos(long limite, long bytesPorGrupo) {
+            this.limite = limite;
+            this.bytesPorGrupo = bytesPorGrupo;
+            this.chaves = new long[64];
+            this.posicoes = new int[64];
+            this.grupos = new ArrayList<>();
+        }
+
+        EstadoGrupo buscar(long chave, long hash) {
+            int mascara = chaves.length - 1;
+            int posicao = (int) hash & mascara;
+            while (posicoes[posicao] != 0) {
+                if (chaves[posicao] == chave) {
+                    return grupos.get(posicoes[posicao] - 1);
+                }
+                posicao = (posicao + 1) & mascara;
+            }
+            return null;
+        }
+
+        void inserir(EstadoGrupo estado, long hash) {
+            grupos.add(estado);
+            colocar(estado.chave, hash, grupos.size());
+            if (grupos.size() * 2 > chaves.length) {
+                long[] chavesAntigas = chaves;
+                int[] posicoesAntigas = posicoes;
+                chaves = new long[chavesAntigas.length * 2];
+                posicoes = new int[chavesAntigas.length * 2];
+                for (int i = 0; i < chavesAntigas.length; i++) {
+                    if (posicoesAntigas[i] != 0) {
+                        colocar(chavesAntigas[i], MapaFrequencia.espalhar(chavesAntigas[i]), posicoesAntigas[i]);
+                    }
+                }
+            }
+        }
+
+        private void colocar(long chave, long hash, int indice) {
+            int mascara = chaves.length - 1;
+            int posicao = (int) hash & mascara;
+            while (posicoes[posicao] != 0) {
+                posicao = (posicao + 1) & mascara;
+            }
+            chaves[posicao] = chave;
+            posicoes[posicao] = indice;
+        }
+
+        boolean isCheia() {
+            return (grupos.size() + 1) * bytesPorGrupo > limite;
+        }
+    }
+
+    /**
+     * Classe Derramamento para os arquivos temporários das partições de um nível.
+     * Cada linha é gravada como o código da chave seguido dos valores das colunas de valor (NaN para linhas sem valor).
+     */
+    private static class Derramamento {
+        private final int nivel;
+        private final int quantidadeValores;
+        private final Path diretorio;
+        private final List<Path> todos;
+        private final List<List<Path>> arquivos;
+        private final DataOutputStream[] saidas;
+        private long linhas;
+
+        Derramamento(int nivel, int quantidadeValores, Path diretorio, List<Path> todos) {
+            this.nivel = nivel;
+            this.quantidadeValores = quantidadeValores;
+            this.diretorio = diretorio;
+            this.todos = todos;
+            this.arquivos = new ArrayList<>(PARTICOES);
+            for (int p = 0; p < PARTICOES; p++) {
+                arquivos.add(new ArrayList<>());
+            }
+            this.saidas = new DataOutputStream[PARTICOES];
+        }
+
+        void escrever(int particao, long chave, double[] valores) throws IOException {
+            if (saidas[particao] == null) {
+                Path arquivo = diretorio == null ? Files.createTempFile("agrupamento", ".tmp") : Files.createTempFile(diretorio, "agrupamento", ".tmp");
+                todos.add(arquivo);
+                arquivos.get(particao).add(arquivo);
+                saidas[particao] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo)));
+            }
+            DataOutputStream saida = saidas[particao];
+            saida.writeLong(chave);
+            for (int j = 0; j < quantidadeValores; j++) {
+                saida.writeDouble(valores[j]);
+            }
+            linhas++;
+        }
+
+        void fechar() throws IOException {
+            for (int p = 0; p < PARTICOES; p++) {
+                if (saidas[p] != null) {
+                    saidas[p].close();
+                    saidas[p] = null;
+                }
+            }
+        }
+
+        void anexar(Derramamento outro) {
+            for (int p = 0; p < PARTICOES; p++) {
+                arquivos.get(p).addAll(outro.arquivos.get(p));
+            }
+            linhas += outro.linhas;
+        }
+    }
+
+    /**
+     * Classe Parcial para a tabela e os arquivos resultantes da agregação de um intervalo de linhas.
+     */
+    private static class Parcial {
+        private final TabelaGrupos tabela;
+        private final Derramamento derramamento;
+
+        Parcial(TabelaGrupos tabela, Derramamento derramamento) {
+            this.tabela = tabela;
+            this.derramamento = derramamento;
+        }
+    }
+
+}
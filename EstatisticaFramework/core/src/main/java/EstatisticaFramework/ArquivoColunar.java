@@ -0,0 +1,485 @@
+package EstatisticaFramework;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe ArquivoColunar para gravar um DataSet em um arquivo binário colunar e abri-lo novamente sem interpretar o CSV.
+ * <p>
+ * O arquivo (little-endian) começa com um cabeçalho de 32 bytes: número mágico, versão, largura, altura, opções, tamanho dos blocos
+ * de estatísticas e posição do diretório. Em seguida vêm as colunas, cada uma alinhada em 8 bytes:
+ * <ul>
+ * <li>coluna numérica: mapa de bits de validade (long por 64 linhas), valores (double por linha) e, se a opção estiver ligada,
+ * o mapa de zonas da coluna (contagem de válidos, soma, M2, mínimo e máximo de cada bloco de linhas);</li>
+ * <li>coluna de texto: mapa de bits de validade, códigos (int por linha, -1 para "NA") e o dicionário (quantidade de textos,
+ * e cada texto como tamanho em bytes e UTF-8).</li>
+ * </ul>
+ * No final fica o diretório, com o tipo, o tamanho, a posição e a quantidade de bytes de cada coluna, seguido dos nomes das colunas
+ * (quantidade de nomes, e cada nome como tamanho em bytes e UTF-8) quando o DataSet possui cabeçalho.
+ * O tipo inferido das colunas numéricas (TipoColuna) fica no segundo byte do tipo da coluna no diretório.
+ * <p>
+ * Na abertura, cada seção do arquivo é mapeada em memória (FileChannel.map) e copiada em bloco para os vetores primitivos das colunas,
+ * sem conversão de texto para número, então o custo é o de uma cópia de memória. O mapa de zonas gravado é reaproveitado pela coluna,
+ * de forma que máximo, mínimo e soma ficam disponíveis sem percorrer os valores.
+ * @author João Vittor
+ */
+final class ArquivoColunar {
+    /**
+     * Número mágico do arquivo ("EFC1").
+     */
+    private static final int MAGICO = 0x45464331;
+    /**
+     * Versão do formato do arquivo.
+     */
+    private static final int VERSAO = 1;
+    /**
+     * Opção que indica que as colunas numéricas possuem as estatísticas de cada bloco.
+     */
+    static final int OPCAO_ESTATISTICAS = 1;
+    /**
+     * Opção que indica que os nomes das colunas estão gravados depois do diretório.
+     */
+    static final int OPCAO_NOMES = 2;
+    /**
+     * Quantidade de linhas de cada bloco de estatísticas.
+     */
+    static final int TAMANHO_BLOCO = MapaZonas.TAMANHO_BLOCO_PADRAO;
+    /**
+     * Quantidade de campos de 8 bytes do resumo de cada bloco (contagem, soma, M2, mínimo e máximo).
+     */
+    private static final int CAMPOS_BLOCO = 5;
+    /**
+     * Tamanho do cabeçalho, em bytes.
+     */
+    private static final int TAMANHO_CABECALHO = 32;
+    /**
+     * Tamanho de cada entrada do diretório, em bytes.
+     */
+    private static final int TAMANHO_ENTRADA = 24;
+    /**
+     * Tipo das colunas numéricas no diretório.
+     */
+    private static final int TIPO_NUMERICA = 0;
+    /**
+     * Tipo das colunas de texto no diretório.
+     */
+    private static final int TIPO_TEXTO = 1;
+    /**
+     * Deslocamento (em bits) do tipo inferido das colunas numéricas (ordinal de TipoColuna + 1, ou zero sem tipo) no tipo da coluna.
+     */
+    private static final int DESLOCAMENTO_TIPO = 8;
+    /**
+     * Quantidade máxima de bytes mapeados de cada vez na leitura de um vetor.
+     */
+    private static final int TAMANHO_MAPEAMENTO = 1 << 30;
+    /**
+     * Tamanho do buffer de escrita, em bytes.
+     */
+    private static final int TAMANHO_BUFFER = 1 << 20;
+
+    /**
+     * Construtor privado, a classe possui somente métodos estáticos.
+     */
+    private ArquivoColunar() {
+    }
+
+    /**
+     * Método para gravar um DataSet em um arquivo colunar.
+     * @param ds DataSet que será gravado
+     * @param arquivo caminho e nome do arquivo
+     * @param estatisticas verdadeiro para gravar as estatísticas de cada bloco das colunas numéricas
+     * @throws IOException
+     */
+    static void salvar(DataSet ds, String arquivo, boolean estatisticas) throws IOException {
+        int largura = ds.getLargura();
+        int[] tipos = new int[largura];
+        long[] posicoes = new long[largura];
+        long[] tamanhos = new long[largura];
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Saida saida = new Saida(canal);
+            saida.posicionar(TAMANHO_CABECALHO);
+            for (int i = 0; i < largura; i++) {
+                Coluna coluna = ds.getColunaArmazenada(i);
+                posicoes[i] = saida.getPosicao();
+                int linhas = coluna.getTamanho();
+                saida.escreverLongs(coluna.getValidade(), palavras(linhas));
+                if (coluna instanceof ColunaTexto) {
+                    ColunaTexto texto = (ColunaTexto) coluna;
+                    tipos[i] = TIPO_TEXTO;
+                    saida.escreverInts(texto.getVetorCodigos(), linhas);
+                    saida.alinhar();
+                    List<String> dicionario = texto.getDicionario();
+                    saida.escreverInt(dicionario.size());
+                    for (String valor : dicionario) {
+                        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+                        saida.escreverInt(bytes.length);
+                        saida.escreverBytes(bytes);
+                    }
+                } else {
+                    ColunaNumerica numerica = (ColunaNumerica) coluna;
+                    tipos[i] = TIPO_NUMERICA | (numerica.getTipo().ordinal() + 1) << DESLOCAMENTO_TIPO;
+                    saida.escreverDoubles(numerica.getVetorValores(), linhas);
+                    if (estatisticas) {
+                        MapaZonas zonas = numerica.getMapaZonas();
+                        for (int bloco = 0; bloco < zonas.getQuantidadeBlocos(); bloco++) {
+                            AgregadoParcial resumo = zonas.getAgregado(bloco);
+                            saida.escreverLong(resumo.getContagem());
+                            saida.escreverDouble(resumo.getSoma());
+                            saida.escreverDouble(resumo.getM2());
+                            saida.escreverDouble(resumo.getMin());
+                            saida.escreverDouble(resumo.getMax());
+                        }
+                    }
+                }
+                saida.alinhar();
+                tamanhos[i] = saida.getPosicao() - posicoes[i];
+            }
+
+            long diretorio = saida.getPosicao();
+            for (int i = 0; i < largura; i++) {
+                saida.escreverInt(tipos[i]);
+                saida.escreverInt(ds.getColunaArmazenada(i).getTamanho());
+                saida.escreverLong(posicoes[i]);
+                saida.escreverLong(tamanhos[i]);
+            }
+            List<String> nomes = ds.getNomesColunas();
+            if (!nomes.isEmpty()) {
+                saida.escreverInt(nomes.size());
+                for (String nome : nomes) {
+                    byte[] bytes = nome.getBytes(StandardCharsets.UTF_8);
+                    saida.escreverInt(bytes.length);
+                    saida.escreverBytes(bytes);
+                }
+            }
+            saida.posicionar(0);
+            saida.escreverInt(MAGICO);
+            saida.escreverInt(VERSAO);
+            saida.escreverInt(largura);
+            saida.escreverInt(ds.getAltura());
+            saida.escreverInt((estatisticas ? OPCAO_ESTATISTICAS : 0) | (nomes.isEmpty() ? 0 : OPCAO_NOMES));
+            saida.escreverInt(TAMANHO_BLOCO);
+            saida.escreverLong(diretorio);
+            saida.descarregar();
+        }
+    }
+
+    /**
+     * Método para abrir um DataSet gravado em um arquivo colunar.
+     * @param arquivo caminho e nome do arquivo
+     * @return DataSet com as colunas do arquivo
+     * @throws IOException
+     */
+    static DataSet abrir(String arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            if (canal.size() < TAMANHO_CABECALHO) {
+                throw new IOException("Arquivo colunar inválido: " + arquivo);
+            }
+            ByteBuffer cabecalho = mapear(canal, 0, TAMANHO_CABECALHO);
+            if (cabecalho.getInt() != MAGICO) {
+                throw new IOException("Arquivo colunar inválido: " + arquivo);
+            }
+            int versao = cabecalho.getInt();
+            if (versao != VERSAO) {
+                throw new IOException("Versão do arquivo colunar não suportada (" + versao + "): " + arquivo);
+            }
+            int largura = cabecalho.getInt();
+            int altura = cabecalho.getInt();
+            int opcoes = cabecalho.getInt();
+            boolean estatisticas = (opcoes & OPCAO_ESTATISTICAS) != 0;
+            int tamanhoBloco = cabecalho.getInt();
+            long posicaoDiretorio = cabecalho.getLong();
+            if (estatisticas && (tamanhoBloco <= 0 || tamanhoBloco % 64 != 0)) {
+                throw new IOException("Tamanho de bloco inválido (" + tamanhoBloco + "): " + arquivo);
+            }
+            if (posicaoDiretorio < TAMANHO_CABECALHO || posicaoDiretorio + (long) largura * TAMANHO_ENTRADA > canal.size()) {
+                throw new IOException("Arquivo colunar incompleto: " + arquivo);
+            }
+
+            ByteBuffer diretorio = mapear(canal, posicaoDiretorio, (long) largura * TAMANHO_ENTRADA);
+            List<Coluna> colunas = new ArrayList<>(largura);
+            for (int i = 0; i < largura; i++) {
+                int tipo = diretorio.getInt();
+                int tipoInferido = tipo >>> DESLOCAMENTO_TIPO;
+                tipo &= (1 << DESLOCAMENTO_TIPO) - 1;
+                int linhas = diretorio.getInt();
+                long inicio = diretorio.getLong();
+                long tamanho = diretorio.getLong();
+                long posicao = inicio;
+                long[] validade = new long[Math.max(1, palavras(linhas))];
+                posicao = lerLongs(canal, posicao, validade, palavras(linhas));
+                if (tipo == TIPO_TEXTO) {
+                    int[] codigos = new int[linhas];
+                    posicao = alinhar(lerInts(canal, posicao, codigos, linhas));
+                    colunas.add(new ColunaTexto(codigos, lerDicionario(canal, posicao, inicio + tamanho - posicao), validade, linhas));
+                } else {
+                    double[] valores = new double[linhas];
+                    posicao = lerDoubles(canal, posicao, valores, linhas);
+                    ColunaNumerica coluna = new ColunaNumerica(valores, validade, linhas);
+                    if (tipoInferido > 0 && tipoInferido <= TipoColuna.values().length) {
+                        coluna.setTipo(TipoColuna.values()[tipoInferido - 1]);
+                    }
+                    if (estatisticas) {
+                        coluna.setMapaZonas(lerMapaZonas(canal, posicao, coluna, tamanhoBloco));
+                    }
+                    colunas.add(coluna);
+                }
+            }
+            List<String> nomes = new ArrayList<>();
+            if ((opcoes & OPCAO_NOMES) != 0) {
+                long posicaoNomes = posicaoDiretorio + (long) largura * TAMANHO_ENTRADA;
+                nomes.addAll(lerDicionario(canal, posicaoNomes, canal.size() - posicaoNomes));
+            }
+            return new DataSet(colunas, altura, nomes);
+        }
+    }
+
+    /**
+     * Método para ler o dicionário de uma coluna de texto (ou os nomes das colunas, gravados no mesmo formato).
+     * @param canal canal do arquivo
+     * @param posicao posição do dicionário no arquivo
+     * @param bytes quantidade de bytes do dicionário (incluindo o alinhamento)
+     * @return textos do dicionário
+     * @throws IOException
+     */
+    private static List<String> lerDicionario(FileChannel canal, long posicao, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Dicionário grande demais para ser mapeado: " + bytes + " bytes");
+        }
+        ByteBuffer buffer = mapear(canal, posicao, bytes);
+        int quantidade = buffer.getInt();
+        List<String> dicionario = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            byte[] texto = new byte[buffer.getInt()];
+            buffer.get(texto);
+            dicionario.add(new String(texto, StandardCharsets.UTF_8));
+        }
+        return dicionario;
+    }
+
+    /**
+     * Método para ler o mapa de zonas gravado depois dos valores de uma coluna numérica.
+     * @param canal canal do arquivo
+     * @param posicao posição do mapa no arquivo
+     * @param coluna coluna resumida pelo mapa
+     * @param tamanhoBloco quantidade de linhas de cada bloco
+     * @return mapa de zonas da coluna
+     * @throws IOException
+     */
+    private static MapaZonas lerMapaZonas(FileChannel canal, long posicao, ColunaNumerica coluna, int tamanhoBloco) throws IOException {
+        int blocos = (int) (((long) coluna.getTamanho() + tamanhoBloco - 1) / tamanhoBloco);
+        long[] contagens = new long[blocos];
+        double[] somas = new double[blocos];
+        double[] m2s = new double[blocos];
+        double[] minimos = new double[blocos];
+        double[] maximos = new double[blocos];
+        ByteBuffer buffer = mapear(canal, posicao, (long) blocos * CAMPOS_BLOCO * Long.BYTES);
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            contagens[bloco] = buffer.getLong();
+            somas[bloco] = buffer.getDouble();
+            m2s[bloco] = buffer.getDouble();
+            minimos[bloco] = buffer.getDouble();
+            maximos[bloco] = buffer.getDouble();
+        }
+        return new MapaZonas(coluna, tamanhoBloco, contagens, somas, m2s, minimos, maximos);
+    }
+
+    /**
+     * Método para ler um vetor de long do arquivo, mapeando no máximo TAMANHO_MAPEAMENTO bytes de cada vez.
+     * @param canal canal do arquivo
+     * @param posicao posição do vetor no arquivo
+     * @param destino vetor que recebe os valores
+     * @param quantidade quantidade de valores
+     * @return posição seguinte ao vetor no arquivo
+     * @throws IOException
+     */
+    private static long lerLongs(FileChannel canal, long posicao, long[] destino, int quantidade) throws IOException {
+        for (int i = 0; i < quantidade;) {
+            int n = Math.min(quantidade - i, TAMANHO_MAPEAMENTO / Long.BYTES);
+            mapear(canal, posicao, (long) n * Long.BYTES).asLongBuffer().get(destino, i, n);
+            posicao += (long) n * Long.BYTES;
+            i += n;
+        }
+        return posicao;
+    }
+
+    /**
+     * Método para ler um vetor de double do arquivo, mapeando no máximo TAMANHO_MAPEAMENTO bytes de cada vez.
+     * @param canal canal do arquivo
+     * @param posicao posição do vetor no arquivo
+     * @param destino vetor que recebe os valores
+     * @param quantidade quantidade de valores
+     * @return posição seguinte ao vetor no arquivo
+     * @throws IOException
+     */
+    private static long lerDoubles(FileChannel canal, long posicao, double[] destino, int quantidade) throws IOException {
+        for (int i = 0; i < quantidade;) {
+            int n = Math.min(quantidade - i, TAMANHO_MAPEAMENTO / Double.BYTES);
+            mapear(canal, posicao, (long) n * Double.BYTES).asDoubleBuffer().get(destino, i, n);
+            posicao += (long) n * Double.BYTES;
+            i += n;
+        }
+        return posicao;
+    }
+
+    /**
+     * Método para ler um vetor de int do arquivo, mapeando no máximo TAMANHO_MAPEAMENTO bytes de cada vez.
+     * @param canal canal do arquivo
+     * @param posicao posição do vetor no arquivo
+     * @param destino vetor que recebe os valores
+     * @param quantidade quantidade de valores
+     * @return posição seguinte ao vetor no arquivo
+     * @throws IOException
+     */
+    private static long lerInts(FileChannel canal, long posicao, int[] destino, int quantidade) throws IOException {
+        for (int i = 0; i < quantidade;) {
+            int n = Math.min(quantidade - i, TAMANHO_MAPEAMENTO / Integer.BYTES);
+            mapear(canal, posicao, (long) n * Integer.BYTES).asIntBuffer().get(destino, i, n);
+            posicao += (long) n * Integer.BYTES;
+            i += n;
+        }
+        return posicao;
+    }
+
+    /**
+     * Método para mapear em memória um trecho do arquivo, na ordem de bytes do formato.
+     * @param canal canal do arquivo
+     * @param posicao posição do trecho
+     * @param bytes tamanho do trecho
+     * @return trecho mapeado
+     * @throws IOException
+     */
+    private static MappedByteBuffer mapear(FileChannel canal, long posicao, long bytes) throws IOException {
+        if (posicao + bytes > canal.size()) {
+            throw new IOException("Arquivo colunar incompleto");
+        }
+        MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, posicao, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Método para calcular a quantidade de palavras do mapa de bits de validade.
+     * @param linhas quantidade de linhas da coluna
+     * @return quantidade de palavras de 64 bits
+     */
+    private static int palavras(int linhas) {
+        return (linhas + 63) >>> 6;
+    }
+
+    /**
+     * Método para alinhar uma posição do arquivo em 8 bytes.
+     * @param posicao posição do arquivo
+     * @return menor posição múltipla de 8 que não é menor que a posição
+     */
+    private static long alinhar(long posicao) {
+        return (posicao + 7) & ~7L;
+    }
+
+    /**
+     * Classe Saida para a escrita sequencial do arquivo através de um buffer direto.
+     */
+    private static class Saida {
+        private final FileChannel canal;
+        private final ByteBuffer buffer;
+        private long posicao;
+
+        Saida(FileChannel canal) {
+            this.canal = canal;
+            this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        long getPosicao() {
+            return posicao + buffer.position();
+        }
+
+        void posicionar(long novaPosicao) throws IOException {
+            descarregar();
+            posicao = novaPosicao;
+        }
+
+        void descarregar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                posicao += canal.write(buffer, posicao);
+            }
+            buffer.clear();
+        }
+
+        private void garantir(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                descarregar();
+            }
+        }
+
+        void escreverInt(int valor) throws IOException {
+            garantir(Integer.BYTES);
+            buffer.putInt(valor);
+        }
+
+        void escreverLong(long valor) throws IOException {
+            garantir(Long.BYTES);
+            buffer.putLong(valor);
+        }
+
+        void escreverDouble(double valor) throws IOException {
+            garantir(Double.BYTES);
+            buffer.putDouble(valor);
+        }
+
+        void escreverBytes(byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length;) {
+                garantir(1);
+                int n = Math.min(bytes.length - i, buffer.remaining());
+                buffer.put(bytes, i, n);
+                i += n;
+            }
+        }
+
+        void escreverLongs(long[] valores, int quantidade) throws IOException {
+            for (int i = 0; i < quantidade;) {
+                garantir(Long.BYTES);
+                int n = Math.min(quantidade - i, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(valores, i, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                i += n;
+            }
+        }
+
+        void escreverDoubles(double[] valores, int quantidade) throws IOException {
+            for (int i = 0; i < quantidade;) {
+                garantir(Double.BYTES);
+                int n = Math.min(quantidade - i, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().put(valores, i, n);
+                buffer.position(buffer.position() + n * Double.BYTES);
+                i += n;
+            }
+        }
+
+        void escreverInts(int[] valores, int quantidade) throws IOException {
+            for (int i = 0; i < quantidade;) {
+                garantir(Integer.BYTES);
+                int n = Math.min(quantidade - i, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(valores, i, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                i += n;
+            }
+        }
+
+        void alinhar() throws IOException {
+            while ((getPosicao() & 7) != 0) {
+                garantir(1);
+                buffer.put((byte) 0);
+            }
+        }
+    }
+
+}
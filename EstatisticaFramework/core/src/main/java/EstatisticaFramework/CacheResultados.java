@@ -0,0 +1,162 @@
+package EstatisticaFramework;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Classe CacheResultados para guardar os resultados já calculados de um DataSet (estatísticas, tabelas de frequência, perfis).
+ * Cada resultado é guardado com o seu tamanho estimado em bytes, e quando o total passa do limite
+ * os resultados utilizados há mais tempo são descartados (LRU).
+ * O cache guarda a versão dos dados em que os resultados foram calculados e é esvaziado quando o DataSet é alterado.
+ * Pode ser utilizado por várias threads ao mesmo tempo (por exemplo, pelo relatório paralelo): o bloqueio do cache só protege a consulta
+ * e a inclusão das entradas, e os cálculos são feitos fora dele (e fora do bloqueio do DataSet, ver DataSet.memorizar).
+ * @author João Vittor
+ */
+class CacheResultados {
+    /**
+     * Limite padrão do cache, em bytes.
+     */
+    static final long LIMITE_PADRAO = 32L << 20;
+
+    /**
+     * Resultados guardados, do utilizado há mais tempo para o mais recente.
+     */
+    private final LinkedHashMap<String, Entrada> entradas;
+    /**
+     * Limite do cache, em bytes.
+     */
+    private long limite;
+    /**
+     * Soma dos tamanhos estimados dos resultados guardados.
+     */
+    private long tamanho;
+    /**
+     * Versão dos dados a que os resultados guardados pertencem.
+     */
+    private long versao;
+
+    /**
+     * Construtor da classe CacheResultados.
+     */
+    CacheResultados() {
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+        this.limite = LIMITE_PADRAO;
+        this.tamanho = 0;
+        this.versao = 0;
+    }
+
+    /**
+     * Método para retornar um resultado guardado ou calculá-lo e guardá-lo.
+     * O cálculo é feito fora do bloqueio, para que threads calculando resultados diferentes não esperem umas pelas outras.
+     * Como os dados podem ser alterados durante o cálculo, o resultado só é guardado se os dados ainda estiverem na versão informada.
+     * @param <T> tipo do resultado
+     * @param chave chave do resultado (tipo do resultado e número da coluna)
+     * @param versaoDados versão dos dados do DataSet lida antes do cálculo
+     * @param tamanhoEstimado estimativa do tamanho do resultado, em bytes
+     * @param calculo cálculo do resultado
+     * @param versaoMantida verifica, depois do cálculo, se os dados ainda estão na versão informada
+     * @return resultado guardado ou calculado
+     */
+    @SuppressWarnings("unchecked")
+    <T> T obter(String chave, long versaoDados, ToLongFunction<? super T> tamanhoEstimado, Supplier<T> calculo, BooleanSupplier versaoMantida) {
+        synchronized (this) {
+            if (versaoDados != versao) {
+                limpar();
+                versao = versaoDados;
+            }
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null) {
+                return (T) entrada.valor;
+            }
+        }
+        T valor = calculo.get();
+        if (!versaoMantida.getAsBoolean()) {
+            return valor;
+        }
+        long bytes = tamanhoEstimado.applyAsLong(valor);
+        synchronized (this) {
+            if (versaoDados == versao && bytes <= limite && !entradas.containsKey(chave)) {
+                entradas.put(chave, new Entrada(valor, bytes));
+                tamanho += bytes;
+                descartar();
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Método para remover todos os resultados guardados.
+     */
+    synchronized void limpar() {
+        entradas.clear();
+        tamanho = 0;
+    }
+
+    /**
+     * Método para alterar o limite do cache, descartando resultados caso necessário.
+     * @param limite limite do cache, em bytes (zero desativa o cache)
+     */
+    synchronized void setLimite(long limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite do cache não pode ser negativo: " + limite);
+        }
+        this.limite = limite;
+        descartar();
+    }
+
+    /**
+     * Método para retornar o limite do cache.
+     * @return limite do cache, em bytes
+     */
+    synchronized long getLimite() {
+        return limite;
+    }
+
+    /**
+     * Método para retornar a soma dos tamanhos estimados dos resultados guardados.
+     * @return tamanho do cache, em bytes
+     */
+    synchronized long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Método para descartar os resultados utilizados há mais tempo até o tamanho voltar ao limite.
+     */
+    private void descartar() {
+        Iterator<Map.Entry<String, Entrada>> iterador = entradas.entrySet().iterator();
+        while (tamanho > limite && iterador.hasNext()) {
+            tamanho -= iterador.next().getValue().bytes;
+            iterador.remove();
+        }
+    }
+
+    /**
+     * Classe Entrada para guardar um resultado junto com o seu tamanho estimado.
+     */
+    private static class Entrada {
+        /**
+         * Resultado guardado.
+         */
+        final Object valor;
+        /**
+         * Tamanho estimado do resultado, em bytes.
+         */
+        final long bytes;
+
+        /**
+         * Construtor da classe Entrada.
+         * @param valor resultado guardado
+         * @param bytes tamanho estimado do resultado, em bytes
+         */
+        Entrada(Object valor, long bytes) {
+            this.valor = valor;
+            this.bytes = bytes;
+        }
+    }
+
+}
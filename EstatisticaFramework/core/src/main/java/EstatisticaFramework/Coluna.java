@@ -0,0 +1,191 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe abstrata Coluna para o armazenamento colunar dos dados de um DataSet.
+ * Cada coluna guarda seus valores em vetores primitivos e um mapa de bits de validade,
+ * onde as posições sem valor (por exemplo, "NA" ou células vazias) ficam marcadas como inválidas.
+ * @author João Vittor
+ */
+public abstract class Coluna {
+    /**
+     * Capacidade inicial dos vetores de uma coluna.
+     */
+    protected static final int CAPACIDADE_INICIAL = 16;
+
+    /**
+     * Quantidade de linhas da coluna (incluindo as linhas sem valor).
+     */
+    protected int tamanho;
+    /**
+     * Quantidade de linhas da coluna que possuem valor válido.
+     */
+    protected int validos;
+    /**
+     * Mapa de bits de validade da coluna.
+     * Cada bit representa uma linha, onde 1 indica um valor válido e 0 indica "NA" ou célula vazia.
+     */
+    protected long[] validade;
+
+    /**
+     * Construtor da classe Coluna.
+     */
+    protected Coluna() {
+        this.validade = new long[1];
+    }
+
+    /**
+     * Construtor da classe Coluna.
+     * Cria uma coluna já preenchida a partir do mapa de bits de validade (por exemplo, lido de um arquivo colunar).
+     * @param validade mapa de bits de validade (sem bits ligados depois da última linha)
+     * @param tamanho quantidade de linhas da coluna
+     */
+    protected Coluna(long[] validade, int tamanho) {
+        this.validade = validade.length == 0 ? new long[1] : validade;
+        this.tamanho = tamanho;
+        for (long palavra : validade) {
+            this.validos += Long.bitCount(palavra);
+        }
+    }
+
+    /**
+     * Construtor da classe Coluna.
+     * Cria um instantâneo de outra coluna, com a quantidade de linhas atual e o mesmo mapa de bits de validade (sem cópia).
+     * Como as colunas só recebem linhas no final, os bits das linhas do instantâneo não mudam depois.
+     * @param origem coluna copiada
+     */
+    protected Coluna(Coluna origem) {
+        this.validade = origem.validade;
+        this.tamanho = origem.tamanho;
+        this.validos = origem.validos;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas da coluna.
+     * @return quantidade de linhas da coluna
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas da coluna que possuem valor válido.
+     * @return quantidade de valores válidos
+     */
+    public int getContagemValidos() {
+        return validos;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas com valor válido em um intervalo da coluna.
+     * As linhas são contadas de 64 em 64 diretamente no mapa de bits de validade.
+     * @param inicio primeira linha do intervalo (inclusiva)
+     * @param fim última linha do intervalo (exclusiva)
+     * @return quantidade de valores válidos no intervalo
+     */
+    public int getContagemValidos(int inicio, int fim) {
+        if (validos == tamanho) {
+            return Math.max(0, fim - inicio);
+        }
+        int contagem = 0;
+        int linha = inicio;
+        while (linha < fim) {
+            int deslocamento = linha & 63;
+            int bits = Math.min(64 - deslocamento, fim - linha);
+            long mascara = bits == 64 ? -1L : ((1L << bits) - 1) << deslocamento;
+            contagem += Long.bitCount(validade[linha >>> 6] & mascara);
+            linha += bits;
+        }
+        return contagem;
+    }
+
+    /**
+     * Método para verificar se uma linha da coluna possui valor válido.
+     * @param linha número (ou índice) da linha (começa em zero)
+     * @return verdadeiro se a linha possui valor e falso caso seja "NA" ou vazia
+     */
+    public boolean isValido(int linha) {
+        return (validade[linha >>> 6] & (1L << linha)) != 0;
+    }
+
+    /**
+     * Método para retornar o mapa de bits de validade, sem cópia.
+     * O vetor não deve ser alterado.
+     * @return mapa de bits de validade da coluna
+     */
+    long[] getValidade() {
+        return validade;
+    }
+
+    /**
+     * Método para retornar o valor de uma linha da coluna como texto.
+     * @param linha número (ou índice) da linha (começa em zero)
+     * @return valor da linha como texto ("NA" caso a linha não possua valor)
+     */
+    public abstract String getTexto(int linha);
+
+    /**
+     * Método para retornar o tipo dos valores da coluna.
+     * @return tipo da coluna
+     */
+    public abstract TipoColuna getTipo();
+
+    /**
+     * Método para adicionar uma linha sem valor ("NA") ao final da coluna.
+     */
+    abstract void adicionarNA();
+
+    /**
+     * Método para adicionar várias linhas sem valor ("NA") ao final da coluna.
+     * @param quantidade quantidade de linhas
+     */
+    void adicionarNA(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            adicionarNA();
+        }
+    }
+
+    /**
+     * Método para reduzir os vetores da coluna ao tamanho exato dos dados.
+     * É utilizado ao final da leitura para liberar a capacidade que sobrou do crescimento dos vetores.
+     */
+    abstract void compactar();
+
+    /**
+     * Método para registrar uma nova linha no mapa de bits de validade.
+     * Esse método é utilizado pelas subclasses ao adicionar valores.
+     * @param valido verdadeiro se a nova linha possui valor válido
+     */
+    protected void registrarLinha(boolean valido) {
+        int palavra = tamanho >>> 6;
+        if (palavra == validade.length) {
+            validade = Arrays.copyOf(validade, validade.length * 2);
+        }
+        if (valido) {
+            validade[palavra] |= 1L << tamanho;
+            validos++;
+        }
+        tamanho++;
+    }
+
+    /**
+     * Método para reduzir o mapa de bits de validade ao tamanho exato da coluna.
+     */
+    protected void compactarValidade() {
+        int palavras = Math.max(1, (tamanho + 63) >>> 6);
+        if (palavras < validade.length) {
+            validade = Arrays.copyOf(validade, palavras);
+        }
+    }
+
+    /**
+     * Método para calcular a nova capacidade de um vetor que precisa crescer.
+     * @param capacidadeAtual capacidade atual do vetor
+     * @return nova capacidade do vetor
+     */
+    protected static int novaCapacidade(int capacidadeAtual) {
+        return Math.max(CAPACIDADE_INICIAL, capacidadeAtual + (capacidadeAtual >> 1));
+    }
+
+}
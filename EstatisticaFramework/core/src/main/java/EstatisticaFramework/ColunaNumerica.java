@@ -0,0 +1,334 @@
+package EstatisticaFramework;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Classe ColunaNumerica para o armazenamento de uma coluna de números do DataSet.
+ * Os valores ficam em um vetor de double, sem objetos intermediários, e as linhas sem valor são marcadas no mapa de bits de validade.
+ * @author João Vittor
+ */
+public class ColunaNumerica extends Coluna {
+    /**
+     * Valores da coluna. As posições sem valor guardam zero e devem ser ignoradas através do método isValido.
+     */
+    private double[] valores;
+    /**
+     * Mapa de zonas (resumo de cada bloco de linhas) da coluna, calculado na primeira consulta, atualizado a cada linha adicionada e descartado quando linhas são anexadas em lote.
+     */
+    private volatile MapaZonas zonas;
+    /**
+     * Tipo dos valores da coluna (DECIMAL caso não tenha sido inferido), utilizado para formatar os valores como texto.
+     */
+    private TipoColuna tipo;
+
+    /**
+     * Construtor da classe ColunaNumerica.
+     * Cria uma coluna vazia, que é preenchida durante a leitura do DataSet.
+     */
+    public ColunaNumerica() {
+        super();
+        this.valores = new double[CAPACIDADE_INICIAL];
+        this.tipo = TipoColuna.DECIMAL;
+    }
+
+    /**
+     * Construtor da classe ColunaNumerica.
+     * Cria uma coluna já preenchida, sem cópia dos vetores (utilizado na abertura de um arquivo colunar).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade
+     * @param tamanho quantidade de linhas da coluna
+     */
+    ColunaNumerica(double[] valores, long[] validade, int tamanho) {
+        super(validade, tamanho);
+        this.valores = valores;
+        this.tipo = TipoColuna.DECIMAL;
+    }
+
+    /**
+     * Construtor da classe ColunaNumerica.
+     * Cria um instantâneo de outra coluna (ver instantaneo).
+     * @param origem coluna copiada
+     */
+    private ColunaNumerica(ColunaNumerica origem) {
+        super(origem);
+        this.valores = origem.valores;
+        this.tipo = origem.tipo;
+        this.zonas = origem.getMapaZonas().copiar(this);
+    }
+
+    /**
+     * Método para criar um instantâneo da coluna, com a quantidade de linhas atual.
+     * Os vetores de valores e de validade são compartilhados (sem cópia): as linhas novas são escritas depois do fim do instantâneo
+     * ou em vetores novos, quando a coluna cresce. Somente o mapa de zonas é copiado, já que o seu último bloco é atualizado a cada linha.
+     * Deve ser chamado com o DataSet sincronizado; o instantâneo pode então ser percorrido sem sincronização enquanto linhas são adicionadas.
+     * @return instantâneo da coluna
+     */
+    ColunaNumerica instantaneo() {
+        return new ColunaNumerica(this);
+    }
+
+    /**
+     * Método para adicionar um valor ao final da coluna.
+     * Colunas de inteiros passam a um tipo mais largo caso o valor não caiba no tipo atual (TipoColuna.ajustar).
+     * @param valor valor que será adicionado
+     */
+    void adicionar(double valor) {
+        garantirCapacidade(tamanho + 1);
+        valores[tamanho] = valor;
+        registrarLinha(true);
+        if (tipo != TipoColuna.DECIMAL) {
+            tipo = tipo.ajustar(valor);
+        }
+        MapaZonas mapa = zonas;
+        if (mapa != null) {
+            mapa.adicionar(tamanho - 1, valor, true);
+        }
+    }
+
+    @Override
+    void adicionarNA() {
+        garantirCapacidade(tamanho + 1);
+        valores[tamanho] = 0;
+        registrarLinha(false);
+        MapaZonas mapa = zonas;
+        if (mapa != null) {
+            mapa.adicionar(tamanho - 1, 0, false);
+        }
+    }
+
+    /**
+     * Método para adicionar todas as linhas de outra coluna ao final desta coluna.
+     * É utilizado para juntar, em ordem, as partes de um arquivo lidas em paralelo.
+     * @param outra coluna cujas linhas serão adicionadas
+     */
+    void anexar(ColunaNumerica outra) {
+        garantirCapacidade(tamanho + outra.tamanho);
+        System.arraycopy(outra.valores, 0, valores, tamanho, outra.tamanho);
+        for (int i = 0; i < outra.tamanho; i++) {
+            registrarLinha(outra.isValido(i));
+        }
+        if (outra.validos > 0) {
+            tipo = validos == outra.validos ? outra.tipo : tipo.combinar(outra.tipo);
+        }
+        zonas = null;
+    }
+
+    /**
+     * Método para aumentar o vetor de valores quando ele não comportar a quantidade de linhas desejada.
+     * @param minimo quantidade mínima de linhas que o vetor deve comportar
+     */
+    private void garantirCapacidade(int minimo) {
+        if (minimo > valores.length) {
+            valores = Arrays.copyOf(valores, Math.max(minimo, novaCapacidade(valores.length)));
+        }
+    }
+
+    @Override
+    void compactar() {
+        if (valores.length > tamanho) {
+            valores = Arrays.copyOf(valores, tamanho);
+        }
+        compactarValidade();
+    }
+
+    /**
+     * Método para retornar o valor de uma linha da coluna.
+     * Deve ser utilizado junto com o método isValido, já que linhas sem valor retornam zero.
+     * @param linha número (ou índice) da linha (começa em zero)
+     * @return valor da linha
+     */
+    public double getValor(int linha) {
+        return valores[linha];
+    }
+
+    /**
+     * Método para retornar o vetor interno de valores, sem cópia.
+     * O vetor pode ser maior do que a coluna e não deve ser alterado; as linhas sem valor guardam zero.
+     * @return vetor de valores da coluna
+     */
+    double[] getVetorValores() {
+        return valores;
+    }
+
+    /**
+     * Método para retornar um vetor somente com os valores válidos da coluna, na ordem das linhas.
+     * O vetor retornado é uma cópia e pode ser modificado (por exemplo, ordenado) sem alterar a coluna.
+     * @return vetor com os valores válidos da coluna
+     */
+    public double[] getValoresValidos() {
+        if (validos == tamanho) {
+            return Arrays.copyOf(valores, tamanho);
+        }
+        double[] resultado = new double[validos];
+        int j = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (isValido(i)) {
+                resultado[j++] = valores[i];
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para retornar o mapa de zonas da coluna (contagem, soma, M2, mínimo e máximo de cada bloco de linhas).
+     * O mapa é calculado na primeira chamada, com uma passagem pela coluna, e reutilizado até a coluna ser alterada.
+     * @return mapa de zonas da coluna
+     */
+    public MapaZonas getMapaZonas() {
+        MapaZonas mapa = zonas;
+        if (mapa == null) {
+            mapa = MapaZonas.calcular(this, MapaZonas.TAMANHO_BLOCO_PADRAO);
+            zonas = mapa;
+        }
+        return mapa;
+    }
+
+    /**
+     * Método para definir o mapa de zonas da coluna já calculado (por exemplo, lido de um arquivo colunar).
+     * @param mapa mapa de zonas da coluna
+     */
+    void setMapaZonas(MapaZonas mapa) {
+        zonas = mapa;
+    }
+
+    /**
+     * Método para somar os valores válidos da coluna.
+     * A soma é obtida das somas dos blocos do mapa de zonas, sem percorrer a coluna depois da primeira consulta.
+     * @return soma dos valores válidos
+     */
+    public double getSoma() {
+        return getMapaZonas().agregar().getSoma();
+    }
+
+    /**
+     * Método para somar os quadrados dos desvios dos valores válidos em relação a um centro.
+     * Com a média como centro, dividir o resultado por n - 1 resulta na variância amostral.
+     * @param centro valor de referência dos desvios (normalmente a média)
+     * @return soma dos quadrados dos desvios
+     */
+    public double getSomaQuadradosDesvios(double centro) {
+        return Reducoes.somaQuadradosDesvios(valores, validade, 0, tamanho, validos == tamanho, centro);
+    }
+
+    /**
+     * Método para somar os desvios absolutos dos valores válidos em relação a um centro.
+     * Com a média como centro, dividir o resultado por n resulta no desvio médio.
+     * @param centro valor de referência dos desvios (normalmente a média)
+     * @return soma dos desvios absolutos
+     */
+    public double getSomaDesviosAbsolutos(double centro) {
+        return Reducoes.somaDesviosAbsolutos(valores, validade, 0, tamanho, validos == tamanho, centro);
+    }
+
+    /**
+     * Método para retornar o maior valor válido da coluna, a partir dos máximos dos blocos do mapa de zonas.
+     * @return maior valor (-Double.MAX_VALUE caso a coluna não possua valores válidos)
+     */
+    public double getMax() {
+        return getMapaZonas().getMax();
+    }
+
+    /**
+     * Método para retornar o menor valor válido da coluna, a partir dos mínimos dos blocos do mapa de zonas.
+     * @return menor valor (Double.MAX_VALUE caso a coluna não possua valores válidos)
+     */
+    public double getMin() {
+        return getMapaZonas().getMin();
+    }
+
+    /**
+     * Método para calcular o agregado parcial (contagem, soma, M2, máximo e mínimo) de um intervalo de linhas da coluna.
+     * Agregados de intervalos diferentes podem ser combinados com o método combinar da classe AgregadoParcial.
+     * Caso o mapa de zonas já tenha sido calculado, os blocos cobertos por inteiro usam o resumo e só as pontas são percorridas.
+     * @param inicio primeira linha do intervalo (inclusiva)
+     * @param fim última linha do intervalo (exclusiva)
+     * @return agregado parcial do intervalo
+     */
+    public AgregadoParcial agregar(int inicio, int fim) {
+        MapaZonas mapa = zonas;
+        if (mapa != null) {
+            return mapa.agregar(inicio, fim);
+        }
+        return varrer(inicio, fim);
+    }
+
+    /**
+     * Método para calcular o agregado dos valores válidos da coluna que estão na faixa [minimo, maximo],
+     * percorrendo somente os blocos do mapa de zonas que cruzam os limites da faixa.
+     * @param minimo menor valor da faixa (inclusivo)
+     * @param maximo maior valor da faixa (inclusivo)
+     * @return agregado dos valores da faixa
+     */
+    public AgregadoParcial agregarEntre(double minimo, double maximo) {
+        return getMapaZonas().agregarEntre(minimo, maximo);
+    }
+
+    /**
+     * Método para calcular o agregado de um intervalo de linhas percorrendo os valores com as reduções da coluna
+     * (vetoriais com Java 21+), sem usar o mapa de zonas.
+     * @param inicio primeira linha do intervalo (inclusiva)
+     * @param fim última linha do intervalo (exclusiva)
+     * @return agregado parcial do intervalo
+     */
+    AgregadoParcial varrer(int inicio, int fim) {
+        boolean todosValidos = validos == tamanho;
+        int contagem = getContagemValidos(inicio, fim);
+        if (contagem == 0) {
+            return new AgregadoParcial();
+        }
+        double soma = Reducoes.soma(valores, validade, inicio, fim, todosValidos);
+        double m2 = Reducoes.somaQuadradosDesvios(valores, validade, inicio, fim, todosValidos, soma / contagem);
+        double max = Reducoes.max(valores, validade, inicio, fim, todosValidos);
+        double min = Reducoes.min(valores, validade, inicio, fim, todosValidos);
+        return new AgregadoParcial(contagem, soma, m2, max, min);
+    }
+
+    @Override
+    public TipoColuna getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Método para definir o tipo dos valores da coluna (por exemplo, o tipo inferido do arquivo CSV).
+     * @param tipo tipo da coluna (não pode ser CATEGORICO)
+     */
+    void setTipo(TipoColuna tipo) {
+        if (tipo == TipoColuna.CATEGORICO) {
+            throw new IllegalArgumentException("Uma coluna numérica não pode ser do tipo " + tipo);
+        }
+        this.tipo = tipo;
+    }
+
+    @Override
+    public String getTexto(int linha) {
+        if (!isValido(linha)) {
+            return "NA";
+        }
+        double valor = valores[linha];
+        switch (tipo) {
+            case INTEIRO:
+            case LONGO:
+                return String.valueOf((long) valor);
+            case BOOLEANO:
+                return valor != 0 ? "true" : "false";
+            case DATA:
+                return LocalDate.ofEpochDay((long) valor).toString();
+            default:
+                return formatar(valor);
+        }
+    }
+
+    /**
+     * Método para converter um valor da coluna em texto, sem casas decimais quando o valor é inteiro.
+     * @param valor valor da coluna
+     * @return texto do valor
+     */
+    static String formatar(double valor) {
+        if (valor % 1 == 0 && Math.abs(valor) < 1e15) {
+            return String.valueOf((long) valor);
+        }
+        return String.valueOf(valor);
+    }
+
+}
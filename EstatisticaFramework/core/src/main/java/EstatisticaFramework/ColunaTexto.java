@@ -0,0 +1,170 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe ColunaTexto para o armazenamento de uma coluna de textos (categorias) do DataSet.
+ * A coluna é codificada por dicionário: cada texto distinto é guardado uma única vez e as linhas guardam apenas o código (índice) do texto.
+ * @author João Vittor
+ */
+public class ColunaTexto extends Coluna {
+    /**
+     * Códigos das linhas da coluna. Cada código é o índice do texto no dicionário (-1 para linhas sem valor).
+     */
+    private int[] codigos;
+    /**
+     * Dicionário com os textos distintos da coluna, na ordem em que apareceram.
+     */
+    private List<String> dicionario;
+    /**
+     * Mapa de cada texto do dicionário para o seu código.
+     */
+    private Map<String, Integer> indices;
+
+    /**
+     * Construtor da classe ColunaTexto.
+     * Cria uma coluna vazia, que é preenchida durante a leitura do DataSet.
+     */
+    public ColunaTexto() {
+        super();
+        this.codigos = new int[CAPACIDADE_INICIAL];
+        this.dicionario = new ArrayList<>();
+        this.indices = new HashMap<>();
+    }
+
+    /**
+     * Construtor da classe ColunaTexto.
+     * Cria uma coluna já preenchida, sem cópia dos códigos (utilizado na abertura de um arquivo colunar).
+     * @param codigos códigos das linhas da coluna (-1 para linhas sem valor)
+     * @param dicionario textos distintos da coluna, na ordem dos códigos
+     * @param validade mapa de bits de validade
+     * @param tamanho quantidade de linhas da coluna
+     */
+    ColunaTexto(int[] codigos, List<String> dicionario, long[] validade, int tamanho) {
+        super(validade, tamanho);
+        this.codigos = codigos;
+        this.dicionario = dicionario;
+        this.indices = new HashMap<>(dicionario.size() * 2);
+        for (int i = 0; i < dicionario.size(); i++) {
+            indices.put(dicionario.get(i), i);
+        }
+    }
+
+    /**
+     * Método para adicionar um texto ao final da coluna.
+     * @param texto texto que será adicionado
+     */
+    void adicionar(String texto) {
+        Integer codigo = indices.get(texto);
+        if (codigo == null) {
+            codigo = dicionario.size();
+            dicionario.add(texto);
+            indices.put(texto, codigo);
+        }
+        garantirCapacidade(tamanho + 1);
+        codigos[tamanho] = codigo;
+        registrarLinha(true);
+    }
+
+    @Override
+    void adicionarNA() {
+        garantirCapacidade(tamanho + 1);
+        codigos[tamanho] = -1;
+        registrarLinha(false);
+    }
+
+    /**
+     * Método para adicionar todas as linhas de outra coluna ao final desta coluna.
+     * Os códigos da outra coluna são traduzidos para o dicionário desta coluna.
+     * É utilizado para juntar, em ordem, as partes de um arquivo lidas em paralelo.
+     * @param outra coluna cujas linhas serão adicionadas
+     */
+    void anexar(ColunaTexto outra) {
+        int[] traducao = new int[outra.dicionario.size()];
+        for (int i = 0; i < traducao.length; i++) {
+            String texto = outra.dicionario.get(i);
+            Integer codigo = indices.get(texto);
+            if (codigo == null) {
+                codigo = dicionario.size();
+                dicionario.add(texto);
+                indices.put(texto, codigo);
+            }
+            traducao[i] = codigo;
+        }
+        garantirCapacidade(tamanho + outra.tamanho);
+        for (int i = 0; i < outra.tamanho; i++) {
+            int codigo = outra.codigos[i];
+            codigos[tamanho] = codigo < 0 ? -1 : traducao[codigo];
+            registrarLinha(codigo >= 0);
+        }
+    }
+
+    /**
+     * Método para aumentar o vetor de códigos quando ele não comportar a quantidade de linhas desejada.
+     * @param minimo quantidade mínima de linhas que o vetor deve comportar
+     */
+    private void garantirCapacidade(int minimo) {
+        if (minimo > codigos.length) {
+            codigos = Arrays.copyOf(codigos, Math.max(minimo, novaCapacidade(codigos.length)));
+        }
+    }
+
+    @Override
+    void compactar() {
+        if (codigos.length > tamanho) {
+            codigos = Arrays.copyOf(codigos, tamanho);
+        }
+        compactarValidade();
+    }
+
+    /**
+     * Método para retornar o código de uma linha da coluna.
+     * @param linha número (ou índice) da linha (começa em zero)
+     * @return código do texto no dicionário (-1 caso a linha não possua valor)
+     */
+    public int getCodigo(int linha) {
+        return codigos[linha];
+    }
+
+    /**
+     * Método para retornar o vetor interno de códigos, sem cópia.
+     * O vetor pode ser maior do que a coluna e não deve ser alterado.
+     * @return vetor de códigos da coluna
+     */
+    int[] getVetorCodigos() {
+        return codigos;
+    }
+
+    /**
+     * Método para retornar o dicionário de textos distintos da coluna.
+     * @return dicionário da coluna (somente leitura)
+     */
+    public List<String> getDicionario() {
+        return Collections.unmodifiableList(dicionario);
+    }
+
+    /**
+     * Método para retornar a quantidade de textos distintos da coluna.
+     * @return cardinalidade da coluna
+     */
+    public int getCardinalidade() {
+        return dicionario.size();
+    }
+
+    @Override
+    public TipoColuna getTipo() {
+        return TipoColuna.CATEGORICO;
+    }
+
+    @Override
+    public String getTexto(int linha) {
+        int codigo = codigos[linha];
+        return codigo < 0 ? "NA" : dicionario.get(codigo);
+    }
+
+}
@@ -0,0 +1,190 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe ConstrutorColunas para a montagem das colunas de um DataSet a partir das células lidas de um arquivo.
+ * Enquanto o arquivo é lido, cada coluna guarda os números em uma ColunaNumerica e, caso apareça algum texto, também em uma ColunaTexto.
+ * Ao final, colunas sem nenhum número ficam como ColunaTexto e as demais como ColunaNumerica.
+ * Colunas com tipo inferido (EsquemaCSV) já começam com a coluna do seu tipo: as categóricas somente com a ColunaTexto
+ * e as demais somente com a ColunaNumerica, que recebe o tipo inferido.
+ * @author João Vittor
+ */
+class ConstrutorColunas implements ConsumidorCSV {
+    /**
+     * Tipo inferido de cada coluna (nulo para as colunas sem tipo).
+     */
+    private final TipoColuna[] tipos;
+    /**
+     * Parte numérica de cada coluna (nula para as colunas categóricas).
+     */
+    private List<ColunaNumerica> numericas;
+    /**
+     * Parte de texto de cada coluna (nula enquanto a coluna não tiver nenhum texto).
+     */
+    private List<ColunaTexto> textos;
+    /**
+     * Quantidade de linhas já lidas.
+     */
+    private int altura;
+
+    /**
+     * Construtor da classe ConstrutorColunas.
+     * Todas as colunas são classificadas célula a célula (sem tipo inferido).
+     */
+    ConstrutorColunas() {
+        this(new TipoColuna[0]);
+    }
+
+    /**
+     * Construtor da classe ConstrutorColunas.
+     * @param tipos tipo inferido de cada coluna (nulo para as colunas sem tipo)
+     */
+    ConstrutorColunas(TipoColuna[] tipos) {
+        this.tipos = tipos;
+        this.numericas = new ArrayList<>();
+        this.textos = new ArrayList<>();
+        this.altura = 0;
+    }
+
+    @Override
+    public void numero(int coluna, double valor) {
+        garantirColuna(coluna);
+        ColunaNumerica numerica = numericas.get(coluna);
+        if (numerica == null) {
+            textos.get(coluna).adicionar(ColunaNumerica.formatar(valor));
+            return;
+        }
+        numerica.adicionar(valor);
+        if (textos.get(coluna) != null) {
+            textos.get(coluna).adicionarNA();
+        }
+    }
+
+    @Override
+    public void texto(int coluna, String texto) {
+        garantirColuna(coluna);
+        if (numericas.get(coluna) != null) {
+            numericas.get(coluna).adicionarNA();
+        }
+        if (textos.get(coluna) == null) {
+            textos.set(coluna, novaColuna(new ColunaTexto()));
+        }
+        textos.get(coluna).adicionar(texto);
+    }
+
+    @Override
+    public void vazio(int coluna) {
+        garantirColuna(coluna);
+        if (numericas.get(coluna) != null) {
+            numericas.get(coluna).adicionarNA();
+        }
+        if (textos.get(coluna) != null) {
+            textos.get(coluna).adicionarNA();
+        }
+    }
+
+    @Override
+    public void fimLinha(int quantidadeColunas) {
+        for (int i = quantidadeColunas; i < numericas.size(); i++) {
+            vazio(i);
+        }
+        altura++;
+    }
+
+    /**
+     * Método para adicionar, ao final deste construtor, todas as linhas lidas por outro construtor.
+     * É utilizado para juntar, na ordem do arquivo, as partes lidas em paralelo.
+     * @param outro construtor com as linhas da parte seguinte do arquivo
+     */
+    void anexar(ConstrutorColunas outro) {
+        if (outro.numericas.size() > 0) {
+            garantirColuna(outro.numericas.size() - 1);
+        }
+        for (int i = 0; i < numericas.size(); i++) {
+            if (i >= outro.numericas.size()) {
+                if (numericas.get(i) != null) {
+                    numericas.get(i).adicionarNA(outro.altura);
+                }
+                if (textos.get(i) != null) {
+                    textos.get(i).adicionarNA(outro.altura);
+                }
+                continue;
+            }
+            if (numericas.get(i) != null) {
+                numericas.get(i).anexar(outro.numericas.get(i));
+            }
+            ColunaTexto texto = outro.textos.get(i);
+            if (texto != null) {
+                if (textos.get(i) == null) {
+                    textos.set(i, novaColuna(new ColunaTexto()));
+                }
+                textos.get(i).anexar(texto);
+            } else if (textos.get(i) != null) {
+                textos.get(i).adicionarNA(outro.altura);
+            }
+        }
+        altura += outro.altura;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas já lidas.
+     * @return quantidade de linhas
+     */
+    int getAltura() {
+        return altura;
+    }
+
+    /**
+     * Método para finalizar a leitura e retornar as colunas montadas.
+     * @return colunas do DataSet
+     */
+    List<Coluna> construir() {
+        List<Coluna> colunas = new ArrayList<>(numericas.size());
+        for (int i = 0; i < numericas.size(); i++) {
+            Coluna coluna = numericas.get(i);
+            if (coluna == null || (coluna.getContagemValidos() == 0 && textos.get(i) != null)) {
+                coluna = textos.get(i);
+            }
+            coluna.compactar();
+            colunas.add(coluna);
+        }
+        return colunas;
+    }
+
+    /**
+     * Método para criar as colunas que ainda não existem até o índice desejado, de acordo com o tipo inferido de cada uma.
+     * @param coluna número (ou índice) da coluna (começa em zero)
+     */
+    private void garantirColuna(int coluna) {
+        while (coluna >= numericas.size()) {
+            TipoColuna tipo = numericas.size() < tipos.length ? tipos[numericas.size()] : null;
+            if (tipo == TipoColuna.CATEGORICO) {
+                numericas.add(null);
+                textos.add(novaColuna(new ColunaTexto()));
+                continue;
+            }
+            ColunaNumerica numerica = novaColuna(new ColunaNumerica());
+            if (tipo != null) {
+                numerica.setTipo(tipo);
+            }
+            numericas.add(numerica);
+            textos.add(null);
+        }
+    }
+
+    /**
+     * Método para preparar uma nova coluna durante a leitura.
+     * Colunas que aparecem depois da primeira linha (linhas de tamanhos diferentes) recebem "NA" nas linhas anteriores.
+     * @param coluna coluna vazia
+     * @return a mesma coluna, já preenchida com "NA" até a linha atual
+     */
+    private <T extends Coluna> T novaColuna(T coluna) {
+        for (int i = 0; i < altura; i++) {
+            coluna.adicionarNA();
+        }
+        return coluna;
+    }
+
+}
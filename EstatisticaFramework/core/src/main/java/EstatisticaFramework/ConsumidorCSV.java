@@ -0,0 +1,36 @@
+package EstatisticaFramework;
+
+/**
+ * Interface ConsumidorCSV para o recebimento das células lidas pelo LeitorCSV.
+ * O leitor chama os métodos na ordem em que as células aparecem no arquivo, linha por linha.
+ * @author João Vittor
+ */
+public interface ConsumidorCSV {
+
+    /**
+     * Método chamado para uma célula que representa um número.
+     * @param coluna número (ou índice) da coluna da célula (começa em zero)
+     * @param valor valor da célula
+     */
+    void numero(int coluna, double valor);
+
+    /**
+     * Método chamado para uma célula com texto que não representa um número.
+     * @param coluna número (ou índice) da coluna da célula (começa em zero)
+     * @param texto texto da célula
+     */
+    void texto(int coluna, String texto);
+
+    /**
+     * Método chamado para uma célula sem valor (vazia ou "NA").
+     * @param coluna número (ou índice) da coluna da célula (começa em zero)
+     */
+    void vazio(int coluna);
+
+    /**
+     * Método chamado ao final de cada linha.
+     * @param quantidadeColunas quantidade de células da linha
+     */
+    void fimLinha(int quantidadeColunas);
+
+}
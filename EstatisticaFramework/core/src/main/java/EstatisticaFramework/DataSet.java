@@ -0,0 +1,643 @@
+package EstatisticaFramework;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Classe DataSet para conjunto de dados.
+ * <p>
+ * As alterações (adicionarLinha, adicionarLinhas, inclusive as feitas pelo AcompanhadorArquivo em outra thread) e as leituras das colunas
+ * são sincronizadas no próprio DataSet (synchronized), mas o bloqueio só é mantido durante a alteração ou a leitura da coluna.
+ * getColunaNumerica retorna um instantâneo da coluna (sem cópia dos valores), que pode ser percorrido sem sincronização enquanto linhas
+ * são adicionadas, e os resultados guardados no cache são calculados fora do bloqueio sobre esses instantâneos.
+ * A coluna retornada por getColunaArmazenada não é um instantâneo: quem a percorre enquanto linhas podem ser adicionadas
+ * em outra thread deve sincronizar no DataSet (synchronized (ds)).
+ * @author João Vittor
+ */
+public class DataSet {
+    /**
+     * Tamanho mínimo (em bytes) de cada parte do arquivo na leitura paralela.
+     * Arquivos pequenos não compensam o custo de dividir e juntar as partes.
+     */
+    private static final long TAMANHO_MINIMO_PARTE = 1 << 20;
+
+    /**
+     * Colunas do DataSet, armazenadas de forma colunar.
+     * Colunas com números são guardadas como ColunaNumerica (vetor de double + mapa de bits para "NA" e células vazias)
+     * e colunas somente com textos são guardadas como ColunaTexto (codificada por dicionário).
+     */
+    private List<Coluna> colunas;
+    /**
+     * Nomes das colunas, lidos do cabeçalho do arquivo (vazio caso o arquivo não tenha cabeçalho).
+     */
+    private List<String> nomes;
+    /**
+     * Quantidade de linhas do DataSet.
+     */
+    private int altura;
+    /**
+     * Versão dos dados, incrementada a cada alteração para invalidar os resultados guardados no cache.
+     */
+    private long versao;
+    /**
+     * Cache dos resultados já calculados sobre os dados (estatísticas, tabelas de frequência, perfis).
+     */
+    private final CacheResultados cache;
+    /**
+     * Opções de leitura do arquivo CSV, utilizadas também para interpretar as linhas adicionadas depois da leitura.
+     */
+    private final OpcoesCSV opcoes;
+    /**
+     * Estatísticas incrementais de cada coluna acompanhada (nulas para as colunas que não são acompanhadas).
+     */
+    private EstatisticasIncrementais[] acompanhamentos;
+    /**
+     * Leitor das linhas de texto adicionadas (criado na primeira adição).
+     */
+    private LeitorCSV leitorLinhas;
+
+    /**
+     * Construtor da classe DataSet.
+     * Recebe o caminho e nome do arquivo e transforma ele em um DataSet para ser manipulado.
+     * (Aceita somente arquivos CSV por enquanto, mas outros formados podem ser adicionados no futuro).
+     * @param arquivo caminho e nome do arquivo
+     * @throws IOException
+     */
+    public DataSet(String arquivo) throws IOException {
+        this(arquivo, new OpcoesCSV());
+    }
+
+    /**
+     * Construtor da classe DataSet.
+     * Recebe o caminho e nome do arquivo CSV e as opções de leitura (por exemplo, outro delimitador).
+     * @param arquivo caminho e nome do arquivo
+     * @param opcoes opções de leitura do arquivo CSV
+     * @throws IOException
+     */
+    public DataSet(String arquivo, OpcoesCSV opcoes) throws IOException {
+        this(arquivo, opcoes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Construtor da classe DataSet.
+     * Lê somente o início do arquivo CSV, até a posição informada (utilizado pelo AcompanhadorArquivo, que lê as linhas seguintes depois).
+     * @param arquivo caminho e nome do arquivo
+     * @param opcoes opções de leitura do arquivo CSV
+     * @param fim posição (em bytes) do fim do trecho lido, exclusiva (Long.MAX_VALUE para o arquivo inteiro)
+     * @throws IOException
+     */
+    DataSet(String arquivo, OpcoesCSV opcoes, long fim) throws IOException {
+        this.colunas = new ArrayList<>();
+        this.nomes = new ArrayList<>();
+        this.altura = 0;
+        this.versao = 0;
+        this.cache = new CacheResultados();
+        this.acompanhamentos = new EstatisticasIncrementais[0];
+        this.opcoes = carregarCSV(arquivo, opcoes, fim);
+    }
+
+    /**
+     * Construtor da classe DataSet.
+     * Cria um DataSet a partir de colunas já montadas (por exemplo, lidas de um arquivo colunar).
+     * @param colunas colunas do DataSet
+     * @param altura quantidade de linhas do DataSet
+     */
+    DataSet(List<Coluna> colunas, int altura) {
+        this(colunas, altura, new ArrayList<>());
+    }
+
+    /**
+     * Construtor da classe DataSet.
+     * Cria um DataSet a partir de colunas já montadas e dos nomes das colunas.
+     * @param colunas colunas do DataSet
+     * @param altura quantidade de linhas do DataSet
+     * @param nomes nomes das colunas (vazio caso não tenham nomes)
+     */
+    DataSet(List<Coluna> colunas, int altura, List<String> nomes) {
+        this.colunas = colunas;
+        this.nomes = nomes;
+        this.altura = altura;
+        this.versao = 0;
+        this.cache = new CacheResultados();
+        this.opcoes = new OpcoesCSV();
+        this.acompanhamentos = new EstatisticasIncrementais[0];
+    }
+
+    /**
+     * Método para abrir um DataSet gravado com o método salvar, sem interpretar novamente o arquivo CSV.
+     * As colunas do arquivo binário são mapeadas em memória e copiadas diretamente para os vetores do DataSet.
+     * @param arquivo caminho e nome do arquivo colunar
+     * @return DataSet com os dados do arquivo
+     * @throws IOException
+     */
+    public static DataSet abrir(String arquivo) throws IOException {
+        return ArquivoColunar.abrir(arquivo);
+    }
+
+    /**
+     * Método para gravar o DataSet em um arquivo binário colunar, que pode ser aberto rapidamente com o método abrir.
+     * As colunas numéricas são gravadas junto com o mapa de zonas (contagem, soma, M2, mínimo e máximo de cada bloco de linhas).
+     * @param arquivo caminho e nome do arquivo colunar
+     * @throws IOException
+     */
+    public void salvar(String arquivo) throws IOException {
+        salvar(arquivo, true);
+    }
+
+    /**
+     * Método para gravar o DataSet em um arquivo binário colunar, que pode ser aberto rapidamente com o método abrir.
+     * @param arquivo caminho e nome do arquivo colunar
+     * @param estatisticasBlocos verdadeiro para gravar o mapa de zonas das colunas numéricas
+     * @throws IOException
+     */
+    public synchronized void salvar(String arquivo, boolean estatisticasBlocos) throws IOException {
+        ArquivoColunar.salvar(this, arquivo, estatisticasBlocos);
+    }
+
+    /**
+     * Método para leitura de um arquivo CSV.
+     * Antes da leitura, o esquema do arquivo é inferido a partir das primeiras linhas (EsquemaCSV): o cabeçalho, caso exista,
+     * vira os nomes das colunas e não entra no DataSet, e cada coluna recebe um tipo que orienta a conversão das suas células.
+     * O arquivo é lido pelo LeitorCSV (mapeado em memória) e as células são inseridas diretamente nas colunas,
+     * sendo cada número convertido uma única vez a partir dos bytes do arquivo.
+     * Caso as colunas tenham sido escolhidas por nome, os nomes são trocados pelos números das colunas no cabeçalho.
+     * @param arquivo caminho e nome do arquivo
+     * @param opcoes opções de leitura do arquivo CSV
+     * @param limite posição (em bytes) do fim do trecho lido, exclusiva (Long.MAX_VALUE para o arquivo inteiro)
+     * @return opções utilizadas na leitura (com as colunas escolhidas por número), que também são utilizadas nas linhas adicionadas depois
+     * @throws IOException
+     */
+    private OpcoesCSV carregarCSV(String arquivo, OpcoesCSV opcoes, long limite) throws IOException {
+        ConstrutorColunas construtor;
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            long inicio = LeitorCSV.pularBOM(canal);
+            long fim = Math.max(inicio, Math.min(canal.size(), limite));
+            EsquemaCSV esquema = EsquemaCSV.inferir(canal, inicio, fim, opcoes);
+            if (opcoes.getNomesColunas() != null) {
+                opcoes = opcoes.projetar(esquema.getNomes());
+            }
+            esquema = esquema.projetar(opcoes.getColunas());
+            nomes = new ArrayList<>(esquema.getNomes());
+            if (opcoes.getParalelismo() > 1) {
+                construtor = carregarCSVParalelo(arquivo, canal, esquema.getInicioDados(), fim, opcoes, esquema.getTipos());
+            } else {
+                construtor = new ConstrutorColunas(esquema.getTipos());
+                LeitorCSV leitor = new LeitorCSV(opcoes);
+                leitor.setTipos(esquema.getTipos());
+                leitor.ler(canal, esquema.getInicioDados(), fim, construtor);
+            }
+        }
+        colunas = construtor.construir();
+        altura = construtor.getAltura();
+        return opcoes;
+    }
+
+    /**
+     * Método para leitura paralela de um arquivo CSV.
+     * O arquivo é dividido em partes nas quebras de linha fora de aspas (LeitorCSV.dividirEmTrechos), cada parte é lida por uma tarefa de um ForkJoinPool
+     * (limitado pelo paralelismo das opções) e as colunas de cada parte são juntadas na ordem do arquivo,
+     * de forma que o resultado é igual ao da leitura sequencial.
+     * @param arquivo caminho e nome do arquivo
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) da primeira linha de dados
+     * @param fim posição (em bytes) do fim do trecho lido, exclusiva
+     * @param opcoes opções de leitura do arquivo CSV
+     * @param tipos tipo inferido de cada coluna
+     * @return construtor com as colunas de todas as partes, em ordem
+     * @throws IOException
+     */
+    private ConstrutorColunas carregarCSVParalelo(String arquivo, FileChannel canal, long inicio, long fim, OpcoesCSV opcoes,
+            TipoColuna[] tipos) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(opcoes.getParalelismo());
+        try {
+            int partes = (int) Math.max(1, Math.min(opcoes.getParalelismo() * 4L, (fim - inicio) / TAMANHO_MINIMO_PARTE));
+            long[] limites = LeitorCSV.dividirEmTrechos(canal, inicio, fim, partes, opcoes.getAspas());
+
+            List<Future<ConstrutorColunas>> tarefas = new ArrayList<>();
+            for (int i = 0; i < limites.length - 1; i++) {
+                long inicioParte = limites[i];
+                long fimParte = limites[i + 1];
+                tarefas.add(pool.submit(() -> {
+                    ConstrutorColunas parte = new ConstrutorColunas(tipos);
+                    LeitorCSV leitor = new LeitorCSV(opcoes);
+                    leitor.setTipos(tipos);
+                    leitor.ler(canal, inicioParte, fimParte, parte);
+                    return parte;
+                }));
+            }
+
+            ConstrutorColunas construtor = new ConstrutorColunas(tipos);
+            for (Future<ConstrutorColunas> tarefa : tarefas) {
+                construtor.anexar(tarefa.get());
+            }
+            return construtor;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Leitura do arquivo interrompida: " + arquivo);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Erro na leitura do arquivo: " + arquivo, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Método para adicionar uma linha de números ao final do DataSet.
+     * Valores de colunas de texto são guardados como texto, e colunas que faltarem na linha recebem "NA".
+     * As estatísticas das colunas acompanhadas (acompanharColuna) são atualizadas e os resultados guardados no cache são invalidados.
+     * @param valores valores da linha, na ordem das colunas
+     */
+    public synchronized void adicionarLinha(double... valores) {
+        AnexadorLinhas anexador = new AnexadorLinhas();
+        for (int i = 0; i < valores.length; i++) {
+            anexador.numero(i, valores[i]);
+        }
+        anexador.fimLinha(valores.length);
+        registrarAlteracao();
+    }
+
+    /**
+     * Método para adicionar uma ou mais linhas no formato CSV ao final do DataSet.
+     * As linhas são interpretadas com as mesmas opções da leitura do arquivo (delimitador, aspas, "NA") e de acordo com o tipo de cada coluna.
+     * Uma coluna mantém o seu tipo: textos em colunas numéricas viram "NA" e números em colunas de texto são guardados como texto
+     * (somente uma coluna numérica ainda sem nenhum número passa a ser de texto ao receber um texto).
+     * Linhas mais longas que o DataSet criam colunas novas, preenchidas com "NA" nas linhas anteriores.
+     * @param linhas linhas CSV separadas por quebras de linha (a última não precisa de quebra de linha)
+     */
+    public void adicionarLinhas(String linhas) {
+        byte[] bytes = linhas.getBytes(StandardCharsets.UTF_8);
+        adicionarLinhas(ByteBuffer.wrap(bytes), bytes.length, true);
+    }
+
+    /**
+     * Método para adicionar as linhas CSV completas de um vetor de bytes ao final do DataSet.
+     * @param buffer bytes das linhas, a partir da posição zero
+     * @param tamanho quantidade de bytes do vetor
+     * @param ultimo verdadeiro se a última linha pode não ter quebra de linha (caso contrário, ela não é adicionada)
+     * @return quantidade de bytes consumidos (até o fim da última linha adicionada)
+     */
+    synchronized int adicionarLinhas(ByteBuffer buffer, int tamanho, boolean ultimo) {
+        if (leitorLinhas == null) {
+            leitorLinhas = new LeitorCSV(opcoes);
+        }
+        leitorLinhas.setTipos(getTiposLeitura());
+        int consumido = leitorLinhas.ler(buffer, tamanho, ultimo, new AnexadorLinhas());
+        if (consumido > 0) {
+            registrarAlteracao();
+        }
+        return consumido;
+    }
+
+    /**
+     * Método para retornar o tipo de cada coluna utilizado na leitura das linhas adicionadas.
+     * Colunas numéricas ainda sem nenhum valor ficam sem tipo, já que podem passar a ser colunas de texto.
+     * @return tipo de cada coluna (nulo para as colunas sem tipo)
+     */
+    private TipoColuna[] getTiposLeitura() {
+        TipoColuna[] tipos = new TipoColuna[colunas.size()];
+        for (int i = 0; i < tipos.length; i++) {
+            Coluna coluna = colunas.get(i);
+            tipos[i] = coluna instanceof ColunaNumerica && coluna.getContagemValidos() == 0 ? null : coluna.getTipo();
+        }
+        return tipos;
+    }
+
+    /**
+     * Método para começar a acompanhar as estatísticas de uma coluna numérica enquanto linhas são adicionadas ao DataSet.
+     * As linhas já existentes são percorridas uma única vez; depois disso, cada linha adicionada atualiza as estatísticas,
+     * que podem ser lidas a qualquer momento em O(1).
+     * Caso a coluna ainda não tenha nenhum número e receba um texto (adicionarLinha), ela passa a ser uma coluna de texto e o acompanhamento
+     * é desanexado: as estatísticas param de ser atualizadas, EstatisticasIncrementais.isDesanexada passa a retornar true
+     * e uma nova chamada deste método lança IllegalArgumentException.
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return estatísticas incrementais da coluna (a mesma instância nas próximas chamadas)
+     */
+    public synchronized EstatisticasIncrementais acompanharColuna(int numeroColuna) {
+        if (numeroColuna < 0 || numeroColuna >= colunas.size() || !(colunas.get(numeroColuna) instanceof ColunaNumerica)) {
+            throw new IllegalArgumentException("A coluna " + numeroColuna + " não é uma coluna numérica do DataSet");
+        }
+        if (numeroColuna >= acompanhamentos.length) {
+            acompanhamentos = Arrays.copyOf(acompanhamentos, colunas.size());
+        }
+        if (acompanhamentos[numeroColuna] == null) {
+            acompanhamentos[numeroColuna] = new EstatisticasIncrementais(this, (ColunaNumerica) colunas.get(numeroColuna));
+        }
+        return acompanhamentos[numeroColuna];
+    }
+
+    /**
+     * Método para começar a acompanhar as estatísticas de uma coluna numérica enquanto linhas são adicionadas ao DataSet.
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return estatísticas incrementais da coluna (a mesma instância nas próximas chamadas)
+     */
+    public EstatisticasIncrementais acompanharColuna(String nomeColuna) {
+        return acompanharColuna(getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para retornar se o arquivo do DataSet possuía um cabeçalho com os nomes das colunas.
+     * @return verdadeiro se as colunas possuem nomes
+     */
+    public boolean isCabecalho() {
+        return !nomes.isEmpty();
+    }
+
+    /**
+     * Método para retornar os nomes das colunas, lidos do cabeçalho do arquivo.
+     * @return nomes das colunas (lista vazia caso o arquivo não tenha cabeçalho)
+     */
+    public List<String> getNomesColunas() {
+        return Collections.unmodifiableList(nomes);
+    }
+
+    /**
+     * Método para retornar o nome de uma coluna.
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return nome da coluna (nulo caso a coluna não tenha nome)
+     */
+    public String getNomeColuna(int numeroColuna) {
+        return numeroColuna >= 0 && numeroColuna < nomes.size() ? nomes.get(numeroColuna) : null;
+    }
+
+    /**
+     * Método para encontrar o número de uma coluna pelo seu nome no cabeçalho.
+     * @param nomeColuna nome da coluna
+     * @return número (ou índice) da coluna (começa em zero)
+     */
+    public int getIndiceColuna(String nomeColuna) {
+        int indice = nomes.indexOf(nomeColuna);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Coluna não encontrada no DataSet: " + nomeColuna);
+        }
+        return indice;
+    }
+
+    /**
+     * Método para retornar o tipo de uma coluna (inferido do arquivo CSV ou DECIMAL e CATEGORICO quando não inferido).
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return tipo da coluna
+     */
+    public synchronized TipoColuna getTipoColuna(int numeroColuna) {
+        return colunas.get(numeroColuna).getTipo();
+    }
+
+    /**
+     * Método para retornar as opções de leitura do arquivo CSV, utilizadas também nas linhas adicionadas.
+     * @return opções de leitura
+     */
+    OpcoesCSV getOpcoes() {
+        return opcoes;
+    }
+
+    /**
+     * Método para retornar todos os dados do DataSet.
+     * A matriz é reconstruída a partir das colunas, portanto células sem valor aparecem como "NA".
+     * @return todos os dados do DataSet
+     */
+    public synchronized List<List<String>> getDados() {
+        List<List<String>> dados = new ArrayList<>(altura);
+        for (int linha = 0; linha < altura; linha++) {
+            List<String> row = new ArrayList<>(colunas.size());
+            for (Coluna coluna : colunas) {
+                row.add(coluna.getTexto(linha));
+            }
+            dados.add(row);
+        }
+        return dados;
+    }
+
+    /**
+     * Método para retornar a altura da matriz dados.
+     * @return altura da matriz dados
+     */
+    public synchronized int getAltura() {
+        return altura;
+    }
+
+    /**
+     * Método para retornar a largura da matriz dados.
+     * A largura é a quantidade de colunas, ou seja, o tamanho da maior linha do arquivo.
+     * @return largura da matriz dados
+     */
+    public synchronized int getLargura() {
+        return colunas.size();
+    }
+
+    /**
+     * Método para retornar uma das colunas armazenadas do DataSet.
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return coluna armazenada (ColunaNumerica ou ColunaTexto)
+     */
+    public synchronized Coluna getColunaArmazenada(int numeroColuna) {
+        return colunas.get(numeroColuna);
+    }
+
+    /**
+     * Método para retornar um instantâneo de uma coluna numérica do DataSet, sem cópia dos valores.
+     * O instantâneo mantém a quantidade de linhas do momento da chamada, mesmo que linhas sejam adicionadas depois.
+     * Caso a coluna seja de textos ou não exista, é retornada uma coluna vazia (assim como getColuna retorna uma lista vazia).
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return coluna numérica desejada
+     */
+    public synchronized ColunaNumerica getColunaNumerica(int numeroColuna) {
+        if (numeroColuna >= 0 && numeroColuna < colunas.size() && colunas.get(numeroColuna) instanceof ColunaNumerica) {
+            return ((ColunaNumerica) colunas.get(numeroColuna)).instantaneo();
+        }
+        return new ColunaNumerica();
+    }
+
+    /**
+     * Método para retornar os valores numéricos de uma das colunas em um vetor de double.
+     * Assim como em getColuna, valores que não sejam números são ignorados.
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return vetor com os valores da coluna desejada
+     */
+    public double[] getValores(int numeroColuna) {
+        return getColunaNumerica(numeroColuna).getValoresValidos();
+    }
+
+    /**
+     * Método para retornar dados de apenas uma das colunas da matriz de dados.
+     * Caso possua valores que não sejam números, estes serão ignorados (por exemplo, "NA" em posições sem valor).
+     * @param numeroColuna número (ou índice) da coluna desejada (começa em zero)
+     * @return valores da coluna desejada da matriz de dados
+     */
+    public List<Double> getColuna(int numeroColuna) {
+        double[] valores = getValores(numeroColuna);
+        List<Double> lista = new ArrayList<>(valores.length);
+        for (double valor : valores) {
+            lista.add(valor);
+        }
+        return lista;
+    }
+
+    /**
+     * Método para remover todos os resultados guardados no cache do DataSet.
+     */
+    public void limparCache() {
+        cache.limpar();
+    }
+
+    /**
+     * Método para alterar o limite de memória do cache do DataSet.
+     * Quando o limite é ultrapassado, os resultados utilizados há mais tempo são descartados.
+     * @param bytes limite do cache, em bytes (zero desativa o cache)
+     */
+    public void setLimiteCache(long bytes) {
+        cache.setLimite(bytes);
+    }
+
+    /**
+     * Método para retornar o limite de memória do cache do DataSet.
+     * @return limite do cache, em bytes
+     */
+    public long getLimiteCache() {
+        return cache.getLimite();
+    }
+
+    /**
+     * Método para retornar o tamanho estimado dos resultados guardados no cache do DataSet.
+     * @return tamanho do cache, em bytes
+     */
+    public long getTamanhoCache() {
+        return cache.getTamanho();
+    }
+
+    /**
+     * Método para retornar um resultado guardado no cache ou calculá-lo e guardá-lo.
+     * O resultado deve ser imutável (ou copiado por quem o retorna), já que a mesma instância é devolvida nas próximas chamadas.
+     * @param <T> tipo do resultado
+     * @param tipo tipo do resultado (por exemplo, "media" ou "frequencia")
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @param bytes tamanho estimado do resultado, em bytes
+     * @param calculo cálculo do resultado
+     * @return resultado guardado ou calculado
+     */
+    <T> T memorizar(String tipo, int numeroColuna, long bytes, Supplier<T> calculo) {
+        return memorizar(tipo, numeroColuna, valor -> bytes, calculo);
+    }
+
+    /**
+     * Método para retornar um resultado guardado no cache ou calculá-lo e guardá-lo, quando o tamanho só é conhecido depois do cálculo.
+     * O cálculo é feito fora do bloqueio do DataSet, sobre instantâneos das colunas (getColunaNumerica), para que cálculos e linhas
+     * adicionadas em outras threads não esperem uns pelos outros. O resultado só é guardado se nenhuma linha foi adicionada durante o cálculo,
+     * para que o cache nunca associe à versão atual um resultado calculado sobre outros dados.
+     * @param <T> tipo do resultado
+     * @param tipo tipo do resultado (por exemplo, "media" ou "frequencia")
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @param tamanhoEstimado estimativa do tamanho do resultado, em bytes
+     * @param calculo cálculo do resultado
+     * @return resultado guardado ou calculado
+     */
+    <T> T memorizar(String tipo, int numeroColuna, ToLongFunction<? super T> tamanhoEstimado, Supplier<T> calculo) {
+        long versaoDados = getVersao();
+        return cache.obter(tipo + ":" + numeroColuna, versaoDados, tamanhoEstimado, calculo, () -> getVersao() == versaoDados);
+    }
+
+    /**
+     * Método para retornar a versão atual dos dados, incrementada a cada alteração.
+     * @return versão dos dados
+     */
+    synchronized long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Método para registrar uma alteração dos dados, invalidando os resultados guardados no cache.
+     * Deve ser chamado por todo método que altere as colunas do DataSet.
+     */
+    synchronized void registrarAlteracao() {
+        versao++;
+    }
+
+    /**
+     * Classe AnexadorLinhas para a inserção, ao final das colunas do DataSet, das células de linhas adicionadas depois da leitura.
+     */
+    private final class AnexadorLinhas implements ConsumidorCSV {
+
+        @Override
+        public void numero(int coluna, double valor) {
+            Coluna destino = garantirColuna(coluna);
+            if (destino instanceof ColunaNumerica) {
+                ((ColunaNumerica) destino).adicionar(valor);
+                if (coluna < acompanhamentos.length && acompanhamentos[coluna] != null) {
+                    acompanhamentos[coluna].adicionar(valor);
+                }
+            } else {
+                ((ColunaTexto) destino).adicionar(ColunaNumerica.formatar(valor));
+            }
+        }
+
+        @Override
+        public void texto(int coluna, String texto) {
+            Coluna destino = garantirColuna(coluna);
+            if (destino instanceof ColunaNumerica && destino.getContagemValidos() == 0) {
+                // Coluna sem nenhum número até agora: passa a ser uma coluna de texto, como na leitura do arquivo (ConstrutorColunas).
+                ColunaTexto nova = new ColunaTexto();
+                nova.adicionarNA(destino.getTamanho());
+                colunas.set(coluna, nova);
+                if (coluna < acompanhamentos.length && acompanhamentos[coluna] != null) {
+                    acompanhamentos[coluna].desanexar();
+                    acompanhamentos[coluna] = null;
+                }
+                destino = nova;
+            }
+            if (destino instanceof ColunaTexto) {
+                ((ColunaTexto) destino).adicionar(texto);
+            } else {
+                vazio(coluna);
+            }
+        }
+
+        @Override
+        public void vazio(int coluna) {
+            garantirColuna(coluna).adicionarNA();
+            if (coluna < acompanhamentos.length && acompanhamentos[coluna] != null) {
+                acompanhamentos[coluna].adicionarNA();
+            }
+        }
+
+        @Override
+        public void fimLinha(int quantidadeColunas) {
+            for (int i = quantidadeColunas; i < colunas.size(); i++) {
+                vazio(i);
+            }
+            altura++;
+        }
+
+        /**
+         * Método para criar as colunas que ainda não existem até o índice desejado, preenchidas com "NA" nas linhas anteriores.
+         * @param coluna número (ou índice) da coluna (começa em zero)
+         * @return coluna do índice desejado
+         */
+        private Coluna garantirColuna(int coluna) {
+            while (coluna >= colunas.size()) {
+                ColunaNumerica nova = new ColunaNumerica();
+                nova.adicionarNA(altura);
+                colunas.add(nova);
+            }
+            return colunas.get(coluna);
+        }
+    }
+
+}
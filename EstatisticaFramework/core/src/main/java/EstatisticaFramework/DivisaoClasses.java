@@ -0,0 +1,431 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe DivisaoClasses para a divisão dos valores de uma coluna em classes (intervalos) e a contagem dos valores de cada classe.
+ * Os limites são calculados pela estratégia escolhida (EstrategiaClasses) a partir do mínimo, do máximo, do desvio padrão
+ * ou dos quantis da coluna, e os valores são contados em uma única passada sobre o vetor, sem montar a tabela de valores distintos.
+ * <p>
+ * Cada classe i é o intervalo [limite i, limite i + 1), exceto a última, que também inclui o limite superior.
+ * Valores NaN e infinitos são ignorados.
+ * @author João Vittor
+ */
+public class DivisaoClasses {
+    /**
+     * Quantidade máxima de classes de uma divisão, para que poucos valores muito distantes não gerem milhões de classes vazias.
+     * As estratégias calculadas pelos dados (Scott e Freedman–Diaconis) e a largura fixa padrão aumentam a largura das classes até esse limite,
+     * e uma largura fixa informada que ultrapassa o limite é recusada.
+     */
+    public static final int MAXIMO_CLASSES = 100_000;
+
+    /**
+     * Estratégia utilizada para calcular os limites das classes.
+     */
+    private final EstrategiaClasses estrategia;
+    /**
+     * Limites das classes, em ordem crescente (quantidade de classes + 1 posições).
+     */
+    private final double[] limites;
+    /**
+     * Quantidade de valores de cada classe.
+     */
+    private final long[] quantidades;
+    /**
+     * Quantidade de valores classificados (soma das quantidades).
+     */
+    private final long total;
+
+    /**
+     * Construtor da classe DivisaoClasses.
+     * Conta os valores de cada classe percorrendo o vetor uma única vez.
+     * @param estrategia estratégia utilizada para calcular os limites
+     * @param limites limites das classes, em ordem estritamente crescente
+     * @param uniforme verdadeiro se todas as classes possuem a mesma largura (a classe é obtida por divisão, sem busca)
+     * @param valores valores da coluna
+     */
+    private DivisaoClasses(EstrategiaClasses estrategia, double[] limites, boolean uniforme, double[] valores) {
+        this.estrategia = estrategia;
+        this.limites = limites;
+        int classes = Math.max(0, limites.length - 1);
+        this.quantidades = new long[classes];
+
+        long soma = 0;
+        if (classes > 0) {
+            double inicio = limites[0];
+            double largura = (limites[classes] - inicio) / classes;
+            for (double valor : valores) {
+                if (!isFinito(valor)) {
+                    continue;
+                }
+                int classe = uniforme ? classificarUniforme(valor, inicio, largura) : classificar(valor);
+                if (classe >= 0) {
+                    quantidades[classe]++;
+                    soma++;
+                }
+            }
+        }
+        this.total = soma;
+    }
+
+    /**
+     * Método para dividir os valores em classes pela estratégia informada, utilizando os parâmetros padrão
+     * (largura 1 para LARGURA_FIXA e a quantidade de classes de Sturges para QUANTIS).
+     * Caso a largura 1 gere mais de MAXIMO_CLASSES / 2 classes, LARGURA_FIXA utiliza a menor potência de 10 que respeita esse limite.
+     * @param valores valores da coluna
+     * @param estrategia estratégia de divisão
+     * @return divisão dos valores em classes
+     */
+    public static DivisaoClasses calcular(double[] valores, EstrategiaClasses estrategia) {
+        switch (estrategia) {
+            case LARGURA_FIXA:
+                Resumo resumoFixo = new Resumo(valores);
+                return calcularLarguraFixa(valores, larguraPadrao(resumoFixo.maximo - resumoFixo.minimo), resumoFixo);
+            case QUANTIS:
+                return calcularQuantis(valores, classesSturges(contarFinitos(valores)));
+            default:
+                break;
+        }
+
+        Resumo resumo = new Resumo(valores);
+        if (resumo.quantidade == 0) {
+            return new DivisaoClasses(estrategia, new double[0], true, valores);
+        }
+        double amplitude = resumo.maximo - resumo.minimo;
+        if (amplitude == 0) {
+            return new DivisaoClasses(estrategia, new double[] {resumo.minimo, resumo.minimo + 1}, true, valores);
+        }
+
+        double largura;
+        switch (estrategia) {
+            case SCOTT:
+                largura = 3.49 * Math.sqrt(resumo.calcularVariancia(valores)) * Math.cbrt(1.0 / resumo.quantidade);
+                break;
+            case FREEDMAN_DIACONIS:
+                double[] quartis = Selecao.calcularQuantis(copiarFinitos(valores, resumo.quantidade), 0.25, 0.75);
+                largura = 2 * (quartis[1] - quartis[0]) * Math.cbrt(1.0 / resumo.quantidade);
+                break;
+            default:
+                largura = amplitude / classesSturges(resumo.quantidade);
+                break;
+        }
+        if (!(largura > 0) || !isFinito(largura)) {
+            // Desvio padrão ou amplitude interquartil zero: utiliza a quantidade de classes de Sturges.
+            largura = amplitude / classesSturges(resumo.quantidade);
+        }
+        largura = Math.max(largura, amplitude / MAXIMO_CLASSES);
+
+        int classes = (int) Math.max(1, Math.ceil(amplitude / largura));
+        double[] limites = new double[classes + 1];
+        for (int i = 0; i < classes; i++) {
+            limites[i] = resumo.minimo + i * largura;
+        }
+        limites[classes] = Math.max(resumo.maximo, resumo.minimo + classes * largura);
+        return new DivisaoClasses(estrategia, limites, true, valores);
+    }
+
+    /**
+     * Método para dividir os valores em classes de largura fixa, alinhadas em múltiplos da largura.
+     * Com largura 1 e valores inteiros, cada classe é o intervalo [v, v + 1), como nas classes originais do Roll.
+     * @param valores valores da coluna
+     * @param largura largura de cada classe (positiva)
+     * @return divisão dos valores em classes
+     * @throws IllegalArgumentException caso a largura gere mais de MAXIMO_CLASSES classes para a amplitude dos valores
+     */
+    public static DivisaoClasses calcularLarguraFixa(double[] valores, double largura) {
+        if (!(largura > 0) || !isFinito(largura)) {
+            throw new IllegalArgumentException("A largura das classes deve ser positiva: " + largura);
+        }
+        return calcularLarguraFixa(valores, largura, new Resumo(valores));
+    }
+
+    /**
+     * Método para dividir os valores em classes de largura fixa, com o resumo dos valores já calculado.
+     * @param valores valores da coluna
+     * @param largura largura de cada classe (positiva)
+     * @param resumo quantidade, mínimo e máximo dos valores finitos
+     * @return divisão dos valores em classes
+     */
+    private static DivisaoClasses calcularLarguraFixa(double[] valores, double largura, Resumo resumo) {
+        if (resumo.quantidade == 0) {
+            return new DivisaoClasses(EstrategiaClasses.LARGURA_FIXA, new double[0], true, valores);
+        }
+        double inicio = Math.floor(resumo.minimo / largura) * largura;
+        double classes = Math.floor((resumo.maximo - inicio) / largura) + 1;
+        if (!(classes <= MAXIMO_CLASSES)) {
+            throw new IllegalArgumentException("A largura " + largura + " gera mais de " + MAXIMO_CLASSES
+                    + " classes para a amplitude dos valores");
+        }
+        double[] limites = new double[(int) classes + 1];
+        for (int i = 0; i < limites.length; i++) {
+            limites[i] = inicio + i * largura;
+        }
+        return new DivisaoClasses(EstrategiaClasses.LARGURA_FIXA, limites, true, valores);
+    }
+
+    /**
+     * Método para dividir os valores em classes limitadas pelos quantis da coluna, com aproximadamente a mesma quantidade de valores cada.
+     * Quantis repetidos (valores muito frequentes) são unidos, portanto a divisão pode ter menos classes que o pedido.
+     * @param valores valores da coluna
+     * @param quantidadeClasses quantidade de classes desejada (positiva)
+     * @return divisão dos valores em classes
+     */
+    public static DivisaoClasses calcularQuantis(double[] valores, int quantidadeClasses) {
+        if (quantidadeClasses <= 0) {
+            throw new IllegalArgumentException("A quantidade de classes deve ser positiva: " + quantidadeClasses);
+        }
+        int quantidade = contarFinitos(valores);
+        if (quantidade == 0) {
+            return new DivisaoClasses(EstrategiaClasses.QUANTIS, new double[0], false, valores);
+        }
+        double[] quantis = new double[quantidadeClasses + 1];
+        for (int i = 0; i <= quantidadeClasses; i++) {
+            quantis[i] = (double) i / quantidadeClasses;
+        }
+        double[] pontos = Selecao.calcularQuantis(copiarFinitos(valores, quantidade), quantis);
+
+        int distintos = 1;
+        for (int i = 1; i < pontos.length; i++) {
+            if (pontos[i] > pontos[distintos - 1]) {
+                pontos[distintos++] = pontos[i];
+            }
+        }
+        double[] limites = distintos == 1 ? new double[] {pontos[0], pontos[0] + 1} : Arrays.copyOf(pontos, distintos);
+        return new DivisaoClasses(EstrategiaClasses.QUANTIS, limites, false, valores);
+    }
+
+    /**
+     * Método para calcular a largura padrão das classes de largura fixa: 1, ou a menor potência de 10 que gera
+     * no máximo MAXIMO_CLASSES / 2 classes para a amplitude (a metade deixa espaço para o alinhamento dos limites em múltiplos da largura).
+     * @param amplitude diferença entre o maior e o menor valor
+     * @return largura das classes
+     */
+    private static double larguraPadrao(double amplitude) {
+        double minima = amplitude / (MAXIMO_CLASSES / 2);
+        if (!(minima > 1)) {
+            return 1;
+        }
+        double largura = Math.pow(10, Math.ceil(Math.log10(minima)));
+        return largura < minima ? largura * 10 : largura;
+    }
+
+    /**
+     * Método para retornar a quantidade de classes de Sturges, ⌈log2(n)⌉ + 1.
+     * @param quantidade quantidade de valores
+     * @return quantidade de classes
+     */
+    public static int classesSturges(long quantidade) {
+        if (quantidade <= 1) {
+            return 1;
+        }
+        return (64 - Long.numberOfLeadingZeros(quantidade - 1)) + 1;
+    }
+
+    /**
+     * Método para retornar a estratégia utilizada para calcular os limites das classes.
+     * @return estratégia de divisão
+     */
+    public EstrategiaClasses getEstrategia() {
+        return estrategia;
+    }
+
+    /**
+     * Método para retornar a quantidade de classes.
+     * @return quantidade de classes
+     */
+    public int getQuantidadeClasses() {
+        return quantidades.length;
+    }
+
+    /**
+     * Método para retornar o limite inferior (inclusivo) de uma classe.
+     * @param classe número da classe (começa em zero)
+     * @return limite inferior
+     */
+    public double getLimiteInferior(int classe) {
+        return limites[classe];
+    }
+
+    /**
+     * Método para retornar o limite superior de uma classe (exclusivo, exceto na última classe).
+     * @param classe número da classe (começa em zero)
+     * @return limite superior
+     */
+    public double getLimiteSuperior(int classe) {
+        return limites[classe + 1];
+    }
+
+    /**
+     * Método para retornar o ponto médio de uma classe.
+     * @param classe número da classe (começa em zero)
+     * @return ponto médio da classe
+     */
+    public double getPontoMedio(int classe) {
+        return (limites[classe] + limites[classe + 1]) / 2;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores de uma classe.
+     * @param classe número da classe (começa em zero)
+     * @return quantidade de valores da classe
+     */
+    public long getQuantidade(int classe) {
+        return quantidades[classe];
+    }
+
+    /**
+     * Método para retornar a quantidade de valores classificados (valores NaN e infinitos não são contados).
+     * @return quantidade total de valores
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Método para retornar uma cópia dos limites das classes.
+     * @return limites das classes (quantidade de classes + 1 posições)
+     */
+    public double[] getLimites() {
+        return limites.clone();
+    }
+
+    /**
+     * Método para encontrar a classe de um valor por busca binária nos limites.
+     * @param valor valor procurado
+     * @return número da classe (-1 caso o valor esteja fora de todas as classes)
+     */
+    public int classificar(double valor) {
+        int classes = quantidades.length;
+        if (classes == 0 || !(valor >= limites[0] && valor <= limites[classes])) {
+            return -1;
+        }
+        int posicao = Arrays.binarySearch(limites, valor);
+        int classe = posicao >= 0 ? posicao : -posicao - 2;
+        return Math.min(classe, classes - 1);
+    }
+
+    /**
+     * Método para encontrar a classe de um valor quando todas as classes possuem a mesma largura.
+     * A classe é obtida por divisão e corrigida pelos limites, para que valores sobre um limite fiquem na mesma classe que a busca binária.
+     * @param valor valor procurado
+     * @param inicio limite inferior da primeira classe
+     * @param largura largura das classes
+     * @return número da classe (-1 caso o valor esteja fora de todas as classes)
+     */
+    private int classificarUniforme(double valor, double inicio, double largura) {
+        int classes = quantidades.length;
+        if (!(valor >= inicio && valor <= limites[classes])) {
+            return -1;
+        }
+        int classe = (int) Math.min(classes - 1, (valor - inicio) / largura);
+        while (classe > 0 && valor < limites[classe]) {
+            classe--;
+        }
+        while (classe < classes - 1 && valor >= limites[classe + 1]) {
+            classe++;
+        }
+        return classe;
+    }
+
+    /**
+     * Método para verificar se um valor é finito (nem NaN nem infinito).
+     * @param valor valor verificado
+     * @return verdadeiro se o valor é finito
+     */
+    private static boolean isFinito(double valor) {
+        return valor - valor == 0;
+    }
+
+    /**
+     * Método para contar os valores finitos de um vetor.
+     * @param valores vetor de valores
+     * @return quantidade de valores finitos
+     */
+    private static int contarFinitos(double[] valores) {
+        int quantidade = 0;
+        for (double valor : valores) {
+            if (isFinito(valor)) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Método para copiar os valores finitos de um vetor, para o cálculo dos quantis (Selecao reorganiza o vetor).
+     * @param valores vetor de valores
+     * @param quantidade quantidade de valores finitos do vetor
+     * @return cópia dos valores finitos
+     */
+    private static double[] copiarFinitos(double[] valores, int quantidade) {
+        if (quantidade == valores.length) {
+            return valores.clone();
+        }
+        double[] copia = new double[quantidade];
+        int posicao = 0;
+        for (double valor : valores) {
+            if (isFinito(valor)) {
+                copia[posicao++] = valor;
+            }
+        }
+        return copia;
+    }
+
+    /**
+     * Classe Resumo para a quantidade, o mínimo, o máximo e a média dos valores finitos, calculados em uma única passada.
+     */
+    private static final class Resumo {
+        /**
+         * Quantidade de valores finitos.
+         */
+        private int quantidade;
+        /**
+         * Menor valor finito.
+         */
+        private double minimo = Double.POSITIVE_INFINITY;
+        /**
+         * Maior valor finito.
+         */
+        private double maximo = Double.NEGATIVE_INFINITY;
+        /**
+         * Soma dos valores finitos.
+         */
+        private double soma;
+
+        /**
+         * Construtor da classe Resumo.
+         * @param valores vetor de valores
+         */
+        private Resumo(double[] valores) {
+            for (double valor : valores) {
+                if (isFinito(valor)) {
+                    quantidade++;
+                    soma += valor;
+                    minimo = Math.min(minimo, valor);
+                    maximo = Math.max(maximo, valor);
+                }
+            }
+        }
+
+        /**
+         * Método para calcular a variância amostral dos valores finitos (segunda passada, utilizada somente pela regra de Scott).
+         * @param valores vetor de valores
+         * @return variância amostral (zero caso haja menos de dois valores)
+         */
+        private double calcularVariancia(double[] valores) {
+            if (quantidade < 2) {
+                return 0;
+            }
+            double media = soma / quantidade;
+            double m2 = 0;
+            for (double valor : valores) {
+                if (isFinito(valor)) {
+                    double desvio = valor - media;
+                    m2 += desvio * desvio;
+                }
+            }
+            return m2 / (quantidade - 1);
+        }
+    }
+
+}
@@ -0,0 +1,490 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe EsbocoKLL para a estimativa de quantis (mediana, percentis, limites de classes) com memória limitada.
+ * Implementa o esboço KLL de Karnin, Lang e Liberty: os valores ficam em níveis, e cada valor do nível h representa 2^h valores originais.
+ * Quando um nível enche, ele é ordenado e metade dos seus valores (os de posição par ou ímpar, escolhidos ao acaso) sobe para o nível seguinte.
+ * A capacidade dos níveis diminui geometricamente dos mais altos para os mais baixos, portanto o esboço guarda O(k) valores,
+ * independentemente da quantidade de valores recebidos.
+ * Com k = 200, o erro na posição dos quantis fica, com alta probabilidade, abaixo de cerca de 1,7% da quantidade de valores, e diminui proporcionalmente a 1/k.
+ * Esboços calculados em partes diferentes dos dados (trechos de um arquivo, partições) podem ser combinados,
+ * e o resultado tem a mesma precisão de um esboço calculado sobre todos os dados.
+ * Enquanto nenhum nível tiver sido compactado, os quantis são exatos.
+ * @author João Vittor
+ */
+public class EsbocoKLL {
+    /**
+     * Valor padrão do parâmetro k (capacidade do nível mais alto).
+     */
+    public static final int K_PADRAO = 200;
+    /**
+     * Capacidade mínima de um nível.
+     */
+    static final int CAPACIDADE_MINIMA = 8;
+    /**
+     * Razão entre a capacidade de um nível e a do nível acima dele.
+     */
+    private static final double RAZAO = 2.0 / 3.0;
+
+    /**
+     * Parâmetro k do esboço.
+     */
+    private final int k;
+    /**
+     * Valores de cada nível.
+     */
+    private double[][] niveis;
+    /**
+     * Quantidade de valores de cada nível.
+     */
+    private int[] tamanhos;
+    /**
+     * Quantidade de níveis em uso.
+     */
+    private int quantidadeNiveis;
+    /**
+     * Capacidade atual do nível zero (guardada porque é consultada a cada valor recebido).
+     */
+    private int capacidadeNivelZero;
+    /**
+     * Quantidade de valores recebidos.
+     */
+    private long contagem;
+    /**
+     * Menor valor recebido.
+     */
+    private double min;
+    /**
+     * Maior valor recebido.
+     */
+    private double max;
+    /**
+     * Estado do gerador pseudoaleatório que escolhe os valores promovidos em cada compactação.
+     */
+    private long aleatorio;
+    /**
+     * Valores de todos os níveis em ordem crescente (nulo quando o esboço foi alterado desde a última consulta).
+     */
+    private double[] ordenados;
+    /**
+     * Peso acumulado de cada valor de ordenados.
+     */
+    private long[] acumulados;
+
+    /**
+     * Construtor da classe EsbocoKLL.
+     * Cria um esboço com o parâmetro k padrão.
+     */
+    public EsbocoKLL() {
+        this(K_PADRAO);
+    }
+
+    /**
+     * Construtor da classe EsbocoKLL.
+     * @param k parâmetro de precisão do esboço (quanto maior, mais preciso e maior o esboço)
+     */
+    public EsbocoKLL(int k) {
+        if (k < CAPACIDADE_MINIMA) {
+            throw new IllegalArgumentException("O parâmetro k deve ser pelo menos " + CAPACIDADE_MINIMA + ": " + k);
+        }
+        this.k = k;
+        this.niveis = new double[][] {new double[k]};
+        this.tamanhos = new int[1];
+        this.quantidadeNiveis = 1;
+        this.capacidadeNivelZero = k;
+        this.contagem = 0;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.aleatorio = 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Método para receber um valor.
+     * Valores NaN são ignorados.
+     * @param valor valor recebido
+     */
+    public void adicionar(double valor) {
+        if (Double.isNaN(valor)) {
+            return;
+        }
+        if (contagem == 0 || valor < min) {
+            min = valor;
+        }
+        if (contagem == 0 || valor > max) {
+            max = valor;
+        }
+        contagem++;
+        ordenados = null;
+        acrescentar(0, valor);
+        if (tamanhos[0] >= capacidadeNivelZero) {
+            comprimir();
+        }
+    }
+
+    /**
+     * Método para receber os valores válidos de uma coluna numérica.
+     * @param coluna coluna numérica do DataSet
+     */
+    public void adicionar(ColunaNumerica coluna) {
+        for (int i = 0; i < coluna.getTamanho(); i++) {
+            if (coluna.isValido(i)) {
+                adicionar(coluna.getValor(i));
+            }
+        }
+    }
+
+    /**
+     * Método para combinar outro esboço com este esboço.
+     * O resultado é equivalente a ter recebido os valores dos dois esboços.
+     * @param outro esboço que será combinado
+     */
+    public void combinar(EsbocoKLL outro) {
+        if (outro.contagem == 0) {
+            return;
+        }
+        if (contagem == 0 || outro.min < min) {
+            min = outro.min;
+        }
+        if (contagem == 0 || outro.max > max) {
+            max = outro.max;
+        }
+        contagem += outro.contagem;
+        ordenados = null;
+        int niveisOutro = outro.quantidadeNiveis;
+        for (int nivel = 0; nivel < niveisOutro; nivel++) {
+            int tamanho = outro.tamanhos[nivel];
+            for (int i = 0; i < tamanho; i++) {
+                acrescentar(nivel, outro.niveis[nivel][i]);
+            }
+        }
+        comprimir();
+    }
+
+    /**
+     * Método para retornar a quantidade de valores recebidos.
+     * @return quantidade de valores
+     */
+    public long getContagem() {
+        return contagem;
+    }
+
+    /**
+     * Método para retornar o menor valor recebido (exato).
+     * @return menor valor (NaN caso nenhum valor tenha sido recebido)
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Método para retornar o maior valor recebido (exato).
+     * @return maior valor (NaN caso nenhum valor tenha sido recebido)
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores guardados pelo esboço.
+     * @return quantidade de valores guardados
+     */
+    public int getTamanho() {
+        int tamanho = 0;
+        for (int nivel = 0; nivel < quantidadeNiveis; nivel++) {
+            tamanho += tamanhos[nivel];
+        }
+        return tamanho;
+    }
+
+    /**
+     * Método para estimar um quantil dos valores recebidos.
+     * O valor é interpolado linearmente entre as posições vizinhas, como em Selecao.
+     * @param quantil quantil desejado, entre 0 e 1
+     * @return estimativa do quantil (NaN caso nenhum valor tenha sido recebido)
+     */
+    public double getQuantil(double quantil) {
+        if (!(quantil >= 0 && quantil <= 1)) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1: " + quantil);
+        }
+        if (contagem == 0) {
+            return Double.NaN;
+        }
+        if (quantil == 0) {
+            return min;
+        }
+        if (quantil == 1) {
+            return max;
+        }
+        ordenar();
+        double h = (contagem - 1) * quantil;
+        long inferior = (long) Math.floor(h);
+        double fracao = h - inferior;
+        double baixo = valorNaPosicao(inferior);
+        double alto = valorNaPosicao(Math.min(inferior + 1, contagem - 1));
+        return (fracao == 0 || baixo == alto) ? baixo : (1 - fracao) * baixo + fracao * alto;
+    }
+
+    /**
+     * Método para estimar vários quantis dos valores recebidos.
+     * @param quantis quantis desejados, entre 0 e 1
+     * @return estimativa de cada quantil, na ordem pedida
+     */
+    public double[] getQuantis(double... quantis) {
+        double[] resultado = new double[quantis.length];
+        for (int i = 0; i < quantis.length; i++) {
+            resultado[i] = getQuantil(quantis[i]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para estimar a mediana dos valores recebidos.
+     * @return estimativa da mediana (NaN caso nenhum valor tenha sido recebido)
+     */
+    public double getMediana() {
+        return getQuantil(0.5);
+    }
+
+    /**
+     * Método para estimar a fração dos valores recebidos que são menores ou iguais a um valor (função de distribuição acumulada).
+     * @param valor valor desejado
+     * @return fração estimada, entre 0 e 1 (NaN caso nenhum valor tenha sido recebido)
+     */
+    public double getFracaoAte(double valor) {
+        if (contagem == 0) {
+            return Double.NaN;
+        }
+        ordenar();
+        int posicao = ultimoAte(valor);
+        return posicao < 0 ? 0 : (double) acumulados[posicao] / contagem;
+    }
+
+    /**
+     * Método para calcular os limites de classes com a mesma quantidade (estimada) de valores.
+     * O primeiro limite é o menor valor e o último é o maior valor recebido.
+     * @param quantidadeClasses quantidade de classes desejada
+     * @return limites das classes (quantidadeClasses + 1 valores em ordem crescente, vazio caso nenhum valor tenha sido recebido)
+     */
+    public double[] getLimitesClasses(int quantidadeClasses) {
+        if (quantidadeClasses <= 0) {
+            throw new IllegalArgumentException("A quantidade de classes deve ser maior que zero: " + quantidadeClasses);
+        }
+        if (contagem == 0) {
+            return new double[0];
+        }
+        double[] limites = new double[quantidadeClasses + 1];
+        for (int i = 0; i <= quantidadeClasses; i++) {
+            limites[i] = getQuantil((double) i / quantidadeClasses);
+        }
+        return limites;
+    }
+
+    /**
+     * Método para estimar a quantidade de valores de cada classe.
+     * Cada classe inclui o limite inferior e exclui o superior, exceto a última, que inclui os dois (como na tabela Roll).
+     * @param limites limites das classes, em ordem crescente
+     * @return quantidade estimada de valores de cada classe (limites.length - 1 quantidades)
+     */
+    public long[] estimarQuantidades(double[] limites) {
+        long[] quantidades = new long[Math.max(0, limites.length - 1)];
+        if (contagem == 0) {
+            return quantidades;
+        }
+        ordenar();
+        for (int i = 0; i < quantidades.length; i++) {
+            long antes = pesoMenorQue(limites[i]);
+            int ultimo = i == quantidades.length - 1 ? ultimoAte(limites[i + 1]) : ultimoMenorQue(limites[i + 1]);
+            long ate = ultimo < 0 ? 0 : acumulados[ultimo];
+            quantidades[i] = Math.max(0, ate - antes);
+        }
+        return quantidades;
+    }
+
+    /**
+     * Método para acrescentar um valor a um nível, aumentando o vetor do nível se necessário.
+     * @param nivel nível do valor
+     * @param valor valor acrescentado
+     */
+    private void acrescentar(int nivel, double valor) {
+        if (nivel == quantidadeNiveis) {
+            adicionarNivel();
+        }
+        if (tamanhos[nivel] == niveis[nivel].length) {
+            niveis[nivel] = Arrays.copyOf(niveis[nivel], Coluna.novaCapacidade(niveis[nivel].length));
+        }
+        niveis[nivel][tamanhos[nivel]++] = valor;
+    }
+
+    /**
+     * Método para criar um novo nível no topo do esboço.
+     */
+    private void adicionarNivel() {
+        if (quantidadeNiveis == niveis.length) {
+            niveis = Arrays.copyOf(niveis, quantidadeNiveis * 2);
+            tamanhos = Arrays.copyOf(tamanhos, quantidadeNiveis * 2);
+        }
+        niveis[quantidadeNiveis] = new double[CAPACIDADE_MINIMA];
+        tamanhos[quantidadeNiveis] = 0;
+        quantidadeNiveis++;
+        capacidadeNivelZero = capacidade(0);
+    }
+
+    /**
+     * Método para retornar a capacidade de um nível.
+     * O nível mais alto tem capacidade k, e cada nível abaixo dele tem 2/3 da capacidade do nível acima.
+     * @param nivel nível desejado
+     * @return capacidade do nível
+     */
+    private int capacidade(int nivel) {
+        int profundidade = quantidadeNiveis - 1 - nivel;
+        return Math.max(CAPACIDADE_MINIMA, (int) Math.ceil(k * Math.pow(RAZAO, profundidade)));
+    }
+
+    /**
+     * Método para compactar, do mais baixo para o mais alto, os níveis que atingiram a capacidade.
+     */
+    private void comprimir() {
+        for (int nivel = 0; nivel < quantidadeNiveis; nivel++) {
+            if (tamanhos[nivel] >= capacidade(nivel)) {
+                compactar(nivel);
+            }
+        }
+    }
+
+    /**
+     * Método para compactar um nível: os valores são ordenados e metade deles sobe para o nível seguinte com o dobro do peso.
+     * Com uma quantidade ímpar de valores, o menor deles permanece no nível, para que o peso total não mude.
+     * @param nivel nível que será compactado
+     */
+    private void compactar(int nivel) {
+        if (nivel + 1 == quantidadeNiveis) {
+            adicionarNivel();
+        }
+        double[] valores = niveis[nivel];
+        int tamanho = tamanhos[nivel];
+        Arrays.sort(valores, 0, tamanho);
+        int mantidos = tamanho & 1;
+        for (int i = mantidos + (sortear() ? 1 : 0); i < tamanho; i += 2) {
+            acrescentar(nivel + 1, valores[i]);
+        }
+        tamanhos[nivel] = mantidos;
+    }
+
+    /**
+     * Método para sortear um bit (gerador xorshift, determinístico para que os resultados sejam reproduzíveis).
+     * @return bit sorteado
+     */
+    private boolean sortear() {
+        aleatorio ^= aleatorio << 13;
+        aleatorio ^= aleatorio >>> 7;
+        aleatorio ^= aleatorio << 17;
+        return (aleatorio & 1) != 0;
+    }
+
+    /**
+     * Método para montar a visão ordenada dos valores do esboço, com o peso acumulado de cada valor.
+     * A visão é reaproveitada pelas consultas seguintes, até o esboço ser alterado.
+     */
+    private void ordenar() {
+        if (ordenados != null) {
+            return;
+        }
+        double[] valores = new double[0];
+        long[] pesos = new long[0];
+        for (int nivel = 0; nivel < quantidadeNiveis; nivel++) {
+            int tamanho = tamanhos[nivel];
+            Arrays.sort(niveis[nivel], 0, tamanho);
+            long peso = 1L << nivel;
+            double[] novosValores = new double[valores.length + tamanho];
+            long[] novosPesos = new long[valores.length + tamanho];
+            int a = 0;
+            int b = 0;
+            for (int i = 0; i < novosValores.length; i++) {
+                if (b == tamanho || (a < valores.length && valores[a] <= niveis[nivel][b])) {
+                    novosValores[i] = valores[a];
+                    novosPesos[i] = pesos[a++];
+                } else {
+                    novosValores[i] = niveis[nivel][b++];
+                    novosPesos[i] = peso;
+                }
+            }
+            valores = novosValores;
+            pesos = novosPesos;
+        }
+        for (int i = 1; i < pesos.length; i++) {
+            pesos[i] += pesos[i - 1];
+        }
+        ordenados = valores;
+        acumulados = pesos;
+    }
+
+    /**
+     * Método para retornar o valor que ocupa uma posição (começando em zero) na ordem dos valores recebidos.
+     * @param posicao posição desejada
+     * @return valor estimado na posição
+     */
+    private double valorNaPosicao(long posicao) {
+        int inicio = 0;
+        int fim = acumulados.length - 1;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (acumulados[meio] > posicao) {
+                fim = meio;
+            } else {
+                inicio = meio + 1;
+            }
+        }
+        return ordenados[inicio];
+    }
+
+    /**
+     * Método para retornar o último índice da visão ordenada com valor menor ou igual a um valor.
+     * @param valor valor desejado
+     * @return índice (-1 caso todos os valores sejam maiores)
+     */
+    private int ultimoAte(double valor) {
+        int inicio = 0;
+        int fim = ordenados.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] <= valor) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio - 1;
+    }
+
+    /**
+     * Método para retornar o último índice da visão ordenada com valor menor que um valor.
+     * @param valor valor desejado
+     * @return índice (-1 caso todos os valores sejam maiores ou iguais)
+     */
+    private int ultimoMenorQue(double valor) {
+        int inicio = 0;
+        int fim = ordenados.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio] < valor) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio - 1;
+    }
+
+    /**
+     * Método para retornar o peso total dos valores menores que um valor.
+     * @param valor valor desejado
+     * @return peso dos valores menores
+     */
+    private long pesoMenorQue(double valor) {
+        int posicao = ultimoMenorQue(valor);
+        return posicao < 0 ? 0 : acumulados[posicao];
+    }
+
+}
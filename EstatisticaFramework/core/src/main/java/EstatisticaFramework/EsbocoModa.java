@@ -0,0 +1,270 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe EsbocoModa para a estimativa da moda sem guardar todos os valores distintos.
+ * Implementa o algoritmo Space-Saving: são mantidos no máximo k contadores e, quando aparece um valor novo com todos os contadores ocupados,
+ * o valor com a menor contagem é substituído pelo novo, que herda essa contagem.
+ * Valores que aparecem mais de n/k vezes sempre ficam no esboço, portanto a moda é encontrada sempre que ela se destaca dos demais valores.
+ * Os contadores ficam em um heap mínimo, para que o valor com a menor contagem seja encontrado em O(log k).
+ * @author João Vittor
+ */
+public class EsbocoModa {
+    /**
+     * Quantidade padrão de contadores do esboço.
+     */
+    public static final int CAPACIDADE_PADRAO = 1024;
+
+    /**
+     * Valores acompanhados por cada contador.
+     */
+    private final double[] valores;
+    /**
+     * Contagem (estimada por cima) de cada contador.
+     */
+    private final long[] contagens;
+    /**
+     * Heap mínimo dos contadores, ordenado pela contagem.
+     */
+    private final int[] heap;
+    /**
+     * Posição de cada contador no heap.
+     */
+    private final int[] posicaoHeap;
+    /**
+     * Chaves (bits do valor) do índice de valores para contadores.
+     */
+    private final long[] chavesIndice;
+    /**
+     * Contador de cada chave do índice (-1 para posição livre).
+     */
+    private final int[] contadoresIndice;
+    /**
+     * Quantidade de contadores em uso.
+     */
+    private int usados;
+    /**
+     * Quantidade total de valores recebidos.
+     */
+    private long total;
+
+    /**
+     * Construtor da classe EsbocoModa.
+     * Cria um esboço com a quantidade padrão de contadores.
+     */
+    public EsbocoModa() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Construtor da classe EsbocoModa.
+     * @param capacidade quantidade de contadores do esboço (quanto maior, mais precisa a estimativa)
+     */
+    public EsbocoModa(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade deve ser maior que zero: " + capacidade);
+        }
+        this.valores = new double[capacidade];
+        this.contagens = new long[capacidade];
+        this.heap = new int[capacidade];
+        this.posicaoHeap = new int[capacidade];
+        int tamanhoIndice = Integer.highestOneBit(Math.max(2, capacidade * 2 - 1)) << 1;
+        this.chavesIndice = new long[tamanhoIndice];
+        this.contadoresIndice = new int[tamanhoIndice];
+        Arrays.fill(contadoresIndice, -1);
+        this.usados = 0;
+        this.total = 0;
+    }
+
+    /**
+     * Método para receber uma ocorrência de um valor.
+     * @param valor valor recebido
+     */
+    public void adicionar(double valor) {
+        adicionar(valor, 1);
+    }
+
+    /**
+     * Método para receber várias ocorrências de um valor.
+     * @param valor valor recebido
+     * @param quantidade quantidade de ocorrências
+     */
+    public void adicionar(double valor, long quantidade) {
+        total += quantidade;
+        long chave = chave(valor);
+        int contador = buscar(chave);
+        if (contador < 0) {
+            if (usados < valores.length) {
+                contador = usados++;
+                contagens[contador] = 0;
+                heap[contador] = contador;
+                posicaoHeap[contador] = contador;
+            } else {
+                contador = heap[0];
+                remover(chave(valores[contador]));
+            }
+            valores[contador] = valor == 0 ? 0.0 : valor;
+            inserir(chave, contador);
+        }
+        contagens[contador] += quantidade;
+        descer(posicaoHeap[contador]);
+        subir(posicaoHeap[contador]);
+    }
+
+    /**
+     * Método para somar os contadores de outro esboço a este esboço.
+     * O resultado é uma aproximação equivalente a ter recebido os valores dos dois esboços.
+     * @param outro esboço que será somado
+     */
+    public void combinar(EsbocoModa outro) {
+        for (int i = 0; i < outro.usados; i++) {
+            adicionar(outro.valores[i], outro.contagens[i]);
+        }
+    }
+
+    /**
+     * Método para retornar a moda estimada.
+     * Caso mais de um valor tenha a maior contagem, é retornado o menor deles.
+     * @return moda estimada (zero caso nenhum valor tenha sido recebido)
+     */
+    public double getModa() {
+        double moda = 0;
+        long maior = 0;
+        for (int i = 0; i < usados; i++) {
+            if (contagens[i] > maior || (contagens[i] == maior && valores[i] < moda)) {
+                maior = contagens[i];
+                moda = valores[i];
+            }
+        }
+        return moda;
+    }
+
+    /**
+     * Método para retornar a quantidade total de valores recebidos.
+     * @return quantidade de valores
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Método para mover um contador para cima no heap enquanto ele for menor que o pai.
+     * @param posicao posição do contador no heap
+     */
+    private void subir(int posicao) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (contagens[heap[posicao]] >= contagens[heap[pai]]) {
+                return;
+            }
+            trocar(posicao, pai);
+            posicao = pai;
+        }
+    }
+
+    /**
+     * Método para mover um contador para baixo no heap enquanto ele for maior que algum filho.
+     * @param posicao posição do contador no heap
+     */
+    private void descer(int posicao) {
+        while (true) {
+            int menor = posicao;
+            int esquerda = posicao * 2 + 1;
+            int direita = esquerda + 1;
+            if (esquerda < usados && contagens[heap[esquerda]] < contagens[heap[menor]]) {
+                menor = esquerda;
+            }
+            if (direita < usados && contagens[heap[direita]] < contagens[heap[menor]]) {
+                menor = direita;
+            }
+            if (menor == posicao) {
+                return;
+            }
+            trocar(posicao, menor);
+            posicao = menor;
+        }
+    }
+
+    /**
+     * Método para trocar duas posições do heap.
+     * @param a primeira posição
+     * @param b segunda posição
+     */
+    private void trocar(int a, int b) {
+        int contador = heap[a];
+        heap[a] = heap[b];
+        heap[b] = contador;
+        posicaoHeap[heap[a]] = a;
+        posicaoHeap[heap[b]] = b;
+    }
+
+    /**
+     * Método para buscar o contador de uma chave no índice.
+     * @param chave chave do valor
+     * @return contador da chave (-1 caso a chave não esteja no esboço)
+     */
+    private int buscar(long chave) {
+        int mascara = chavesIndice.length - 1;
+        int posicao = (int) MapaFrequencia.espalhar(chave) & mascara;
+        while (contadoresIndice[posicao] >= 0) {
+            if (chavesIndice[posicao] == chave) {
+                return contadoresIndice[posicao];
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Método para inserir uma chave no índice.
+     * @param chave chave do valor
+     * @param contador contador do valor
+     */
+    private void inserir(long chave, int contador) {
+        int mascara = chavesIndice.length - 1;
+        int posicao = (int) MapaFrequencia.espalhar(chave) & mascara;
+        while (contadoresIndice[posicao] >= 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        chavesIndice[posicao] = chave;
+        contadoresIndice[posicao] = contador;
+    }
+
+    /**
+     * Método para remover uma chave do índice.
+     * As chaves seguintes do mesmo grupo de sondagem são deslocadas para trás, para que as buscas continuem funcionando.
+     * @param chave chave do valor
+     */
+    private void remover(long chave) {
+        int mascara = chavesIndice.length - 1;
+        int posicao = (int) MapaFrequencia.espalhar(chave) & mascara;
+        while (chavesIndice[posicao] != chave || contadoresIndice[posicao] < 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        int livre = posicao;
+        int atual = (livre + 1) & mascara;
+        while (contadoresIndice[atual] >= 0) {
+            int ideal = (int) MapaFrequencia.espalhar(chavesIndice[atual]) & mascara;
+            // A chave atual pode ocupar a posição livre se a posição ideal dela não estiver entre a livre e a atual.
+            if (((atual - ideal) & mascara) >= ((atual - livre) & mascara)) {
+                chavesIndice[livre] = chavesIndice[atual];
+                contadoresIndice[livre] = contadoresIndice[atual];
+                livre = atual;
+            }
+            atual = (atual + 1) & mascara;
+        }
+        contadoresIndice[livre] = -1;
+    }
+
+    /**
+     * Método para converter um valor na chave do índice.
+     * O valor -0.0 é tratado como 0.0 e todos os NaN ficam com a mesma chave.
+     * @param valor valor double
+     * @return chave do valor
+     */
+    private static long chave(double valor) {
+        return Double.doubleToLongBits(valor == 0 ? 0.0 : valor);
+    }
+
+}
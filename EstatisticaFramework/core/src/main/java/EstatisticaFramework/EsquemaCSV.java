@@ -0,0 +1,460 @@
+package EstatisticaFramework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classe EsquemaCSV para o esquema (cabeçalho, nomes e tipos das colunas) de um arquivo CSV, inferido a partir de uma amostra das primeiras linhas.
+ * <p>
+ * Cada célula da amostra é classificada como inteiro, longo, decimal, lógico, data ou texto, e o tipo de cada coluna é o tipo comum das suas células:
+ * colunas com números são numéricas (o menor tipo que comporta todos os números), colunas somente com valores lógicos ou somente com datas
+ * são desses tipos, e as demais são categóricas. Colunas sem nenhum valor na amostra ficam sem tipo e são classificadas célula a célula na leitura.
+ * <p>
+ * A primeira linha é considerada um cabeçalho quando as suas células contrariam o tipo das colunas nas linhas seguintes
+ * (por exemplo, um texto no topo de uma coluna de números), como em uma votação entre as colunas. Em colunas categóricas,
+ * um texto da primeira linha que se repete nas linhas seguintes indica que ela é uma linha de dados.
+ * @author João Vittor
+ */
+public class EsquemaCSV {
+    /**
+     * Quantidade máxima de bytes lidos do início do arquivo para a amostra.
+     */
+    private static final int TAMANHO_MAXIMO_AMOSTRA = 1 << 26;
+
+    /**
+     * Indica se a primeira linha do arquivo é um cabeçalho.
+     */
+    private final boolean cabecalho;
+    /**
+     * Nomes das colunas, lidos do cabeçalho (vazio caso o arquivo não tenha cabeçalho).
+     */
+    private final List<String> nomes;
+    /**
+     * Tipo de cada coluna (nulo para as colunas sem nenhum valor na amostra).
+     */
+    private final TipoColuna[] tipos;
+    /**
+     * Posição (em bytes) da primeira linha de dados do arquivo.
+     */
+    private final long inicioDados;
+
+    /**
+     * Construtor da classe EsquemaCSV.
+     * @param cabecalho verdadeiro se a primeira linha do arquivo é um cabeçalho
+     * @param nomes nomes das colunas
+     * @param tipos tipo de cada coluna
+     * @param inicioDados posição (em bytes) da primeira linha de dados
+     */
+    private EsquemaCSV(boolean cabecalho, List<String> nomes, TipoColuna[] tipos, long inicioDados) {
+        this.cabecalho = cabecalho;
+        this.nomes = nomes;
+        this.tipos = tipos;
+        this.inicioDados = inicioDados;
+    }
+
+    /**
+     * Método para inferir o esquema de um arquivo CSV com as opções padrão.
+     * @param arquivo caminho e nome do arquivo
+     * @return esquema do arquivo
+     * @throws IOException
+     */
+    public static EsquemaCSV inferir(String arquivo) throws IOException {
+        return inferir(arquivo, new OpcoesCSV());
+    }
+
+    /**
+     * Método para inferir o esquema de um arquivo CSV, sem carregar o arquivo.
+     * @param arquivo caminho e nome do arquivo
+     * @param opcoes opções de leitura do arquivo (delimitador, aspas, cabeçalho e tamanho da amostra)
+     * @return esquema do arquivo
+     * @throws IOException
+     */
+    public static EsquemaCSV inferir(String arquivo, OpcoesCSV opcoes) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            return inferir(canal, LeitorCSV.pularBOM(canal), canal.size(), opcoes);
+        }
+    }
+
+    /**
+     * Método para inferir o esquema de um trecho de um arquivo CSV a partir das primeiras linhas do trecho.
+     * O cabeçalho é sempre considerado quando as colunas foram escolhidas por nome, e a sua detecção pode ser substituída
+     * por OpcoesCSV.setCabecalho. Os tipos são os de todas as colunas do arquivo, mesmo que somente algumas sejam lidas (ver projetar).
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) do início da primeira linha
+     * @param fim posição (em bytes) do fim do trecho, exclusiva
+     * @param opcoes opções de leitura do arquivo
+     * @return esquema do arquivo
+     * @throws IOException
+     */
+    static EsquemaCSV inferir(FileChannel canal, long inicio, long fim, OpcoesCSV opcoes) throws IOException {
+        Amostra amostra = new Amostra(opcoes.getAmostraEsquema());
+        if (opcoes.getAmostraEsquema() > 0 && fim > inicio) {
+            byte[] bytes = lerAmostra(canal, inicio, fim, opcoes.getAmostraEsquema() + 1);
+            new LeitorCSV(opcoes.semProjecao()).ler(ByteBuffer.wrap(bytes), bytes.length, inicio + bytes.length == fim, amostra);
+        }
+
+        boolean cabecalho;
+        if (opcoes.getNomesColunas() != null) {
+            cabecalho = true;
+        } else if (opcoes.getCabecalho() != null) {
+            cabecalho = opcoes.getCabecalho();
+        } else {
+            cabecalho = amostra.votarCabecalho() > 0;
+        }
+
+        if (!cabecalho || fim <= inicio) {
+            return new EsquemaCSV(false, Collections.emptyList(), amostra.resolver(true), inicio);
+        }
+        List<String> nomes = new ArrayList<>();
+        long inicioDados = Math.min(fim, LeitorCSV.lerCabecalho(canal, inicio, opcoes, nomes));
+        return new EsquemaCSV(true, Collections.unmodifiableList(nomes), amostra.resolver(false), inicioDados);
+    }
+
+    /**
+     * Método para ler os bytes das primeiras linhas de um trecho do arquivo.
+     * As quebras de linha são apenas contadas (sem considerar aspas), então a amostra pode ter um pouco menos linhas que o pedido.
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) do início do trecho
+     * @param fim posição (em bytes) do fim do trecho, exclusiva
+     * @param linhas quantidade desejada de linhas
+     * @return bytes das linhas (a última pode estar incompleta caso o trecho continue)
+     * @throws IOException
+     */
+    private static byte[] lerAmostra(FileChannel canal, long inicio, long fim, int linhas) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(1 << 16);
+        ByteArrayOutputStream amostra = new ByteArrayOutputStream();
+        long posicao = inicio;
+        int quebras = 0;
+        while (posicao < fim && amostra.size() < TAMANHO_MAXIMO_AMOSTRA) {
+            bloco.clear();
+            bloco.limit((int) Math.min(bloco.capacity(), fim - posicao));
+            int lidos = canal.read(bloco, posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (bloco.get(i) == '\n' && ++quebras == linhas) {
+                    amostra.write(bloco.array(), 0, i + 1);
+                    return amostra.toByteArray();
+                }
+            }
+            amostra.write(bloco.array(), 0, lidos);
+            posicao += lidos;
+        }
+        return amostra.toByteArray();
+    }
+
+    /**
+     * Método para retornar se a primeira linha do arquivo é um cabeçalho.
+     * @return verdadeiro se a primeira linha é um cabeçalho
+     */
+    public boolean isCabecalho() {
+        return cabecalho;
+    }
+
+    /**
+     * Método para retornar os nomes das colunas, lidos do cabeçalho.
+     * @return nomes das colunas (lista vazia caso o arquivo não tenha cabeçalho)
+     */
+    public List<String> getNomes() {
+        return nomes;
+    }
+
+    /**
+     * Método para retornar a quantidade de colunas encontradas no cabeçalho e na amostra.
+     * @return quantidade de colunas
+     */
+    public int getQuantidadeColunas() {
+        return Math.max(nomes.size(), tipos.length);
+    }
+
+    /**
+     * Método para retornar o tipo inferido de uma coluna.
+     * @param coluna número (ou índice) da coluna (começa em zero)
+     * @return tipo da coluna (nulo caso a coluna não tenha nenhum valor na amostra)
+     */
+    public TipoColuna getTipo(int coluna) {
+        return coluna >= 0 && coluna < tipos.length ? tipos[coluna] : null;
+    }
+
+    /**
+     * Método para retornar o tipo de cada coluna, sem cópia.
+     * @return tipo de cada coluna (nulo para as colunas sem tipo)
+     */
+    TipoColuna[] getTipos() {
+        return tipos;
+    }
+
+    /**
+     * Método para retornar a posição (em bytes) da primeira linha de dados do arquivo, depois do cabeçalho.
+     * @return posição da primeira linha de dados
+     */
+    long getInicioDados() {
+        return inicioDados;
+    }
+
+    /**
+     * Método para criar o esquema das colunas escolhidas em uma projeção (OpcoesCSV.setColunas), na ordem escolhida.
+     * @param origens números das colunas do arquivo, na ordem do DataSet (nulo para todas as colunas)
+     * @return esquema das colunas escolhidas
+     */
+    EsquemaCSV projetar(int[] origens) {
+        if (origens == null) {
+            return this;
+        }
+        List<String> projetados = new ArrayList<>(origens.length);
+        TipoColuna[] tiposProjetados = new TipoColuna[origens.length];
+        for (int i = 0; i < origens.length; i++) {
+            if (cabecalho) {
+                projetados.add(origens[i] < nomes.size() ? nomes.get(origens[i]) : "");
+            }
+            tiposProjetados[i] = getTipo(origens[i]);
+        }
+        return new EsquemaCSV(cabecalho, Collections.unmodifiableList(projetados), tiposProjetados, inicioDados);
+    }
+
+    /**
+     * Método para classificar uma célula de texto (valor lógico, data ou texto).
+     * @param texto texto da célula
+     * @return BOOLEANO, DATA ou CATEGORICO
+     */
+    private static TipoColuna classificar(String texto) {
+        byte[] bytes = texto.trim().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (LeitorCSV.lerBooleano(buffer, 0, bytes.length) >= 0) {
+            return TipoColuna.BOOLEANO;
+        }
+        if (LeitorCSV.lerData(buffer, 0, bytes.length) != LeitorCSV.SEM_DATA) {
+            return TipoColuna.DATA;
+        }
+        return TipoColuna.CATEGORICO;
+    }
+
+    /**
+     * Classe Contagem para a quantidade de células de cada tipo de uma coluna da amostra.
+     */
+    private static class Contagem {
+        /**
+         * Quantidade de células com números.
+         */
+        private int numeros;
+        /**
+         * Menor tipo numérico que comporta todos os números da coluna.
+         */
+        private TipoColuna numerico;
+        /**
+         * Quantidade de células com valores lógicos.
+         */
+        private int booleanos;
+        /**
+         * Quantidade de células com datas.
+         */
+        private int datas;
+        /**
+         * Quantidade de células com os demais textos.
+         */
+        private int textos;
+
+        /**
+         * Método para contar uma célula.
+         * @param tipo tipo da célula
+         */
+        void adicionar(TipoColuna tipo) {
+            switch (tipo) {
+                case BOOLEANO:
+                    booleanos++;
+                    break;
+                case DATA:
+                    datas++;
+                    break;
+                case CATEGORICO:
+                    textos++;
+                    break;
+                default:
+                    numeros++;
+                    numerico = numerico == null ? tipo : numerico.combinar(tipo);
+            }
+        }
+
+        /**
+         * Método para retornar o tipo da coluna a partir das células contadas.
+         * @return tipo da coluna (nulo caso nenhuma célula tenha sido contada)
+         */
+        TipoColuna resolver() {
+            if (numeros > 0) {
+                return numerico;
+            }
+            int total = booleanos + datas + textos;
+            if (total == 0) {
+                return null;
+            }
+            if (booleanos == total) {
+                return TipoColuna.BOOLEANO;
+            }
+            if (datas == total) {
+                return TipoColuna.DATA;
+            }
+            return TipoColuna.CATEGORICO;
+        }
+
+        /**
+         * Método para copiar a contagem.
+         * @return cópia da contagem
+         */
+        Contagem copiar() {
+            Contagem copia = new Contagem();
+            copia.numeros = numeros;
+            copia.numerico = numerico;
+            copia.booleanos = booleanos;
+            copia.datas = datas;
+            copia.textos = textos;
+            return copia;
+        }
+    }
+
+    /**
+     * Classe Amostra para a classificação das células das primeiras linhas do arquivo.
+     * A primeira linha é guardada separadamente das demais, para a detecção do cabeçalho.
+     */
+    private static class Amostra implements ConsumidorCSV {
+        /**
+         * Quantidade máxima de linhas consideradas, além da primeira.
+         */
+        private final int limite;
+        /**
+         * Quantidade de linhas já lidas.
+         */
+        private int linhas;
+        /**
+         * Tipo de cada célula da primeira linha (nulo para células vazias).
+         */
+        private final List<TipoColuna> tiposPrimeira;
+        /**
+         * Texto de cada célula da primeira linha (nulo para números e células vazias).
+         */
+        private final List<String> textosPrimeira;
+        /**
+         * Contagem dos tipos das células de cada coluna, sem a primeira linha.
+         */
+        private final List<Contagem> contagens;
+        /**
+         * Textos distintos de cada coluna, sem a primeira linha.
+         */
+        private final List<Set<String>> textos;
+
+        /**
+         * Construtor da classe Amostra.
+         * @param limite quantidade máxima de linhas consideradas, além da primeira
+         */
+        Amostra(int limite) {
+            this.limite = limite;
+            this.tiposPrimeira = new ArrayList<>();
+            this.textosPrimeira = new ArrayList<>();
+            this.contagens = new ArrayList<>();
+            this.textos = new ArrayList<>();
+        }
+
+        @Override
+        public void numero(int coluna, double valor) {
+            registrar(coluna, TipoColuna.classificar(valor), null);
+        }
+
+        @Override
+        public void texto(int coluna, String texto) {
+            registrar(coluna, classificar(texto), texto);
+        }
+
+        @Override
+        public void vazio(int coluna) {
+            registrar(coluna, null, null);
+        }
+
+        @Override
+        public void fimLinha(int quantidadeColunas) {
+            linhas++;
+        }
+
+        /**
+         * Método para registrar o tipo de uma célula.
+         * @param coluna número da coluna
+         * @param tipo tipo da célula (nulo para células vazias)
+         * @param texto texto da célula (nulo para números e células vazias)
+         */
+        private void registrar(int coluna, TipoColuna tipo, String texto) {
+            if (linhas == 0) {
+                while (tiposPrimeira.size() <= coluna) {
+                    tiposPrimeira.add(null);
+                    textosPrimeira.add(null);
+                }
+                tiposPrimeira.set(coluna, tipo);
+                textosPrimeira.set(coluna, texto);
+                return;
+            }
+            if (linhas > limite || tipo == null) {
+                return;
+            }
+            while (contagens.size() <= coluna) {
+                contagens.add(new Contagem());
+                textos.add(new HashSet<>());
+            }
+            contagens.get(coluna).adicionar(tipo);
+            if (texto != null) {
+                textos.get(coluna).add(texto);
+            }
+        }
+
+        /**
+         * Método para somar os votos das colunas a favor (+1) e contra (-1) a primeira linha ser um cabeçalho.
+         * @return soma dos votos (positiva quando a primeira linha parece um cabeçalho)
+         */
+        int votarCabecalho() {
+            int votos = 0;
+            for (int c = 0; c < Math.min(tiposPrimeira.size(), contagens.size()); c++) {
+                TipoColuna primeira = tiposPrimeira.get(c);
+                TipoColuna tipo = contagens.get(c).resolver();
+                if (primeira == null || tipo == null) {
+                    continue;
+                }
+                if (tipo == TipoColuna.CATEGORICO) {
+                    if (textos.get(c).contains(textosPrimeira.get(c))) {
+                        votos--;
+                    }
+                } else if (tipo == TipoColuna.BOOLEANO || tipo == TipoColuna.DATA) {
+                    votos += primeira == tipo ? -1 : 1;
+                } else {
+                    votos += primeira.isNumerico() ? -1 : 1;
+                }
+            }
+            return votos;
+        }
+
+        /**
+         * Método para resolver o tipo de cada coluna.
+         * @param incluirPrimeira verdadeiro para considerar também as células da primeira linha (arquivo sem cabeçalho)
+         * @return tipo de cada coluna (nulo para as colunas sem nenhum valor)
+         */
+        TipoColuna[] resolver(boolean incluirPrimeira) {
+            int largura = incluirPrimeira ? Math.max(contagens.size(), tiposPrimeira.size()) : contagens.size();
+            TipoColuna[] tipos = new TipoColuna[largura];
+            for (int c = 0; c < largura; c++) {
+                Contagem contagem = c < contagens.size() ? contagens.get(c).copiar() : new Contagem();
+                if (incluirPrimeira && c < tiposPrimeira.size() && tiposPrimeira.get(c) != null) {
+                    contagem.adicionar(tiposPrimeira.get(c));
+                }
+                tipos[c] = contagem.resolver();
+            }
+            return tipos;
+        }
+    }
+
+}
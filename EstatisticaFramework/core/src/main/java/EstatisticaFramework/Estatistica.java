@@ -0,0 +1,36 @@
+package EstatisticaFramework;
+
+/**
+ * Enum Estatistica com as estatísticas que podem ser calculadas no modo stream (sem carregar o DataSet na memória).
+ * @author João Vittor
+ */
+public enum Estatistica {
+    /**
+     * Média dos valores.
+     */
+    MEDIA,
+    /**
+     * Variância amostral dos valores.
+     */
+    VARIANCIA,
+    /**
+     * Desvio padrão amostral dos valores.
+     */
+    DESVIO_PADRAO,
+    /**
+     * Maior valor.
+     */
+    MAX,
+    /**
+     * Menor valor.
+     */
+    MIN,
+    /**
+     * Mediana aproximada dos valores.
+     */
+    MEDIANA,
+    /**
+     * Moda aproximada dos valores.
+     */
+    MODA
+}
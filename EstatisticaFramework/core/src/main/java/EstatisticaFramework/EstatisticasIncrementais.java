@@ -0,0 +1,280 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe EstatisticasIncrementais para as estatísticas de uma coluna numérica atualizadas a cada linha adicionada ao DataSet.
+ * Os valores já existentes são percorridos uma única vez na criação (DataSet.acompanharColuna) e, depois disso,
+ * cada valor novo atualiza a média e a variância (Welford), o máximo e o mínimo, o mapa de frequência, a moda e o esboço de quantis
+ * em O(1) amortizado, sem percorrer a coluna novamente.
+ * <p>
+ * Contagens, soma, média, variância, desvio padrão, máximo, mínimo, moda e quantidade de cada valor são lidos em O(1) a qualquer momento.
+ * As classes do Roll (valores distintos em ordem crescente) não são mantidas a cada valor, para que colunas contínuas não tornem cada
+ * adição O(k): o Roll é gerado somente quando é lido, ordenando apenas os valores distintos do mapa de frequência (sem copiar a coluna),
+ * e reaproveitado até o próximo valor.
+ * <p>
+ * Caso a coluna deixe de ser numérica (uma coluna sem nenhum número que recebe um texto em DataSet.adicionarLinha), o acompanhamento
+ * é desanexado: as estatísticas deixam de ser atualizadas e isDesanexada passa a retornar true.
+ * <p>
+ * Os métodos são sincronizados, já que as linhas podem ser adicionadas por outra thread (por exemplo, pelo AcompanhadorArquivo).
+ * @author João Vittor
+ */
+public class EstatisticasIncrementais {
+    /**
+     * DataSet da coluna acompanhada, sincronizado na cópia dos valores da coluna (Roll.getColuna).
+     */
+    private final DataSet dataSet;
+    /**
+     * Coluna acompanhada.
+     */
+    private final ColunaNumerica coluna;
+    /**
+     * Contagem, soma, média, M2, máximo e mínimo dos valores válidos.
+     */
+    private final AcumuladorWelford welford;
+    /**
+     * Quantidade de cada valor distinto da coluna.
+     */
+    private final MapaFrequencia frequencia;
+    /**
+     * Esboço de quantis dos valores da coluna.
+     */
+    private final EsbocoKLL esboco;
+    /**
+     * Quantidade de linhas sem valor ("NA").
+     */
+    private long contagemNA;
+    /**
+     * Valor mais frequente até o momento (o menor deles, em caso de empate).
+     */
+    private double moda;
+    /**
+     * Quantidade de vezes que a moda aparece.
+     */
+    private long quantidadeModa;
+    /**
+     * Roll gerado a partir das contagens atuais (nulo depois de cada valor adicionado).
+     */
+    private Roll roll;
+    /**
+     * Indica se a coluna deixou de ser numérica e as estatísticas não são mais atualizadas.
+     */
+    private boolean desanexada;
+
+    /**
+     * Construtor da classe EstatisticasIncrementais.
+     * Percorre uma única vez as linhas já existentes da coluna.
+     * @param dataSet DataSet da coluna
+     * @param coluna coluna numérica do DataSet
+     */
+    EstatisticasIncrementais(DataSet dataSet, ColunaNumerica coluna) {
+        this.dataSet = dataSet;
+        this.coluna = coluna;
+        this.welford = new AcumuladorWelford();
+        this.frequencia = new MapaFrequencia();
+        this.esboco = new EsbocoKLL();
+        for (int i = 0; i < coluna.getTamanho(); i++) {
+            if (coluna.isValido(i)) {
+                double valor = coluna.getValor(i);
+                welford.adicionar(valor);
+                frequencia.adicionar(valor);
+                esboco.adicionar(valor);
+            } else {
+                contagemNA++;
+            }
+        }
+        this.moda = frequencia.getModa();
+        this.quantidadeModa = frequencia.getTamanho() == 0 ? 0 : frequencia.getQuantidade(moda);
+    }
+
+    /**
+     * Método para atualizar as estatísticas com um valor adicionado ao final da coluna.
+     * @param valor valor adicionado
+     */
+    synchronized void adicionar(double valor) {
+        welford.adicionar(valor);
+        frequencia.adicionar(valor);
+        esboco.adicionar(valor);
+        long quantidade = frequencia.getQuantidade(valor);
+        if (quantidade > quantidadeModa || (quantidade == quantidadeModa && valor < moda)) {
+            moda = valor;
+            quantidadeModa = quantidade;
+        }
+        roll = null;
+    }
+
+    /**
+     * Método para desanexar o acompanhamento, quando a coluna deixa de ser numérica.
+     */
+    synchronized void desanexar() {
+        desanexada = true;
+    }
+
+    /**
+     * Método para atualizar as estatísticas com uma linha sem valor adicionada ao final da coluna.
+     */
+    synchronized void adicionarNA() {
+        contagemNA++;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores válidos.
+     * @return quantidade de valores
+     */
+    public synchronized long getContagem() {
+        return welford.getContagem();
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas sem valor ("NA").
+     * @return quantidade de linhas sem valor
+     */
+    public synchronized long getContagemNA() {
+        return contagemNA;
+    }
+
+    /**
+     * Método para retornar a soma dos valores.
+     * @return soma dos valores
+     */
+    public synchronized double getSoma() {
+        return welford.getSoma();
+    }
+
+    /**
+     * Método para retornar a média dos valores.
+     * @return média dos valores (NaN caso a coluna não possua valores)
+     */
+    public synchronized double getMedia() {
+        return welford.getMedia();
+    }
+
+    /**
+     * Método para retornar a variância amostral dos valores.
+     * @return variância dos valores
+     */
+    public synchronized double getVariancia() {
+        return welford.getVariancia();
+    }
+
+    /**
+     * Método para retornar o desvio padrão amostral dos valores.
+     * @return desvio padrão dos valores
+     */
+    public synchronized double getDesvioPadrao() {
+        return welford.getDesvioPadrao();
+    }
+
+    /**
+     * Método para retornar o maior valor.
+     * @return maior valor (-Double.MAX_VALUE caso a coluna não possua valores)
+     */
+    public synchronized double getMax() {
+        return welford.getMax();
+    }
+
+    /**
+     * Método para retornar o menor valor.
+     * @return menor valor (Double.MAX_VALUE caso a coluna não possua valores)
+     */
+    public synchronized double getMin() {
+        return welford.getMin();
+    }
+
+    /**
+     * Método para retornar a moda dos valores.
+     * Caso mais de um valor tenha a maior quantidade, é retornado o menor deles (igual a TabelaFrequencia.getModa).
+     * @return moda dos valores (zero caso a coluna não possua valores)
+     */
+    public synchronized double getModa() {
+        return moda;
+    }
+
+    /**
+     * Método para retornar a quantidade de vezes que um valor aparece na coluna.
+     * @param valor valor procurado
+     * @return quantidade do valor
+     */
+    public synchronized long getQuantidade(double valor) {
+        return frequencia.getQuantidade(valor);
+    }
+
+    /**
+     * Método para retornar a mediana aproximada dos valores, estimada pelo esboço de quantis.
+     * @return mediana aproximada (NaN caso a coluna não possua valores)
+     */
+    public synchronized double getMediana() {
+        return esboco.getMediana();
+    }
+
+    /**
+     * Método para retornar um quantil aproximado dos valores, estimado pelo esboço de quantis.
+     * @param quantil quantil desejado, entre 0 e 1
+     * @return quantil aproximado (NaN caso a coluna não possua valores)
+     */
+    public synchronized double getQuantil(double quantil) {
+        return esboco.getQuantil(quantil);
+    }
+
+    /**
+     * Método para retornar se a coluna deixou de ser numérica e as estatísticas não são mais atualizadas.
+     * @return true caso o acompanhamento tenha sido desanexado da coluna
+     */
+    public synchronized boolean isDesanexada() {
+        return desanexada;
+    }
+
+    /**
+     * Método para retornar a quantidade de classes do Roll (valores distintos da coluna), sem ordenar os valores.
+     * @return quantidade de classes
+     */
+    public synchronized int getQuantidadeClasses() {
+        return frequencia.getTamanho();
+    }
+
+    /**
+     * Método para retornar o fi de uma classe do Roll.
+     * @param classe número da classe (começa em zero), em ordem crescente de valor
+     * @return quantidade de valores da classe
+     */
+    public synchronized long getfi(int classe) {
+        return gerarRoll().getfi(classe);
+    }
+
+    /**
+     * Método para retornar o Fi de uma classe do Roll.
+     * @param classe número da classe (começa em zero), em ordem crescente de valor
+     * @return quantidade acumulada de valores até a classe
+     */
+    public synchronized long getFi(int classe) {
+        return gerarRoll().getFi(classe);
+    }
+
+    /**
+     * Método para gerar a tabela de frequência a partir do mapa de frequência, ordenando somente os valores distintos.
+     * @return tabela de frequência, em ordem crescente
+     */
+    public synchronized TabelaFrequencia getTabelaFrequencia() {
+        return frequencia.paraTabela();
+    }
+
+    /**
+     * Método para gerar a tabela Roll da coluna a partir do mapa de frequência, sem copiar nem ordenar a coluna
+     * (somente os valores distintos são ordenados).
+     * O mesmo Roll é retornado até que um valor novo seja adicionado.
+     * @return Roll dos valores da coluna
+     */
+    public synchronized Roll gerarRoll() {
+        if (roll == null) {
+            int contagem = (int) welford.getContagem();
+            roll = new Roll(frequencia.paraTabela(), contagem,
+                    () -> {
+                        synchronized (dataSet) {
+                            return Arrays.copyOf(coluna.getValoresValidos(), contagem);
+                        }
+                    });
+        }
+        return roll;
+    }
+
+}
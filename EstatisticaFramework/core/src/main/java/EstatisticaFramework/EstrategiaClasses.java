@@ -0,0 +1,30 @@
+package EstatisticaFramework;
+
+/**
+ * Enum EstrategiaClasses com as regras que podem ser utilizadas para dividir os valores de uma coluna em classes na tabela Roll.
+ * @author João Vittor
+ */
+public enum EstrategiaClasses {
+    /**
+     * Regra de Sturges: ⌈log2(n)⌉ + 1 classes de mesma largura.
+     */
+    STURGES,
+    /**
+     * Regra de Scott: classes de largura 3,49 · s · n^(-1/3), sendo s o desvio padrão amostral.
+     */
+    SCOTT,
+    /**
+     * Regra de Freedman–Diaconis: classes de largura 2 · IQR · n^(-1/3), sendo IQR a amplitude interquartil.
+     */
+    FREEDMAN_DIACONIS,
+    /**
+     * Classes de largura fixa, alinhadas em múltiplos da largura (largura 1 caso não seja informada,
+     * ou a menor potência de 10 que mantém a quantidade de classes dentro de DivisaoClasses.MAXIMO_CLASSES).
+     */
+    LARGURA_FIXA,
+    /**
+     * Classes com aproximadamente a mesma quantidade de valores, limitadas pelos quantis da coluna
+     * (quantidade de classes de Sturges caso não seja informada).
+     */
+    QUANTIS
+}
@@ -0,0 +1,116 @@
+package EstatisticaFramework;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe Grupo para guardar as estatísticas de um grupo do agrupamento (AgrupamentoHash).
+ * Um grupo reúne as linhas do DataSet com os mesmos valores nas colunas de chave, e guarda, para cada coluna de valor,
+ * o agregado (contagem, soma, M2, máximo e mínimo) e o esboço KLL utilizado na mediana.
+ * As colunas de valor são indicadas pela posição no vetor de colunas de valor do agrupamento.
+ * @author João Vittor
+ */
+public class Grupo {
+    /**
+     * Textos dos valores das colunas de chave ("NA" para linhas sem valor).
+     */
+    private final List<String> chaves;
+    /**
+     * Quantidade de linhas do grupo.
+     */
+    private final long quantidade;
+    /**
+     * Agregado de cada coluna de valor.
+     */
+    private final AgregadoParcial[] agregados;
+    /**
+     * Esboço KLL de cada coluna de valor.
+     */
+    private final EsbocoKLL[] esbocos;
+
+    /**
+     * Construtor da classe Grupo.
+     * @param chaves textos dos valores das colunas de chave
+     * @param quantidade quantidade de linhas do grupo
+     * @param agregados agregado de cada coluna de valor
+     * @param esbocos esboço KLL de cada coluna de valor
+     */
+    Grupo(List<String> chaves, long quantidade, AgregadoParcial[] agregados, EsbocoKLL[] esbocos) {
+        this.chaves = Collections.unmodifiableList(chaves);
+        this.quantidade = quantidade;
+        this.agregados = agregados;
+        this.esbocos = esbocos;
+    }
+
+    /**
+     * Método para retornar os textos dos valores das colunas de chave do grupo, na ordem das colunas de chave.
+     * @return textos das chaves ("NA" para linhas sem valor)
+     */
+    public List<String> getChaves() {
+        return chaves;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas do grupo (incluindo as linhas sem valor nas colunas de valor).
+     * @return quantidade de linhas
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Método para retornar uma cópia do agregado de uma coluna de valor do grupo.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return agregado da coluna no grupo
+     */
+    public AgregadoParcial getAgregado(int indiceValor) {
+        return new AgregadoParcial().combinar(agregados[indiceValor]);
+    }
+
+    /**
+     * Método para retornar a quantidade de valores válidos de uma coluna de valor no grupo.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return quantidade de valores válidos
+     */
+    public long getContagem(int indiceValor) {
+        return agregados[indiceValor].getContagem();
+    }
+
+    /**
+     * Método para retornar a média de uma coluna de valor no grupo.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return média da coluna no grupo (NaN caso o grupo não tenha valores válidos)
+     */
+    public double getMedia(int indiceValor) {
+        return agregados[indiceValor].getMedia();
+    }
+
+    /**
+     * Método para retornar a variância amostral de uma coluna de valor no grupo.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return variância da coluna no grupo
+     */
+    public double getVariancia(int indiceValor) {
+        return agregados[indiceValor].getVariancia();
+    }
+
+    /**
+     * Método para retornar o desvio padrão amostral de uma coluna de valor no grupo.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return desvio padrão da coluna no grupo
+     */
+    public double getDesvioPadrao(int indiceValor) {
+        return agregados[indiceValor].getDesvioPadrao();
+    }
+
+    /**
+     * Método para retornar a mediana de uma coluna de valor no grupo.
+     * A mediana é exata enquanto o grupo tem até k valores (parâmetro do esboço) e aproximada a partir daí.
+     * @param indiceValor posição da coluna no vetor de colunas de valor
+     * @return mediana da coluna no grupo (NaN caso o grupo não tenha valores válidos)
+     */
+    public double getMediana(int indiceValor) {
+        return esbocos[indiceValor].getMediana();
+    }
+
+}
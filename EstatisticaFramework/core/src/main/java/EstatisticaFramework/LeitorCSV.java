@@ -0,0 +1,787 @@
+package EstatisticaFramework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe LeitorCSV para a leitura de arquivos CSV mapeados em memória.
+ * O arquivo é mapeado com FileChannel.map e as células são separadas diretamente nos bytes mapeados, sem criar uma String por linha ou por célula.
+ * Os números são convertidos a partir dos próprios bytes; somente as células de texto viram String.
+ * Arquivos maiores que o tamanho do segmento (inclusive maiores que 2 GB) são mapeados em partes, sempre começando em um início de linha.
+ * @author João Vittor
+ */
+public class LeitorCSV {
+    /**
+     * Marca de um campo que possui aspas.
+     */
+    private static final int CAMPO_ASPAS = 1;
+    /**
+     * Marca de um campo que possui aspas escapadas (duas aspas seguidas).
+     */
+    private static final int CAMPO_ESCAPE = 2;
+    /**
+     * Potências de 10 que podem ser representadas exatamente em um double.
+     */
+    private static final double[] POTENCIAS_DEZ = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * Valor retornado por lerData quando a célula não é uma data.
+     */
+    static final long SEM_DATA = Long.MIN_VALUE;
+    /**
+     * Textos (em minúsculas, UTF-8) aceitos como valor lógico verdadeiro.
+     */
+    private static final byte[][] VERDADEIROS = bytes("true", "verdadeiro", "sim");
+    /**
+     * Textos (em minúsculas, UTF-8) aceitos como valor lógico falso.
+     */
+    private static final byte[][] FALSOS = bytes("false", "falso", "não", "nao");
+    /**
+     * Quantidade de dias de cada mês em um ano que não é bissexto.
+     */
+    private static final int[] DIAS_MES = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * Opções de leitura do arquivo.
+     */
+    private final OpcoesCSV opcoes;
+    /**
+     * Byte que separa as células de uma linha.
+     */
+    private final byte delimitador;
+    /**
+     * Byte das aspas.
+     */
+    private final byte aspas;
+
+    /**
+     * Número da coluna do arquivo de cada coluna lida, na ordem do DataSet (nulo para ler todas as colunas).
+     */
+    private int[] origens;
+    /**
+     * Tipo de cada coluna lida, na ordem do DataSet (nulo para classificar cada célula como número ou texto).
+     */
+    private TipoColuna[] tipos;
+
+    /**
+     * Posição inicial de cada campo da linha atual dentro do segmento.
+     */
+    private int[] inicios;
+    /**
+     * Posição final (exclusiva) de cada campo da linha atual dentro do segmento.
+     */
+    private int[] fins;
+    /**
+     * Marcas (aspas e aspas escapadas) de cada campo da linha atual.
+     */
+    private int[] marcas;
+    /**
+     * Vetor reutilizado para copiar os bytes das células de texto.
+     */
+    private byte[] bytesTexto;
+    /**
+     * Último valor convertido pelo método converterNumero.
+     */
+    private double valor;
+
+    /**
+     * Construtor da classe LeitorCSV.
+     * @param opcoes opções de leitura do arquivo
+     */
+    public LeitorCSV(OpcoesCSV opcoes) {
+        if (opcoes.getDelimitador() > 127 || opcoes.getAspas() > 127) {
+            throw new IllegalArgumentException("O delimitador e as aspas devem ser caracteres ASCII.");
+        }
+        this.opcoes = opcoes;
+        this.delimitador = (byte) opcoes.getDelimitador();
+        this.aspas = (byte) opcoes.getAspas();
+        this.origens = opcoes.getColunas();
+        this.inicios = new int[16];
+        this.fins = new int[16];
+        this.marcas = new int[16];
+        this.bytesTexto = new byte[64];
+    }
+
+    /**
+     * Método para ler um arquivo CSV inteiro, enviando as células para o consumidor.
+     * O esquema do arquivo é inferido antes (EsquemaCSV): o cabeçalho, caso exista, não é enviado,
+     * e as células são convertidas de acordo com o tipo da sua coluna.
+     * Caso as colunas tenham sido escolhidas por nome (OpcoesCSV.setColunas), os nomes são procurados no cabeçalho.
+     * @param arquivo caminho e nome do arquivo
+     * @param consumidor consumidor que recebe as células lidas
+     * @throws IOException
+     */
+    public void ler(String arquivo, ConsumidorCSV consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            EsquemaCSV esquema = EsquemaCSV.inferir(canal, pularBOM(canal), canal.size(), opcoes);
+            if (opcoes.getNomesColunas() != null) {
+                origens = opcoes.projetar(esquema.getNomes()).getColunas();
+            }
+            tipos = esquema.projetar(origens).getTipos();
+            ler(canal, esquema.getInicioDados(), canal.size(), consumidor);
+        }
+    }
+
+    /**
+     * Método para definir o tipo de cada coluna lida, para que as células sejam convertidas de acordo com o tipo.
+     * Em colunas numéricas, lógicas e de datas, células que não pertencem ao tipo são enviadas como vazias;
+     * em colunas categóricas, todas as células são enviadas como texto, sem a tentativa de conversão em número.
+     * @param tipos tipo de cada coluna, na ordem do DataSet (nulo, ou tipo nulo, para classificar as células como número ou texto)
+     */
+    void setTipos(TipoColuna[] tipos) {
+        this.tipos = tipos;
+    }
+
+    /**
+     * Método para ler um trecho de um arquivo CSV, enviando as células para o consumidor.
+     * O trecho deve começar no início de uma linha.
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) do início do trecho
+     * @param fim posição (em bytes) do fim do trecho (exclusiva)
+     * @param consumidor consumidor que recebe as células lidas
+     * @throws IOException
+     */
+    void ler(FileChannel canal, long inicio, long fim, ConsumidorCSV consumidor) throws IOException {
+        long posicao = inicio;
+        int segmento = opcoes.getTamanhoSegmento();
+        while (posicao < fim) {
+            int tamanho = (int) Math.min(segmento, fim - posicao);
+            boolean ultimo = posicao + tamanho == fim;
+            ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, posicao, tamanho);
+            int consumido = lerSegmento(buffer, tamanho, ultimo, consumidor);
+            if (consumido == 0) {
+                // Nenhuma linha completa coube no segmento: o segmento é aumentado e mapeado de novo.
+                if (segmento == Integer.MAX_VALUE) {
+                    throw new IOException("Linha maior que o tamanho máximo de segmento na posição " + posicao);
+                }
+                segmento = (int) Math.min(Integer.MAX_VALUE, segmento * 2L);
+            }
+            posicao += consumido;
+        }
+    }
+
+    /**
+     * Método para ler as células da primeira linha de um arquivo (cabeçalho).
+     * Somente os bytes até a primeira quebra de linha fora de aspas são lidos.
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) do início da primeira linha
+     * @param opcoes opções de leitura do arquivo
+     * @param nomes lista que recebe as células do cabeçalho, em ordem (números ficam no formato de ColunaNumerica.getTexto)
+     * @return posição do início da segunda linha
+     * @throws IOException
+     */
+    static long lerCabecalho(FileChannel canal, long inicio, OpcoesCSV opcoes, List<String> nomes) throws IOException {
+        byte aspas = (byte) opcoes.getAspas();
+        ByteBuffer bloco = ByteBuffer.allocate(1 << 16);
+        ByteArrayOutputStream linha = new ByteArrayOutputStream();
+        boolean emAspas = false;
+        long posicao = inicio;
+        long fim = canal.size();
+        busca:
+        while (posicao < fim) {
+            bloco.clear();
+            int lidos = canal.read(bloco, posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                byte b = bloco.get(i);
+                if (b == aspas) {
+                    emAspas = !emAspas;
+                } else if (b == '\n' && !emAspas) {
+                    linha.write(bloco.array(), 0, i + 1);
+                    posicao += i + 1;
+                    break busca;
+                }
+            }
+            linha.write(bloco.array(), 0, lidos);
+            posicao += lidos;
+        }
+
+        byte[] bytes = linha.toByteArray();
+        LeitorCSV leitor = new LeitorCSV(opcoes);
+        leitor.origens = null;
+        leitor.lerSegmento(ByteBuffer.wrap(bytes), bytes.length, true, new ConsumidorCSV() {
+            @Override
+            public void numero(int coluna, double valor) {
+                nomes.add(ColunaNumerica.formatar(valor));
+            }
+
+            @Override
+            public void texto(int coluna, String texto) {
+                nomes.add(texto);
+            }
+
+            @Override
+            public void vazio(int coluna) {
+                nomes.add("");
+            }
+
+            @Override
+            public void fimLinha(int quantidadeColunas) {
+                // O cabeçalho possui uma única linha.
+            }
+        });
+        return posicao;
+    }
+
+    /**
+     * Método para ler as linhas completas de um vetor de bytes já em memória (por exemplo, linhas adicionadas a um DataSet).
+     * @param buffer bytes das linhas, a partir da posição zero
+     * @param tamanho quantidade de bytes do vetor
+     * @param ultimo verdadeiro se a última linha pode não ter quebra de linha (caso contrário, ela não é lida)
+     * @param consumidor consumidor que recebe as células lidas
+     * @return quantidade de bytes consumidos (até o fim da última linha completa)
+     */
+    int ler(ByteBuffer buffer, int tamanho, boolean ultimo, ConsumidorCSV consumidor) {
+        return lerSegmento(buffer, tamanho, ultimo, consumidor);
+    }
+
+    /**
+     * Método para dividir um trecho do arquivo em partes de tamanhos parecidos, sempre terminando em uma quebra de linha fora de aspas.
+     * O trecho é percorrido uma única vez desde o início, alternando o estado "entre aspas" a cada aspas (aspas escapadas alternam duas vezes,
+     * como em lerSegmento), e cada posição de divisão aproximada é avançada até o byte seguinte à próxima quebra de linha fora de aspas.
+     * Assim, campos entre aspas com quebras de linha nunca são divididos entre duas partes.
+     * @param canal canal do arquivo
+     * @param inicio posição (em bytes) do início do trecho
+     * @param fim posição (em bytes) do fim do trecho (exclusiva)
+     * @param partes quantidade desejada de partes
+     * @param aspas caractere de aspas das opções de leitura
+     * @return limites das partes (a parte i vai de limites[i] até limites[i + 1])
+     * @throws IOException
+     */
+    static long[] dividirEmTrechos(FileChannel canal, long inicio, long fim, int partes, char aspas) throws IOException {
+        long[] limites = new long[partes + 1];
+        int quantidade = 0;
+        limites[quantidade++] = inicio;
+        byte marcaAspas = (byte) aspas;
+        ByteBuffer busca = ByteBuffer.allocate(1 << 16);
+        boolean emAspas = false;
+        int k = 1;
+        long proximaDivisao = inicio + (fim - inicio) / partes;
+        long posicao = inicio;
+        busca:
+        while (k < partes && posicao < fim) {
+            busca.clear();
+            busca.limit((int) Math.min(busca.capacity(), fim - posicao));
+            int lidos = canal.read(busca, posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                byte b = busca.get(i);
+                if (b == marcaAspas) {
+                    emAspas = !emAspas;
+                } else if (b == '\n' && !emAspas && posicao + i >= proximaDivisao) {
+                    long limite = posicao + i + 1;
+                    if (limite >= fim) {
+                        break busca;
+                    }
+                    limites[quantidade++] = limite;
+                    if (++k == partes) {
+                        break busca;
+                    }
+                    proximaDivisao = inicio + (fim - inicio) * k / partes;
+                }
+            }
+            posicao += lidos;
+        }
+        limites[quantidade++] = fim;
+        return Arrays.copyOf(limites, quantidade);
+    }
+
+    /**
+     * Método para retornar a posição onde os dados começam, pulando a marca de ordem de bytes (BOM) do UTF-8, se existir.
+     * @param canal canal do arquivo
+     * @return posição do primeiro byte de dados
+     * @throws IOException
+     */
+    static long pularBOM(FileChannel canal) throws IOException {
+        if (canal.size() < 3) {
+            return 0;
+        }
+        ByteBuffer inicio = ByteBuffer.allocate(3);
+        canal.read(inicio, 0);
+        if ((inicio.get(0) & 0xFF) == 0xEF && (inicio.get(1) & 0xFF) == 0xBB && (inicio.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * Método para ler as linhas completas de um segmento mapeado.
+     * @param buffer bytes do segmento
+     * @param tamanho quantidade de bytes do segmento
+     * @param ultimo verdadeiro se o segmento termina no fim do trecho (a última linha pode não ter quebra de linha)
+     * @param consumidor consumidor que recebe as células lidas
+     * @return quantidade de bytes consumidos (até o fim da última linha completa)
+     */
+    private int lerSegmento(ByteBuffer buffer, int tamanho, boolean ultimo, ConsumidorCSV consumidor) {
+        int inicioLinha = 0;
+        int inicioCampo = 0;
+        int campos = 0;
+        int marca = 0;
+        boolean emAspas = false;
+        int i = 0;
+        while (i < tamanho) {
+            byte b = buffer.get(i);
+            if (emAspas) {
+                if (b == aspas) {
+                    if (i + 1 == tamanho && !ultimo) {
+                        // Não é possível saber se são aspas escapadas sem o próximo segmento.
+                        return inicioLinha;
+                    }
+                    if (i + 1 < tamanho && buffer.get(i + 1) == aspas) {
+                        marca |= CAMPO_ESCAPE;
+                        i += 2;
+                        continue;
+                    }
+                    emAspas = false;
+                }
+            } else if (b == aspas) {
+                emAspas = true;
+                marca |= CAMPO_ASPAS;
+            } else if (b == delimitador) {
+                registrarCampo(campos++, inicioCampo, i, marca);
+                marca = 0;
+                inicioCampo = i + 1;
+            } else if (b == '\n') {
+                registrarCampo(campos++, inicioCampo, semRetorno(buffer, inicioCampo, i), marca);
+                emitirLinha(buffer, campos, consumidor);
+                campos = 0;
+                marca = 0;
+                inicioLinha = i + 1;
+                inicioCampo = i + 1;
+            }
+            i++;
+        }
+
+        if (!ultimo) {
+            return inicioLinha;
+        }
+        if (inicioLinha < tamanho) {
+            registrarCampo(campos++, inicioCampo, semRetorno(buffer, inicioCampo, tamanho), marca);
+            emitirLinha(buffer, campos, consumidor);
+        }
+        return tamanho;
+    }
+
+    /**
+     * Método para desconsiderar o '\r' de uma quebra de linha no formato "\r\n".
+     * @param buffer bytes do segmento
+     * @param inicio início do campo
+     * @param fim fim do campo, onde está a quebra de linha
+     * @return fim do campo sem o '\r'
+     */
+    private static int semRetorno(ByteBuffer buffer, int inicio, int fim) {
+        return (fim > inicio && buffer.get(fim - 1) == '\r') ? fim - 1 : fim;
+    }
+
+    /**
+     * Método para guardar as posições de um campo da linha atual.
+     * @param campo número do campo na linha
+     * @param inicio início do campo
+     * @param fim fim do campo (exclusivo)
+     * @param marca marcas de aspas do campo
+     */
+    private void registrarCampo(int campo, int inicio, int fim, int marca) {
+        if (campo == inicios.length) {
+            inicios = Arrays.copyOf(inicios, campo * 2);
+            fins = Arrays.copyOf(fins, campo * 2);
+            marcas = Arrays.copyOf(marcas, campo * 2);
+        }
+        inicios[campo] = inicio;
+        fins[campo] = fim;
+        marcas[campo] = marca;
+    }
+
+    /**
+     * Método para enviar os campos da linha atual para o consumidor.
+     * Com colunas escolhidas (projeção), somente os campos dessas colunas são convertidos e enviados, na ordem escolhida;
+     * os demais campos não são convertidos, e colunas escolhidas que faltarem na linha são enviadas como vazias.
+     * @param buffer bytes do segmento
+     * @param campos quantidade de campos da linha
+     * @param consumidor consumidor que recebe as células lidas
+     */
+    private void emitirLinha(ByteBuffer buffer, int campos, ConsumidorCSV consumidor) {
+        if (origens != null) {
+            for (int c = 0; c < origens.length; c++) {
+                int origem = origens[c];
+                if (origem < campos) {
+                    emitirCampo(buffer, c, inicios[origem], fins[origem], marcas[origem], consumidor);
+                } else {
+                    consumidor.vazio(c);
+                }
+            }
+            consumidor.fimLinha(origens.length);
+            return;
+        }
+        for (int c = 0; c < campos; c++) {
+            emitirCampo(buffer, c, inicios[c], fins[c], marcas[c], consumidor);
+        }
+        consumidor.fimLinha(campos);
+    }
+
+    /**
+     * Método para classificar um campo (vazio, número ou texto) e enviá-lo para o consumidor.
+     * Espaços nas pontas são ignorados para reconhecer números e "NA".
+     * Células de texto sem aspas são mantidas como estão no arquivo e células entre aspas perdem as aspas externas.
+     * Caso a coluna tenha um tipo (setTipos), a célula é convertida somente pelo conversor do tipo, sem tentativas com os demais.
+     * @param buffer bytes do segmento
+     * @param coluna número da coluna
+     * @param inicio início do campo
+     * @param fim fim do campo (exclusivo)
+     * @param marca marcas de aspas do campo
+     * @param consumidor consumidor que recebe a célula
+     */
+    private void emitirCampo(ByteBuffer buffer, int coluna, int inicio, int fim, int marca, ConsumidorCSV consumidor) {
+        int ini = inicio;
+        int f = fim;
+        while (ini < f && isEspaco(buffer.get(ini))) {
+            ini++;
+        }
+        while (f > ini && isEspaco(buffer.get(f - 1))) {
+            f--;
+        }
+
+        boolean entreAspas = (marca & CAMPO_ASPAS) != 0 && f - ini >= 2 && buffer.get(ini) == aspas && buffer.get(f - 1) == aspas;
+        if (entreAspas) {
+            inicio = ++ini;
+            fim = --f;
+            while (ini < f && isEspaco(buffer.get(ini))) {
+                ini++;
+            }
+            while (f > ini && isEspaco(buffer.get(f - 1))) {
+                f--;
+            }
+        }
+
+        TipoColuna tipo = tipos == null || coluna >= tipos.length ? null : tipos[coluna];
+        if (ini == f || isNA(buffer, ini, f)) {
+            consumidor.vazio(coluna);
+        } else if (tipo == TipoColuna.CATEGORICO) {
+            consumidor.texto(coluna, decodificar(buffer, inicio, fim, entreAspas && (marca & CAMPO_ESCAPE) != 0));
+        } else if (tipo == TipoColuna.BOOLEANO) {
+            int logico = lerBooleano(buffer, ini, f);
+            if (logico >= 0) {
+                consumidor.numero(coluna, logico);
+            } else {
+                consumidor.vazio(coluna);
+            }
+        } else if (tipo == TipoColuna.DATA) {
+            long dias = lerData(buffer, ini, f);
+            if (dias != SEM_DATA) {
+                consumidor.numero(coluna, dias);
+            } else {
+                consumidor.vazio(coluna);
+            }
+        } else if ((marca & CAMPO_ESCAPE) == 0 && converterNumero(buffer, ini, f)) {
+            consumidor.numero(coluna, valor);
+        } else if (tipo != null) {
+            consumidor.vazio(coluna);
+        } else {
+            consumidor.texto(coluna, decodificar(buffer, inicio, fim, entreAspas && (marca & CAMPO_ESCAPE) != 0));
+        }
+    }
+
+    /**
+     * Método para converter os bytes de uma célula em String (UTF-8).
+     * @param buffer bytes do segmento
+     * @param inicio início da célula
+     * @param fim fim da célula (exclusivo)
+     * @param escape verdadeiro se as aspas duplicadas devem virar aspas simples
+     * @return texto da célula
+     */
+    private String decodificar(ByteBuffer buffer, int inicio, int fim, boolean escape) {
+        if (bytesTexto.length < fim - inicio) {
+            bytesTexto = new byte[Math.max(fim - inicio, bytesTexto.length * 2)];
+        }
+        int tamanho = 0;
+        for (int i = inicio; i < fim; i++) {
+            byte b = buffer.get(i);
+            bytesTexto[tamanho++] = b;
+            if (escape && b == aspas && i + 1 < fim && buffer.get(i + 1) == aspas) {
+                i++;
+            }
+        }
+        return new String(bytesTexto, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Método para converter os bytes de uma célula em número, sem criar objetos.
+     * Aceita o formato decimal (sinal opcional, dígitos, ponto decimal e expoente), além de "NaN" e "Infinity".
+     * Números com até 15 dígitos significativos e expoente pequeno são calculados diretamente (o resultado é exato);
+     * os demais números válidos são convertidos por Double.parseDouble.
+     * O valor convertido fica no atributo valor.
+     * @param buffer bytes do segmento
+     * @param inicio início da célula, sem espaços
+     * @param fim fim da célula (exclusivo), sem espaços
+     * @return verdadeiro se a célula representa um número e falso caso o contrário
+     */
+    private boolean converterNumero(ByteBuffer buffer, int inicio, int fim) {
+        int i = inicio;
+        boolean negativo = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+') {
+            negativo = b == '-';
+            i++;
+        }
+        if (i == fim) {
+            return false;
+        }
+
+        long mantissa = 0;
+        int digitos = 0;
+        int expoente = 0;
+        boolean algumDigito = false;
+        while (i < fim && (b = buffer.get(i)) >= '0' && b <= '9') {
+            algumDigito = true;
+            if (digitos < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    digitos++;
+                }
+            } else {
+                expoente++;
+            }
+            i++;
+        }
+        if (i < fim && buffer.get(i) == '.') {
+            i++;
+            while (i < fim && (b = buffer.get(i)) >= '0' && b <= '9') {
+                algumDigito = true;
+                if (digitos < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digitos++;
+                    }
+                    expoente--;
+                }
+                i++;
+            }
+        }
+        if (!algumDigito) {
+            return converterEspecial(buffer, i, fim, negativo);
+        }
+        if (i < fim && ((b = buffer.get(i)) == 'e' || b == 'E')) {
+            i++;
+            boolean expoenteNegativo = false;
+            if (i < fim && ((b = buffer.get(i)) == '-' || b == '+')) {
+                expoenteNegativo = b == '-';
+                i++;
+            }
+            if (i == fim) {
+                return false;
+            }
+            int valorExpoente = 0;
+            while (i < fim && (b = buffer.get(i)) >= '0' && b <= '9') {
+                if (valorExpoente < 100000) {
+                    valorExpoente = valorExpoente * 10 + (b - '0');
+                }
+                i++;
+            }
+            expoente += expoenteNegativo ? -valorExpoente : valorExpoente;
+        }
+        if (i != fim) {
+            return false;
+        }
+
+        if (digitos <= 15 && expoente >= -22 && expoente <= 22) {
+            double resultado = mantissa;
+            resultado = expoente < 0 ? resultado / POTENCIAS_DEZ[-expoente] : resultado * POTENCIAS_DEZ[expoente];
+            valor = negativo ? -resultado : resultado;
+        } else {
+            valor = Double.parseDouble(decodificar(buffer, inicio, fim, false));
+        }
+        return true;
+    }
+
+    /**
+     * Método para reconhecer os valores especiais "NaN" e "Infinity".
+     * @param buffer bytes do segmento
+     * @param inicio início da célula, depois do sinal
+     * @param fim fim da célula (exclusivo)
+     * @param negativo verdadeiro se a célula tinha o sinal negativo
+     * @return verdadeiro se a célula é um valor especial e falso caso o contrário
+     */
+    private boolean converterEspecial(ByteBuffer buffer, int inicio, int fim, boolean negativo) {
+        if (igual(buffer, inicio, fim, "NaN")) {
+            valor = Double.NaN;
+            return true;
+        }
+        if (igual(buffer, inicio, fim, "Infinity")) {
+            valor = negativo ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Método para converter os bytes de uma célula em valor lógico, sem diferenciar maiúsculas e minúsculas.
+     * @param buffer bytes da célula
+     * @param inicio início da célula, sem espaços
+     * @param fim fim da célula (exclusivo), sem espaços
+     * @return 1 para verdadeiro, 0 para falso e -1 caso a célula não seja um valor lógico
+     */
+    static int lerBooleano(ByteBuffer buffer, int inicio, int fim) {
+        for (byte[] texto : VERDADEIROS) {
+            if (igualSemCaixa(buffer, inicio, fim, texto)) {
+                return 1;
+            }
+        }
+        for (byte[] texto : FALSOS) {
+            if (igualSemCaixa(buffer, inicio, fim, texto)) {
+                return 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Método para converter os bytes de uma célula nos formatos aaaa-mm-dd ou dd/mm/aaaa em data,
+     * validando o mês e o dia (inclusive 29 de fevereiro em anos bissextos).
+     * @param buffer bytes da célula
+     * @param inicio início da célula, sem espaços
+     * @param fim fim da célula (exclusivo), sem espaços
+     * @return quantidade de dias desde 1970-01-01, ou SEM_DATA caso a célula não seja uma data
+     */
+    static long lerData(ByteBuffer buffer, int inicio, int fim) {
+        if (fim - inicio != 10) {
+            return SEM_DATA;
+        }
+        int ano;
+        int mes;
+        int dia;
+        if (buffer.get(inicio + 4) == '-' && buffer.get(inicio + 7) == '-') {
+            ano = lerDigitos(buffer, inicio, 4);
+            mes = lerDigitos(buffer, inicio + 5, 2);
+            dia = lerDigitos(buffer, inicio + 8, 2);
+        } else if (buffer.get(inicio + 2) == '/' && buffer.get(inicio + 5) == '/') {
+            dia = lerDigitos(buffer, inicio, 2);
+            mes = lerDigitos(buffer, inicio + 3, 2);
+            ano = lerDigitos(buffer, inicio + 6, 4);
+        } else {
+            return SEM_DATA;
+        }
+        if (ano < 0 || mes < 1 || mes > 12 || dia < 1) {
+            return SEM_DATA;
+        }
+        boolean bissexto = (ano % 4 == 0 && ano % 100 != 0) || ano % 400 == 0;
+        if (dia > DIAS_MES[mes - 1] + (mes == 2 && bissexto ? 1 : 0)) {
+            return SEM_DATA;
+        }
+        // Dias desde 0000-03-01 (o ano começa em março, para que o dia extra de fevereiro fique no final) menos os dias até 1970-01-01.
+        int a = mes <= 2 ? ano - 1 : ano;
+        int m = mes <= 2 ? mes + 9 : mes - 3;
+        long dias = 365L * a + Math.floorDiv(a, 4) - Math.floorDiv(a, 100) + Math.floorDiv(a, 400) + (153 * m + 2) / 5 + dia - 1;
+        return dias - 719468;
+    }
+
+    /**
+     * Método para converter uma quantidade fixa de dígitos decimais em número.
+     * @param buffer bytes da célula
+     * @param inicio posição do primeiro dígito
+     * @param quantidade quantidade de dígitos
+     * @return número formado pelos dígitos, ou -1 caso algum byte não seja um dígito
+     */
+    private static int lerDigitos(ByteBuffer buffer, int inicio, int quantidade) {
+        int numero = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (b - '0');
+        }
+        return numero;
+    }
+
+    /**
+     * Método para comparar os bytes de uma célula com um texto em minúsculas, sem diferenciar maiúsculas e minúsculas das letras ASCII.
+     * @param buffer bytes da célula
+     * @param inicio início da célula
+     * @param fim fim da célula (exclusivo)
+     * @param texto bytes do texto, em minúsculas
+     * @return verdadeiro se a célula é igual ao texto
+     */
+    private static boolean igualSemCaixa(ByteBuffer buffer, int inicio, int fim, byte[] texto) {
+        if (fim - inicio != texto.length) {
+            return false;
+        }
+        for (int i = 0; i < texto.length; i++) {
+            byte b = buffer.get(inicio + i);
+            if (b >= 'A' && b <= 'Z') {
+                b |= 0x20;
+            }
+            if (b != texto[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Método para converter textos em vetores de bytes UTF-8.
+     * @param textos textos
+     * @return bytes de cada texto
+     */
+    private static byte[][] bytes(String... textos) {
+        byte[][] resultado = new byte[textos.length][];
+        for (int i = 0; i < textos.length; i++) {
+            resultado[i] = textos[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para comparar os bytes de uma célula com um texto ASCII.
+     * @param buffer bytes do segmento
+     * @param inicio início da célula
+     * @param fim fim da célula (exclusivo)
+     * @param texto texto ASCII
+     * @return verdadeiro se a célula é igual ao texto
+     */
+    private static boolean igual(ByteBuffer buffer, int inicio, int fim, String texto) {
+        if (fim - inicio != texto.length()) {
+            return false;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            if (buffer.get(inicio + i) != texto.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Método para verificar se uma célula representa uma posição sem valor ("NA", sem diferenciar maiúsculas e minúsculas).
+     * @param buffer bytes do segmento
+     * @param inicio início da célula, sem espaços
+     * @param fim fim da célula (exclusivo), sem espaços
+     * @return verdadeiro se a célula é "NA"
+     */
+    private static boolean isNA(ByteBuffer buffer, int inicio, int fim) {
+        return fim - inicio == 2
+                && (buffer.get(inicio) | 0x20) == 'n'
+                && (buffer.get(inicio + 1) | 0x20) == 'a';
+    }
+
+    /**
+     * Método para verificar se um byte é espaço ou tabulação.
+     * @param b byte
+     * @return verdadeiro se o byte é espaço ou tabulação
+     */
+    private static boolean isEspaco(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+}
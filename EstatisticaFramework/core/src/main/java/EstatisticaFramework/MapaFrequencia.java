@@ -0,0 +1,236 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe MapaFrequencia para a contagem de valores de uma coluna em tempo linear.
+ * É uma tabela hash de endereçamento aberto (sondagem linear) que associa cada valor double à sua quantidade,
+ * guardando as chaves e as quantidades em vetores primitivos, sem objetos por valor.
+ * Os valores -0.0 e 0.0 são contados juntos, assim como todos os NaN.
+ * @author João Vittor
+ */
+public class MapaFrequencia {
+    /**
+     * Capacidade inicial da tabela (sempre uma potência de dois).
+     */
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /**
+     * Chaves da tabela, guardadas como os bits do valor double.
+     */
+    private long[] chaves;
+    /**
+     * Quantidades de cada chave. Uma posição com quantidade zero está livre.
+     */
+    private long[] quantidades;
+    /**
+     * Quantidade de valores distintos na tabela.
+     */
+    private int tamanho;
+    /**
+     * Soma de todas as quantidades da tabela.
+     */
+    private long total;
+
+    /**
+     * Construtor da classe MapaFrequencia.
+     * Cria um mapa vazio.
+     */
+    public MapaFrequencia() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Construtor da classe MapaFrequencia.
+     * Cria um mapa vazio com espaço para a quantidade esperada de valores distintos, evitando o crescimento da tabela.
+     * @param distintosEsperados quantidade esperada de valores distintos
+     */
+    public MapaFrequencia(int distintosEsperados) {
+        int capacidade = CAPACIDADE_INICIAL;
+        while (capacidade < distintosEsperados * 2L && capacidade < (1 << 30)) {
+            capacidade <<= 1;
+        }
+        this.chaves = new long[capacidade];
+        this.quantidades = new long[capacidade];
+        this.tamanho = 0;
+        this.total = 0;
+    }
+
+    /**
+     * Método para contar uma ocorrência de um valor.
+     * @param valor valor que será contado
+     */
+    public void adicionar(double valor) {
+        adicionar(valor, 1);
+    }
+
+    /**
+     * Método para contar várias ocorrências de um valor.
+     * @param valor valor que será contado
+     * @param quantidade quantidade de ocorrências (deve ser maior que zero)
+     */
+    public void adicionar(double valor, long quantidade) {
+        long chave = chave(valor);
+        int mascara = chaves.length - 1;
+        int posicao = (int) espalhar(chave) & mascara;
+        while (quantidades[posicao] != 0) {
+            if (chaves[posicao] == chave) {
+                quantidades[posicao] += quantidade;
+                total += quantidade;
+                return;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        chaves[posicao] = chave;
+        quantidades[posicao] = quantidade;
+        tamanho++;
+        total += quantidade;
+        if (tamanho * 4L > chaves.length * 3L) {
+            redimensionar();
+        }
+    }
+
+    /**
+     * Método para contar os valores válidos de uma coluna numérica.
+     * @param coluna coluna numérica do DataSet
+     */
+    public void adicionar(ColunaNumerica coluna) {
+        for (int i = 0; i < coluna.getTamanho(); i++) {
+            if (coluna.isValido(i)) {
+                adicionar(coluna.getValor(i), 1);
+            }
+        }
+    }
+
+    /**
+     * Método para somar as contagens de outro mapa a este mapa.
+     * @param outro mapa de frequência que será somado
+     */
+    public void combinar(MapaFrequencia outro) {
+        for (int i = 0; i < outro.chaves.length; i++) {
+            if (outro.quantidades[i] != 0) {
+                adicionar(Double.longBitsToDouble(outro.chaves[i]), outro.quantidades[i]);
+            }
+        }
+    }
+
+    /**
+     * Método para retornar a quantidade de ocorrências de um valor.
+     * @param valor valor desejado
+     * @return quantidade de ocorrências do valor (zero caso ele não tenha aparecido)
+     */
+    public long getQuantidade(double valor) {
+        long chave = chave(valor);
+        int mascara = chaves.length - 1;
+        int posicao = (int) espalhar(chave) & mascara;
+        while (quantidades[posicao] != 0) {
+            if (chaves[posicao] == chave) {
+                return quantidades[posicao];
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return 0;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores distintos do mapa.
+     * @return quantidade de valores distintos
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Método para retornar a soma de todas as quantidades do mapa.
+     * @return quantidade total de ocorrências
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Método para retornar a moda do mapa, sem ordenar os valores.
+     * Caso mais de um valor tenha a maior quantidade, é retornado o menor deles (igual a TabelaFrequencia.getModa).
+     * @return moda do mapa (zero caso o mapa esteja vazio)
+     */
+    public double getModa() {
+        double moda = 0;
+        long maior = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            if (quantidades[i] > maior || (quantidades[i] != 0 && quantidades[i] == maior && Double.longBitsToDouble(chaves[i]) < moda)) {
+                maior = quantidades[i];
+                moda = Double.longBitsToDouble(chaves[i]);
+            }
+        }
+        return moda;
+    }
+
+    /**
+     * Método para gerar a tabela de frequência, com os valores em ordem crescente.
+     * Somente os valores distintos são ordenados, portanto o custo é O(n) para a contagem mais O(d log d) para a ordenação.
+     * @return tabela de frequência do mapa
+     */
+    public TabelaFrequencia paraTabela() {
+        double[] valores = new double[tamanho];
+        int j = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            if (quantidades[i] != 0) {
+                valores[j++] = Double.longBitsToDouble(chaves[i]);
+            }
+        }
+        Arrays.sort(valores);
+        long[] contagens = new long[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            contagens[i] = getQuantidade(valores[i]);
+        }
+        return new TabelaFrequencia(valores, contagens);
+    }
+
+    /**
+     * Método para dobrar a capacidade da tabela e reinserir as chaves.
+     */
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        long[] quantidadesAntigas = quantidades;
+        chaves = new long[chavesAntigas.length * 2];
+        quantidades = new long[chavesAntigas.length * 2];
+        int mascara = chaves.length - 1;
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (quantidadesAntigas[i] != 0) {
+                int posicao = (int) espalhar(chavesAntigas[i]) & mascara;
+                while (quantidades[posicao] != 0) {
+                    posicao = (posicao + 1) & mascara;
+                }
+                chaves[posicao] = chavesAntigas[i];
+                quantidades[posicao] = quantidadesAntigas[i];
+            }
+        }
+    }
+
+    /**
+     * Método para converter um valor na chave da tabela.
+     * O valor -0.0 é tratado como 0.0 e todos os NaN ficam com a mesma chave.
+     * @param valor valor double
+     * @return chave do valor
+     */
+    private static long chave(double valor) {
+        return Double.doubleToLongBits(valor == 0 ? 0.0 : valor);
+    }
+
+    /**
+     * Método para espalhar os bits de uma chave antes de calcular a posição na tabela.
+     * Valores double próximos costumam diferir só nos bits mais baixos ou mais altos, então os bits são misturados (finalizador do MurmurHash3).
+     * Também é utilizado pelas tabelas de EsbocoModa e AgrupamentoHash; os bits mais baixos escolhem a posição e os mais altos ficam livres para outros usos.
+     * @param chave chave da tabela
+     * @return hash da chave
+     */
+    static long espalhar(long chave) {
+        chave ^= chave >>> 33;
+        chave *= 0xff51afd7ed558ccdL;
+        chave ^= chave >>> 33;
+        chave *= 0xc4ceb9fe1a85ec53L;
+        chave ^= chave >>> 33;
+        return chave;
+    }
+
+}
@@ -0,0 +1,364 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe MapaZonas para os resumos de cada bloco de linhas de uma coluna numérica (zone map).
+ * Cada bloco guarda a contagem de valores válidos, a soma, o M2 (soma dos quadrados dos desvios), o mínimo e o máximo,
+ * e a quantidade de "NA" é obtida pela diferença entre as linhas do bloco e a contagem.
+ * <p>
+ * Consultas sobre a coluna inteira ou sobre um intervalo de linhas combinam os resumos dos blocos cobertos por inteiro
+ * (AgregadoParcial.combinar) e percorrem somente os trechos dos blocos das pontas.
+ * Em filtros por faixa de valores, blocos cujo intervalo [mínimo, máximo] está fora da faixa são ignorados, blocos inteiramente
+ * dentro da faixa usam o resumo, e somente os blocos que cruzam os limites da faixa são percorridos.
+ * <p>
+ * Cada linha adicionada ao final da coluna atualiza em O(1) o resumo do último bloco (ou abre um bloco novo), sem descartar o mapa;
+ * a coluna só descarta o seu mapa quando as linhas são anexadas em lote (ColunaNumerica.anexar).
+ * @author João Vittor
+ */
+public class MapaZonas {
+    /**
+     * Quantidade padrão de linhas de cada bloco (64 mil linhas, ou 512 KB de valores).
+     */
+    public static final int TAMANHO_BLOCO_PADRAO = AgregacaoParalela.TAMANHO_BLOCO_PADRAO;
+
+    /**
+     * Coluna resumida pelo mapa.
+     */
+    private final ColunaNumerica coluna;
+    /**
+     * Quantidade de linhas de cada bloco (múltiplo de 64), exceto o último.
+     */
+    private final int tamanhoBloco;
+    /**
+     * Quantidade de valores válidos de cada bloco.
+     */
+    private long[] contagens;
+    /**
+     * Soma dos valores válidos de cada bloco.
+     */
+    private double[] somas;
+    /**
+     * M2 dos valores válidos de cada bloco.
+     */
+    private double[] m2s;
+    /**
+     * Menor valor válido de cada bloco (Double.MAX_VALUE para blocos sem valores).
+     */
+    private double[] minimos;
+    /**
+     * Maior valor válido de cada bloco (-Double.MAX_VALUE para blocos sem valores).
+     */
+    private double[] maximos;
+    /**
+     * Quantidade de blocos do mapa (os vetores podem ter posições livres depois dela).
+     */
+    private int blocos;
+
+    /**
+     * Construtor da classe MapaZonas.
+     * Recebe os resumos já calculados (por exemplo, lidos de um arquivo colunar).
+     * @param coluna coluna resumida pelo mapa
+     * @param tamanhoBloco quantidade de linhas de cada bloco (múltiplo de 64)
+     * @param contagens quantidade de valores válidos de cada bloco
+     * @param somas soma de cada bloco
+     * @param m2s M2 de cada bloco
+     * @param minimos menor valor de cada bloco
+     * @param maximos maior valor de cada bloco
+     */
+    MapaZonas(ColunaNumerica coluna, int tamanhoBloco, long[] contagens, double[] somas, double[] m2s, double[] minimos, double[] maximos) {
+        if (tamanhoBloco <= 0 || tamanhoBloco % 64 != 0) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser um múltiplo positivo de 64: " + tamanhoBloco);
+        }
+        this.coluna = coluna;
+        this.tamanhoBloco = tamanhoBloco;
+        this.contagens = contagens;
+        this.somas = somas;
+        this.m2s = m2s;
+        this.minimos = minimos;
+        this.maximos = maximos;
+        this.blocos = contagens.length;
+    }
+
+    /**
+     * Método para calcular o mapa de zonas de uma coluna, percorrendo cada bloco uma única vez com as reduções da coluna.
+     * @param coluna coluna numérica do DataSet
+     * @param tamanhoBloco quantidade de linhas de cada bloco (múltiplo de 64)
+     * @return mapa de zonas da coluna
+     */
+    static MapaZonas calcular(ColunaNumerica coluna, int tamanhoBloco) {
+        int tamanho = coluna.getTamanho();
+        int blocos = (int) (((long) tamanho + tamanhoBloco - 1) / tamanhoBloco);
+        long[] contagens = new long[blocos];
+        double[] somas = new double[blocos];
+        double[] m2s = new double[blocos];
+        double[] minimos = new double[blocos];
+        double[] maximos = new double[blocos];
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            int inicio = bloco * tamanhoBloco;
+            AgregadoParcial resumo = coluna.varrer(inicio, Math.min(tamanho, inicio + tamanhoBloco));
+            contagens[bloco] = resumo.getContagem();
+            somas[bloco] = resumo.getSoma();
+            m2s[bloco] = resumo.getM2();
+            minimos[bloco] = resumo.getMin();
+            maximos[bloco] = resumo.getMax();
+        }
+        return new MapaZonas(coluna, tamanhoBloco, contagens, somas, m2s, minimos, maximos);
+    }
+
+    /**
+     * Método para copiar o mapa para um instantâneo da coluna, somente com os blocos atuais.
+     * @param instantaneo instantâneo da coluna resumida pelo mapa
+     * @return cópia do mapa
+     */
+    MapaZonas copiar(ColunaNumerica instantaneo) {
+        return new MapaZonas(instantaneo, tamanhoBloco, Arrays.copyOf(contagens, blocos), Arrays.copyOf(somas, blocos),
+                Arrays.copyOf(m2s, blocos), Arrays.copyOf(minimos, blocos), Arrays.copyOf(maximos, blocos));
+    }
+
+    /**
+     * Método para atualizar o resumo do bloco de uma linha adicionada ao final da coluna, abrindo um bloco novo quando necessário.
+     * A contagem, a soma e o M2 são atualizados pelo método de Welford (igual a AgregadoParcial.adicionar).
+     * @param linha linha adicionada
+     * @param valor valor da linha
+     * @param valido indica se a linha possui valor (linhas "NA" só abrem o bloco)
+     */
+    void adicionar(int linha, double valor, boolean valido) {
+        int bloco = linha / tamanhoBloco;
+        while (bloco >= blocos) {
+            if (blocos == contagens.length) {
+                int capacidade = Math.max(4, blocos * 2);
+                contagens = Arrays.copyOf(contagens, capacidade);
+                somas = Arrays.copyOf(somas, capacidade);
+                m2s = Arrays.copyOf(m2s, capacidade);
+                minimos = Arrays.copyOf(minimos, capacidade);
+                maximos = Arrays.copyOf(maximos, capacidade);
+            }
+            contagens[blocos] = 0;
+            somas[blocos] = 0;
+            m2s[blocos] = 0;
+            minimos[blocos] = Double.MAX_VALUE;
+            maximos[blocos] = -Double.MAX_VALUE;
+            blocos++;
+        }
+        if (valido) {
+            double delta = contagens[bloco] == 0 ? 0 : valor - somas[bloco] / contagens[bloco];
+            contagens[bloco]++;
+            somas[bloco] += valor;
+            m2s[bloco] += delta * (valor - somas[bloco] / contagens[bloco]);
+            maximos[bloco] = Math.max(maximos[bloco], valor);
+            minimos[bloco] = Math.min(minimos[bloco], valor);
+        }
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas de cada bloco.
+     * @return tamanho do bloco
+     */
+    public int getTamanhoBloco() {
+        return tamanhoBloco;
+    }
+
+    /**
+     * Método para retornar a quantidade de blocos do mapa.
+     * @return quantidade de blocos
+     */
+    public int getQuantidadeBlocos() {
+        return blocos;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores válidos de um bloco.
+     * @param bloco número do bloco (começa em zero)
+     * @return quantidade de valores válidos
+     */
+    public long getContagem(int bloco) {
+        return contagens[bloco];
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas sem valor ("NA") de um bloco.
+     * @param bloco número do bloco (começa em zero)
+     * @return quantidade de linhas sem valor
+     */
+    public long getContagemNA(int bloco) {
+        return fimBloco(bloco) - (long) bloco * tamanhoBloco - contagens[bloco];
+    }
+
+    /**
+     * Método para retornar a soma dos valores válidos de um bloco.
+     * @param bloco número do bloco (começa em zero)
+     * @return soma do bloco
+     */
+    public double getSoma(int bloco) {
+        return somas[bloco];
+    }
+
+    /**
+     * Método para retornar o menor valor válido de um bloco.
+     * @param bloco número do bloco (começa em zero)
+     * @return menor valor (Double.MAX_VALUE caso o bloco não possua valores válidos)
+     */
+    public double getMin(int bloco) {
+        return minimos[bloco];
+    }
+
+    /**
+     * Método para retornar o maior valor válido de um bloco.
+     * @param bloco número do bloco (começa em zero)
+     * @return maior valor (-Double.MAX_VALUE caso o bloco não possua valores válidos)
+     */
+    public double getMax(int bloco) {
+        return maximos[bloco];
+    }
+
+    /**
+     * Método para retornar o resumo de um bloco como um agregado.
+     * @param bloco número do bloco (começa em zero)
+     * @return agregado do bloco
+     */
+    public AgregadoParcial getAgregado(int bloco) {
+        return new AgregadoParcial(contagens[bloco], somas[bloco], m2s[bloco], maximos[bloco], minimos[bloco]);
+    }
+
+    /**
+     * Método para calcular o agregado da coluna inteira somente a partir dos resumos dos blocos.
+     * @return agregado da coluna
+     */
+    public AgregadoParcial agregar() {
+        AgregadoParcial total = new AgregadoParcial();
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            total.combinar(getAgregado(bloco));
+        }
+        return total;
+    }
+
+    /**
+     * Método para retornar o maior valor válido da coluna a partir dos resumos dos blocos.
+     * @return maior valor (-Double.MAX_VALUE caso a coluna não possua valores válidos)
+     */
+    public double getMax() {
+        double max = -Double.MAX_VALUE;
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            max = Math.max(max, maximos[bloco]);
+        }
+        return max;
+    }
+
+    /**
+     * Método para retornar o menor valor válido da coluna a partir dos resumos dos blocos.
+     * @return menor valor (Double.MAX_VALUE caso a coluna não possua valores válidos)
+     */
+    public double getMin() {
+        double min = Double.MAX_VALUE;
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            min = Math.min(min, minimos[bloco]);
+        }
+        return min;
+    }
+
+    /**
+     * Método para calcular o agregado de um intervalo de linhas da coluna.
+     * Os blocos cobertos por inteiro usam o resumo, e somente os trechos dos blocos das pontas são percorridos.
+     * @param inicio primeira linha do intervalo (inclusiva)
+     * @param fim última linha do intervalo (exclusiva)
+     * @return agregado do intervalo
+     */
+    public AgregadoParcial agregar(int inicio, int fim) {
+        if (inicio < 0 || fim > coluna.getTamanho() || inicio > fim) {
+            throw new IndexOutOfBoundsException("Intervalo inválido: [" + inicio + ", " + fim + ")");
+        }
+        AgregadoParcial total = new AgregadoParcial();
+        int linha = inicio;
+        while (linha < fim) {
+            int bloco = linha / tamanhoBloco;
+            int fimTrecho = Math.min(fim, fimBloco(bloco));
+            if (linha == bloco * tamanhoBloco && fimTrecho == fimBloco(bloco)) {
+                total.combinar(getAgregado(bloco));
+            } else {
+                total.combinar(coluna.varrer(linha, fimTrecho));
+            }
+            linha = fimTrecho;
+        }
+        return total;
+    }
+
+    /**
+     * Método para calcular o agregado dos valores válidos da coluna que estão na faixa [minimo, maximo].
+     * Somente os blocos que cruzam os limites da faixa são percorridos (ver contarBlocosParciais).
+     * @param minimo menor valor da faixa (inclusivo)
+     * @param maximo maior valor da faixa (inclusivo)
+     * @return agregado dos valores da faixa
+     */
+    public AgregadoParcial agregarEntre(double minimo, double maximo) {
+        AgregadoParcial total = new AgregadoParcial();
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            if (isForaDaFaixa(bloco, minimo, maximo)) {
+                continue;
+            }
+            if (isDentroDaFaixa(bloco, minimo, maximo)) {
+                total.combinar(getAgregado(bloco));
+                continue;
+            }
+            AgregadoParcial parcial = new AgregadoParcial();
+            for (int linha = bloco * tamanhoBloco; linha < fimBloco(bloco); linha++) {
+                double valor = coluna.getValor(linha);
+                if (valor >= minimo && valor <= maximo && coluna.isValido(linha)) {
+                    parcial.adicionar(valor);
+                }
+            }
+            total.combinar(parcial);
+        }
+        return total;
+    }
+
+    /**
+     * Método para contar os blocos que precisam ser percorridos em um filtro pela faixa [minimo, maximo]
+     * (os que têm valores dentro e fora da faixa). Os demais são respondidos pelo resumo ou ignorados.
+     * @param minimo menor valor da faixa (inclusivo)
+     * @param maximo maior valor da faixa (inclusivo)
+     * @return quantidade de blocos percorridos
+     */
+    public int contarBlocosParciais(double minimo, double maximo) {
+        int parciais = 0;
+        for (int bloco = 0; bloco < blocos; bloco++) {
+            if (!isForaDaFaixa(bloco, minimo, maximo) && !isDentroDaFaixa(bloco, minimo, maximo)) {
+                parciais++;
+            }
+        }
+        return parciais;
+    }
+
+    /**
+     * Método para verificar se nenhum valor de um bloco pode estar na faixa.
+     * @param bloco número do bloco
+     * @param minimo menor valor da faixa
+     * @param maximo maior valor da faixa
+     * @return verdadeiro se o bloco pode ser ignorado
+     */
+    private boolean isForaDaFaixa(int bloco, double minimo, double maximo) {
+        return contagens[bloco] == 0 || maximos[bloco] < minimo || minimos[bloco] > maximo || !(minimo <= maximo);
+    }
+
+    /**
+     * Método para verificar se todos os valores válidos de um bloco estão na faixa.
+     * Blocos com NaN (soma NaN) nunca estão inteiramente na faixa, já que NaN não pertence a nenhuma faixa.
+     * @param bloco número do bloco
+     * @param minimo menor valor da faixa
+     * @param maximo maior valor da faixa
+     * @return verdadeiro se o resumo do bloco pode ser utilizado
+     */
+    private boolean isDentroDaFaixa(int bloco, double minimo, double maximo) {
+        return minimos[bloco] >= minimo && maximos[bloco] <= maximo && !Double.isNaN(somas[bloco]);
+    }
+
+    /**
+     * Método para retornar a linha seguinte à última linha de um bloco.
+     * @param bloco número do bloco
+     * @return fim do bloco (exclusivo)
+     */
+    private int fimBloco(int bloco) {
+        return (int) Math.min(coluna.getTamanho(), (long) (bloco + 1) * tamanhoBloco);
+    }
+
+}
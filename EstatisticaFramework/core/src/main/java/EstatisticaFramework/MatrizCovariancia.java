@@ -0,0 +1,524 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Classe MatrizCovariancia para o cálculo das matrizes de covariância e de correlação entre todas as colunas de um DataSet.
+ * <p>
+ * As linhas são percorridas uma única vez, em blocos: para cada bloco de linhas, todos os pares de colunas são calculados
+ * enquanto os valores do bloco ainda estão no cache do processador. Dentro do bloco, cada par é calculado em duas passagens
+ * (médias do bloco e depois os co-momentos em relação a elas), e os blocos são combinados pela fórmula de Chan,
+ * o que mantém a estabilidade numérica mesmo com médias grandes em relação à variância.
+ * <p>
+ * Os valores "NA" são removidos por par (deleção pareada): cada par utiliza somente as linhas em que as duas colunas possuem valor,
+ * e as médias, variâncias e a covariância do par são calculadas sobre essas linhas. Por isso a diagonal da correlação é 1
+ * e a matriz pode não ser positiva semidefinida quando existem "NA".
+ * <p>
+ * Com um ForkJoinPool, os blocos de linhas são divididos entre as threads e os resultados parciais são combinados em ordem.
+ * A correlação de Spearman é a correlação de Pearson entre os postos (rankings) dos valores, com postos médios nos empates;
+ * quando os "NA" de duas colunas não coincidem, os postos do par são recalculados somente sobre as linhas em comum.
+ * @author João Vittor
+ */
+public class MatrizCovariancia {
+    /**
+     * Quantidade de linhas de cada bloco (múltiplo de 64).
+     */
+    static final int TAMANHO_BLOCO = 4096;
+    /**
+     * Quantidade de valores guardados por par de colunas: contagem, média da primeira coluna, média da segunda coluna,
+     * M2 da primeira coluna, M2 da segunda coluna e co-momento (soma dos produtos dos desvios).
+     */
+    private static final int CAMPOS = 6;
+
+    /**
+     * Quantidade de linhas em comum (sem "NA") de cada par de colunas.
+     */
+    private final long[][] contagens;
+    /**
+     * Covariância amostral (divisão por n - 1) de cada par de colunas.
+     */
+    private final double[][] covariancias;
+    /**
+     * Correlação de cada par de colunas.
+     */
+    private final double[][] correlacoes;
+
+    /**
+     * Construtor da classe MatrizCovariancia.
+     * Monta as matrizes a partir dos acumuladores de cada par de colunas.
+     * @param largura quantidade de colunas
+     * @param acumuladores acumuladores dos pares (i, j) com i menor ou igual a j
+     */
+    private MatrizCovariancia(int largura, double[] acumuladores) {
+        this.contagens = new long[largura][largura];
+        this.covariancias = new double[largura][largura];
+        this.correlacoes = new double[largura][largura];
+        for (int i = 0; i < largura; i++) {
+            for (int j = i; j < largura; j++) {
+                int p = indicePar(i, j, largura) * CAMPOS;
+                long n = (long) acumuladores[p];
+                double covariancia = acumuladores[p + 5] / (n - 1);
+                double correlacao = acumuladores[p + 5] / Math.sqrt(acumuladores[p + 3] * acumuladores[p + 4]);
+                if (n == 0) {
+                    covariancia = Double.NaN;
+                    correlacao = Double.NaN;
+                } else if (i == j && acumuladores[p + 3] > 0) {
+                    correlacao = 1;
+                }
+                contagens[i][j] = contagens[j][i] = n;
+                covariancias[i][j] = covariancias[j][i] = covariancia;
+                correlacoes[i][j] = correlacoes[j][i] = correlacao;
+            }
+        }
+    }
+
+    /**
+     * Método para calcular as matrizes de covariância e de correlação de Pearson entre colunas.
+     * @param colunas colunas numéricas (colunas com menos linhas são completadas com "NA")
+     * @param linhas quantidade de linhas
+     * @param pool pool utilizado para dividir os blocos de linhas entre threads (null para o cálculo sequencial)
+     * @return matrizes calculadas
+     */
+    public static MatrizCovariancia calcular(List<ColunaNumerica> colunas, int linhas, ForkJoinPool pool) {
+        int largura = colunas.size();
+        double[][] valores = new double[largura][];
+        long[][] validade = new long[largura][];
+        boolean[] todosValidos = new boolean[largura];
+        for (int i = 0; i < largura; i++) {
+            ColunaNumerica coluna = colunas.get(i);
+            if (coluna.getTamanho() >= linhas) {
+                valores[i] = coluna.getVetorValores();
+                validade[i] = coluna.getValidade();
+                todosValidos[i] = coluna.getContagemValidos() == coluna.getTamanho();
+            } else {
+                valores[i] = new double[linhas];
+                validade[i] = new long[(linhas + 63) >>> 6];
+            }
+        }
+        return new MatrizCovariancia(largura, acumular(valores, validade, todosValidos, linhas, pool));
+    }
+
+    /**
+     * Método para calcular as matrizes de covariância e de correlação de Spearman entre colunas.
+     * A covariância retornada é a covariância entre os postos dos valores.
+     * @param colunas colunas numéricas (colunas com menos linhas são completadas com "NA")
+     * @param linhas quantidade de linhas
+     * @param pool pool utilizado para dividir o trabalho entre threads (null para o cálculo sequencial)
+     * @return matrizes calculadas sobre os postos
+     */
+    public static MatrizCovariancia calcularSpearman(List<ColunaNumerica> colunas, int linhas, ForkJoinPool pool) {
+        int largura = colunas.size();
+        double[][] postos = new double[largura][];
+        long[][] validade = new long[largura][];
+        boolean[] todosValidos = new boolean[largura];
+        int[] validos = new int[largura];
+        for (int i = 0; i < largura; i++) {
+            ColunaNumerica coluna = colunas.get(i);
+            if (coluna.getTamanho() >= linhas) {
+                validade[i] = coluna.getValidade();
+                postos[i] = calcularPostos(coluna.getVetorValores(), validade[i], linhas);
+                validos[i] = coluna.getContagemValidos(0, linhas);
+                todosValidos[i] = validos[i] == linhas;
+            } else {
+                postos[i] = new double[linhas];
+                validade[i] = new long[(linhas + 63) >>> 6];
+            }
+        }
+        double[] acumuladores = acumular(postos, validade, todosValidos, linhas, pool);
+
+        // pares cujos "NA" não coincidem: os postos são recalculados somente sobre as linhas em comum
+        List<int[]> pares = new ArrayList<>();
+        for (int i = 0; i < largura; i++) {
+            for (int j = i + 1; j < largura; j++) {
+                long n = (long) acumuladores[indicePar(i, j, largura) * CAMPOS];
+                if (n > 0 && (n < validos[i] || n < validos[j])) {
+                    pares.add(new int[] {i, j});
+                }
+            }
+        }
+        Consumer<int[]> recalcular = par -> System.arraycopy(calcularParComPostos(colunas.get(par[0]), colunas.get(par[1]), linhas),
+                0, acumuladores, indicePar(par[0], par[1], largura) * CAMPOS, CAMPOS);
+        if (pool == null) {
+            pares.forEach(recalcular);
+        } else {
+            pool.submit(() -> pares.parallelStream().forEach(recalcular)).join();
+        }
+        return new MatrizCovariancia(largura, acumuladores);
+    }
+
+    /**
+     * Método para calcular o acumulador de um par de colunas sobre os postos das linhas em que as duas possuem valor.
+     * @param a primeira coluna
+     * @param b segunda coluna
+     * @param linhas quantidade de linhas
+     * @return acumulador do par
+     */
+    private static double[] calcularParComPostos(ColunaNumerica a, ColunaNumerica b, int linhas) {
+        long[] validadeA = a.getValidade();
+        long[] validadeB = b.getValidade();
+        int n = 0;
+        for (int w = 0; w < (linhas + 63) >>> 6; w++) {
+            n += Long.bitCount(validadeA[w] & validadeB[w] & mascaraPalavra(w, 0, linhas));
+        }
+        double[] valoresA = new double[n];
+        double[] valoresB = new double[n];
+        int k = 0;
+        for (int linha = 0; linha < linhas; linha++) {
+            if (a.isValido(linha) && b.isValido(linha)) {
+                valoresA[k] = a.getValor(linha);
+                valoresB[k] = b.getValor(linha);
+                k++;
+            }
+        }
+        double[][] postos = {calcularPostos(valoresA, null, n), calcularPostos(valoresB, null, n)};
+        double[] acumuladores = acumularIntervalo(postos, null, new boolean[] {true, true}, 0, n, 2);
+        int p = indicePar(0, 1, 2) * CAMPOS;
+        return Arrays.copyOfRange(acumuladores, p, p + CAMPOS);
+    }
+
+    /**
+     * Método para calcular os postos dos valores válidos de uma coluna, com a média dos postos nos empates.
+     * Os valores válidos são ordenados uma vez e o posto de cada valor é obtido por busca binária, sem criar objetos por linha.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade (null caso todos os valores sejam válidos)
+     * @param linhas quantidade de linhas
+     * @return vetor com os postos (começando em 1) nas linhas válidas e zero nas linhas "NA"
+     */
+    static double[] calcularPostos(double[] valores, long[] validade, int linhas) {
+        int validos = 0;
+        double[] ordenados = new double[linhas];
+        for (int linha = 0; linha < linhas; linha++) {
+            if (validade == null || (validade[linha >>> 6] & (1L << linha)) != 0) {
+                ordenados[validos++] = valores[linha];
+            }
+        }
+        Arrays.sort(ordenados, 0, validos);
+
+        double[] postos = new double[linhas];
+        for (int linha = 0; linha < linhas; linha++) {
+            if (validade == null || (validade[linha >>> 6] & (1L << linha)) != 0) {
+                int primeiro = limiteInferior(ordenados, validos, valores[linha]);
+                int ultimo = limiteInferior(ordenados, validos, Math.nextUp(valores[linha])) - 1;
+                postos[linha] = (primeiro + ultimo) / 2.0 + 1;
+            }
+        }
+        return postos;
+    }
+
+    /**
+     * Método para encontrar a primeira posição de um vetor ordenado com valor maior ou igual ao valor desejado.
+     * @param ordenados vetor ordenado
+     * @param tamanho quantidade de valores do vetor
+     * @param valor valor desejado
+     * @return primeira posição com valor maior ou igual (tamanho caso não exista)
+     */
+    private static int limiteInferior(double[] ordenados, int tamanho, double valor) {
+        int inicio = 0;
+        int fim = tamanho;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (Double.compare(ordenados[meio], valor) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Método para calcular os acumuladores de todos os pares de colunas, percorrendo as linhas em blocos.
+     * @param valores valores de cada coluna
+     * @param validade mapa de bits de validade de cada coluna
+     * @param todosValidos indica, para cada coluna, se nenhuma linha é "NA"
+     * @param linhas quantidade de linhas
+     * @param pool pool utilizado (null para o cálculo sequencial)
+     * @return acumuladores dos pares (i, j) com i menor ou igual a j
+     */
+    private static double[] acumular(double[][] valores, long[][] validade, boolean[] todosValidos, int linhas, ForkJoinPool pool) {
+        int largura = valores.length;
+        if (pool == null) {
+            return acumularIntervalo(valores, validade, todosValidos, 0, linhas, largura);
+        }
+        int limiteTarefa = Math.max(TAMANHO_BLOCO, (linhas / (pool.getParallelism() * 4) + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO * TAMANHO_BLOCO);
+        return pool.invoke(new TarefaIntervalo(valores, validade, todosValidos, 0, linhas, largura, limiteTarefa));
+    }
+
+    /**
+     * Método para calcular os acumuladores de todos os pares de colunas em um intervalo de linhas, bloco a bloco.
+     * @param valores valores de cada coluna
+     * @param validade mapa de bits de validade de cada coluna (pode ser null quando todos os valores são válidos)
+     * @param todosValidos indica, para cada coluna, se nenhuma linha é "NA"
+     * @param inicio primeira linha (múltiplo de 64)
+     * @param fim última linha (exclusiva)
+     * @param largura quantidade de colunas
+     * @return acumuladores dos pares do intervalo
+     */
+    private static double[] acumularIntervalo(double[][] valores, long[][] validade, boolean[] todosValidos, int inicio, int fim, int largura) {
+        double[] acumuladores = new double[largura * (largura + 1) / 2 * CAMPOS];
+        double[] bloco = new double[CAMPOS];
+        for (int inicioBloco = inicio; inicioBloco < fim; inicioBloco += TAMANHO_BLOCO) {
+            acumularBloco(valores, validade, todosValidos, inicioBloco, Math.min(fim, inicioBloco + TAMANHO_BLOCO), largura, acumuladores, bloco);
+        }
+        return acumuladores;
+    }
+
+    /**
+     * Método para calcular todos os pares de colunas em um bloco de linhas e combiná-los com os acumuladores.
+     * Cada par é calculado em duas passagens sobre o bloco: primeiro as somas (para as médias do bloco) e depois os desvios.
+     * @param valores valores de cada coluna
+     * @param validade mapa de bits de validade de cada coluna (pode ser null quando todos os valores são válidos)
+     * @param todosValidos indica, para cada coluna, se nenhuma linha é "NA"
+     * @param inicio primeira linha do bloco (múltiplo de 64)
+     * @param fim última linha do bloco (exclusiva)
+     * @param largura quantidade de colunas
+     * @param acumuladores acumuladores dos pares, que recebem o resultado do bloco
+     * @param bloco vetor auxiliar para o resultado de um par no bloco
+     */
+    private static void acumularBloco(double[][] valores, long[][] validade, boolean[] todosValidos, int inicio, int fim, int largura,
+            double[] acumuladores, double[] bloco) {
+        for (int i = 0; i < largura; i++) {
+            double[] a = valores[i];
+            for (int j = i; j < largura; j++) {
+                double[] b = valores[j];
+                boolean completo = todosValidos[i] && todosValidos[j];
+
+                long n = 0;
+                double somaA = 0;
+                double somaB = 0;
+                if (completo) {
+                    for (int linha = inicio; linha < fim; linha++) {
+                        somaA += a[linha];
+                        somaB += b[linha];
+                    }
+                    n = fim - inicio;
+                } else {
+                    for (int w = inicio >>> 6; w < (fim + 63) >>> 6; w++) {
+                        long bits = validade[i][w] & validade[j][w] & mascaraPalavra(w, inicio, fim);
+                        n += Long.bitCount(bits);
+                        while (bits != 0) {
+                            int linha = (w << 6) + Long.numberOfTrailingZeros(bits);
+                            somaA += a[linha];
+                            somaB += b[linha];
+                            bits &= bits - 1;
+                        }
+                    }
+                }
+                if (n == 0) {
+                    continue;
+                }
+
+                double mediaA = somaA / n;
+                double mediaB = somaB / n;
+                double m2A = 0;
+                double m2B = 0;
+                double comomento = 0;
+                if (completo) {
+                    for (int linha = inicio; linha < fim; linha++) {
+                        double desvioA = a[linha] - mediaA;
+                        double desvioB = b[linha] - mediaB;
+                        m2A += desvioA * desvioA;
+                        m2B += desvioB * desvioB;
+                        comomento += desvioA * desvioB;
+                    }
+                } else {
+                    for (int w = inicio >>> 6; w < (fim + 63) >>> 6; w++) {
+                        long bits = validade[i][w] & validade[j][w] & mascaraPalavra(w, inicio, fim);
+                        while (bits != 0) {
+                            int linha = (w << 6) + Long.numberOfTrailingZeros(bits);
+                            double desvioA = a[linha] - mediaA;
+                            double desvioB = b[linha] - mediaB;
+                            m2A += desvioA * desvioA;
+                            m2B += desvioB * desvioB;
+                            comomento += desvioA * desvioB;
+                            bits &= bits - 1;
+                        }
+                    }
+                }
+
+                bloco[0] = n;
+                bloco[1] = mediaA;
+                bloco[2] = mediaB;
+                bloco[3] = m2A;
+                bloco[4] = m2B;
+                bloco[5] = comomento;
+                combinar(acumuladores, indicePar(i, j, largura) * CAMPOS, bloco, 0);
+            }
+        }
+    }
+
+    /**
+     * Método para combinar o acumulador de um par com outro acumulador do mesmo par (fórmula de Chan).
+     * @param destino vetor do acumulador que recebe a combinação
+     * @param p posição do acumulador no vetor de destino
+     * @param origem vetor do acumulador que será combinado
+     * @param q posição do acumulador no vetor de origem
+     */
+    private static void combinar(double[] destino, int p, double[] origem, int q) {
+        double n1 = destino[p];
+        double n2 = origem[q];
+        if (n2 == 0) {
+            return;
+        }
+        if (n1 == 0) {
+            System.arraycopy(origem, q, destino, p, CAMPOS);
+            return;
+        }
+        double n = n1 + n2;
+        double deltaA = origem[q + 1] - destino[p + 1];
+        double deltaB = origem[q + 2] - destino[p + 2];
+        double fator = n1 * n2 / n;
+        destino[p] = n;
+        destino[p + 1] += deltaA * n2 / n;
+        destino[p + 2] += deltaB * n2 / n;
+        destino[p + 3] += origem[q + 3] + deltaA * deltaA * fator;
+        destino[p + 4] += origem[q + 4] + deltaB * deltaB * fator;
+        destino[p + 5] += origem[q + 5] + deltaA * deltaB * fator;
+    }
+
+    /**
+     * Método para calcular a máscara das linhas de uma palavra do mapa de bits que estão dentro de um intervalo.
+     * @param palavra índice da palavra
+     * @param inicio primeira linha do intervalo
+     * @param fim última linha do intervalo (exclusiva)
+     * @return máscara com os bits das linhas do intervalo
+     */
+    private static long mascaraPalavra(int palavra, int inicio, int fim) {
+        long primeira = (long) palavra << 6;
+        long mascara = -1L;
+        if (inicio > primeira) {
+            mascara &= -1L << (inicio - primeira);
+        }
+        if (fim < primeira + 64) {
+            mascara &= (1L << (fim - primeira)) - 1;
+        }
+        return mascara;
+    }
+
+    /**
+     * Método para calcular a posição do par (i, j), com i menor ou igual a j, na lista de pares.
+     * @param i primeira coluna
+     * @param j segunda coluna
+     * @param largura quantidade de colunas
+     * @return posição do par
+     */
+    private static int indicePar(int i, int j, int largura) {
+        return i * largura - i * (i - 1) / 2 + (j - i);
+    }
+
+    /**
+     * Método para retornar a quantidade de colunas da matriz.
+     * @return quantidade de colunas
+     */
+    public int getLargura() {
+        return contagens.length;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas utilizadas em um par de colunas (linhas em que as duas possuem valor).
+     * @param i primeira coluna (começa em zero)
+     * @param j segunda coluna (começa em zero)
+     * @return quantidade de linhas do par
+     */
+    public long getContagem(int i, int j) {
+        return contagens[i][j];
+    }
+
+    /**
+     * Método para retornar a covariância amostral de um par de colunas.
+     * @param i primeira coluna (começa em zero)
+     * @param j segunda coluna (começa em zero)
+     * @return covariância do par (NaN caso o par não possua linhas em comum)
+     */
+    public double getCovariancia(int i, int j) {
+        return covariancias[i][j];
+    }
+
+    /**
+     * Método para retornar a correlação de um par de colunas.
+     * @param i primeira coluna (começa em zero)
+     * @param j segunda coluna (começa em zero)
+     * @return correlação do par, entre -1 e 1 (NaN caso uma das colunas seja constante nas linhas em comum)
+     */
+    public double getCorrelacao(int i, int j) {
+        return correlacoes[i][j];
+    }
+
+    /**
+     * Método para retornar a matriz de covariâncias.
+     * @return cópia da matriz de covariâncias
+     */
+    public double[][] getCovariancias() {
+        return copiar(covariancias);
+    }
+
+    /**
+     * Método para retornar a matriz de correlações.
+     * @return cópia da matriz de correlações
+     */
+    public double[][] getCorrelacoes() {
+        return copiar(correlacoes);
+    }
+
+    /**
+     * Método para copiar uma matriz.
+     * @param matriz matriz original
+     * @return cópia da matriz
+     */
+    private static double[][] copiar(double[][] matriz) {
+        double[][] copia = new double[matriz.length][];
+        for (int i = 0; i < matriz.length; i++) {
+            copia[i] = matriz[i].clone();
+        }
+        return copia;
+    }
+
+    /**
+     * Classe TarefaIntervalo para calcular os acumuladores de um intervalo de linhas em paralelo.
+     * Intervalos maiores do que o limite são divididos ao meio (em um múltiplo do bloco) e os resultados são combinados em ordem.
+     */
+    private static class TarefaIntervalo extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] valores;
+        private final long[][] validade;
+        private final boolean[] todosValidos;
+        private final int inicio;
+        private final int fim;
+        private final int largura;
+        private final int limiteTarefa;
+
+        TarefaIntervalo(double[][] valores, long[][] validade, boolean[] todosValidos, int inicio, int fim, int largura, int limiteTarefa) {
+            this.valores = valores;
+            this.validade = validade;
+            this.todosValidos = todosValidos;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.largura = largura;
+            this.limiteTarefa = limiteTarefa;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (fim - inicio <= limiteTarefa) {
+                return acumularIntervalo(valores, validade, todosValidos, inicio, fim, largura);
+            }
+            int meio = inicio + ((fim - inicio) / 2 + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO * TAMANHO_BLOCO;
+            TarefaIntervalo esquerda = new TarefaIntervalo(valores, validade, todosValidos, inicio, meio, largura, limiteTarefa);
+            TarefaIntervalo direita = new TarefaIntervalo(valores, validade, todosValidos, meio, fim, largura, limiteTarefa);
+            esquerda.fork();
+            double[] resultadoDireita = direita.compute();
+            double[] resultado = esquerda.join();
+            for (int p = 0; p < resultado.length; p += CAMPOS) {
+                combinar(resultado, p, resultadoDireita, p);
+            }
+            return resultado;
+        }
+    }
+
+}
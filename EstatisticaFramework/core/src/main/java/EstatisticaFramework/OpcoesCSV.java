@@ -0,0 +1,298 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Classe OpcoesCSV para a configuração da leitura de arquivos CSV.
+ * Os métodos de alteração retornam o próprio objeto, para que várias opções possam ser definidas em sequência.
+ * @author João Vittor
+ */
+public class OpcoesCSV {
+    /**
+     * Tamanho padrão de cada segmento do arquivo mapeado em memória (256 MB).
+     */
+    public static final int TAMANHO_SEGMENTO_PADRAO = 1 << 28;
+    /**
+     * Quantidade padrão de linhas do início do arquivo utilizadas para detectar o cabeçalho e inferir o tipo das colunas.
+     */
+    public static final int AMOSTRA_ESQUEMA_PADRAO = 1000;
+
+    /**
+     * Caractere que separa as células de uma linha.
+     */
+    private char delimitador;
+    /**
+     * Caractere utilizado para delimitar células com texto (que podem conter o delimitador ou quebras de linha).
+     */
+    private char aspas;
+    /**
+     * Quantidade de bytes do arquivo mapeados em memória de cada vez.
+     */
+    private int tamanhoSegmento;
+    /**
+     * Quantidade máxima de threads utilizadas na leitura do arquivo (1 para leitura sequencial).
+     */
+    private int paralelismo;
+    /**
+     * Colunas do arquivo que serão lidas, na ordem em que ficam no DataSet (nulo para ler todas as colunas).
+     */
+    private int[] colunas;
+    /**
+     * Nomes (no cabeçalho) das colunas do arquivo que serão lidas, na ordem em que ficam no DataSet (nulo caso as colunas sejam escolhidas por número).
+     */
+    private String[] nomesColunas;
+    /**
+     * Indica se a primeira linha do arquivo é um cabeçalho (nulo para detectar automaticamente a partir da amostra).
+     */
+    private Boolean cabecalho;
+    /**
+     * Quantidade de linhas do início do arquivo utilizadas para detectar o cabeçalho e inferir o tipo das colunas (zero para não inferir).
+     */
+    private int amostraEsquema;
+
+    /**
+     * Construtor da classe OpcoesCSV.
+     * Cria as opções padrão: células separadas por vírgula e textos entre aspas duplas.
+     */
+    public OpcoesCSV() {
+        this.delimitador = ',';
+        this.aspas = '"';
+        this.tamanhoSegmento = TAMANHO_SEGMENTO_PADRAO;
+        this.paralelismo = 1;
+        this.colunas = null;
+        this.nomesColunas = null;
+        this.cabecalho = null;
+        this.amostraEsquema = AMOSTRA_ESQUEMA_PADRAO;
+    }
+
+    /**
+     * Método para retornar o caractere que separa as células de uma linha.
+     * @return delimitador das células
+     */
+    public char getDelimitador() {
+        return delimitador;
+    }
+
+    /**
+     * Método para alterar o caractere que separa as células de uma linha (por exemplo, ';' ou '\t').
+     * @param delimitador novo delimitador das células
+     * @return as próprias opções
+     */
+    public OpcoesCSV setDelimitador(char delimitador) {
+        this.delimitador = delimitador;
+        return this;
+    }
+
+    /**
+     * Método para retornar o caractere utilizado para delimitar células com texto.
+     * @return caractere de aspas
+     */
+    public char getAspas() {
+        return aspas;
+    }
+
+    /**
+     * Método para alterar o caractere utilizado para delimitar células com texto.
+     * @param aspas novo caractere de aspas
+     * @return as próprias opções
+     */
+    public OpcoesCSV setAspas(char aspas) {
+        this.aspas = aspas;
+        return this;
+    }
+
+    /**
+     * Método para retornar a quantidade de bytes do arquivo mapeados em memória de cada vez.
+     * @return tamanho do segmento em bytes
+     */
+    public int getTamanhoSegmento() {
+        return tamanhoSegmento;
+    }
+
+    /**
+     * Método para alterar a quantidade de bytes do arquivo mapeados em memória de cada vez.
+     * Arquivos maiores que o segmento são lidos em partes, o que permite ler arquivos com mais de 2 GB.
+     * @param tamanhoSegmento novo tamanho do segmento em bytes (deve ser maior que zero)
+     * @return as próprias opções
+     */
+    public OpcoesCSV setTamanhoSegmento(int tamanhoSegmento) {
+        if (tamanhoSegmento <= 0) {
+            throw new IllegalArgumentException("O tamanho do segmento deve ser maior que zero: " + tamanhoSegmento);
+        }
+        this.tamanhoSegmento = tamanhoSegmento;
+        return this;
+    }
+
+    /**
+     * Método para retornar a quantidade máxima de threads utilizadas na leitura do arquivo.
+     * @return nível de paralelismo da leitura
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Método para alterar a quantidade máxima de threads utilizadas na leitura do arquivo.
+     * Com paralelismo maior que 1, o arquivo é dividido em partes nas quebras de linha e as partes são lidas ao mesmo tempo,
+     * mantendo a ordem das linhas no DataSet. Nesse modo, as células entre aspas não podem conter quebras de linha.
+     * @param paralelismo quantidade máxima de threads (1 para leitura sequencial)
+     * @return as próprias opções
+     */
+    public OpcoesCSV setParalelismo(int paralelismo) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("O paralelismo deve ser maior que zero: " + paralelismo);
+        }
+        this.paralelismo = paralelismo;
+        return this;
+    }
+
+
+    /**
+     * Método para retornar se a primeira linha do arquivo é um cabeçalho.
+     * @return verdadeiro ou falso caso tenha sido definido, ou nulo para a detecção automática
+     */
+    public Boolean getCabecalho() {
+        return cabecalho;
+    }
+
+    /**
+     * Método para definir se a primeira linha do arquivo é um cabeçalho, em vez de detectá-lo automaticamente (ver EsquemaCSV).
+     * O cabeçalho não entra no DataSet e as suas células viram os nomes das colunas.
+     * @param cabecalho verdadeiro ou falso, ou nulo para voltar à detecção automática
+     * @return as próprias opções
+     */
+    public OpcoesCSV setCabecalho(Boolean cabecalho) {
+        this.cabecalho = cabecalho;
+        return this;
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas do início do arquivo utilizadas para detectar o cabeçalho e inferir o tipo das colunas.
+     * @return quantidade de linhas da amostra
+     */
+    public int getAmostraEsquema() {
+        return amostraEsquema;
+    }
+
+    /**
+     * Método para alterar a quantidade de linhas do início do arquivo utilizadas para detectar o cabeçalho e inferir o tipo das colunas.
+     * Com zero, o tipo das colunas não é inferido (cada célula é classificada como número ou texto durante a leitura)
+     * e o cabeçalho só é considerado quando for definido em setCabecalho ou as colunas forem escolhidas por nome.
+     * @param amostraEsquema quantidade de linhas da amostra (zero para não inferir)
+     * @return as próprias opções
+     */
+    public OpcoesCSV setAmostraEsquema(int amostraEsquema) {
+        if (amostraEsquema < 0) {
+            throw new IllegalArgumentException("A amostra não pode ser negativa: " + amostraEsquema);
+        }
+        this.amostraEsquema = amostraEsquema;
+        return this;
+    }
+
+    /**
+     * Método para retornar os números das colunas do arquivo que serão lidas.
+     * @return cópia dos números das colunas (nulo caso todas as colunas sejam lidas ou as colunas tenham sido escolhidas por nome)
+     */
+    public int[] getColunas() {
+        return colunas == null ? null : colunas.clone();
+    }
+
+    /**
+     * Método para escolher as colunas do arquivo que serão lidas (projeção), pelos seus números.
+     * As demais colunas são apenas percorridas para encontrar o fim das células, sem conversão de números e sem criação de textos.
+     * O DataSet fica somente com as colunas escolhidas, na ordem informada (a coluna 0 do DataSet é a primeira coluna escolhida).
+     * @param colunas números (ou índices) das colunas do arquivo (começam em zero), sem repetições
+     * @return as próprias opções
+     */
+    public OpcoesCSV setColunas(int... colunas) {
+        if (colunas.length == 0) {
+            throw new IllegalArgumentException("Pelo menos uma coluna deve ser escolhida.");
+        }
+        boolean[] vistas = new boolean[Arrays.stream(colunas).max().getAsInt() + 1];
+        for (int coluna : colunas) {
+            if (coluna < 0) {
+                throw new IllegalArgumentException("Número de coluna inválido: " + coluna);
+            }
+            if (vistas[coluna]) {
+                throw new IllegalArgumentException("A coluna foi escolhida mais de uma vez: " + coluna);
+            }
+            vistas[coluna] = true;
+        }
+        this.colunas = colunas.clone();
+        this.nomesColunas = null;
+        return this;
+    }
+
+    /**
+     * Método para retornar os nomes das colunas do arquivo que serão lidas.
+     * @return cópia dos nomes das colunas (nulo caso as colunas não tenham sido escolhidas por nome)
+     */
+    public String[] getNomesColunas() {
+        return nomesColunas == null ? null : nomesColunas.clone();
+    }
+
+    /**
+     * Método para escolher as colunas do arquivo que serão lidas (projeção), pelos seus nomes no cabeçalho.
+     * A primeira linha do arquivo é lida como cabeçalho, para encontrar os números das colunas, e não entra no DataSet.
+     * @param nomes nomes das colunas no cabeçalho do arquivo, sem repetições
+     * @return as próprias opções
+     */
+    public OpcoesCSV setColunas(String... nomes) {
+        if (nomes.length == 0) {
+            throw new IllegalArgumentException("Pelo menos uma coluna deve ser escolhida.");
+        }
+        if (new HashSet<>(Arrays.asList(nomes)).size() != nomes.length) {
+            throw new IllegalArgumentException("Uma coluna foi escolhida mais de uma vez: " + Arrays.toString(nomes));
+        }
+        this.nomesColunas = nomes.clone();
+        this.colunas = null;
+        return this;
+    }
+
+    /**
+     * Método para criar uma cópia destas opções com as colunas escolhidas por nome trocadas pelos seus números no cabeçalho.
+     * @param cabecalho células da primeira linha do arquivo
+     * @return cópia das opções com as colunas escolhidas por número (as próprias opções caso as colunas não tenham sido escolhidas por nome)
+     */
+    OpcoesCSV projetar(List<String> cabecalho) {
+        if (nomesColunas == null) {
+            return this;
+        }
+        int[] indices = new int[nomesColunas.length];
+        for (int i = 0; i < nomesColunas.length; i++) {
+            indices[i] = cabecalho.indexOf(nomesColunas[i]);
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Coluna não encontrada no cabeçalho do arquivo: " + nomesColunas[i]);
+            }
+        }
+        return semProjecao().setColunas(indices);
+    }
+
+    /**
+     * Método para criar uma cópia destas opções.
+     * @return cópia das opções
+     */
+    OpcoesCSV copiar() {
+        OpcoesCSV copia = semProjecao();
+        copia.colunas = colunas;
+        copia.nomesColunas = nomesColunas;
+        return copia;
+    }
+
+    /**
+     * Método para criar uma cópia destas opções que lê todas as colunas do arquivo.
+     * @return cópia das opções, sem as colunas escolhidas
+     */
+    OpcoesCSV semProjecao() {
+        return new OpcoesCSV()
+            .setDelimitador(delimitador)
+            .setAspas(aspas)
+            .setTamanhoSegmento(tamanhoSegmento)
+            .setParalelismo(paralelismo)
+            .setCabecalho(cabecalho)
+            .setAmostraEsquema(amostraEsquema);
+    }
+
+}
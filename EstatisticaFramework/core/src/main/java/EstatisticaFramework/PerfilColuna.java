@@ -0,0 +1,171 @@
+package EstatisticaFramework;
+
+/**
+ * Classe PerfilColuna para o cálculo conjunto das estatísticas de uma coluna do DataSet.
+ * Em vez de percorrer a coluna uma vez para cada estatística de forma independente, o perfil faz duas passagens:
+ * a primeira copia os valores válidos e calcula soma, máximo, mínimo e a frequência de cada valor (moda),
+ * e a segunda soma os quadrados e os valores absolutos dos desvios em relação à média sobre a cópia, em uma única redução (vetorial com Java 21+).
+ * A mediana é obtida por seleção sobre a cópia, sem ordenar a coluna.
+ * @author João Vittor
+ */
+public class PerfilColuna {
+    /**
+     * Quantidade de valores válidos da coluna.
+     */
+    private long contagem;
+    /**
+     * Média dos valores da coluna.
+     */
+    private double media;
+    /**
+     * Mediana dos valores da coluna.
+     */
+    private double mediana;
+    /**
+     * Moda dos valores da coluna.
+     */
+    private double moda;
+    /**
+     * Maior valor da coluna.
+     */
+    private double max;
+    /**
+     * Menor valor da coluna.
+     */
+    private double min;
+    /**
+     * Variância dos valores da coluna.
+     */
+    private double variancia;
+    /**
+     * Desvio padrão dos valores da coluna.
+     */
+    private double desvioPadrao;
+    /**
+     * Desvio médio dos valores da coluna.
+     */
+    private double desvioMedio;
+
+    /**
+     * Construtor da classe PerfilColuna.
+     * Recebe a coluna numérica do DataSet e calcula todas as estatísticas do perfil.
+     * @param coluna coluna numérica do DataSet
+     */
+    public PerfilColuna(ColunaNumerica coluna) {
+        calcularPerfil(coluna);
+    }
+
+    /**
+     * Método para o cálculo dos valores do perfil.
+     * Esse método é utilizado pelo construtor.
+     * @param coluna coluna numérica do DataSet
+     */
+    private void calcularPerfil(ColunaNumerica coluna) {
+        double[] vetor = coluna.getVetorValores();
+        int tamanho = coluna.getTamanho();
+        boolean todosValidos = coluna.getContagemValidos() == tamanho;
+        double[] valores = new double[coluna.getContagemValidos()];
+        MapaFrequencia frequencia = new MapaFrequencia();
+        double soma = 0;
+        max = -Double.MAX_VALUE;
+        min = Double.MAX_VALUE;
+        int n = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (todosValidos || coluna.isValido(i)) {
+                double valor = vetor[i];
+                valores[n++] = valor;
+                soma += valor;
+                if (valor > max) {
+                    max = valor;
+                }
+                if (valor < min) {
+                    min = valor;
+                }
+                frequencia.adicionar(valor);
+            }
+        }
+
+        contagem = n;
+        media = n == 0 ? Double.NaN : soma / n;
+        double[] desvios = Reducoes.somaDesvios(valores, null, 0, n, true, media);
+        variancia = desvios[0] / (n - 1);
+        desvioPadrao = Math.sqrt(variancia);
+        desvioMedio = desvios[1] / n;
+        moda = frequencia.getModa();
+
+        mediana = Selecao.calcularMediana(valores);
+    }
+
+    /**
+     * Método para retornar a quantidade de valores válidos da coluna.
+     * @return quantidade de valores
+     */
+    public long getContagem() {
+        return contagem;
+    }
+
+    /**
+     * Método para retornar a média dos valores da coluna.
+     * @return média da coluna
+     */
+    public double getMedia() {
+        return media;
+    }
+
+    /**
+     * Método para retornar a mediana dos valores da coluna.
+     * @return mediana da coluna
+     */
+    public double getMediana() {
+        return mediana;
+    }
+
+    /**
+     * Método para retornar a moda dos valores da coluna.
+     * @return moda da coluna
+     */
+    public double getModa() {
+        return moda;
+    }
+
+    /**
+     * Método para retornar o maior valor da coluna.
+     * @return maior valor da coluna
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Método para retornar o menor valor da coluna.
+     * @return menor valor da coluna
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Método para retornar a variância dos valores da coluna.
+     * @return variância da coluna
+     */
+    public double getVariancia() {
+        return variancia;
+    }
+
+    /**
+     * Método para retornar o desvio padrão dos valores da coluna.
+     * @return desvio padrão da coluna
+     */
+    public double getDesvioPadrao() {
+        return desvioPadrao;
+    }
+
+    /**
+     * Método para retornar o desvio médio dos valores da coluna.
+     * @return desvio médio da coluna
+     */
+    public double getDesvioMedio() {
+        return desvioMedio;
+    }
+
+}
@@ -0,0 +1,145 @@
+package EstatisticaFramework;
+
+/**
+ * Classe ReducoesEscalares com as reduções de uma coluna numérica (soma, desvios, máximo e mínimo) calculadas valor a valor.
+ * As linhas sem valor são ignoradas através do mapa de bits de validade, sem criar objetos intermediários.
+ * É a implementação utilizada quando as reduções vetoriais (SIMD) não estão disponíveis.
+ * @author João Vittor
+ */
+final class ReducoesEscalares {
+
+    private ReducoesEscalares() {
+    }
+
+    /**
+     * Método para verificar se uma linha possui valor válido no mapa de bits de validade.
+     * @param validade mapa de bits de validade da coluna
+     * @param linha número (ou índice) da linha (começa em zero)
+     * @return verdadeiro se a linha possui valor
+     */
+    private static boolean isValido(long[] validade, int linha) {
+        return (validade[linha >>> 6] & (1L << linha)) != 0;
+    }
+
+    /**
+     * Método para somar os valores válidos.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return soma dos valores válidos
+     */
+    static double soma(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        double soma = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (todosValidos || isValido(validade, i)) {
+                soma += valores[i];
+            }
+        }
+        return soma;
+    }
+
+    /**
+     * Método para somar os quadrados dos desvios dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios
+     */
+    static double somaQuadradosDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        double soma = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (todosValidos || isValido(validade, i)) {
+                double desvio = valores[i] - centro;
+                soma += desvio * desvio;
+            }
+        }
+        return soma;
+    }
+
+    /**
+     * Método para somar os desvios absolutos dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos desvios absolutos
+     */
+    static double somaDesviosAbsolutos(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        double soma = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (todosValidos || isValido(validade, i)) {
+                soma += Math.abs(valores[i] - centro);
+            }
+        }
+        return soma;
+    }
+
+    /**
+     * Método para somar, em uma única passagem, os quadrados e os valores absolutos dos desvios dos valores válidos em relação a um centro.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios (posição 0) e soma dos desvios absolutos (posição 1)
+     */
+    static double[] somaDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        double quadrados = 0;
+        double absolutos = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (todosValidos || isValido(validade, i)) {
+                double desvio = valores[i] - centro;
+                quadrados += desvio * desvio;
+                absolutos += Math.abs(desvio);
+            }
+        }
+        return new double[] {quadrados, absolutos};
+    }
+
+    /**
+     * Método para retornar o maior valor válido.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return maior valor (-Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double max(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        double max = -Double.MAX_VALUE;
+        for (int i = inicio; i < fim; i++) {
+            if ((todosValidos || isValido(validade, i)) && valores[i] > max) {
+                max = valores[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Método para retornar o menor valor válido.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return menor valor (Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double min(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        double min = Double.MAX_VALUE;
+        for (int i = inicio; i < fim; i++) {
+            if ((todosValidos || isValido(validade, i)) && valores[i] < min) {
+                min = valores[i];
+            }
+        }
+        return min;
+    }
+
+}
@@ -0,0 +1,100 @@
+package EstatisticaFramework;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe ResultadoAgrupamento para guardar os grupos calculados por AgrupamentoHash.
+ * Os grupos estão na ordem dos códigos das chaves: para colunas de texto, a ordem em que os textos apareceram no arquivo;
+ * para colunas numéricas, a ordem crescente dos valores; o grupo sem valor ("NA") de cada coluna vem por último.
+ * @author João Vittor
+ */
+public class ResultadoAgrupamento {
+    /**
+     * Números das colunas de chave.
+     */
+    private final int[] colunasChave;
+    /**
+     * Números das colunas de valor.
+     */
+    private final int[] colunasValor;
+    /**
+     * Grupos calculados.
+     */
+    private final List<Grupo> grupos;
+    /**
+     * Quantidade de linhas gravadas em disco por ultrapassarem o limite de memória.
+     */
+    private final long linhasDerramadas;
+
+    /**
+     * Construtor da classe ResultadoAgrupamento.
+     * @param colunasChave números das colunas de chave
+     * @param colunasValor números das colunas de valor
+     * @param grupos grupos calculados
+     * @param linhasDerramadas quantidade de linhas gravadas em disco
+     */
+    ResultadoAgrupamento(int[] colunasChave, int[] colunasValor, List<Grupo> grupos, long linhasDerramadas) {
+        this.colunasChave = colunasChave.clone();
+        this.colunasValor = colunasValor.clone();
+        this.grupos = Collections.unmodifiableList(grupos);
+        this.linhasDerramadas = linhasDerramadas;
+    }
+
+    /**
+     * Método para retornar os grupos calculados.
+     * @return lista de grupos
+     */
+    public List<Grupo> getGrupos() {
+        return grupos;
+    }
+
+    /**
+     * Método para retornar a quantidade de grupos.
+     * @return quantidade de grupos
+     */
+    public int getQuantidadeGrupos() {
+        return grupos.size();
+    }
+
+    /**
+     * Método para procurar o grupo com os textos de chave informados.
+     * @param chaves textos dos valores das colunas de chave, na ordem das colunas de chave
+     * @return grupo encontrado (nulo caso não exista)
+     */
+    public Grupo getGrupo(String... chaves) {
+        List<String> procuradas = List.of(chaves);
+        for (Grupo grupo : grupos) {
+            if (grupo.getChaves().equals(procuradas)) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Método para retornar os números das colunas de chave.
+     * @return números das colunas de chave
+     */
+    public int[] getColunasChave() {
+        return colunasChave.clone();
+    }
+
+    /**
+     * Método para retornar os números das colunas de valor (as posições deste vetor são os índices utilizados em Grupo).
+     * @return números das colunas de valor
+     */
+    public int[] getColunasValor() {
+        return colunasValor.clone();
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas gravadas em disco durante o agrupamento.
+     * É zero quando todos os grupos couberam no limite de memória.
+     * @return quantidade de linhas derramadas
+     */
+    public long getLinhasDerramadas() {
+        return linhasDerramadas;
+    }
+
+}
@@ -0,0 +1,129 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Classe ResultadoStream para o cálculo e a consulta das estatísticas calculadas no modo stream.
+ * Recebe as células lidas pelo LeitorCSV e envia os números das colunas desejadas para os acumuladores,
+ * sem guardar as linhas do arquivo (por isso funciona com arquivos maiores que a memória).
+ * @author João Vittor
+ */
+public class ResultadoStream implements ConsumidorCSV {
+    /**
+     * Colunas desejadas, na ordem em que foram pedidas.
+     */
+    private final int[] colunas;
+    /**
+     * Acumulador de cada coluna do arquivo (nulo para as colunas que não foram pedidas).
+     */
+    private final AcumuladorStream[] acumuladores;
+    /**
+     * Quantidade de linhas lidas.
+     */
+    private long linhas;
+
+    /**
+     * Construtor da classe ResultadoStream.
+     * @param colunas números (ou índices) das colunas desejadas (começam em zero)
+     * @param estatisticas estatísticas que serão calculadas para cada coluna
+     */
+    ResultadoStream(int[] colunas, Set<Estatistica> estatisticas) {
+        this.colunas = Arrays.copyOf(colunas, colunas.length);
+        int maior = -1;
+        for (int coluna : colunas) {
+            if (coluna < 0) {
+                throw new IllegalArgumentException("Número de coluna inválido: " + coluna);
+            }
+            maior = Math.max(maior, coluna);
+        }
+        this.acumuladores = new AcumuladorStream[maior + 1];
+        for (int coluna : colunas) {
+            if (acumuladores[coluna] == null) {
+                acumuladores[coluna] = new AcumuladorStream(estatisticas);
+            }
+        }
+        this.linhas = 0;
+    }
+
+    @Override
+    public void numero(int coluna, double valor) {
+        if (coluna < acumuladores.length && acumuladores[coluna] != null) {
+            acumuladores[coluna].adicionar(valor);
+        }
+    }
+
+    @Override
+    public void texto(int coluna, String texto) {
+        // Assim como em DataSet.getColuna, valores que não são números são ignorados.
+    }
+
+    @Override
+    public void vazio(int coluna) {
+        // Posições sem valor são ignoradas.
+    }
+
+    @Override
+    public void fimLinha(int quantidadeColunas) {
+        linhas++;
+    }
+
+    /**
+     * Método para retornar as colunas desejadas.
+     * @return números (ou índices) das colunas
+     */
+    public int[] getColunas() {
+        return Arrays.copyOf(colunas, colunas.length);
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas lidas do arquivo.
+     * @return quantidade de linhas
+     */
+    public long getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores numéricos de uma das colunas.
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @return quantidade de valores da coluna
+     */
+    public long getContagem(int numeroColuna) {
+        return acumulador(numeroColuna).getContagem();
+    }
+
+    /**
+     * Método para retornar o valor de uma estatística de uma das colunas.
+     * A mediana e a moda são aproximadas; as demais estatísticas são exatas.
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @param estatistica estatística desejada
+     * @return valor da estatística
+     */
+    public double getValor(int numeroColuna, Estatistica estatistica) {
+        return acumulador(numeroColuna).getValor(estatistica);
+    }
+
+    /**
+     * Método para retornar o esboço de quantis de uma das colunas, com o qual podem ser estimados percentis e limites de classes.
+     * O esboço só é calculado quando a mediana é uma das estatísticas pedidas.
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @return esboço de quantis da coluna
+     */
+    public EsbocoKLL getEsboco(int numeroColuna) {
+        return acumulador(numeroColuna).getEsboco();
+    }
+
+    /**
+     * Método para retornar o acumulador de uma das colunas desejadas.
+     * @param numeroColuna número (ou índice) da coluna (começa em zero)
+     * @return acumulador da coluna
+     */
+    private AcumuladorStream acumulador(int numeroColuna) {
+        if (numeroColuna < 0 || numeroColuna >= acumuladores.length || acumuladores[numeroColuna] == null) {
+            throw new IllegalArgumentException("A coluna não foi calculada: " + numeroColuna);
+        }
+        return acumuladores[numeroColuna];
+    }
+
+}
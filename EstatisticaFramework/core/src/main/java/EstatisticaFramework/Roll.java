@@ -0,0 +1,473 @@
+package EstatisticaFramework;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Classe Roll para geração dos valores da tabela Roll
+ * @author João Vittor
+ */
+public class Roll {
+    /**
+     * Coluna do DataSet que é utilizada para calcular a tabela Roll.
+     */
+    private double[] coluna;
+    /**
+     * Leitor dos valores da coluna, utilizado somente na primeira leitura de getColuna quando o Roll é gerado por EstatisticasIncrementais.
+     */
+    private Supplier<double[]> leitorColuna;
+    /**
+     * Tabela de frequência dos valores da coluna do DataSet que é utilizada para calcular a tabela Roll.
+     */
+    private TabelaFrequencia frequencia;
+    /**
+     * Divisão dos valores em classes utilizada para calcular a tabela Roll (nula nas classes originais, de largura 1 por valor distinto).
+     */
+    private DivisaoClasses divisao;
+
+    /**
+     * Linha do cabeçalho da tabela Roll.
+     */
+    private final String[] header = {"N", "Classes", "fi", "Fi", "fr (%)", "Fr (%)", "X̄"};
+
+    /**
+     * Coluna de fi da tabela Roll.
+     */
+    private final int[] fi;
+    /**
+     * Coluna Fi da tabela Roll.
+     */
+    private final int[] Fi;
+    /**
+     * Coluna fr da tabela Roll.
+     */
+    private final double[] fr;
+    /**
+     * Coluna Fr da tabela Roll.
+     */
+    private final double[] Fr;
+    /**
+     * Coluna de médias da tabela Roll.
+     */
+    private final double[] medias;
+
+    /**
+     * Soma dos valores da coluna fi.
+     */
+    private int fiFinal;
+    /**
+     * Soma dos valores da coluna fr.
+     */
+    private double frFinal;
+
+    /**
+     * Construtor da classe Roll.
+     * Recebe a coluna e a frequência da coluna do DataSet que é utilizada para calcular a tabela Roll.
+     * A coluna e a frequencia devem representar a mesma coluna do DataSet.
+     * @param coluna coluna do DataSet para calcular os valores do Roll
+     * @param frequencia matriz de frequencia dos valores da coluna do DataSet
+     */
+    public Roll(List<Double> coluna, List<List<Double>> frequencia) {
+        this(paraVetor(coluna), paraTabela(frequencia));
+    }
+
+    /**
+     * Construtor da classe Roll.
+     * Recebe os valores e a tabela de frequência da coluna do DataSet que é utilizada para calcular a tabela Roll.
+     * A coluna e a frequencia devem representar a mesma coluna do DataSet.
+     * Cada valor distinto gera uma classe [valor, valor + 1).
+     * @param coluna valores da coluna do DataSet para calcular os valores do Roll
+     * @param frequencia tabela de frequência dos valores da coluna do DataSet
+     */
+    public Roll(double[] coluna, TabelaFrequencia frequencia) {
+        this.coluna = coluna;
+        this.frequencia = frequencia;
+
+        int quantidade = frequencia.getTamanho();
+        fi = new int[quantidade];
+        Fi = new int[quantidade];
+        fr = new double[quantidade];
+        Fr = new double[quantidade];
+        medias = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            double valor = frequencia.getValor(i);
+            medias[i] = (valor + (valor + 1)) / 2;
+            fi[i] = (int) frequencia.getQuantidade(i);
+        }
+        calcularRoll(coluna.length);
+    }
+
+    /**
+     * Construtor da classe Roll.
+     * Recebe os valores da coluna do DataSet e a divisão desses valores em classes (Sturges, Scott, Freedman–Diaconis, largura fixa ou quantis).
+     * Cada linha da tabela é uma classe da divisão, e a coluna X̄ é o ponto médio da classe.
+     * A tabela de frequência do Roll passa a ser o limite inferior e a quantidade de cada classe.
+     * As porcentagens são calculadas sobre os valores classificados (DivisaoClasses ignora NaN e infinitos), então a coluna fr soma 100.
+     * @param coluna valores da coluna do DataSet para calcular os valores do Roll
+     * @param divisao divisão dos valores da coluna em classes
+     */
+    public Roll(double[] coluna, DivisaoClasses divisao) {
+        this.coluna = coluna;
+        this.divisao = divisao;
+
+        int quantidade = divisao.getQuantidadeClasses();
+        double[] inferiores = new double[quantidade];
+        long[] quantidades = new long[quantidade];
+        fi = new int[quantidade];
+        Fi = new int[quantidade];
+        fr = new double[quantidade];
+        Fr = new double[quantidade];
+        medias = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            inferiores[i] = divisao.getLimiteInferior(i);
+            quantidades[i] = divisao.getQuantidade(i);
+            medias[i] = divisao.getPontoMedio(i);
+            fi[i] = (int) quantidades[i];
+        }
+        this.frequencia = new TabelaFrequencia(inferiores, quantidades);
+        calcularRoll(divisao.getTotal());
+    }
+
+    /**
+     * Construtor da classe Roll a partir das classes mantidas por EstatisticasIncrementais.
+     * A tabela de frequência (uma classe [valor, valor + 1) por valor distinto) já vem ordenada,
+     * e os valores da coluna somente são copiados quando são lidos (getColuna).
+     * @param frequencia tabela de frequência dos valores da coluna do DataSet
+     * @param total quantidade de valores da coluna
+     * @param leitorColuna leitor dos valores da coluna do DataSet
+     */
+    Roll(TabelaFrequencia frequencia, long total, Supplier<double[]> leitorColuna) {
+        this.frequencia = frequencia;
+        this.leitorColuna = leitorColuna;
+
+        int quantidade = frequencia.getTamanho();
+        fi = new int[quantidade];
+        Fi = new int[quantidade];
+        fr = new double[quantidade];
+        Fr = new double[quantidade];
+        medias = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            double valor = frequencia.getValor(i);
+            medias[i] = (valor + (valor + 1)) / 2;
+            fi[i] = (int) frequencia.getQuantidade(i);
+        }
+        calcularRoll(total);
+    }
+
+    /**
+     * Método para o calculo dos valores acumulados e das porcentagens do Roll, a partir da coluna fi.
+     * Esse método é utilizado pelos construtores.
+     * Os rótulos das classes não são montados aqui, e sim somente quando são lidos (getClasse).
+     * @param total quantidade de valores sobre a qual as porcentagens são calculadas
+     */
+    private void calcularRoll(long total) {
+        for (int i = 0; i < fi.length; i++) {
+            Fi[i] = i == 0 ? fi[i] : fi[i] + Fi[i - 1];
+        }
+        calcularPorcentagens(total);
+    }
+
+    /**
+     * Método para o calculo das porcentagens do Roll e das somas de fi e fr, a partir da coluna fi.
+     * @param total quantidade de valores sobre a qual as porcentagens são calculadas
+     */
+    private void calcularPorcentagens(long total) {
+        for (int i = 0; i < fi.length; i++) {
+            double porcentagem = (fi[i] * 100.0) / total;
+            fr[i] = porcentagem;
+            fiFinal += fi[i];
+            frFinal += porcentagem;
+            Fr[i] = i == 0 ? porcentagem : porcentagem + Fr[i - 1];
+        }
+    }
+
+    /**
+     * Método para montar o rótulo de uma classe do Roll ("a ⊢ b", ou "a ⊢⊣ b" na última classe, que é fechada nos dois limites).
+     * @param classe número da classe (começa em zero)
+     * @return rótulo da classe
+     */
+    public String getClasse(int classe) {
+        String num1;
+        String num2;
+        if (divisao != null) {
+            num1 = formatarLimite(divisao.getLimiteInferior(classe));
+            num2 = formatarLimite(divisao.getLimiteSuperior(classe));
+        } else {
+            double valor = frequencia.getValor(classe);
+            if ((valor % 1 == 0)) {
+                num1 = String.valueOf((int) valor);
+                num2 = String.valueOf((int) valor + 1);
+            } else {
+                num1 = String.valueOf(valor);
+                num2 = String.valueOf(valor + 1);
+            }
+        }
+        return num1 + (classe == fi.length - 1 ? " ⊢⊣ " : " ⊢ ") + num2;
+    }
+
+    /**
+     * Método para formatar um limite de classe: valores inteiros sem casas decimais e os demais com até quatro casas decimais
+     * (ou quatro algarismos significativos, para valores menores que 1).
+     * @param limite limite da classe
+     * @return limite formatado
+     */
+    private static String formatarLimite(double limite) {
+        if (limite % 1 == 0 && Math.abs(limite) < 1e15) {
+            return String.valueOf((long) limite);
+        }
+        BigDecimal bd = BigDecimal.valueOf(limite);
+        bd = Math.abs(limite) >= 1 ? bd.setScale(4, RoundingMode.HALF_UP) : bd.round(new MathContext(4, RoundingMode.HALF_UP));
+        return bd.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Método para retornar a coluna do DataSet que está sendo utilizada para o cálculo dos valores do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * No Roll gerado por EstatisticasIncrementais, os valores são copiados da coluna na primeira leitura.
+     * @return coluna do DataSet
+     */
+    public synchronized List<Double> getColuna() {
+        if (coluna == null) {
+            coluna = leitorColuna.get();
+        }
+        return visao(coluna);
+    }
+
+    /**
+     * Método para retornar a frequência dos valores da coluna do DataSet que está sendo utilizada para o cálculo dos valores do Roll.
+     * @return frequência dos valores da coluna do DataSet
+     */
+    public List<List<Double>> getFrequencia() {
+        return frequencia.paraLista();
+    }
+
+    /**
+     * Método para retornar a tabela de frequência da coluna do DataSet que está sendo utilizada para o cálculo dos valores do Roll.
+     * @return tabela de frequência da coluna do DataSet
+     */
+    public TabelaFrequencia getTabelaFrequencia() {
+        return frequencia;
+    }
+
+    /**
+     * Método para retornar a divisão dos valores em classes utilizada para o cálculo dos valores do Roll.
+     * @return divisão em classes (nula caso o Roll utilize as classes originais, de largura 1 por valor distinto)
+     */
+    public DivisaoClasses getDivisaoClasses() {
+        return divisao;
+    }
+
+    /**
+     * Método para retornar a linha do cabeçalho da tabela Roll.
+     * @return cabeçalho do Roll
+     */
+    public String[] getHeader() {
+        return header;
+    }
+
+    /**
+     * Método para retornar a quantidade de classes (linhas) do Roll.
+     * @return quantidade de classes
+     */
+    public int getQuantidadeClasses() {
+        return fi.length;
+    }
+
+    /**
+     * Método para retornar a coluna de classes do Roll.
+     * A lista é uma visão somente leitura, e cada rótulo é montado quando é lido.
+     * @return classes do Roll
+     */
+    public List<String> getClasses() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int indice) {
+                return getClasse(indice);
+            }
+
+            @Override
+            public int size() {
+                return fi.length;
+            }
+        };
+    }
+
+    /**
+     * Método para retornar a coluna de fi do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * @return valores fi do Roll
+     */
+    public List<Integer> getfi() {
+        return visao(fi);
+    }
+
+    /**
+     * Método para retornar o fi de uma classe do Roll.
+     * @param classe número da classe (começa em zero)
+     * @return valor fi da classe
+     */
+    public int getfi(int classe) {
+        return fi[classe];
+    }
+
+    /**
+     * Método para retornar a coluna de Fi do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * @return valores Fi do Roll
+     */
+    public List<Integer> getFi() {
+        return visao(Fi);
+    }
+
+    /**
+     * Método para retornar o Fi de uma classe do Roll.
+     * @param classe número da classe (começa em zero)
+     * @return valor Fi da classe
+     */
+    public int getFi(int classe) {
+        return Fi[classe];
+    }
+
+    /**
+     * Método para retornar a coluna de fr do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * @return valores fr do Roll
+     */
+    public List<Double> getfr() {
+        return visao(fr);
+    }
+
+    /**
+     * Método para retornar o fr de uma classe do Roll.
+     * @param classe número da classe (começa em zero)
+     * @return valor fr da classe
+     */
+    public double getfr(int classe) {
+        return fr[classe];
+    }
+
+    /**
+     * Método para retornar a coluna de Fr do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * @return valores Fr do Roll
+     */
+    public List<Double> getFr() {
+        return visao(Fr);
+    }
+
+    /**
+     * Método para retornar o Fr de uma classe do Roll.
+     * @param classe número da classe (começa em zero)
+     * @return valor Fr da classe
+     */
+    public double getFr(int classe) {
+        return Fr[classe];
+    }
+
+    /**
+     * Método para retornar a coluna de médias do Roll.
+     * A lista é uma visão somente leitura do vetor da coluna.
+     * @return médias do Roll
+     */
+    public List<Double> getMedias() {
+        return visao(medias);
+    }
+
+    /**
+     * Método para retornar a média (X̄) de uma classe do Roll.
+     * @param classe número da classe (começa em zero)
+     * @return média da classe
+     */
+    public double getMedia(int classe) {
+        return medias[classe];
+    }
+
+    /**
+     * Método para retornar a soma dos valores fi do Roll.
+     * @return soma dos valores fi do Roll
+     */
+    public int getfiFinal() {
+        return fiFinal;
+    }
+
+    /**
+     * Método para retornar a soma dos valores fr do Roll.
+     * @return soma dos valores fr do Roll
+     */
+    public double getfrFinal() {
+        return frFinal;
+    }
+
+    /**
+     * Método para criar uma visão somente leitura de um vetor de int como lista.
+     * @param vetor vetor de valores
+     * @return lista apoiada no vetor
+     */
+    private static List<Integer> visao(int[] vetor) {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int indice) {
+                return vetor[indice];
+            }
+
+            @Override
+            public int size() {
+                return vetor.length;
+            }
+        };
+    }
+
+    /**
+     * Método para criar uma visão somente leitura de um vetor de double como lista.
+     * @param vetor vetor de valores
+     * @return lista apoiada no vetor
+     */
+    private static List<Double> visao(double[] vetor) {
+        return new AbstractList<Double>() {
+            @Override
+            public Double get(int indice) {
+                return vetor[indice];
+            }
+
+            @Override
+            public int size() {
+                return vetor.length;
+            }
+        };
+    }
+
+    /**
+     * Método para converter uma lista de valores em um vetor de double.
+     * Esse método é utilizado pelo construtor que recebe listas.
+     * @param lista lista de valores
+     * @return vetor de valores
+     */
+    private static double[] paraVetor(List<Double> lista) {
+        double[] vetor = new double[lista.size()];
+        for (int i = 0; i < vetor.length; i++) {
+            vetor[i] = lista.get(i);
+        }
+        return vetor;
+    }
+
+    /**
+     * Método para converter uma matriz de frequência (valor no índice 0 e quantidade no índice 1) em uma tabela de frequência.
+     * Esse método é utilizado pelo construtor que recebe listas.
+     * @param frequencia matriz de frequência
+     * @return tabela de frequência
+     */
+    private static TabelaFrequencia paraTabela(List<List<Double>> frequencia) {
+        double[] valores = new double[frequencia.size()];
+        long[] quantidades = new long[frequencia.size()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = frequencia.get(i).get(0);
+            quantidades[i] = frequencia.get(i).get(1).longValue();
+        }
+        return new TabelaFrequencia(valores, quantidades);
+    }
+
+}
@@ -0,0 +1,211 @@
+package EstatisticaFramework;
+
+import java.util.Arrays;
+
+/**
+ * Classe Selecao para o cálculo de quantis (mediana, percentis) sem ordenar todos os valores.
+ * Utiliza seleção (introselect): o vetor é particionado em volta de um pivô e somente as partes que contêm as posições desejadas continuam sendo particionadas,
+ * o que custa O(n) em média, em vez do O(n log n) da ordenação. Se a recursão ficar profunda demais, a parte restante é ordenada, garantindo O(n log n) no pior caso.
+ * Vários quantis são calculados juntos, na mesma sequência de partições.
+ * Os quantis são interpolados linearmente entre as posições vizinhas, assim a mediana de uma quantidade par de valores é a média dos dois valores centrais.
+ * @author João Vittor
+ */
+public class Selecao {
+    /**
+     * Tamanho a partir do qual as partes pequenas são ordenadas por inserção em vez de particionadas.
+     */
+    private static final int LIMITE_INSERCAO = 16;
+
+    /**
+     * Construtor privado, pois a classe possui apenas métodos estáticos.
+     */
+    private Selecao() {
+
+    }
+
+    /**
+     * Método para calcular vários quantis de um vetor.
+     * O vetor é reorganizado durante o cálculo, portanto deve ser uma cópia caso a ordem original seja importante.
+     * Valores NaN são considerados maiores que todos os outros (como em Arrays.sort).
+     * @param valores vetor de valores (é reorganizado)
+     * @param quantis quantis desejados, entre 0 e 1 (por exemplo, 0.5 para a mediana e 0.9 para o percentil 90)
+     * @return valor de cada quantil, na ordem pedida (NaN caso o vetor esteja vazio)
+     */
+    public static double[] calcularQuantis(double[] valores, double... quantis) {
+        for (double quantil : quantis) {
+            if (!(quantil >= 0 && quantil <= 1)) {
+                throw new IllegalArgumentException("O quantil deve estar entre 0 e 1: " + quantil);
+            }
+        }
+        double[] resultado = new double[quantis.length];
+        if (valores.length == 0) {
+            Arrays.fill(resultado, Double.NaN);
+            return resultado;
+        }
+
+        int numeros = separarNaN(valores);
+        int[] posicoes = new int[quantis.length * 2];
+        int quantidade = 0;
+        for (double quantil : quantis) {
+            double h = (valores.length - 1) * quantil;
+            int inferior = (int) Math.floor(h);
+            posicoes[quantidade++] = inferior;
+            posicoes[quantidade++] = Math.min(inferior + 1, valores.length - 1);
+        }
+        Arrays.sort(posicoes, 0, quantidade);
+        int distintas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (posicoes[i] < numeros && (distintas == 0 || posicoes[i] != posicoes[distintas - 1])) {
+                posicoes[distintas++] = posicoes[i];
+            }
+        }
+        if (distintas > 0) {
+            int profundidade = 2 * (32 - Integer.numberOfLeadingZeros(numeros));
+            selecionar(valores, 0, numeros - 1, posicoes, 0, distintas - 1, profundidade);
+        }
+
+        for (int i = 0; i < quantis.length; i++) {
+            double h = (valores.length - 1) * quantis[i];
+            int inferior = (int) Math.floor(h);
+            int superior = Math.min(inferior + 1, valores.length - 1);
+            double fracao = h - inferior;
+            double baixo = valores[inferior];
+            double alto = valores[superior];
+            resultado[i] = (fracao == 0 || baixo == alto) ? baixo : (1 - fracao) * baixo + fracao * alto;
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para calcular um quantil de um vetor.
+     * @param valores vetor de valores (é reorganizado)
+     * @param quantil quantil desejado, entre 0 e 1
+     * @return valor do quantil (NaN caso o vetor esteja vazio)
+     */
+    public static double calcularQuantil(double[] valores, double quantil) {
+        return calcularQuantis(valores, quantil)[0];
+    }
+
+    /**
+     * Método para calcular a mediana de um vetor.
+     * @param valores vetor de valores (é reorganizado)
+     * @return mediana dos valores (NaN caso o vetor esteja vazio)
+     */
+    public static double calcularMediana(double[] valores) {
+        return calcularQuantil(valores, 0.5);
+    }
+
+    /**
+     * Método para colocar os valores NaN no final do vetor.
+     * @param valores vetor de valores
+     * @return quantidade de valores que não são NaN (que ficam no início do vetor)
+     */
+    private static int separarNaN(double[] valores) {
+        int fim = valores.length;
+        int i = 0;
+        while (i < fim) {
+            if (Double.isNaN(valores[i])) {
+                valores[i] = valores[--fim];
+                valores[fim] = Double.NaN;
+            } else {
+                i++;
+            }
+        }
+        return fim;
+    }
+
+    /**
+     * Método para colocar nas posições desejadas os valores que estariam nelas caso o vetor fosse ordenado.
+     * @param a vetor de valores
+     * @param inicio início da parte do vetor
+     * @param fim fim da parte do vetor (inclusivo)
+     * @param posicoes posições desejadas, em ordem crescente
+     * @param primeira primeira posição desejada que está dentro da parte
+     * @param ultima última posição desejada que está dentro da parte
+     * @param profundidade quantidade de partições restantes antes de recorrer à ordenação
+     */
+    private static void selecionar(double[] a, int inicio, int fim, int[] posicoes, int primeira, int ultima, int profundidade) {
+        while (primeira <= ultima && inicio < fim) {
+            if (fim - inicio < LIMITE_INSERCAO) {
+                ordenarPorInsercao(a, inicio, fim);
+                return;
+            }
+            if (profundidade-- == 0) {
+                Arrays.sort(a, inicio, fim + 1);
+                return;
+            }
+
+            // Partição em três partes: menores, iguais e maiores que o pivô (muitos valores repetidos não pioram a seleção).
+            double pivo = medianaDeTres(a[inicio], a[(inicio + fim) >>> 1], a[fim]);
+            int menores = inicio;
+            int i = inicio;
+            int maiores = fim;
+            while (i <= maiores) {
+                if (a[i] < pivo) {
+                    trocar(a, menores++, i++);
+                } else if (a[i] > pivo) {
+                    trocar(a, i, maiores--);
+                } else {
+                    i++;
+                }
+            }
+
+            int divisaoEsquerda = primeira;
+            while (divisaoEsquerda <= ultima && posicoes[divisaoEsquerda] < menores) {
+                divisaoEsquerda++;
+            }
+            int divisaoDireita = divisaoEsquerda;
+            while (divisaoDireita <= ultima && posicoes[divisaoDireita] <= maiores) {
+                divisaoDireita++;
+            }
+            selecionar(a, inicio, menores - 1, posicoes, primeira, divisaoEsquerda - 1, profundidade);
+            inicio = maiores + 1;
+            primeira = divisaoDireita;
+        }
+    }
+
+    /**
+     * Método para ordenar uma parte pequena do vetor por inserção.
+     * @param a vetor de valores
+     * @param inicio início da parte
+     * @param fim fim da parte (inclusivo)
+     */
+    private static void ordenarPorInsercao(double[] a, int inicio, int fim) {
+        for (int i = inicio + 1; i <= fim; i++) {
+            double valor = a[i];
+            int j = i - 1;
+            while (j >= inicio && a[j] > valor) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = valor;
+        }
+    }
+
+    /**
+     * Método para retornar a mediana de três valores (utilizada como pivô).
+     * @param a primeiro valor
+     * @param b segundo valor
+     * @param c terceiro valor
+     * @return valor do meio
+     */
+    private static double medianaDeTres(double a, double b, double c) {
+        if (a < b) {
+            return b < c ? b : (a < c ? c : a);
+        }
+        return a < c ? a : (b < c ? c : b);
+    }
+
+    /**
+     * Método para trocar dois valores do vetor.
+     * @param a vetor de valores
+     * @param i primeira posição
+     * @param j segunda posição
+     */
+    private static void trocar(double[] a, int i, int j) {
+        double valor = a[i];
+        a[i] = a[j];
+        a[j] = valor;
+    }
+
+}
@@ -0,0 +1,107 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe TabelaFrequencia para a representação compacta da frequência dos valores de uma coluna.
+ * Os valores distintos ficam em ordem crescente em um vetor de double e as quantidades no vetor de long de mesma posição.
+ * @author João Vittor
+ */
+public class TabelaFrequencia {
+    /**
+     * Valores distintos da coluna, em ordem crescente.
+     */
+    private final double[] valores;
+    /**
+     * Quantidade de vezes que cada valor aparece na coluna.
+     */
+    private final long[] quantidades;
+    /**
+     * Soma de todas as quantidades.
+     */
+    private final long total;
+
+    /**
+     * Construtor da classe TabelaFrequencia.
+     * Os vetores devem ter o mesmo tamanho e os valores devem estar em ordem crescente.
+     * @param valores valores distintos da coluna
+     * @param quantidades quantidade de vezes que cada valor aparece
+     */
+    public TabelaFrequencia(double[] valores, long[] quantidades) {
+        this.valores = valores;
+        this.quantidades = quantidades;
+        long soma = 0;
+        for (long quantidade : quantidades) {
+            soma += quantidade;
+        }
+        this.total = soma;
+    }
+
+    /**
+     * Método para retornar a quantidade de valores distintos da tabela.
+     * @return quantidade de valores distintos
+     */
+    public int getTamanho() {
+        return valores.length;
+    }
+
+    /**
+     * Método para retornar um dos valores distintos da tabela.
+     * @param indice posição do valor na tabela (começa em zero)
+     * @return valor da posição
+     */
+    public double getValor(int indice) {
+        return valores[indice];
+    }
+
+    /**
+     * Método para retornar a quantidade de vezes que um dos valores da tabela aparece na coluna.
+     * @param indice posição do valor na tabela (começa em zero)
+     * @return quantidade do valor da posição
+     */
+    public long getQuantidade(int indice) {
+        return quantidades[indice];
+    }
+
+    /**
+     * Método para retornar a soma de todas as quantidades da tabela (quantidade de valores da coluna).
+     * @return quantidade total de valores
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Método para retornar a moda da tabela.
+     * Caso mais de um valor tenha a maior quantidade, é retornado o menor deles.
+     * @return moda da tabela (zero caso a tabela esteja vazia)
+     */
+    public double getModa() {
+        double moda = 0;
+        long maior = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (quantidades[i] > maior) {
+                maior = quantidades[i];
+                moda = valores[i];
+            }
+        }
+        return moda;
+    }
+
+    /**
+     * Método para converter a tabela no formato de lista de listas, onde cada lista é composta pelo valor (índice 0) e pela quantidade (índice 1).
+     * @return matriz de frequência de valores
+     */
+    public List<List<Double>> paraLista() {
+        List<List<Double>> frequencia = new ArrayList<>(valores.length);
+        for (int i = 0; i < valores.length; i++) {
+            List<Double> dupla = new ArrayList<>(2);
+            dupla.add(valores[i]);
+            dupla.add((double) quantidades[i]);
+            frequencia.add(dupla);
+        }
+        return frequencia;
+    }
+
+}
@@ -0,0 +1,103 @@
+package EstatisticaFramework;
+
+/**
+ * Enum TipoColuna com os tipos que podem ser inferidos para as colunas de um arquivo CSV (ver EsquemaCSV).
+ * Os tipos numéricos, lógicos e de data são guardados em uma ColunaNumerica (vetor de double) e o tipo categórico em uma ColunaTexto.
+ * @author João Vittor
+ */
+public enum TipoColuna {
+    /**
+     * Números inteiros que cabem em um int.
+     */
+    INTEIRO,
+    /**
+     * Números inteiros que cabem em um long (guardados exatamente até 2^53).
+     */
+    LONGO,
+    /**
+     * Números decimais (inclusive "NaN" e "Infinity").
+     */
+    DECIMAL,
+    /**
+     * Valores lógicos ("true"/"false", "verdadeiro"/"falso" ou "sim"/"não"), guardados como 1 e 0.
+     */
+    BOOLEANO,
+    /**
+     * Datas nos formatos aaaa-mm-dd ou dd/mm/aaaa, guardadas como a quantidade de dias desde 1970-01-01.
+     */
+    DATA,
+    /**
+     * Textos (categorias), guardados em uma ColunaTexto codificada por dicionário.
+     */
+    CATEGORICO;
+
+    /**
+     * Limite (exclusivo) dos valores absolutos de um long em double (2^63).
+     */
+    private static final double LIMITE_LONGO = 0x1p63;
+    /**
+     * Maior quantidade de dias desde 1970-01-01 (em valor absoluto) que pode ser representada como data (ano 999999999).
+     */
+    private static final double LIMITE_DIAS = 365_241_780_471L;
+
+    /**
+     * Método para classificar um número no menor tipo numérico que o representa.
+     * @param valor número
+     * @return INTEIRO, LONGO ou DECIMAL
+     */
+    static TipoColuna classificar(double valor) {
+        if (valor == (int) valor) {
+            return INTEIRO;
+        }
+        if (valor == Math.rint(valor) && valor >= -LIMITE_LONGO && valor < LIMITE_LONGO) {
+            return LONGO;
+        }
+        return DECIMAL;
+    }
+
+    /**
+     * Método para verificar se o tipo é um dos tipos de números (INTEIRO, LONGO ou DECIMAL).
+     * @return verdadeiro se o tipo é numérico
+     */
+    public boolean isNumerico() {
+        return this == INTEIRO || this == LONGO || this == DECIMAL;
+    }
+
+    /**
+     * Método para retornar o tipo de uma coluna numérica depois de receber um valor.
+     * Colunas de inteiros passam a LONGO ou DECIMAL quando o valor não cabe no tipo,
+     * e colunas lógicas ou de datas passam a DECIMAL ao receber valores que não pertencem ao tipo.
+     * @param valor valor adicionado à coluna
+     * @return tipo da coluna com o valor
+     */
+    TipoColuna ajustar(double valor) {
+        switch (this) {
+            case INTEIRO:
+            case LONGO:
+                return combinar(classificar(valor));
+            case BOOLEANO:
+                return valor == 0 || valor == 1 ? this : DECIMAL;
+            case DATA:
+                return valor == Math.rint(valor) && Math.abs(valor) <= LIMITE_DIAS ? this : DECIMAL;
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * Método para combinar os tipos de duas partes de uma mesma coluna numérica (por exemplo, partes lidas em paralelo).
+     * Tipos iguais são mantidos, inteiros resultam no maior dos dois e as demais combinações resultam em DECIMAL.
+     * @param outro tipo da outra parte
+     * @return tipo da coluna inteira
+     */
+    TipoColuna combinar(TipoColuna outro) {
+        if (this == outro) {
+            return this;
+        }
+        if ((this == INTEIRO || this == LONGO) && (outro == INTEIRO || outro == LONGO)) {
+            return LONGO;
+        }
+        return DECIMAL;
+    }
+
+}
@@ -0,0 +1,116 @@
+package EstatisticaFramework;
+
+/**
+ * Classe Reducoes para escolher a implementação das reduções de uma coluna numérica.
+ * Esta versão (Java 21+) utiliza as reduções vetoriais (SIMD) quando o módulo jdk.incubator.vector
+ * foi adicionado à JVM (--add-modules jdk.incubator.vector) e o processador possui vetores de 2 a 8 valores;
+ * caso contrário, utiliza a implementação escalar.
+ * @author João Vittor
+ */
+final class Reducoes {
+    /**
+     * Indica se as reduções vetoriais serão utilizadas.
+     * A classe ReducoesVetoriais só é carregada quando o módulo da Vector API estiver presente.
+     */
+    private static final boolean VETORIAL = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && ReducoesVetoriais.isSuportado();
+
+    private Reducoes() {
+    }
+
+    /**
+     * Método para verificar se as reduções vetoriais (SIMD) estão sendo utilizadas.
+     * @return verdadeiro se as reduções são vetoriais
+     */
+    static boolean isVetorial() {
+        return VETORIAL;
+    }
+
+    /**
+     * Método para somar os valores válidos.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return soma dos valores válidos
+     */
+    static double soma(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        return VETORIAL ? ReducoesVetoriais.soma(valores, validade, inicio, fim, todosValidos)
+                : ReducoesEscalares.soma(valores, validade, inicio, fim, todosValidos);
+    }
+
+    /**
+     * Método para somar os quadrados dos desvios dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios
+     */
+    static double somaQuadradosDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        return VETORIAL ? ReducoesVetoriais.somaQuadradosDesvios(valores, validade, inicio, fim, todosValidos, centro)
+                : ReducoesEscalares.somaQuadradosDesvios(valores, validade, inicio, fim, todosValidos, centro);
+    }
+
+    /**
+     * Método para somar os desvios absolutos dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos desvios absolutos
+     */
+    static double somaDesviosAbsolutos(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        return VETORIAL ? ReducoesVetoriais.somaDesviosAbsolutos(valores, validade, inicio, fim, todosValidos, centro)
+                : ReducoesEscalares.somaDesviosAbsolutos(valores, validade, inicio, fim, todosValidos, centro);
+    }
+
+    /**
+     * Método para somar, em uma única passagem, os quadrados e os valores absolutos dos desvios dos valores válidos em relação a um centro.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios (posição 0) e soma dos desvios absolutos (posição 1)
+     */
+    static double[] somaDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        return VETORIAL ? ReducoesVetoriais.somaDesvios(valores, validade, inicio, fim, todosValidos, centro)
+                : ReducoesEscalares.somaDesvios(valores, validade, inicio, fim, todosValidos, centro);
+    }
+
+    /**
+     * Método para retornar o maior valor válido.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return maior valor (-Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double max(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        return VETORIAL ? ReducoesVetoriais.max(valores, validade, inicio, fim, todosValidos)
+                : ReducoesEscalares.max(valores, validade, inicio, fim, todosValidos);
+    }
+
+    /**
+     * Método para retornar o menor valor válido.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return menor valor (Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double min(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        return VETORIAL ? ReducoesVetoriais.min(valores, validade, inicio, fim, todosValidos)
+                : ReducoesEscalares.min(valores, validade, inicio, fim, todosValidos);
+    }
+
+}
@@ -0,0 +1,292 @@
+package EstatisticaFramework;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classe ReducoesVetoriais com as reduções de uma coluna numérica calculadas com a Vector API (SIMD).
+ * Cada iteração processa a quantidade de valores que cabe em um registrador vetorial (4 com AVX2, 8 com AVX-512),
+ * e as linhas "NA" são descartadas multiplicando cada vetor por pesos (0 ou 1) obtidos do mapa de bits de validade.
+ * Quando a coluna não possui "NA", os laços não consultam o mapa de bits, e os vetores sem nenhum "NA" dispensam os pesos.
+ * As linhas antes do primeiro e depois do último vetor completo são tratadas pela implementação escalar.
+ * @author João Vittor
+ */
+final class ReducoesVetoriais {
+    /**
+     * Formato de vetor preferido pelo processador.
+     */
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Quantidade de valores por vetor.
+     */
+    private static final int PASSO = ESPECIE.length();
+    /**
+     * Máscara de bits com a quantidade de linhas de um vetor.
+     */
+    private static final long BITS_PASSO = PASSO >= 64 ? -1L : (1L << PASSO) - 1;
+    /**
+     * Tabela de pesos (0 ou 1) para cada combinação de bits de validade de um vetor.
+     * O vetor de pesos da combinação b começa na posição b * PASSO. Carregar os pesos da tabela é mais rápido
+     * do que montar uma máscara a partir dos bits (VectorMask.fromLong) em cada iteração.
+     */
+    private static final double[] PESOS = criarPesos();
+
+    private ReducoesVetoriais() {
+    }
+
+    /**
+     * Método para verificar se o processador possui vetores adequados para as reduções.
+     * São utilizados vetores de 2 a 8 valores (SSE, AVX2 e AVX-512); com um único valor por vetor não há ganho,
+     * e vetores maiores tornariam a tabela de pesos grande demais.
+     * @return verdadeiro se as reduções vetoriais devem ser utilizadas
+     */
+    static boolean isSuportado() {
+        return PASSO >= 2 && PASSO <= 8;
+    }
+
+    /**
+     * Método para criar a tabela de pesos de validade.
+     * @return tabela de pesos
+     */
+    private static double[] criarPesos() {
+        if (!isSuportado()) {
+            return new double[0];
+        }
+        double[] pesos = new double[(1 << PASSO) * PASSO];
+        for (int bits = 0; bits < (1 << PASSO); bits++) {
+            for (int j = 0; j < PASSO; j++) {
+                pesos[bits * PASSO + j] = (bits >>> j) & 1;
+            }
+        }
+        return pesos;
+    }
+
+    /**
+     * Método para calcular a primeira linha, a partir do início, que é múltipla da quantidade de valores por vetor.
+     * As linhas anteriores são tratadas pela implementação escalar, para que as linhas de cada vetor fiquem em uma única palavra do mapa de bits.
+     * @param inicio primeira linha
+     * @param fim última linha (exclusiva)
+     * @return primeira linha alinhada (no máximo igual ao fim)
+     */
+    private static int alinhar(int inicio, int fim) {
+        return Math.min(fim, (inicio + PASSO - 1) / PASSO * PASSO);
+    }
+
+    /**
+     * Método para retornar os bits de validade das linhas de um vetor que começa em uma posição.
+     * Como a quantidade de valores por vetor divide 64, as linhas de um vetor ficam dentro de uma única palavra do mapa de bits.
+     * @param validade mapa de bits de validade da coluna
+     * @param inicio primeira linha (múltiplo da quantidade de valores por vetor)
+     * @return bits de validade (igual a BITS_PASSO quando todas as linhas são válidas)
+     */
+    private static int bits(long[] validade, int inicio) {
+        return (int) ((validade[inicio >>> 6] >>> (inicio & 63)) & BITS_PASSO);
+    }
+
+    /**
+     * Método para retornar os pesos de validade (1 para linhas válidas e 0 para "NA") de uma combinação de bits.
+     * @param bits bits de validade das linhas de um vetor
+     * @return vetor de pesos
+     */
+    private static DoubleVector pesos(int bits) {
+        return DoubleVector.fromArray(ESPECIE, PESOS, bits * PASSO);
+    }
+
+    /**
+     * Método para somar os valores válidos.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return soma dos valores válidos
+     */
+    static double soma(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector acumulado = DoubleVector.zero(ESPECIE);
+        if (todosValidos) {
+            for (; i < limite; i += PASSO) {
+                acumulado = acumulado.add(DoubleVector.fromArray(ESPECIE, valores, i));
+            }
+        } else {
+            for (; i < limite; i += PASSO) {
+                DoubleVector valor = DoubleVector.fromArray(ESPECIE, valores, i);
+                int bits = bits(validade, i);
+                acumulado = bits == BITS_PASSO ? acumulado.add(valor) : valor.fma(pesos(bits), acumulado);
+            }
+        }
+        double soma = acumulado.reduceLanes(VectorOperators.ADD);
+        return soma + ReducoesEscalares.soma(valores, validade, inicio, alinhado, todosValidos)
+                + ReducoesEscalares.soma(valores, validade, limite, fim, todosValidos);
+    }
+
+    /**
+     * Método para somar os quadrados dos desvios dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios
+     */
+    static double somaQuadradosDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector acumulado = DoubleVector.zero(ESPECIE);
+        if (todosValidos) {
+            for (; i < limite; i += PASSO) {
+                DoubleVector desvio = DoubleVector.fromArray(ESPECIE, valores, i).sub(centro);
+                acumulado = desvio.fma(desvio, acumulado);
+            }
+        } else {
+            for (; i < limite; i += PASSO) {
+                DoubleVector desvio = DoubleVector.fromArray(ESPECIE, valores, i).sub(centro);
+                int bits = bits(validade, i);
+                acumulado = desvio.fma(bits == BITS_PASSO ? desvio : desvio.mul(pesos(bits)), acumulado);
+            }
+        }
+        double soma = acumulado.reduceLanes(VectorOperators.ADD);
+        return soma + ReducoesEscalares.somaQuadradosDesvios(valores, validade, inicio, alinhado, todosValidos, centro)
+                + ReducoesEscalares.somaQuadradosDesvios(valores, validade, limite, fim, todosValidos, centro);
+    }
+
+    /**
+     * Método para somar os desvios absolutos dos valores válidos em relação a um centro (normalmente a média).
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos desvios absolutos
+     */
+    static double somaDesviosAbsolutos(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector acumulado = DoubleVector.zero(ESPECIE);
+        if (todosValidos) {
+            for (; i < limite; i += PASSO) {
+                acumulado = acumulado.add(DoubleVector.fromArray(ESPECIE, valores, i).sub(centro).abs());
+            }
+        } else {
+            for (; i < limite; i += PASSO) {
+                DoubleVector desvio = DoubleVector.fromArray(ESPECIE, valores, i).sub(centro).abs();
+                int bits = bits(validade, i);
+                acumulado = bits == BITS_PASSO ? acumulado.add(desvio) : desvio.fma(pesos(bits), acumulado);
+            }
+        }
+        double soma = acumulado.reduceLanes(VectorOperators.ADD);
+        return soma + ReducoesEscalares.somaDesviosAbsolutos(valores, validade, inicio, alinhado, todosValidos, centro)
+                + ReducoesEscalares.somaDesviosAbsolutos(valores, validade, limite, fim, todosValidos, centro);
+    }
+
+    /**
+     * Método para somar, em uma única passagem, os quadrados e os valores absolutos dos desvios dos valores válidos em relação a um centro.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @param centro valor de referência dos desvios
+     * @return soma dos quadrados dos desvios (posição 0) e soma dos desvios absolutos (posição 1)
+     */
+    static double[] somaDesvios(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos, double centro) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector quadrados = DoubleVector.zero(ESPECIE);
+        DoubleVector absolutos = DoubleVector.zero(ESPECIE);
+        if (todosValidos) {
+            for (; i < limite; i += PASSO) {
+                DoubleVector desvio = DoubleVector.fromArray(ESPECIE, valores, i).sub(centro);
+                quadrados = desvio.fma(desvio, quadrados);
+                absolutos = absolutos.add(desvio.abs());
+            }
+        } else {
+            for (; i < limite; i += PASSO) {
+                DoubleVector desvio = DoubleVector.fromArray(ESPECIE, valores, i).sub(centro);
+                int bits = bits(validade, i);
+                if (bits != BITS_PASSO) {
+                    desvio = desvio.mul(pesos(bits));
+                }
+                quadrados = desvio.fma(desvio, quadrados);
+                absolutos = absolutos.add(desvio.abs());
+            }
+        }
+        double[] inicial = ReducoesEscalares.somaDesvios(valores, validade, inicio, alinhado, todosValidos, centro);
+        double[] resto = ReducoesEscalares.somaDesvios(valores, validade, limite, fim, todosValidos, centro);
+        return new double[] {quadrados.reduceLanes(VectorOperators.ADD) + inicial[0] + resto[0],
+                absolutos.reduceLanes(VectorOperators.ADD) + inicial[1] + resto[1]};
+    }
+
+    /**
+     * Método para retornar o maior valor válido.
+     * Valores NaN são ignorados, como na implementação escalar.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return maior valor (-Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double max(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector acumulado = DoubleVector.broadcast(ESPECIE, -Double.MAX_VALUE);
+        for (; i < limite; i += PASSO) {
+            DoubleVector valor = DoubleVector.fromArray(ESPECIE, valores, i);
+            VectorMask<Double> mascara = valor.compare(VectorOperators.EQ, valor);
+            if (!todosValidos) {
+                int bits = bits(validade, i);
+                if (bits != BITS_PASSO) {
+                    mascara = mascara.and(pesos(bits).compare(VectorOperators.NE, 0));
+                }
+            }
+            acumulado = acumulado.lanewise(VectorOperators.MAX, valor, mascara);
+        }
+        double max = acumulado.reduceLanes(VectorOperators.MAX);
+        max = Math.max(max, ReducoesEscalares.max(valores, validade, inicio, alinhado, todosValidos));
+        return Math.max(max, ReducoesEscalares.max(valores, validade, limite, fim, todosValidos));
+    }
+
+    /**
+     * Método para retornar o menor valor válido.
+     * Valores NaN são ignorados, como na implementação escalar.
+     * @param valores valores da coluna
+     * @param validade mapa de bits de validade da coluna (ignorado quando todos os valores são válidos)
+     * @param inicio primeira linha (inclusiva)
+     * @param fim última linha (exclusiva)
+     * @param todosValidos verdadeiro se nenhuma linha é "NA"
+     * @return menor valor (Double.MAX_VALUE caso não exista valor válido)
+     */
+    static double min(double[] valores, long[] validade, int inicio, int fim, boolean todosValidos) {
+        int alinhado = alinhar(inicio, fim);
+        int i = alinhado;
+        int limite = alinhado + ESPECIE.loopBound(fim - alinhado);
+        DoubleVector acumulado = DoubleVector.broadcast(ESPECIE, Double.MAX_VALUE);
+        for (; i < limite; i += PASSO) {
+            DoubleVector valor = DoubleVector.fromArray(ESPECIE, valores, i);
+            VectorMask<Double> mascara = valor.compare(VectorOperators.EQ, valor);
+            if (!todosValidos) {
+                int bits = bits(validade, i);
+                if (bits != BITS_PASSO) {
+                    mascara = mascara.and(pesos(bits).compare(VectorOperators.NE, 0));
+                }
+            }
+            acumulado = acumulado.lanewise(VectorOperators.MIN, valor, mascara);
+        }
+        double min = acumulado.reduceLanes(VectorOperators.MIN);
+        min = Math.min(min, ReducoesEscalares.min(valores, validade, inicio, alinhado, todosValidos));
+        return Math.min(min, ReducoesEscalares.min(valores, validade, limite, fim, todosValidos));
+    }
+
+}
@@ -0,0 +1,1448 @@
+package EstatisticaFramework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+
+/**
+ * Classe do Framework de Estatisticas
+ * @author João Vittor
+ */
+public class EstatisticaFramework {
+    /**
+     * Tamanho estimado (em bytes) de um valor guardado no cache do DataSet.
+     */
+    private static final long TAMANHO_VALOR = 16;
+
+    /**
+     * Renderizador utilizado na geração dos gráficos.
+     */
+    private final RenderizadorGrafico renderizador;
+    /**
+     * Pool utilizado no cálculo paralelo das estatísticas de todas as colunas (null para o cálculo sequencial).
+     */
+    private volatile ForkJoinPool poolParalelo;
+    /**
+     * Estratégia de divisão dos valores em classes utilizada pela tabela Roll padrão, pelos gráficos e pelo relatório.
+     */
+    private volatile EstrategiaClasses estrategiaClasses;
+
+    /**
+     * Construtor da classe EstatisticaFramework
+     */
+    public EstatisticaFramework() {
+        this(new RenderizadorGrafico());
+    }
+
+    /**
+     * Construtor da classe EstatisticaFramework.
+     * Recebe o renderizador utilizado na geração dos gráficos (por exemplo, com outro tamanho de imagem).
+     * @param renderizador renderizador dos gráficos
+     */
+    public EstatisticaFramework(RenderizadorGrafico renderizador) {
+        this.renderizador = renderizador;
+        this.estrategiaClasses = EstrategiaClasses.STURGES;
+    }
+
+    /**
+     * Método para definir o pool utilizado no cálculo paralelo das estatísticas de todas as colunas.
+     * Com um pool definido, calcularMedia(DataSet), calcularVariancia(DataSet), calcularDesvioPadrao(DataSet),
+     * getMax(DataSet) e getMin(DataSet) dividem o trabalho por coluna e por blocos de linhas (ver AgregacaoParalela).
+     * Os resultados são iguais aos do cálculo sequencial dentro de uma tolerância relativa de 1e-9.
+     * @param pool pool utilizado (null para voltar ao cálculo sequencial)
+     */
+    public void setPoolParalelo(ForkJoinPool pool) {
+        this.poolParalelo = pool;
+    }
+
+    /**
+     * Método para retornar o pool utilizado no cálculo paralelo das estatísticas de todas as colunas.
+     * @return pool utilizado (null caso o cálculo seja sequencial)
+     */
+    public ForkJoinPool getPoolParalelo() {
+        return poolParalelo;
+    }
+
+    /**
+     * Método para definir a estratégia de divisão dos valores em classes utilizada por gerarRoll(DataSet, int), pelos gráficos e pelo relatório.
+     * A estratégia padrão é a regra de Sturges; a tabela Roll com uma classe por valor distinto é gerada somente por gerarRollPorValor.
+     * @param estrategia estratégia de divisão dos valores em classes
+     */
+    public void setEstrategiaClasses(EstrategiaClasses estrategia) {
+        if (estrategia == null) {
+            throw new IllegalArgumentException("A estratégia de divisão em classes não pode ser nula");
+        }
+        this.estrategiaClasses = estrategia;
+    }
+
+    /**
+     * Método para retornar a estratégia de divisão dos valores em classes utilizada pela tabela Roll padrão, pelos gráficos e pelo relatório.
+     * @return estratégia de divisão dos valores em classes
+     */
+    public EstrategiaClasses getEstrategiaClasses() {
+        return estrategiaClasses;
+    }
+
+    /**
+     * Método para calcular os agregados (contagem, soma, M2, máximo e mínimo) de cada coluna de um DataSet.
+     * Utiliza o pool paralelo quando ele estiver definido; caso contrário, cada coluna é agregada de uma vez, em sequência.
+     * Os agregados podem ser combinados com agregados de outros DataSets (por exemplo, de outros arquivos com as mesmas colunas).
+     * @param ds DataSet que será utilizado
+     * @return lista de agregados de cada coluna
+     */
+    public List<AgregadoParcial> calcularAgregados(DataSet ds) {
+        ForkJoinPool pool = poolParalelo;
+        List<AgregadoParcial> guardados = ds.memorizar("agregados", -1, ds.getLargura() * 48L, () -> {
+            if (pool != null) {
+                return new AgregacaoParalela(pool).agregar(ds);
+            }
+            List<AgregadoParcial> agregados = new ArrayList<>();
+            for (int i = 0; i < ds.getLargura(); i++) {
+                ColunaNumerica coluna = ds.getColunaNumerica(i);
+                agregados.add(coluna.agregar(0, coluna.getTamanho()));
+            }
+            return agregados;
+        });
+
+        // cópias, para que combinar os agregados retornados não altere os guardados no cache
+        List<AgregadoParcial> agregados = new ArrayList<>(guardados.size());
+        for (AgregadoParcial agregado : guardados) {
+            agregados.add(new AgregadoParcial().combinar(agregado));
+        }
+        return agregados;
+    }
+
+    /**
+     * Método para calcular uma estatística de todas as colunas a partir dos agregados calculados em paralelo.
+     * @param ds DataSet que será utilizado
+     * @param estatistica estatística obtida de cada agregado
+     * @return lista com a estatística de cada coluna
+     */
+    private List<Double> calcularParalelo(DataSet ds, ToDoubleFunction<AgregadoParcial> estatistica) {
+        List<Double> valores = new ArrayList<>();
+        for (AgregadoParcial agregado : calcularAgregados(ds)) {
+            valores.add(estatistica.applyAsDouble(agregado));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular as médias dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de médias dos valores de cada coluna
+     */
+    public List<Double> calcularMedia(DataSet ds) {
+        if (poolParalelo != null) {
+            return calcularParalelo(ds, AgregadoParcial::getMedia);
+        }
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularMedia(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular a média dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return média dos valores da coluna
+     */
+    public double calcularMedia(DataSet ds, int numeroColuna) {
+        return ds.memorizar("media", numeroColuna, TAMANHO_VALOR, () -> {
+            ColunaNumerica coluna = ds.getColunaNumerica(numeroColuna);
+            return coluna.getSoma() / coluna.getContagemValidos();
+        });
+    }
+
+    /**
+     * Método para calcular a média dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return média dos valores da coluna
+     */
+    public double calcularMedia(DataSet ds, String nomeColuna) {
+        return calcularMedia(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular as modas dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de modas dos valores de cada coluna
+     */
+    public List<Double> calcularModa(DataSet ds) {
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularModa(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular a moda dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return moda dos valores da coluna
+     */
+    public double calcularModa(DataSet ds, int numeroColuna) {
+        return calcularFrequencia(ds, numeroColuna).getModa();
+    }
+
+    /**
+     * Método para calcular a moda dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return moda dos valores da coluna
+     */
+    public double calcularModa(DataSet ds, String nomeColuna) {
+        return calcularModa(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular as medianas dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de medianas dos valores de cada coluna
+     */
+    public List<Double> calcularMediana(DataSet ds) {
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularMediana(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular a mediana dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return mediana dos valores da coluna
+     */
+    public double calcularMediana(DataSet ds, int numeroColuna) {
+        return calcularQuantis(ds, numeroColuna, 0.5)[0];
+    }
+
+    /**
+     * Método para calcular a mediana dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return mediana dos valores da coluna
+     */
+    public double calcularMediana(DataSet ds, String nomeColuna) {
+        return calcularMediana(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular um percentil dos valores de uma coluna de um DataSet.
+     * O valor é interpolado linearmente entre as posições vizinhas (o percentil 50 é igual à mediana).
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param percentil percentil desejado, entre 0 e 100
+     * @return percentil dos valores da coluna
+     */
+    public double calcularPercentil(DataSet ds, int numeroColuna, double percentil) {
+        return calcularQuantis(ds, numeroColuna, percentil / 100)[0];
+    }
+
+    /**
+     * Método para calcular um percentil dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param percentil percentil desejado, entre 0 e 100
+     * @return percentil dos valores da coluna
+     */
+    public double calcularPercentil(DataSet ds, String nomeColuna, double percentil) {
+        return calcularPercentil(ds, ds.getIndiceColuna(nomeColuna), percentil);
+    }
+
+    /**
+     * Método para calcular o esboço de quantis (KLL) dos valores de uma coluna de um DataSet.
+     * O esboço estima mediana, percentis e limites de classes com memória limitada, e pode ser combinado com esboços de outras partes dos dados.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return esboço de quantis da coluna
+     */
+    public EsbocoKLL calcularEsboco(DataSet ds, int numeroColuna) {
+        return calcularEsboco(ds, numeroColuna, EsbocoKLL.K_PADRAO);
+    }
+
+    /**
+     * Método para calcular o esboço de quantis (KLL) dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return esboço de quantis da coluna
+     */
+    public EsbocoKLL calcularEsboco(DataSet ds, String nomeColuna) {
+        return calcularEsboco(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular o esboço de quantis (KLL) dos valores de uma coluna de um DataSet, com a precisão desejada.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param k parâmetro de precisão do esboço (quanto maior, mais preciso e maior o esboço)
+     * @return esboço de quantis da coluna
+     */
+    public EsbocoKLL calcularEsboco(DataSet ds, int numeroColuna, int k) {
+        EsbocoKLL esboco = new EsbocoKLL(k);
+        esboco.adicionar(ds.getColunaNumerica(numeroColuna));
+        return esboco;
+    }
+
+    /**
+     * Método para calcular o esboço de quantis (KLL) dos valores de uma coluna de um DataSet, escolhida pelo nome, com a precisão desejada.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param k parâmetro de precisão do esboço (quanto maior, mais preciso e maior o esboço)
+     * @return esboço de quantis da coluna
+     */
+    public EsbocoKLL calcularEsboco(DataSet ds, String nomeColuna, int k) {
+        return calcularEsboco(ds, ds.getIndiceColuna(nomeColuna), k);
+    }
+
+    /**
+     * Método para calcular vários quantis dos valores de uma coluna de um DataSet (por exemplo, 0.5, 0.9 e 0.99).
+     * Os quantis são calculados juntos por seleção (Selecao), sem ordenar a coluna inteira.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param quantis quantis desejados, entre 0 e 1
+     * @return valor de cada quantil, na ordem pedida
+     */
+    public double[] calcularQuantis(DataSet ds, int numeroColuna, double... quantis) {
+        double[] resultado = ds.memorizar("quantis" + Arrays.toString(quantis), numeroColuna, TAMANHO_VALOR * (quantis.length + 1),
+                () -> Selecao.calcularQuantis(ds.getValores(numeroColuna), quantis));
+        return resultado.clone();
+    }
+
+    /**
+     * Método para calcular vários quantis dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param quantis quantis desejados, entre 0 e 1
+     * @return valor de cada quantil, na ordem pedida
+     */
+    public double[] calcularQuantis(DataSet ds, String nomeColuna, double... quantis) {
+        return calcularQuantis(ds, ds.getIndiceColuna(nomeColuna), quantis);
+    }
+
+    /**
+     * Método para calcular as variâncias dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de variâncias dos valores de cada coluna
+     */
+    public List<Double> calcularVariancia(DataSet ds) {
+        if (poolParalelo != null) {
+            return calcularParalelo(ds, AgregadoParcial::getVariancia);
+        }
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularVariancia(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular a variância dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return variância dos valores da coluna
+     */
+    public double calcularVariancia(DataSet ds, int numeroColuna) {
+        return ds.memorizar("variancia", numeroColuna, TAMANHO_VALOR, () -> {
+            ColunaNumerica coluna = ds.getColunaNumerica(numeroColuna);
+            double media = calcularMedia(ds, numeroColuna);
+            return coluna.getSomaQuadradosDesvios(media) / (coluna.getContagemValidos() - 1);
+        });
+    }
+
+    /**
+     * Método para calcular a variância dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return variância dos valores da coluna
+     */
+    public double calcularVariancia(DataSet ds, String nomeColuna) {
+        return calcularVariancia(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular a matriz de covariâncias amostrais entre todas as colunas de um DataSet.
+     * Cada par de colunas utiliza somente as linhas em que as duas possuem valor (deleção pareada dos "NA").
+     * @param ds DataSet que será utilizado
+     * @return matriz de covariâncias (largura x largura)
+     */
+    public double[][] calcularCovariancia(DataSet ds) {
+        return calcularMatrizCovariancia(ds).getCovariancias();
+    }
+
+    /**
+     * Método para calcular a matriz de correlações de Pearson entre todas as colunas de um DataSet.
+     * Cada par de colunas utiliza somente as linhas em que as duas possuem valor (deleção pareada dos "NA").
+     * @param ds DataSet que será utilizado
+     * @return matriz de correlações (largura x largura)
+     */
+    public double[][] calcularCorrelacao(DataSet ds) {
+        return calcularMatrizCovariancia(ds).getCorrelacoes();
+    }
+
+    /**
+     * Método para calcular a matriz de correlações de Spearman (correlação entre os postos dos valores) entre todas as colunas de um DataSet.
+     * Cada par de colunas utiliza somente as linhas em que as duas possuem valor (deleção pareada dos "NA").
+     * @param ds DataSet que será utilizado
+     * @return matriz de correlações de Spearman (largura x largura)
+     */
+    public double[][] calcularCorrelacaoSpearman(DataSet ds) {
+        return calcularMatrizSpearman(ds).getCorrelacoes();
+    }
+
+    /**
+     * Método para calcular as matrizes de covariância e de correlação de Pearson entre todas as colunas de um DataSet.
+     * Todas as colunas são calculadas em uma única passagem pelos blocos de linhas, em paralelo quando o pool paralelo estiver definido.
+     * Colunas que não são numéricas resultam em NaN.
+     * @param ds DataSet que será utilizado
+     * @return matrizes de covariância e de correlação, com a quantidade de linhas utilizadas em cada par
+     */
+    public MatrizCovariancia calcularMatrizCovariancia(DataSet ds) {
+        ForkJoinPool pool = poolParalelo;
+        return ds.memorizar("covariancia", -1, ds.getLargura() * (long) ds.getLargura() * 24,
+                () -> {
+                    List<ColunaNumerica> colunas = getColunasNumericas(ds);
+                    return MatrizCovariancia.calcular(colunas, contarLinhas(colunas), pool);
+                });
+    }
+
+    /**
+     * Método para calcular as matrizes de covariância e de correlação de Spearman entre todas as colunas de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return matrizes de covariância e de correlação dos postos, com a quantidade de linhas utilizadas em cada par
+     */
+    public MatrizCovariancia calcularMatrizSpearman(DataSet ds) {
+        ForkJoinPool pool = poolParalelo;
+        return ds.memorizar("spearman", -1, ds.getLargura() * (long) ds.getLargura() * 24,
+                () -> {
+                    List<ColunaNumerica> colunas = getColunasNumericas(ds);
+                    return MatrizCovariancia.calcularSpearman(colunas, contarLinhas(colunas), pool);
+                });
+    }
+
+    /**
+     * Método para retornar os instantâneos das colunas numéricas de um DataSet, na ordem das colunas.
+     * Os instantâneos são obtidos com o DataSet sincronizado, para que todos tenham a mesma quantidade de linhas.
+     * @param ds DataSet que será utilizado
+     * @return lista de colunas numéricas (vazias para colunas de texto)
+     */
+    private List<ColunaNumerica> getColunasNumericas(DataSet ds) {
+        synchronized (ds) {
+            List<ColunaNumerica> colunas = new ArrayList<>(ds.getLargura());
+            for (int i = 0; i < ds.getLargura(); i++) {
+                colunas.add(ds.getColunaNumerica(i));
+            }
+            return colunas;
+        }
+    }
+
+    /**
+     * Método para retornar a quantidade de linhas dos instantâneos das colunas (as colunas de texto são vazias).
+     * @param colunas instantâneos das colunas numéricas
+     * @return quantidade de linhas
+     */
+    private static int contarLinhas(List<ColunaNumerica> colunas) {
+        int linhas = 0;
+        for (ColunaNumerica coluna : colunas) {
+            linhas = Math.max(linhas, coluna.getTamanho());
+        }
+        return linhas;
+    }
+
+    /**
+     * Método para agrupar as linhas de um DataSet pelos valores das colunas de chave e calcular contagem, média, variância
+     * e mediana das colunas de valor em cada grupo (AgrupamentoHash), com o limite de memória padrão.
+     * Caso o pool paralelo tenha sido definido, as linhas são agregadas em partes paralelas.
+     * @param ds DataSet que será utilizado
+     * @param colunasChave números (ou índices) das colunas de chave (começam em zero)
+     * @param colunasValor números (ou índices) das colunas de valor (começam em zero)
+     * @return grupos e suas estatísticas
+     * @throws IOException
+     */
+    public ResultadoAgrupamento agrupar(DataSet ds, int[] colunasChave, int[] colunasValor) throws IOException {
+        return agrupar(ds, colunasChave, colunasValor, AgrupamentoHash.LIMITE_MEMORIA_PADRAO);
+    }
+
+    /**
+     * Método para agrupar as linhas de um DataSet pelos valores das colunas de chave, escolhidas pelo nome, com o limite de memória padrão.
+     * @param ds DataSet que será utilizado
+     * @param colunasChave nomes das colunas de chave no cabeçalho do arquivo
+     * @param colunasValor nomes das colunas de valor no cabeçalho do arquivo
+     * @return grupos e suas estatísticas
+     * @throws IOException
+     */
+    public ResultadoAgrupamento agrupar(DataSet ds, String[] colunasChave, String[] colunasValor) throws IOException {
+        return agrupar(ds, colunasChave, colunasValor, AgrupamentoHash.LIMITE_MEMORIA_PADRAO);
+    }
+
+    /**
+     * Método para agrupar as linhas de um DataSet pelos valores das colunas de chave e calcular as estatísticas das colunas de valor em cada grupo.
+     * Os grupos que não cabem no limite de memória são agregados a partir de arquivos temporários.
+     * @param ds DataSet que será utilizado
+     * @param colunasChave números (ou índices) das colunas de chave (começam em zero)
+     * @param colunasValor números (ou índices) das colunas de valor (começam em zero)
+     * @param limiteMemoria limite de memória estimada da tabela de grupos, em bytes
+     * @return grupos e suas estatísticas
+     * @throws IOException
+     */
+    public ResultadoAgrupamento agrupar(DataSet ds, int[] colunasChave, int[] colunasValor, long limiteMemoria) throws IOException {
+        synchronized (ds) {
+            return new AgrupamentoHash().setLimiteMemoria(limiteMemoria).setPool(poolParalelo).agrupar(ds, colunasChave, colunasValor);
+        }
+    }
+
+    /**
+     * Método para agrupar as linhas de um DataSet pelos valores das colunas de chave, escolhidas pelo nome, e calcular as estatísticas das colunas de valor em cada grupo.
+     * @param ds DataSet que será utilizado
+     * @param colunasChave nomes das colunas de chave no cabeçalho do arquivo
+     * @param colunasValor nomes das colunas de valor no cabeçalho do arquivo
+     * @param limiteMemoria limite de memória estimada da tabela de grupos, em bytes
+     * @return grupos e suas estatísticas
+     * @throws IOException
+     */
+    public ResultadoAgrupamento agrupar(DataSet ds, String[] colunasChave, String[] colunasValor, long limiteMemoria) throws IOException {
+        return agrupar(ds, indices(ds, colunasChave), indices(ds, colunasValor), limiteMemoria);
+    }
+
+    /**
+     * Método para converter nomes de colunas de um DataSet em seus números (ou índices).
+     * @param ds DataSet que será utilizado
+     * @param nomes nomes das colunas no cabeçalho do arquivo
+     * @return números (ou índices) das colunas, na ordem dos nomes
+     */
+    private static int[] indices(DataSet ds, String[] nomes) {
+        int[] indices = new int[nomes.length];
+        for (int i = 0; i < nomes.length; i++) {
+            indices[i] = ds.getIndiceColuna(nomes[i]);
+        }
+        return indices;
+    }
+
+    /**
+     * Método para calcular os desvios padrão de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de desvios padrão dos valores de cada coluna
+     */
+    public List<Double> calcularDesvioPadrao(DataSet ds) {
+        if (poolParalelo != null) {
+            return calcularParalelo(ds, AgregadoParcial::getDesvioPadrao);
+        }
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularDesvioPadrao(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular o desvio padrão dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return desvio padrão dos valores da coluna
+     */
+    public double calcularDesvioPadrao(DataSet ds, int numeroColuna) {
+        double variancia = calcularVariancia(ds, numeroColuna);
+        return Math.sqrt(variancia);
+    }
+
+    /**
+     * Método para calcular o desvio padrão dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return desvio padrão dos valores da coluna
+     */
+    public double calcularDesvioPadrao(DataSet ds, String nomeColuna) {
+        return calcularDesvioPadrao(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular os desvios médios dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de desvios médios dos valores de cada coluna
+     */
+    public List<Double> calcularDesvioMedio(DataSet ds) {
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(calcularDesvioMedio(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para calcular o desvio médio dos valores de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return desvio médio dos valores da coluna
+     */
+    public double calcularDesvioMedio(DataSet ds, int numeroColuna) {
+        return ds.memorizar("desvioMedio", numeroColuna, TAMANHO_VALOR, () -> {
+            ColunaNumerica coluna = ds.getColunaNumerica(numeroColuna);
+            double media = calcularMedia(ds, numeroColuna);
+            return coluna.getSomaDesviosAbsolutos(media) / coluna.getContagemValidos();
+        });
+    }
+
+    /**
+     * Método para calcular o desvio médio dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return desvio médio dos valores da coluna
+     */
+    public double calcularDesvioMedio(DataSet ds, String nomeColuna) {
+        return calcularDesvioMedio(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para retornar os maiores valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de maiores valores de cada coluna
+     */
+    public List<Double> getMax(DataSet ds) {
+        if (poolParalelo != null) {
+            return calcularParalelo(ds, AgregadoParcial::getMax);
+        }
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(getMax(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para retornar o maior valor de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return maior valor da coluna
+     */
+    public double getMax(DataSet ds, int numeroColuna) {
+        return ds.memorizar("max", numeroColuna, TAMANHO_VALOR, () -> {
+            return ds.getColunaNumerica(numeroColuna).getMax();
+        });
+    }
+
+    /**
+     * Método para retornar o maior valor de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return maior valor da coluna
+     */
+    public double getMax(DataSet ds, String nomeColuna) {
+        return getMax(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para retornar os menores valores de cada coluna de um DataSet
+     * @param ds DataSet que será utilizado
+     * @return lista de menores valores de cada coluna
+     */
+    public List<Double> getMin(DataSet ds) {
+        if (poolParalelo != null) {
+            return calcularParalelo(ds, AgregadoParcial::getMin);
+        }
+        List<Double> valores = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            valores.add(getMin(ds, i));
+        }
+        return valores;
+    }
+
+    /**
+     * Método para retornar o menor valor de uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return menor valor da coluna
+     */
+    public double getMin(DataSet ds, int numeroColuna) {
+        return ds.memorizar("min", numeroColuna, TAMANHO_VALOR, () -> {
+            return ds.getColunaNumerica(numeroColuna).getMin();
+        });
+    }
+
+    /**
+     * Método para retornar o menor valor de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return menor valor da coluna
+     */
+    public double getMin(DataSet ds, String nomeColuna) {
+        return getMin(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular o agregado (contagem, média, variância, máximo e mínimo) dos valores de uma coluna que estão em uma faixa.
+     * Os blocos da coluna inteiramente dentro ou fora da faixa são respondidos pelo mapa de zonas, sem percorrer os valores.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param minimo menor valor da faixa (inclusivo)
+     * @param maximo maior valor da faixa (inclusivo)
+     * @return agregado dos valores da faixa
+     */
+    public AgregadoParcial calcularAgregadoEntre(DataSet ds, int numeroColuna, double minimo, double maximo) {
+        return ds.getColunaNumerica(numeroColuna).agregarEntre(minimo, maximo);
+    }
+
+    /**
+     * Método para calcular o agregado dos valores de uma coluna de um DataSet, escolhida pelo nome, que estão em uma faixa.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param minimo menor valor da faixa (inclusivo)
+     * @param maximo maior valor da faixa (inclusivo)
+     * @return agregado dos valores da faixa
+     */
+    public AgregadoParcial calcularAgregadoEntre(DataSet ds, String nomeColuna, double minimo, double maximo) {
+        return calcularAgregadoEntre(ds, ds.getIndiceColuna(nomeColuna), minimo, maximo);
+    }
+
+    /**
+     * Método para calcular os perfis (todas as estatísticas) de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de perfis de cada coluna
+     */
+    public List<PerfilColuna> calcularPerfil(DataSet ds) {
+        List<PerfilColuna> perfis = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            perfis.add(calcularPerfil(ds, i));
+        }
+        return perfis;
+    }
+
+    /**
+     * Método para calcular o perfil de uma coluna de um DataSet.
+     * O perfil reúne média, mediana, moda, máximo, mínimo, variância, desvio padrão e desvio médio,
+     * calculados juntos em duas passagens pela coluna (mais a seleção da mediana), o que é mais rápido do que chamar cada método separadamente.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return perfil da coluna
+     */
+    public PerfilColuna calcularPerfil(DataSet ds, int numeroColuna) {
+        return ds.memorizar("perfil", numeroColuna, TAMANHO_VALOR * 10, () -> new PerfilColuna(ds.getColunaNumerica(numeroColuna)));
+    }
+
+    /**
+     * Método para calcular o perfil de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return perfil da coluna
+     */
+    public PerfilColuna calcularPerfil(DataSet ds, String nomeColuna) {
+        return calcularPerfil(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular estatísticas de colunas de um arquivo CSV no modo stream, sem carregar um DataSet.
+     * As linhas do arquivo passam uma única vez pelos acumuladores e não são guardadas, então arquivos maiores que a memória podem ser utilizados.
+     * Média, variância, desvio padrão, máximo e mínimo são exatos; mediana e moda são aproximadas.
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param colunas números (ou índices) das colunas desejadas (começam em zero)
+     * @param estatisticas estatísticas que serão calculadas (todas, caso nenhuma seja informada)
+     * @return resultado com as estatísticas de cada coluna
+     * @throws IOException
+     */
+    public ResultadoStream calcularStream(String arquivo, int[] colunas, Estatistica... estatisticas) throws IOException {
+        return calcularStream(arquivo, new OpcoesCSV(), colunas, estatisticas);
+    }
+
+    /**
+     * Método para calcular estatísticas de colunas de um arquivo CSV no modo stream, com as colunas escolhidas pelo nome no cabeçalho.
+     * No resultado, as colunas são numeradas na ordem dos nomes (a primeira coluna escolhida é a coluna 0).
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param colunas nomes das colunas desejadas no cabeçalho do arquivo
+     * @param estatisticas estatísticas que serão calculadas (todas, caso nenhuma seja informada)
+     * @return resultado com as estatísticas de cada coluna
+     * @throws IOException
+     */
+    public ResultadoStream calcularStream(String arquivo, String[] colunas, Estatistica... estatisticas) throws IOException {
+        return calcularStream(arquivo, new OpcoesCSV(), colunas, estatisticas);
+    }
+
+    /**
+     * Método para calcular estatísticas de colunas de um arquivo CSV no modo stream, sem carregar um DataSet.
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param opcoes opções de leitura do arquivo CSV
+     * @param colunas números (ou índices) das colunas desejadas (começam em zero)
+     * @param estatisticas estatísticas que serão calculadas (todas, caso nenhuma seja informada)
+     * @return resultado com as estatísticas de cada coluna
+     * @throws IOException
+     */
+    public ResultadoStream calcularStream(String arquivo, OpcoesCSV opcoes, int[] colunas, Estatistica... estatisticas) throws IOException {
+        EnumSet<Estatistica> conjunto = estatisticas.length == 0 ? EnumSet.allOf(Estatistica.class) : EnumSet.copyOf(Arrays.asList(estatisticas));
+        ResultadoStream resultado = new ResultadoStream(colunas, conjunto);
+        new LeitorCSV(opcoes).ler(arquivo, resultado);
+        return resultado;
+    }
+
+    /**
+     * Método para calcular estatísticas de colunas de um arquivo CSV no modo stream, com as colunas escolhidas pelo nome no cabeçalho.
+     * No resultado, as colunas são numeradas na ordem dos nomes (a primeira coluna escolhida é a coluna 0).
+     * @param arquivo caminho e nome do arquivo CSV
+     * @param opcoes opções de leitura do arquivo CSV (a escolha de colunas das opções é substituída pelos nomes)
+     * @param colunas nomes das colunas desejadas no cabeçalho do arquivo
+     * @param estatisticas estatísticas que serão calculadas (todas, caso nenhuma seja informada)
+     * @return resultado com as estatísticas de cada coluna
+     * @throws IOException
+     */
+    public ResultadoStream calcularStream(String arquivo, OpcoesCSV opcoes, String[] colunas, Estatistica... estatisticas) throws IOException {
+        int[] projetadas = new int[colunas.length];
+        for (int i = 0; i < projetadas.length; i++) {
+            projetadas[i] = i;
+        }
+        return calcularStream(arquivo, opcoes.copiar().setColunas(colunas), projetadas, estatisticas);
+    }
+
+    /**
+     * Método para calcular as tabelas Roll dos valores de cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @return lista de Rolls dos valores de cada coluna
+     */
+    public List<Roll> gerarRoll(DataSet ds) {
+        List<Roll> rolls = new ArrayList<>();
+        for (int i = 0; i < ds.getLargura(); i++) {
+            rolls.add(gerarRoll(ds, i));
+        }
+        return rolls;
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet.
+     * As classes são calculadas pela estratégia de divisão definida em setEstrategiaClasses (Sturges por padrão).
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, int numeroColuna) {
+        return gerarRoll(ds, numeroColuna, estrategiaClasses);
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, String nomeColuna) {
+        return gerarRoll(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular a tabela Roll original dos valores de uma coluna de um DataSet, com uma classe [valor, valor + 1) por valor distinto.
+     * Em colunas contínuas a tabela tem uma linha por valor distinto; nesses casos, prefira gerarRoll com uma estratégia de divisão.
+     * Os valores e a tabela de frequência são lidos na mesma versão dos dados: caso linhas sejam adicionadas durante a leitura, ela é repetida.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRollPorValor(DataSet ds, int numeroColuna) {
+        while (true) {
+            long versao = ds.getVersao();
+            double[] valores = ds.getValores(numeroColuna);
+            TabelaFrequencia frequencia = calcularFrequencia(ds, numeroColuna);
+            if (ds.getVersao() == versao) {
+                return new Roll(valores, frequencia);
+            }
+        }
+    }
+
+    /**
+     * Método para calcular a tabela Roll original dos valores de uma coluna de um DataSet, escolhida pelo nome, com uma classe por valor distinto.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRollPorValor(DataSet ds, String nomeColuna) {
+        return gerarRollPorValor(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet, com as classes calculadas por uma estratégia de divisão
+     * (Sturges, Scott, Freedman–Diaconis, largura fixa ou quantis) em vez de uma classe por valor distinto.
+     * Assim como em gerarRollPorValor, os valores e as classes pertencem à mesma versão dos dados.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param estrategia estratégia de divisão dos valores em classes
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, int numeroColuna, EstrategiaClasses estrategia) {
+        while (true) {
+            long versao = ds.getVersao();
+            double[] valores = ds.getValores(numeroColuna);
+            DivisaoClasses divisao = dividirClasses(ds, numeroColuna, estrategia);
+            if (ds.getVersao() == versao) {
+                return new Roll(valores, divisao);
+            }
+        }
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet, escolhida pelo nome, com as classes calculadas por uma estratégia de divisão.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param estrategia estratégia de divisão dos valores em classes
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, String nomeColuna, EstrategiaClasses estrategia) {
+        return gerarRoll(ds, ds.getIndiceColuna(nomeColuna), estrategia);
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet, com classes de largura fixa informada.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param largura largura de cada classe (positiva)
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, int numeroColuna, double largura) {
+        while (true) {
+            long versao = ds.getVersao();
+            double[] valores = ds.getValores(numeroColuna);
+            DivisaoClasses divisao = dividirClasses(ds, numeroColuna, largura);
+            if (ds.getVersao() == versao) {
+                return new Roll(valores, divisao);
+            }
+        }
+    }
+
+    /**
+     * Método para calcular a tabela Roll dos valores de uma coluna de um DataSet, escolhida pelo nome, com classes de largura fixa informada.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param largura largura de cada classe (positiva)
+     * @return Roll dos valores de uma coluna
+     */
+    public Roll gerarRoll(DataSet ds, String nomeColuna, double largura) {
+        return gerarRoll(ds, ds.getIndiceColuna(nomeColuna), largura);
+    }
+
+    /**
+     * Método para dividir os valores de uma coluna de um DataSet em classes, contando os valores de cada classe em uma única passada.
+     * A divisão fica guardada no cache do DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param estrategia estratégia de divisão dos valores em classes
+     * @return divisão dos valores da coluna em classes
+     */
+    public DivisaoClasses dividirClasses(DataSet ds, int numeroColuna, EstrategiaClasses estrategia) {
+        return ds.memorizar("classes" + estrategia, numeroColuna,
+                (DivisaoClasses divisao) -> TAMANHO_VALOR * (2L * divisao.getQuantidadeClasses() + 4),
+                () -> DivisaoClasses.calcular(ds.getValores(numeroColuna), estrategia));
+    }
+
+    /**
+     * Método para dividir os valores de uma coluna de um DataSet, escolhida pelo nome, em classes.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param estrategia estratégia de divisão dos valores em classes
+     * @return divisão dos valores da coluna em classes
+     */
+    public DivisaoClasses dividirClasses(DataSet ds, String nomeColuna, EstrategiaClasses estrategia) {
+        return dividirClasses(ds, ds.getIndiceColuna(nomeColuna), estrategia);
+    }
+
+    /**
+     * Método para dividir os valores de uma coluna de um DataSet em classes de largura fixa informada.
+     * A divisão fica guardada no cache do DataSet, separada para cada largura.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param largura largura de cada classe (positiva)
+     * @return divisão dos valores da coluna em classes
+     * @throws IllegalArgumentException caso a largura não seja positiva ou gere mais de DivisaoClasses.MAXIMO_CLASSES classes
+     */
+    public DivisaoClasses dividirClasses(DataSet ds, int numeroColuna, double largura) {
+        return ds.memorizar("classes" + EstrategiaClasses.LARGURA_FIXA + largura, numeroColuna,
+                (DivisaoClasses divisao) -> TAMANHO_VALOR * (2L * divisao.getQuantidadeClasses() + 4),
+                () -> DivisaoClasses.calcularLarguraFixa(ds.getValores(numeroColuna), largura));
+    }
+
+    /**
+     * Método para dividir os valores de uma coluna de um DataSet, escolhida pelo nome, em classes de largura fixa informada.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param largura largura de cada classe (positiva)
+     * @return divisão dos valores da coluna em classes
+     */
+    public DivisaoClasses dividirClasses(DataSet ds, String nomeColuna, double largura) {
+        return dividirClasses(ds, ds.getIndiceColuna(nomeColuna), largura);
+    }
+
+    /**
+     * Método para gerar gráficos de histograma, para cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se todos os gráficos foram gerados, falso caso tenho ocorrido algum erro
+     */
+    public boolean gerarGraficoHistograma(DataSet ds, String arquivo) {
+        boolean resultado = true;
+        for (int i = 0; i < ds.getLargura(); i++) {
+            if (!gerarGraficoHistograma(ds, i, i + arquivo)) {
+                resultado = false;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para gerar gráfico de histograma, para uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoHistograma(DataSet ds, int numeroColuna, String arquivo) {
+        return gerarGrafico(ds, numeroColuna, arquivo, "bar");
+    }
+
+    /**
+     * Método para gerar gráfico de histograma, para uma coluna de um DataSet escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoHistograma(DataSet ds, String nomeColuna, String arquivo) {
+        return gerarGraficoHistograma(ds, ds.getIndiceColuna(nomeColuna), arquivo);
+    }
+
+    /**
+     * Método para gerar gráficos de setores, para cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoSetores(DataSet ds, String arquivo) {
+        boolean resultado = true;
+        for (int i = 0; i < ds.getLargura(); i++) {
+            if (!gerarGraficoSetores(ds, i, i + arquivo)) {
+                resultado = false;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para gerar gráfico de setores, para uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoSetores(DataSet ds, int numeroColuna, String arquivo) {
+        return gerarGrafico(ds, numeroColuna, arquivo, "pie");
+    }
+
+    /**
+     * Método para gerar gráfico de setores, para uma coluna de um DataSet escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoSetores(DataSet ds, String nomeColuna, String arquivo) {
+        return gerarGraficoSetores(ds, ds.getIndiceColuna(nomeColuna), arquivo);
+    }
+
+    /**
+     * Método para gerar gráficos de pareto, para cada coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoPareto(DataSet ds, String arquivo) {
+        boolean resultado = true;
+        for (int i = 0; i < ds.getLargura(); i++) {
+            if (!gerarGraficoPareto(ds, i, i + arquivo)) {
+                resultado = false;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para gerar gráfico de pareto, para uma coluna de um DataSet.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoPareto(DataSet ds, int numeroColuna, String arquivo) {
+        return gerarGrafico(ds, numeroColuna, arquivo, "pareto");
+    }
+
+    /**
+     * Método para gerar gráfico de pareto, para uma coluna de um DataSet escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarGraficoPareto(DataSet ds, String nomeColuna, String arquivo) {
+        return gerarGraficoPareto(ds, ds.getIndiceColuna(nomeColuna), arquivo);
+    }
+
+    /**
+     * Método genérico para gerar gráficos, desenhados localmente pelo RenderizadorGrafico.
+     * O objetivo desse método é formatar os dados recebidos e enviar de forma correta para o renderizador, de acordo com o tipo desejado de gráfico.
+     * Cada barra (ou setor) é uma classe da tabela Roll padrão da coluna (ver setEstrategiaClasses).
+     * Esse método é utilizado pelos outros métodos específicos de geração de gráficos.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @param tipo tipo de gráfico que será gerado ("bar", "pie" ou "pareto")
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    private boolean gerarGrafico(DataSet ds, int numeroColuna, String arquivo, String tipo) {
+        return gerarGrafico(gerarRoll(ds, numeroColuna), arquivo, tipo);
+    }
+
+    /**
+     * Método genérico para gerar gráficos a partir de uma tabela Roll já calculada, com um rótulo e uma quantidade (fi) por classe.
+     * Esse método é utilizado pelo relatório, que calcula a tabela Roll da coluna uma única vez para os três gráficos.
+     * @param roll tabela Roll da coluna
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @param tipo tipo de gráfico que será gerado ("bar", "pie" ou "pareto")
+     * @return verdadeiro se o gráfico foi gerado, falso caso tenha ocorrido algum erro
+     */
+    private boolean gerarGrafico(Roll roll, String arquivo, String tipo) {
+        String[] x = new String[roll.getQuantidadeClasses()];
+        double[] yEntrada = new double[roll.getQuantidadeClasses()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = roll.getClasse(i);
+            yEntrada[i] = roll.getfi(i);
+        }
+
+        try {
+            BufferedImage imagem = renderizador.renderizar(tipo, x, yEntrada);
+
+            // Salvar imagem
+            File saida = new File(arquivo + ".png");
+            ImageIO.write(imagem, "png", saida);
+
+            System.out.println("Imagem gerada: " + arquivo + ".png");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Método para gerar um relatório HTML que contém todos os cálculos e gráficos de cada coluna de um DataSet.
+     * As páginas das colunas são geradas em paralelo, utilizando todos os processadores disponíveis.
+     * @param ds DataSet que será utilizado
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o relatório foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarRelatorio(DataSet ds, String arquivo) {
+        return gerarRelatorio(ds, arquivo, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Método para gerar um relatório HTML que contém todos os cálculos e gráficos de cada coluna de um DataSet.
+     * Cada coluna é uma tarefa independente (estatísticas, tabela Roll, três gráficos e a página HTML), executada por um grupo de threads.
+     * A fila de tarefas é limitada: quando ela está cheia, a própria thread que chamou o método executa a tarefa,
+     * o que impede que muitas colunas fiquem esperando na memória ao mesmo tempo.
+     * Os links "Página anterior" e "Próxima página" são definidos antes da geração, então nenhuma página precisa ser lida e reescrita.
+     * @param ds DataSet que será utilizado
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @param paralelismo quantidade de threads utilizadas
+     * @return verdadeiro se o relatório foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarRelatorio(DataSet ds, String arquivo, int paralelismo) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("O paralelismo deve ser maior que zero: " + paralelismo);
+        }
+        int largura = ds.getLargura();
+        List<Boolean> valores = new ArrayList<>();
+        if (paralelismo == 1 || largura <= 1) {
+            for (int i = 0; i < largura; i++) {
+                valores.add(gerarPaginaRelatorio(ds, i, arquivo, i > 0, i < largura - 1));
+            }
+        } else {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(paralelismo, paralelismo, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(paralelismo * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+            try {
+                List<Future<Boolean>> paginas = new ArrayList<>();
+                for (int i = 0; i < largura; i++) {
+                    final int numeroColuna = i;
+                    paginas.add(executor.submit(() -> gerarPaginaRelatorio(ds, numeroColuna, arquivo, numeroColuna > 0, numeroColuna < largura - 1)));
+                }
+                for (Future<Boolean> pagina : paginas) {
+                    try {
+                        valores.add(pagina.get());
+                    } catch (ExecutionException e) {
+                        System.err.println("Ocorreu um erro na geração do arquivo HTML: " + e.getCause());
+                        valores.add(false);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                valores.add(false);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        StringBuilder htmlContent = new StringBuilder();
+        htmlContent.append("<!DOCTYPE html>\n");
+        htmlContent.append("<html>\n");
+        htmlContent.append("<head>\n");
+        htmlContent.append("    <meta charset=\"UTF-8\">\n");
+        htmlContent.append("    <meta http-equiv=\"refresh\" content=\"0; url=" + 0 + arquivo + ".html\">\n");
+        htmlContent.append("    <title>Redirecionando...</title>\n");
+        htmlContent.append("</head>\n");
+        htmlContent.append("<body>\n");
+        htmlContent.append("    <p>Se você não foi redirecionado, <a href=\"" + 0 + arquivo + ".html\">clique aqui</a>.</p>\n");
+        htmlContent.append("</body>\n");
+        htmlContent.append("</html>");
+
+        boolean resultado = true;
+        for (Boolean valor : valores) {
+            if (valor == false) {
+                resultado = false;
+                break;
+            }
+        }
+
+        if (resultado) {
+            try (FileWriter fileWriter = new FileWriter(arquivo + ".html", StandardCharsets.UTF_8)) {
+                fileWriter.write(htmlContent.toString());
+                System.out.println("Arquivo HTML gerado: " + arquivo + ".html");
+            } catch (IOException e) {
+                System.err.println("Ocorreu um erro na geração do arquivo HTML: " + e.getMessage());
+                resultado = false;
+            }
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Método para gerar um relatório HTML que contém todos os cálculos e gráficos de uma coluna de um DataSet.
+     * Caso a página da coluna anterior já exista, a nova página recebe o link "Página anterior" e a página anterior recebe o link "Próxima página".
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o relatório foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarRelatorio(DataSet ds, int numeroColuna, String arquivo) {
+        boolean anterior = new File((numeroColuna - 1) + arquivo + ".html").exists();
+        boolean resultado = gerarPaginaRelatorio(ds, numeroColuna, arquivo, anterior, false);
+        if (anterior) {
+            resultado &= incluirLinkProxima(numeroColuna - 1, arquivo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para gerar um relatório HTML que contém todos os cálculos e gráficos de uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o relatório foi gerado, falso caso tenha ocorrido algum erro
+     */
+    public boolean gerarRelatorio(DataSet ds, String nomeColuna, String arquivo) {
+        return gerarRelatorio(ds, ds.getIndiceColuna(nomeColuna), arquivo);
+    }
+
+    /**
+     * Método para gerar a página HTML do relatório de uma coluna de um DataSet.
+     * A tabela Roll da coluna (com a estratégia de divisão em classes definida em setEstrategiaClasses) é calculada uma única vez
+     * e utilizada pela tabela da página e pelos três gráficos.
+     * Esse método é utilizado pelos métodos de geração de relatório e pode ser executado em paralelo para colunas diferentes.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @param arquivo caminho e nome do arquivo que será gerado (não precisa incluir extensão do arquivo)
+     * @param anterior verdadeiro para incluir o link para a página da coluna anterior
+     * @param proxima verdadeiro para incluir o link para a página da próxima coluna
+     * @return verdadeiro se a página foi gerada, falso caso tenha ocorrido algum erro
+     */
+    private boolean gerarPaginaRelatorio(DataSet ds, int numeroColuna, String arquivo, boolean anterior, boolean proxima) {
+        String nomeGraficoHistograma = numeroColuna + "histograma";
+        String nomeGraficoSetores = numeroColuna + "setores";
+        String nomeGraficoPareto = numeroColuna + "pareto";
+
+        Roll roll = gerarRoll(ds, numeroColuna);
+        boolean graficos = gerarGrafico(roll, nomeGraficoHistograma, "bar");
+        graficos &= gerarGrafico(roll, nomeGraficoSetores, "pie");
+        graficos &= gerarGrafico(roll, nomeGraficoPareto, "pareto");
+
+        StringBuilder rollTabela = new StringBuilder();
+        rollTabela.append("    <table>\n");
+        rollTabela.append("        <tr>\n");
+        rollTabela.append("            <th colspan=\"7\">Tabela Roll</th>\n");
+        rollTabela.append("        </tr>\n");
+        rollTabela.append("        <tr>\n");
+        for (String string : roll.getHeader()) {
+            rollTabela.append("            <th>" + string + "</th>\n");
+        }
+        rollTabela.append("        </tr>\n");
+        for (int i = 0; i < roll.getQuantidadeClasses(); i++) {
+            rollTabela.append("        <tr>\n");
+            rollTabela.append("            <td>" + (i + 1) + "</td>\n");
+            rollTabela.append("            <td>" + roll.getClasse(i) + "</td>\n");
+            rollTabela.append("            <td>" + roll.getfi(i) + "</td>\n");
+            rollTabela.append("            <td>" + roll.getFi(i) + "</td>\n");
+            rollTabela.append("            <td>" + String.format(Locale.US, "%.1f", roll.getfr(i)) + "</td>\n");
+            rollTabela.append("            <td>" + String.format(Locale.US, "%.1f", roll.getFr(i)) + "</td>\n");
+            rollTabela.append("            <td>" + roll.getMedia(i) + "</td>\n");
+            rollTabela.append("        </tr>\n");
+        }
+        rollTabela.append("        <tr>\n");
+        rollTabela.append("            <td> </td>\n");
+        rollTabela.append("            <td> </td>\n");
+        rollTabela.append("            <td>" + roll.getfiFinal() + "</td>\n");
+        rollTabela.append("            <td> </td>\n");
+        rollTabela.append("            <td>" + roll.getfrFinal() + "</td>\n");
+        rollTabela.append("            <td> </td>\n");
+        rollTabela.append("            <td> </td>\n");
+        rollTabela.append("        </tr>\n");
+        rollTabela.append("    </table>\n");
+
+        StringBuilder htmlContent = new StringBuilder();
+        htmlContent.append("<!DOCTYPE html>\n");
+        htmlContent.append("<html>\n");
+        htmlContent.append("<head>\n");
+        htmlContent.append("    <meta charset=\"UTF-8\">\n");
+        htmlContent.append("    <title>Relatório</title>\n");
+        htmlContent.append("</head>\n");
+        htmlContent.append("<style>\n");
+        htmlContent.append("table, th, td {\n");
+        htmlContent.append("    border:1px solid black;\n");
+        htmlContent.append("}\n");
+        htmlContent.append("</style>\n");
+        htmlContent.append("<body>\n");
+        htmlContent.append("    <h1>Relatório</h1>\n");
+        int pagina = numeroColuna + 1;
+        htmlContent.append("    <h2>Página " + pagina + "</h2>\n");
+
+        if (anterior) {
+            htmlContent.append("    <a href=\"" + (numeroColuna - 1) + arquivo + ".html\">Página anterior</a>\n");
+        }
+        htmlContent.append("    <br>\n");
+        if (proxima) {
+            htmlContent.append("    <a href=\"" + (numeroColuna + 1) + arquivo + ".html\">Próxima página</a>\n");
+        }
+        if (anterior) {
+            htmlContent.append("    <br>\n");
+        }
+        
+        PerfilColuna perfil = calcularPerfil(ds, numeroColuna);
+        htmlContent.append("    <p>Média: " + String.format(Locale.US, "%.2f", perfil.getMedia()) + "</p>\n");
+        htmlContent.append("    <p>Mediana: " + perfil.getMediana() + "</p>\n");
+        htmlContent.append("    <p>Moda: " + perfil.getModa() + "</p>\n");
+        htmlContent.append("    <p>Máximo: " + perfil.getMax() + "</p>\n");
+        htmlContent.append("    <p>Mínimo: " + perfil.getMin() + "</p>\n");
+        htmlContent.append("    <p>Variância: " + String.format(Locale.US, "%.2f", perfil.getVariancia()) + "</p>\n");
+        htmlContent.append("    <p>Desvio padrão: " + String.format(Locale.US, "%.2f", perfil.getDesvioPadrao()) + "</p>\n");
+        htmlContent.append("    <p>Desvio médio: " + String.format(Locale.US, "%.2f", perfil.getDesvioMedio()) + "</p>\n");
+        htmlContent.append(rollTabela.toString());
+        htmlContent.append("    <img src=\"" + nomeGraficoHistograma + ".png\" alt=\"Gráfico histograma\" width=\"500\" height=\"300\">\n");
+        htmlContent.append("    <img src=\"" + nomeGraficoSetores + ".png\" alt=\"Gráfico setores\" width=\"500\" height=\"300\">\n");
+        htmlContent.append("    <img src=\"" + nomeGraficoPareto + ".png\" alt=\"Gráfico pareto\" width=\"500\" height=\"300\">\n");
+
+        htmlContent.append("</body>\n");
+        htmlContent.append("</html>");
+
+        try (FileWriter fileWriter = new FileWriter(numeroColuna + arquivo + ".html", StandardCharsets.UTF_8)) {
+            fileWriter.write(htmlContent.toString());
+            System.out.println("Arquivo HTML gerado: " + numeroColuna + arquivo + ".html");
+            return graficos;
+        } catch (IOException e) {
+            System.err.println("Ocorreu um erro na geração do arquivo HTML: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Método para incluir o link "Próxima página" em uma página do relatório que já foi gerada.
+     * Esse método é utilizado pelo método que gera o relatório de uma única coluna, para ligar a página anterior à nova página.
+     * @param numeroColuna número (ou índice) da coluna da página que receberá o link (começa em zero)
+     * @param arquivo caminho e nome do arquivo do relatório (não precisa incluir extensão do arquivo)
+     * @return verdadeiro se o link foi incluído (ou já existia), falso caso tenha ocorrido algum erro
+     */
+    private boolean incluirLinkProxima(int numeroColuna, String arquivo) {
+        Path pagina = Paths.get(numeroColuna + arquivo + ".html");
+        try {
+            String conteudo = new String(Files.readAllBytes(pagina), StandardCharsets.UTF_8);
+            if (conteudo.contains("\">Próxima página</a>")) {
+                return true;
+            }
+            String link = "    <a href=\"" + (numeroColuna + 1) + arquivo + ".html\">Próxima página</a>\n";
+            conteudo = conteudo.replaceFirst("    <br>\n", Matcher.quoteReplacement("    <br>\n" + link));
+            Files.write(pagina, conteudo.getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Ocorreu um erro na geração do arquivo HTML: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Método para calcular a frequência de valores em uma coluna de um DataSet.
+     * O resultado é uma lista de listas, onde essas listas são compostas pelo valor (índice 0) e a quantidade de vezes (índice 1) que ele aparece na coluna.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return matriz de frequência de valores
+     */
+    public List<List<Double>> getFrequencia(DataSet ds, int numeroColuna) {
+        return calcularFrequencia(ds, numeroColuna).paraLista();
+    }
+
+    /**
+     * Método para calcular a frequência de valores em uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return matriz de frequência de valores
+     */
+    public List<List<Double>> getFrequencia(DataSet ds, String nomeColuna) {
+        return getFrequencia(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+    /**
+     * Método para calcular a tabela de frequência de valores em uma coluna de um DataSet.
+     * Os valores são contados em uma única passagem por um MapaFrequencia (tabela hash de vetores primitivos)
+     * e somente os valores distintos são ordenados no final.
+     * A tabela fica guardada no cache do DataSet, já que a moda, a tabela Roll e os gráficos utilizam a mesma tabela.
+     * @param ds DataSet que será utilizado
+     * @param numeroColuna número (ou índice) da coluna desejada do DataSet (começa em zero)
+     * @return tabela de frequência de valores, em ordem crescente
+     */
+    public TabelaFrequencia calcularFrequencia(DataSet ds, int numeroColuna) {
+        return ds.memorizar("frequencia", numeroColuna, (TabelaFrequencia tabela) -> TAMANHO_VALOR * (tabela.getTamanho() + 4), () -> {
+            MapaFrequencia mapa = new MapaFrequencia();
+            mapa.adicionar(ds.getColunaNumerica(numeroColuna));
+            return mapa.paraTabela();
+        });
+    }
+
+    /**
+     * Método para calcular a tabela de frequência de valores em uma coluna de um DataSet, escolhida pelo nome.
+     * @param ds DataSet que será utilizado
+     * @param nomeColuna nome da coluna desejada no cabeçalho do arquivo
+     * @return tabela de frequência de valores, em ordem crescente
+     */
+    public TabelaFrequencia calcularFrequencia(DataSet ds, String nomeColuna) {
+        return calcularFrequencia(ds, ds.getIndiceColuna(nomeColuna));
+    }
+
+}
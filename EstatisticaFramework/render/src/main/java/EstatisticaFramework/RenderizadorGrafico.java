@@ -0,0 +1,450 @@
+package EstatisticaFramework;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Classe RenderizadorGrafico para desenhar os gráficos de histograma, setores e pareto localmente (Java2D), sem acesso à rede.
+ * Os gráficos seguem o visual dos gráficos gerados anteriormente pela API quickchart (mesmas cores, título e legenda),
+ * e os tipos continuam identificados pelas chaves "bar", "pie" e "pareto".
+ * @author João Vittor
+ */
+public class RenderizadorGrafico {
+    /**
+     * Largura padrão da imagem, em pixels.
+     */
+    public static final int LARGURA_PADRAO = 500;
+    /**
+     * Altura padrão da imagem, em pixels.
+     */
+    public static final int ALTURA_PADRAO = 300;
+
+    /**
+     * Cores das barras e dos setores.
+     */
+    private static final Color[] CORES = {
+        new Color(54, 162, 235), new Color(255, 99, 132), new Color(255, 159, 64), new Color(255, 205, 86),
+        new Color(75, 192, 192), new Color(153, 102, 255), new Color(201, 203, 207)
+    };
+    /**
+     * Cor das linhas de grade.
+     */
+    private static final Color COR_GRADE = new Color(225, 225, 225);
+    /**
+     * Cor dos textos.
+     */
+    private static final Color COR_TEXTO = new Color(102, 102, 102);
+    /**
+     * Fonte do título.
+     */
+    private static final Font FONTE_TITULO = new Font(Font.SANS_SERIF, Font.BOLD, 13);
+    /**
+     * Fonte dos rótulos e da legenda.
+     */
+    private static final Font FONTE = new Font(Font.SANS_SERIF, Font.PLAIN, 11);
+    /**
+     * Quantidade aproximada de divisões do eixo vertical.
+     */
+    private static final int DIVISOES = 5;
+
+    /**
+     * Largura da imagem, em pixels.
+     */
+    private final int largura;
+    /**
+     * Altura da imagem, em pixels.
+     */
+    private final int altura;
+
+    /**
+     * Construtor da classe RenderizadorGrafico.
+     * Cria um renderizador com o tamanho padrão de imagem.
+     */
+    public RenderizadorGrafico() {
+        this(LARGURA_PADRAO, ALTURA_PADRAO);
+    }
+
+    /**
+     * Construtor da classe RenderizadorGrafico.
+     * @param largura largura da imagem, em pixels
+     * @param altura altura da imagem, em pixels
+     */
+    public RenderizadorGrafico(int largura, int altura) {
+        if (largura < 200 || altura < 150) {
+            throw new IllegalArgumentException("O tamanho mínimo da imagem é 200x150: " + largura + "x" + altura);
+        }
+        this.largura = largura;
+        this.altura = altura;
+    }
+
+    /**
+     * Método genérico para desenhar um gráfico de acordo com o tipo.
+     * @param tipo tipo de gráfico: "bar" (histograma), "pie" (setores) ou "pareto"
+     * @param rotulos rótulo de cada valor
+     * @param quantidades quantidade de cada valor
+     * @return imagem do gráfico
+     */
+    public BufferedImage renderizar(String tipo, String[] rotulos, double[] quantidades) {
+        switch (tipo.toLowerCase(Locale.ROOT)) {
+            case "bar":
+                return renderizarHistograma(rotulos, quantidades);
+            case "pie":
+                return renderizarSetores(rotulos, quantidades);
+            case "pareto":
+                return renderizarPareto(rotulos, quantidades);
+            default:
+                throw new IllegalArgumentException("Tipo de gráfico desconhecido: " + tipo);
+        }
+    }
+
+    /**
+     * Método para desenhar um gráfico de histograma (barras com a quantidade de cada valor).
+     * @param rotulos rótulo de cada valor
+     * @param quantidades quantidade de cada valor
+     * @return imagem do gráfico
+     */
+    public BufferedImage renderizarHistograma(String[] rotulos, double[] quantidades) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = iniciar(imagem, "Gráfico Histograma");
+        desenharLegenda(g, new String[] {"Quantidade"}, new Color[] {CORES[0]});
+        double maximo = escala(maximo(quantidades));
+        Area area = new Area(50, 60, largura - 20, altura - 40);
+        desenharEixoVertical(g, area, maximo, false);
+        desenharBarras(g, area, rotulos, quantidades, maximo);
+        g.dispose();
+        return imagem;
+    }
+
+    /**
+     * Método para desenhar um gráfico de setores (porcentagem de cada valor).
+     * @param rotulos rótulo de cada valor
+     * @param quantidades quantidade de cada valor
+     * @return imagem do gráfico
+     */
+    public BufferedImage renderizarSetores(String[] rotulos, double[] quantidades) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = iniciar(imagem, "Gráfico Setores");
+        double total = soma(quantidades);
+
+        int diametro = Math.min(altura - 50, largura / 2 - 20);
+        int x = largura / 4 - diametro / 2 + 10;
+        int y = 35 + (altura - 35 - diametro) / 2;
+        double angulo = 90;
+        for (int i = 0; i < quantidades.length && total > 0; i++) {
+            double extensao = -360 * quantidades[i] / total;
+            g.setColor(CORES[i % CORES.length]);
+            g.fillArc(x, y, diametro, diametro, (int) Math.round(angulo), (int) Math.round(angulo + extensao) - (int) Math.round(angulo));
+            angulo += extensao;
+        }
+        g.setColor(Color.WHITE);
+        angulo = 90;
+        for (int i = 0; i < quantidades.length && total > 0 && quantidades.length > 1; i++) {
+            double radianos = Math.toRadians(angulo);
+            g.drawLine(x + diametro / 2, y + diametro / 2,
+                    x + diametro / 2 + (int) Math.round(Math.cos(radianos) * diametro / 2), y + diametro / 2 - (int) Math.round(Math.sin(radianos) * diametro / 2));
+            angulo -= 360 * quantidades[i] / total;
+        }
+
+        g.setFont(FONTE);
+        FontMetrics metricas = g.getFontMetrics();
+        int linha = metricas.getHeight() + 2;
+        int linhas = Math.max(1, (altura - 45) / linha);
+        int xLegenda = largura / 2 + 20;
+        for (int i = 0; i < quantidades.length && i < linhas; i++) {
+            int yLegenda = 45 + i * linha;
+            if (i == linhas - 1 && quantidades.length > linhas) {
+                g.setColor(COR_TEXTO);
+                g.drawString("... (+" + (quantidades.length - i) + ")", xLegenda, yLegenda + metricas.getAscent() - 2);
+                break;
+            }
+            g.setColor(CORES[i % CORES.length]);
+            g.fillRect(xLegenda, yLegenda, 24, 10);
+            g.setColor(COR_TEXTO);
+            String porcentagem = formatar(total > 0 ? quantidades[i] * 100 / total : 0) + "%";
+            g.drawString(rotulos[i] + ": " + porcentagem, xLegenda + 30, yLegenda + metricas.getAscent() - 2);
+        }
+        g.dispose();
+        return imagem;
+    }
+
+    /**
+     * Método para desenhar um gráfico de pareto: barras com a porcentagem de cada valor, em ordem decrescente,
+     * e uma linha com a porcentagem acumulada (eixo da direita, de 0 a 100%).
+     * @param rotulos rótulo de cada valor
+     * @param quantidades quantidade de cada valor
+     * @return imagem do gráfico
+     */
+    public BufferedImage renderizarPareto(String[] rotulos, double[] quantidades) {
+        double total = soma(quantidades);
+        Integer[] indices = new Integer[quantidades.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (i1, i2) -> Double.compare(quantidades[i2], quantidades[i1]));
+        String[] rotulosOrdenados = new String[indices.length];
+        double[] porcentagens = new double[indices.length];
+        double[] acumulados = new double[indices.length];
+        double acumulado = 0;
+        for (int i = 0; i < indices.length; i++) {
+            rotulosOrdenados[i] = rotulos[indices[i]];
+            porcentagens[i] = total > 0 ? quantidades[indices[i]] * 100 / total : 0;
+            acumulado += porcentagens[i];
+            acumulados[i] = acumulado;
+        }
+
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = iniciar(imagem, "Gráfico Pareto");
+        desenharLegenda(g, new String[] {"Quantidade", "Acumulado"}, new Color[] {CORES[0], CORES[1]});
+        double maximo = escala(maximo(porcentagens));
+        Area area = new Area(50, 60, largura - 45, altura - 40);
+        desenharEixoVertical(g, area, maximo, false);
+        desenharEixoVertical(g, area, 100, true);
+        desenharBarras(g, area, rotulosOrdenados, porcentagens, maximo);
+
+        g.setColor(CORES[1]);
+        g.setStroke(new BasicStroke(2f));
+        double largCategoria = (double) area.largura() / Math.max(1, acumulados.length);
+        int xAnterior = 0;
+        int yAnterior = 0;
+        for (int i = 0; i < acumulados.length; i++) {
+            int xPonto = (int) Math.round(area.esquerda + largCategoria * (i + 0.5));
+            int yPonto = area.y(acumulados[i], 100);
+            if (i > 0) {
+                g.drawLine(xAnterior, yAnterior, xPonto, yPonto);
+            }
+            g.fillOval(xPonto - 3, yPonto - 3, 6, 6);
+            xAnterior = xPonto;
+            yAnterior = yPonto;
+        }
+        g.dispose();
+        return imagem;
+    }
+
+    /**
+     * Método para preparar a imagem: fundo branco, suavização e título.
+     * @param imagem imagem do gráfico
+     * @param titulo título do gráfico
+     * @return contexto gráfico da imagem
+     */
+    private Graphics2D iniciar(BufferedImage imagem, String titulo) {
+        Graphics2D g = imagem.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, largura, altura);
+        g.setFont(FONTE_TITULO);
+        g.setColor(COR_TEXTO);
+        FontMetrics metricas = g.getFontMetrics();
+        g.drawString(titulo, (largura - metricas.stringWidth(titulo)) / 2, 8 + metricas.getAscent());
+        return g;
+    }
+
+    /**
+     * Método para desenhar a legenda, centralizada abaixo do título.
+     * @param g contexto gráfico
+     * @param nomes nome de cada item da legenda
+     * @param cores cor de cada item da legenda
+     */
+    private void desenharLegenda(Graphics2D g, String[] nomes, Color[] cores) {
+        g.setFont(FONTE);
+        FontMetrics metricas = g.getFontMetrics();
+        int total = 0;
+        for (String nome : nomes) {
+            total += 30 + metricas.stringWidth(nome) + 12;
+        }
+        int x = (largura - total) / 2;
+        for (int i = 0; i < nomes.length; i++) {
+            g.setColor(cores[i]);
+            g.fillRect(x, 32, 24, 10);
+            g.setColor(COR_TEXTO);
+            g.drawString(nomes[i], x + 30, 32 + metricas.getAscent() - 2);
+            x += 30 + metricas.stringWidth(nomes[i]) + 12;
+        }
+    }
+
+    /**
+     * Método para desenhar um eixo vertical, com as linhas de grade e os valores das divisões.
+     * @param g contexto gráfico
+     * @param area área do gráfico
+     * @param maximo valor do topo do eixo
+     * @param direita verdadeiro para o eixo da direita (porcentagem acumulada), que não desenha linhas de grade
+     */
+    private void desenharEixoVertical(Graphics2D g, Area area, double maximo, boolean direita) {
+        g.setFont(FONTE);
+        FontMetrics metricas = g.getFontMetrics();
+        for (int i = 0; i <= DIVISOES; i++) {
+            double valor = maximo * i / DIVISOES;
+            int y = area.y(valor, maximo);
+            String texto = formatar(valor) + (direita ? "%" : "");
+            if (direita) {
+                g.setColor(COR_TEXTO);
+                g.drawString(texto, area.direita + 4, y + metricas.getAscent() / 2 - 1);
+            } else {
+                g.setColor(COR_GRADE);
+                g.drawLine(area.esquerda, y, area.direita, y);
+                g.setColor(COR_TEXTO);
+                g.drawString(texto, area.esquerda - 4 - metricas.stringWidth(texto), y + metricas.getAscent() / 2 - 1);
+            }
+        }
+    }
+
+    /**
+     * Método para desenhar as barras e os rótulos do eixo horizontal.
+     * Quando há rótulos demais para a largura, somente parte deles é desenhada.
+     * @param g contexto gráfico
+     * @param area área do gráfico
+     * @param rotulos rótulo de cada barra
+     * @param valores altura de cada barra
+     * @param maximo valor do topo do eixo vertical
+     */
+    private void desenharBarras(Graphics2D g, Area area, String[] rotulos, double[] valores, double maximo) {
+        g.setFont(FONTE);
+        FontMetrics metricas = g.getFontMetrics();
+        double largCategoria = (double) area.largura() / Math.max(1, valores.length);
+        int largBarra = Math.max(1, (int) (largCategoria * 0.8));
+        int maiorRotulo = 1;
+        for (String rotulo : rotulos) {
+            maiorRotulo = Math.max(maiorRotulo, metricas.stringWidth(rotulo));
+        }
+        int passoRotulos = Math.max(1, (int) Math.ceil((maiorRotulo + 6) / largCategoria));
+        Color cor = new Color(CORES[0].getRed(), CORES[0].getGreen(), CORES[0].getBlue(), 128);
+        for (int i = 0; i < valores.length; i++) {
+            int centro = (int) Math.round(area.esquerda + largCategoria * (i + 0.5));
+            int topo = area.y(valores[i], maximo);
+            g.setColor(cor);
+            g.fillRect(centro - largBarra / 2, topo, largBarra, area.base - topo);
+            g.setColor(CORES[0]);
+            g.drawRect(centro - largBarra / 2, topo, largBarra, area.base - topo);
+            if (i % passoRotulos == 0) {
+                g.setColor(COR_TEXTO);
+                g.drawString(rotulos[i], centro - metricas.stringWidth(rotulos[i]) / 2, area.base + 4 + metricas.getAscent());
+            }
+        }
+        g.setColor(COR_TEXTO);
+        g.drawLine(area.esquerda, area.base, area.direita, area.base);
+    }
+
+    /**
+     * Método para arredondar o topo do eixo vertical para um valor "redondo" (1, 2 ou 5 vezes uma potência de dez por divisão).
+     * @param maximo maior valor do gráfico
+     * @return valor do topo do eixo
+     */
+    private static double escala(double maximo) {
+        if (!(maximo > 0)) {
+            return DIVISOES;
+        }
+        double passo = maximo / DIVISOES;
+        double potencia = Math.pow(10, Math.floor(Math.log10(passo)));
+        double fator = passo / potencia;
+        if (fator <= 1) {
+            fator = 1;
+        } else if (fator <= 2) {
+            fator = 2;
+        } else if (fator <= 5) {
+            fator = 5;
+        } else {
+            fator = 10;
+        }
+        return fator * potencia * DIVISOES;
+    }
+
+    /**
+     * Método para formatar um valor dos eixos e da legenda (inteiros sem casas decimais, os demais com uma casa).
+     * @param valor valor que será formatado
+     * @return valor formatado
+     */
+    private static String formatar(double valor) {
+        if (valor % 1 == 0 && Math.abs(valor) < 1e15) {
+            return String.valueOf((long) valor);
+        }
+        return String.format(Locale.US, "%.1f", valor);
+    }
+
+    /**
+     * Método para retornar o maior valor de um vetor.
+     * @param valores vetor de valores
+     * @return maior valor (zero caso o vetor esteja vazio)
+     */
+    private static double maximo(double[] valores) {
+        double maximo = 0;
+        for (double valor : valores) {
+            maximo = Math.max(maximo, valor);
+        }
+        return maximo;
+    }
+
+    /**
+     * Método para somar os valores de um vetor.
+     * @param valores vetor de valores
+     * @return soma dos valores
+     */
+    private static double soma(double[] valores) {
+        double soma = 0;
+        for (double valor : valores) {
+            soma += valor;
+        }
+        return soma;
+    }
+
+    /**
+     * Classe Area para guardar os limites, em pixels, da região onde as barras são desenhadas.
+     */
+    private static class Area {
+        /**
+         * Posição horizontal do lado esquerdo.
+         */
+        final int esquerda;
+        /**
+         * Posição vertical do topo.
+         */
+        final int topo;
+        /**
+         * Posição horizontal do lado direito.
+         */
+        final int direita;
+        /**
+         * Posição vertical da base (valor zero).
+         */
+        final int base;
+
+        /**
+         * Construtor da classe Area.
+         * @param esquerda posição horizontal do lado esquerdo
+         * @param topo posição vertical do topo
+         * @param direita posição horizontal do lado direito
+         * @param base posição vertical da base
+         */
+        Area(int esquerda, int topo, int direita, int base) {
+            this.esquerda = esquerda;
+            this.topo = topo;
+            this.direita = direita;
+            this.base = base;
+        }
+
+        /**
+         * Método para retornar a largura da área.
+         * @return largura, em pixels
+         */
+        int largura() {
+            return direita - esquerda;
+        }
+
+        /**
+         * Método para converter um valor na posição vertical correspondente.
+         * @param valor valor desejado
+         * @param maximo valor do topo do eixo
+         * @return posição vertical, em pixels
+         */
+        int y(double valor, double maximo) {
+            return base - (int) Math.round((base - topo) * valor / maximo);
+        }
+    }
+
+}
@@ -0,0 +1,1317 @@
+package testes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import EstatisticaFramework.AcompanhadorArquivo;
+import EstatisticaFramework.AgregacaoParalela;
+import EstatisticaFramework.AgregadoParcial;
+import EstatisticaFramework.ColunaNumerica;
+import EstatisticaFramework.ColunaTexto;
+import EstatisticaFramework.DataSet;
+import EstatisticaFramework.DivisaoClasses;
+import EstatisticaFramework.EsbocoKLL;
+import EstatisticaFramework.EsquemaCSV;
+import EstatisticaFramework.EstrategiaClasses;
+import EstatisticaFramework.Estatistica;
+import EstatisticaFramework.EstatisticaFramework;
+import EstatisticaFramework.EstatisticasIncrementais;
+import EstatisticaFramework.Grupo;
+import EstatisticaFramework.MapaZonas;
+import EstatisticaFramework.MatrizCovariancia;
+import EstatisticaFramework.OpcoesCSV;
+import EstatisticaFramework.PerfilColuna;
+import EstatisticaFramework.RenderizadorGrafico;
+import EstatisticaFramework.ResultadoAgrupamento;
+import EstatisticaFramework.ResultadoStream;
+import EstatisticaFramework.Roll;
+import EstatisticaFramework.TabelaFrequencia;
+import EstatisticaFramework.TipoColuna;
+
+public class TesteEstatisticaFramework {
+    
+    private EstatisticaFramework estatisticaFramework;
+    private DataSet dataSet;
+
+    @Before
+    public void setUp() {
+        estatisticaFramework = new EstatisticaFramework();
+        try {
+            dataSet = new DataSet("teste.csv");
+            /* conteúdo do arquivo teste.csv:
+             * 1,2,5
+             * 2,2,5
+             * 3,3,5
+             * 4,3,5
+             * 5,4,5
+             */
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail("ERRO: Não foi possível ler o arquivo do conjunto de dados!");
+        }
+    }
+
+    @Test
+    public void testeCalcularMedia() {
+        List<Double> medias = estatisticaFramework.calcularMedia(dataSet);
+        assertEquals(3.0, medias.get(0), 0.001);
+        assertEquals(2.8, medias.get(1), 0.001);
+        assertEquals(5.0, medias.get(2), 0.001);
+
+        double mediaCol1 = estatisticaFramework.calcularMedia(dataSet, 0);
+        assertEquals(3.0, mediaCol1, 0.001);
+    }
+
+    @Test
+    public void testeCalcularModa() {
+        List<Double> modas = estatisticaFramework.calcularModa(dataSet);
+        assertEquals(1, modas.get(0), 0.001);
+        assertEquals(2, modas.get(1), 0.001);
+        assertEquals(5, modas.get(2), 0.001);
+
+        double modaCol2 = estatisticaFramework.calcularModa(dataSet, 1);
+        assertEquals(2, modaCol2, 0.001);
+    }
+
+    @Test
+    public void testeCalcularMediana() {
+        List<Double> medianas = estatisticaFramework.calcularMediana(dataSet);
+        assertEquals(3.0, medianas.get(0), 0.001);
+        assertEquals(3.0, medianas.get(1), 0.001);
+        assertEquals(5.0, medianas.get(2), 0.001);
+
+        double medianaCol3 = estatisticaFramework.calcularMediana(dataSet, 2);
+        assertEquals(5.0, medianaCol3, 0.001);
+    }
+
+    @Test
+    public void testeCalcularQuantis() {
+        double[] quantis = estatisticaFramework.calcularQuantis(dataSet, 0, 0.0, 0.5, 0.9, 1.0);
+        assertEquals(1.0, quantis[0], 0.001);
+        assertEquals(3.0, quantis[1], 0.001);
+        assertEquals(4.6, quantis[2], 0.001);
+        assertEquals(5.0, quantis[3], 0.001);
+
+        assertEquals(2.0, estatisticaFramework.calcularPercentil(dataSet, 1, 25), 0.001);
+        assertEquals(3.5, estatisticaFramework.calcularPercentil(dataSet, 1, 87.5), 0.001);
+    }
+
+    @Test
+    public void testeCalcularVariancia() {
+        List<Double> variancias = estatisticaFramework.calcularVariancia(dataSet);
+        assertEquals(2.5, variancias.get(0), 0.001);
+        assertEquals(0.7, variancias.get(1), 0.001);
+        assertEquals(0.0, variancias.get(2), 0.001);
+
+        double varianciaCol1 = estatisticaFramework.calcularVariancia(dataSet, 0);
+        assertEquals(2.5, varianciaCol1, 0.001);
+    }
+
+    @Test
+    public void testeCalcularCorrelacao() throws IOException {
+        double[][] covariancias = estatisticaFramework.calcularCovariancia(dataSet);
+        double[][] correlacoes = estatisticaFramework.calcularCorrelacao(dataSet);
+        assertEquals(2.5, covariancias[0][0], 0.001);
+        assertEquals(1.25, covariancias[0][1], 0.001);
+        assertEquals(1.25, covariancias[1][0], 0.001);
+        assertEquals(0.0, covariancias[0][2], 0.001);
+        assertEquals(1.0, correlacoes[0][0], 0.001);
+        assertEquals(1.25 / Math.sqrt(2.5 * 0.7), correlacoes[0][1], 0.001);
+        assertTrue(Double.isNaN(correlacoes[0][2]));
+        assertEquals(9 / Math.sqrt(90), estatisticaFramework.calcularCorrelacaoSpearman(dataSet)[0][1], 0.001);
+
+        // deleção pareada: cada par usa somente as linhas em que as duas colunas possuem valor
+        Random random = new Random(3);
+        StringBuilder conteudo = new StringBuilder();
+        double[][] valores = new double[10000][3];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i][0] = 1e5 + random.nextGaussian();
+            valores[i][1] = i % 3 == 0 ? Double.NaN : valores[i][0] * 2 + random.nextGaussian();
+            valores[i][2] = i % 7 == 0 ? Double.NaN : Math.exp(valores[i][0] - 1e5);
+            for (int j = 0; j < 3; j++) {
+                conteudo.append(Double.isNaN(valores[i][j]) ? "NA" : String.valueOf(valores[i][j])).append(j < 2 ? "," : "\n");
+            }
+        }
+        DataSet ds = new DataSet(criarArquivo(conteudo.toString()));
+        MatrizCovariancia matriz = estatisticaFramework.calcularMatrizCovariancia(ds);
+        for (int a = 0; a < 3; a++) {
+            for (int b = 0; b < 3; b++) {
+                double somaA = 0, somaB = 0;
+                int n = 0;
+                for (double[] linha : valores) {
+                    if (!Double.isNaN(linha[a]) && !Double.isNaN(linha[b])) {
+                        somaA += linha[a];
+                        somaB += linha[b];
+                        n++;
+                    }
+                }
+                double comomento = 0, m2A = 0, m2B = 0;
+                for (double[] linha : valores) {
+                    if (!Double.isNaN(linha[a]) && !Double.isNaN(linha[b])) {
+                        comomento += (linha[a] - somaA / n) * (linha[b] - somaB / n);
+                        m2A += (linha[a] - somaA / n) * (linha[a] - somaA / n);
+                        m2B += (linha[b] - somaB / n) * (linha[b] - somaB / n);
+                    }
+                }
+                assertEquals(n, matriz.getContagem(a, b));
+                assertEquals(comomento / (n - 1), matriz.getCovariancia(a, b), 1e-9);
+                assertEquals(comomento / Math.sqrt(m2A * m2B), matriz.getCorrelacao(a, b), 1e-9);
+            }
+        }
+        double[][] spearman = estatisticaFramework.calcularCorrelacaoSpearman(ds);
+        assertEquals(1.0, spearman[0][2], 1e-12);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EstatisticaFramework paralelo = new EstatisticaFramework();
+            paralelo.setPoolParalelo(pool);
+            ds.limparCache();
+            double[][] correlacoesParalelas = paralelo.calcularCorrelacao(ds);
+            double[][] spearmanParalelo = paralelo.calcularCorrelacaoSpearman(ds);
+            for (int a = 0; a < 3; a++) {
+                for (int b = 0; b < 3; b++) {
+                    assertEquals(matriz.getCorrelacao(a, b), correlacoesParalelas[a][b], 1e-9);
+                    assertEquals(spearman[a][b], spearmanParalelo[a][b], 1e-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testeCalcularDesvioPadrao() {
+        List<Double> desvios = estatisticaFramework.calcularDesvioPadrao(dataSet);
+        assertEquals(Math.sqrt(2.5), desvios.get(0), 0.001);
+        assertEquals(Math.sqrt(0.7), desvios.get(1), 0.001);
+        assertEquals(0.0, desvios.get(2), 0.001);
+
+        double desvioCol2 = estatisticaFramework.calcularDesvioPadrao(dataSet, 1);
+        assertEquals(Math.sqrt(0.7), desvioCol2, 0.001);
+    }
+
+    @Test
+    public void testeCalcularDesvioMedio() {
+        List<Double> desviosMedios = estatisticaFramework.calcularDesvioMedio(dataSet);
+        assertEquals(1.2, desviosMedios.get(0), 0.001);
+        assertEquals(0.64, desviosMedios.get(1), 0.001);
+        assertEquals(0.0, desviosMedios.get(2), 0.001);
+
+        double desvioMedioCol1 = estatisticaFramework.calcularDesvioMedio(dataSet, 0);
+        assertEquals(1.2, desvioMedioCol1, 0.001);
+    }
+
+    @Test
+    public void testeGetMax() {
+        List<Double> maximos = estatisticaFramework.getMax(dataSet);
+        assertEquals(5, maximos.get(0), 0.001);
+        assertEquals(4, maximos.get(1), 0.001);
+        assertEquals(5, maximos.get(2), 0.001);
+
+        double maxCol1 = estatisticaFramework.getMax(dataSet, 0);
+        assertEquals(5, maxCol1, 0.001);
+    }
+
+    @Test
+    public void testeGetMin() {
+        List<Double> minimos = estatisticaFramework.getMin(dataSet);
+        assertEquals(1, minimos.get(0), 0.001);
+        assertEquals(2, minimos.get(1), 0.001);
+        assertEquals(5, minimos.get(2), 0.001);
+
+        double minCol1 = estatisticaFramework.getMin(dataSet, 0);
+        assertEquals(1, minCol1, 0.001);
+    }
+
+    @Test
+    public void testeGerarRoll() {
+        List<Roll> rolls = estatisticaFramework.gerarRoll(dataSet);
+        assertNotNull(rolls);
+        assertEquals(3, rolls.size());
+
+        Roll rollCol1 = estatisticaFramework.gerarRoll(dataSet, 0);
+        assertNotNull(rollCol1);
+    }
+
+    @Test
+    public void testeRollVetores() {
+        // uma classe por valor distinto: as colunas são vetores e os rótulos são montados somente na leitura
+        int classes = 1000000;
+        double[] valores = new double[classes];
+        long[] quantidades = new long[classes];
+        for (int i = 0; i < classes; i++) {
+            valores[i] = i * 0.5;
+            quantidades[i] = 1 + i % 3;
+        }
+        double[] coluna = new double[(int) new TabelaFrequencia(valores, quantidades).getTotal()];
+        Roll roll = new Roll(coluna, new TabelaFrequencia(valores, quantidades));
+        assertEquals(classes, roll.getQuantidadeClasses());
+        assertEquals(classes, roll.getClasses().size());
+        assertEquals("0 ⊢ 1", roll.getClasse(0));
+        assertEquals("0.5 ⊢ 1.5", roll.getClasses().get(1));
+        assertEquals("499999.5 ⊢⊣ 500000.5", roll.getClasse(classes - 1));
+        assertEquals(coluna.length, roll.getFi(classes - 1));
+        assertEquals(coluna.length, roll.getfiFinal());
+        assertEquals(3, roll.getfi().get(2).intValue());
+        assertEquals(6, roll.getFi(2));
+        assertEquals(roll.getFr(classes - 1), roll.getfrFinal(), 0);
+        assertEquals(100.0, roll.getfrFinal(), 1e-6);
+        assertEquals(1.0, roll.getMedias().get(1), 0);
+        assertEquals(roll.getfr(5), roll.getfr().get(5), 0);
+
+        try {
+            roll.getfi().set(0, 10);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // As colunas são visões somente leitura dos vetores.
+        }
+    }
+
+    @Test
+    public void testeGerarGraficoHistograma() {
+        boolean result = estatisticaFramework.gerarGraficoHistograma(dataSet, "histograma");
+        assertTrue(result);
+
+        boolean resultCol2 = estatisticaFramework.gerarGraficoHistograma(dataSet, 1, "histograma_col2");
+        assertTrue(resultCol2);
+    }
+
+    @Test
+    public void testeGerarGraficoSetores() {
+        boolean result = estatisticaFramework.gerarGraficoSetores(dataSet, "setores");
+        assertTrue(result);
+
+        boolean resultCol2 = estatisticaFramework.gerarGraficoSetores(dataSet, 1, "setores_col2");
+        assertTrue(resultCol2);
+    }
+
+    @Test
+    public void testeGerarGraficoPareto() {
+        boolean result = estatisticaFramework.gerarGraficoPareto(dataSet, "pareto");
+        assertTrue(result);
+
+        boolean resultCol2 = estatisticaFramework.gerarGraficoPareto(dataSet, 1, "pareto_col2");
+        assertTrue(resultCol2);
+    }
+
+    @Test
+    public void testeGerarRelatorioParalelo() throws IOException {
+        assertTrue(estatisticaFramework.gerarRelatorio(dataSet, "relatorio_paralelo", 4));
+
+        String primeira = new String(Files.readAllBytes(Paths.get("0relatorio_paralelo.html")), StandardCharsets.UTF_8);
+        String segunda = new String(Files.readAllBytes(Paths.get("1relatorio_paralelo.html")), StandardCharsets.UTF_8);
+        String ultima = new String(Files.readAllBytes(Paths.get((dataSet.getLargura() - 1) + "relatorio_paralelo.html")), StandardCharsets.UTF_8);
+        assertTrue(!primeira.contains("Página anterior") && primeira.contains("href=\"1relatorio_paralelo.html\""));
+        assertTrue(segunda.contains("href=\"0relatorio_paralelo.html\"") && segunda.contains("href=\"2relatorio_paralelo.html\""));
+        assertTrue(ultima.contains("Página anterior") && !ultima.contains("Próxima página"));
+    }
+
+    @Test
+    public void testeRenderizadorGrafico() {
+        RenderizadorGrafico renderizador = new RenderizadorGrafico();
+        String[] rotulos = {"1", "2", "3"};
+        double[] quantidades = {2, 5, 3};
+        for (String tipo : new String[] {"bar", "pie", "pareto"}) {
+            BufferedImage imagem = renderizador.renderizar(tipo, rotulos, quantidades);
+            assertEquals(RenderizadorGrafico.LARGURA_PADRAO, imagem.getWidth());
+            assertEquals(RenderizadorGrafico.ALTURA_PADRAO, imagem.getHeight());
+            assertTrue(imagem.getRGB(imagem.getWidth() / 4, imagem.getHeight() * 3 / 4) != 0xFFFFFFFF);
+        }
+        try {
+            renderizador.renderizar("line", rotulos, quantidades);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Tipo de gráfico desconhecido.
+        }
+    }
+
+    @Test
+    public void testeGerarRelatorio() {
+        boolean result = estatisticaFramework.gerarRelatorio(dataSet, "relatorio");
+        assertTrue(result);
+
+        boolean resultCol2 = estatisticaFramework.gerarRelatorio(dataSet, 1, "relatorio_col2");
+        assertTrue(resultCol2);
+    }
+
+    @Test
+    public void testeRelatorioPorColuna() throws IOException {
+        assertTrue(estatisticaFramework.gerarRelatorio(dataSet, 0, "relatorio_coluna"));
+        assertTrue(estatisticaFramework.gerarRelatorio(dataSet, 1, "relatorio_coluna"));
+        assertTrue(estatisticaFramework.gerarRelatorio(dataSet, 1, "relatorio_coluna"));
+        String primeira = new String(Files.readAllBytes(Paths.get("0relatorio_coluna.html")), StandardCharsets.UTF_8);
+        String segunda = new String(Files.readAllBytes(Paths.get("1relatorio_coluna.html")), StandardCharsets.UTF_8);
+        // a página anterior recebe o link uma única vez, mesmo gerando a página seguinte de novo
+        assertEquals(primeira.indexOf("Próxima página"), primeira.lastIndexOf("Próxima página"));
+        assertTrue(primeira.contains("<a href=\"1relatorio_coluna.html\">Próxima página</a>"));
+        assertTrue(segunda.contains("<a href=\"0relatorio_coluna.html\">Página anterior</a>"));
+        assertTrue(!segunda.contains("Próxima página"));
+
+        // gráficos que não foram gerados fazem o relatório falhar
+        EstatisticaFramework falho = new EstatisticaFramework(new RenderizadorGrafico() {
+            @Override
+            public BufferedImage renderizar(String tipo, String[] rotulos, double[] quantidades) {
+                throw new IllegalStateException("falha simulada");
+            }
+        });
+        assertTrue(!falho.gerarRelatorio(dataSet, 2, "relatorio_falho"));
+    }
+
+    @Test
+    public void testeGetFrequencia() {
+        List<List<Double>> frequencias = estatisticaFramework.getFrequencia(dataSet, 1);
+        assertNotNull(frequencias);
+        assertEquals(2.0, frequencias.get(0).get(1).doubleValue(), 0.001);
+    }
+
+    @Test
+    public void testeCacheDataSet() {
+        TabelaFrequencia frequencia = estatisticaFramework.calcularFrequencia(dataSet, 1);
+        assertTrue(frequencia == estatisticaFramework.calcularFrequencia(dataSet, 1));
+        assertTrue(estatisticaFramework.calcularPerfil(dataSet, 1) == estatisticaFramework.calcularPerfil(dataSet, 1));
+        assertEquals(2.8, estatisticaFramework.calcularMedia(dataSet, 1), 0.001);
+        assertTrue(dataSet.getTamanhoCache() > 0);
+
+        dataSet.setLimiteCache(0);
+        assertEquals(0, dataSet.getTamanhoCache());
+        assertTrue(frequencia != estatisticaFramework.calcularFrequencia(dataSet, 1));
+        assertEquals(2.8, estatisticaFramework.calcularMedia(dataSet, 1), 0.001);
+
+        dataSet.setLimiteCache(1 << 20);
+        estatisticaFramework.calcularFrequencia(dataSet, 1);
+        assertTrue(dataSet.getTamanhoCache() > 0);
+        dataSet.limparCache();
+        assertEquals(0, dataSet.getTamanhoCache());
+    }
+
+    @Test
+    public void testeCalcularFrequencia() {
+        TabelaFrequencia frequencia = estatisticaFramework.calcularFrequencia(dataSet, 1);
+        assertEquals(3, frequencia.getTamanho());
+        assertEquals(5, frequencia.getTotal());
+        assertEquals(2.0, frequencia.getValor(0), 0.001);
+        assertEquals(2, frequencia.getQuantidade(0));
+        assertEquals(4.0, frequencia.getValor(2), 0.001);
+        assertEquals(1, frequencia.getQuantidade(2));
+        assertEquals(2.0, frequencia.getModa(), 0.001);
+    }
+
+    @Test
+    public void testeCalcularPerfil() {
+        List<PerfilColuna> perfis = estatisticaFramework.calcularPerfil(dataSet);
+        assertEquals(3, perfis.size());
+
+        PerfilColuna perfil = estatisticaFramework.calcularPerfil(dataSet, 1);
+        assertEquals(5, perfil.getContagem());
+        assertEquals(2.8, perfil.getMedia(), 0.001);
+        assertEquals(3.0, perfil.getMediana(), 0.001);
+        assertEquals(2.0, perfil.getModa(), 0.001);
+        assertEquals(4.0, perfil.getMax(), 0.001);
+        assertEquals(2.0, perfil.getMin(), 0.001);
+        assertEquals(0.7, perfil.getVariancia(), 0.001);
+        assertEquals(Math.sqrt(0.7), perfil.getDesvioPadrao(), 0.001);
+        assertEquals(0.64, perfil.getDesvioMedio(), 0.001);
+    }
+
+    @Test
+    public void testeDataSetColunar() throws IOException {
+        DataSet ds = new DataSet(criarArquivo("1,a,NA\n2,b,\n3,a,7\n4"));
+        assertEquals(4, ds.getAltura());
+        assertEquals(3, ds.getLargura());
+        assertTrue(ds.getColunaArmazenada(0) instanceof ColunaNumerica);
+        assertTrue(ds.getColunaArmazenada(1) instanceof ColunaTexto);
+        assertEquals(2, ((ColunaTexto) ds.getColunaArmazenada(1)).getCardinalidade());
+
+        ColunaNumerica coluna = ds.getColunaNumerica(2);
+        assertEquals(4, coluna.getTamanho());
+        assertEquals(1, coluna.getContagemValidos());
+        assertEquals(7.0, estatisticaFramework.calcularMedia(ds, 2), 0.001);
+        assertEquals(2.5, estatisticaFramework.calcularMedia(ds, 0), 0.001);
+        assertEquals(0, ds.getColuna(1).size());
+    }
+
+    @Test
+    public void testeReducoesColuna() throws IOException {
+        // 1003 linhas: o final não completa um vetor e as linhas múltiplas de 7 são "NA" na segunda coluna
+        Random random = new Random(42);
+        StringBuilder conteudo = new StringBuilder();
+        double soma = 0, max = -Double.MAX_VALUE, min = Double.MAX_VALUE;
+        int validos = 0;
+        double[] valores = new double[1003];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.round((random.nextDouble() * 2000 - 1000) * 100) / 100.0;
+            boolean valido = i % 7 != 0;
+            conteudo.append(valores[i]).append(',').append(valido ? String.valueOf(valores[i]) : "NA").append('\n');
+            if (valido) {
+                soma += valores[i];
+                max = Math.max(max, valores[i]);
+                min = Math.min(min, valores[i]);
+                validos++;
+            }
+        }
+        DataSet ds = new DataSet(criarArquivo(conteudo.toString()));
+        ColunaNumerica completa = ds.getColunaNumerica(0);
+        ColunaNumerica comNA = ds.getColunaNumerica(1);
+
+        assertEquals(Arrays.stream(valores).sum(), completa.getSoma(), 1e-6);
+        assertEquals(Arrays.stream(valores).max().getAsDouble(), completa.getMax(), 0);
+        assertEquals(Arrays.stream(valores).min().getAsDouble(), completa.getMin(), 0);
+
+        double media = soma / validos;
+        double somaQuadrados = 0, somaAbsolutos = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (i % 7 != 0) {
+                somaQuadrados += (valores[i] - media) * (valores[i] - media);
+                somaAbsolutos += Math.abs(valores[i] - media);
+            }
+        }
+        assertEquals(soma, comNA.getSoma(), 1e-6);
+        assertEquals(max, comNA.getMax(), 0);
+        assertEquals(min, comNA.getMin(), 0);
+        assertEquals(somaQuadrados, comNA.getSomaQuadradosDesvios(media), 1e-3);
+        assertEquals(somaAbsolutos, comNA.getSomaDesviosAbsolutos(media), 1e-6);
+        assertEquals(media, estatisticaFramework.calcularMedia(ds, 1), 1e-9);
+        assertEquals(somaQuadrados / (validos - 1), estatisticaFramework.calcularVariancia(ds, 1), 1e-6);
+        assertEquals(somaAbsolutos / validos, estatisticaFramework.calcularDesvioMedio(ds, 1), 1e-9);
+
+        PerfilColuna perfil = estatisticaFramework.calcularPerfil(ds, 1);
+        assertEquals(validos, perfil.getContagem());
+        assertEquals(media, perfil.getMedia(), 1e-9);
+        assertEquals(max, perfil.getMax(), 0);
+        assertEquals(min, perfil.getMin(), 0);
+        assertEquals(somaQuadrados / (validos - 1), perfil.getVariancia(), 1e-6);
+        assertEquals(somaAbsolutos / validos, perfil.getDesvioMedio(), 1e-9);
+    }
+
+    @Test
+    public void testeAgregacaoParalela() throws IOException {
+        Random random = new Random(7);
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            conteudo.append(1e6 + random.nextGaussian()).append(',')
+                    .append(i % 5 == 0 ? "NA" : String.valueOf(random.nextInt(100))).append(",a\n");
+        }
+        DataSet ds = new DataSet(criarArquivo(conteudo.toString()));
+        List<Double> medias = estatisticaFramework.calcularMedia(ds);
+        List<Double> variancias = estatisticaFramework.calcularVariancia(ds);
+        List<Double> maximos = estatisticaFramework.getMax(ds);
+        List<Double> minimos = estatisticaFramework.getMin(ds);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EstatisticaFramework paralelo = new EstatisticaFramework();
+            paralelo.setPoolParalelo(pool);
+            ds.limparCache();
+            for (int i = 0; i < 2; i++) {
+                assertEquals(medias.get(i), paralelo.calcularMedia(ds).get(i), Math.abs(medias.get(i)) * 1e-9);
+                assertEquals(variancias.get(i), paralelo.calcularVariancia(ds).get(i), variancias.get(i) * 1e-9);
+                assertEquals(maximos.get(i), paralelo.getMax(ds).get(i), 0);
+                assertEquals(minimos.get(i), paralelo.getMin(ds).get(i), 0);
+            }
+            assertTrue(Double.isNaN(paralelo.calcularMedia(ds).get(2)));
+
+            // blocos pequenos: várias divisões, com bordas que não são múltiplas do tamanho do vetor
+            ColunaNumerica coluna = ds.getColunaNumerica(1);
+            AgregadoParcial total = new AgregacaoParalela(pool, 128).agregar(coluna);
+            assertEquals(coluna.getContagemValidos(), total.getContagem());
+            assertEquals(variancias.get(1), total.getVariancia(), variancias.get(1) * 1e-9);
+
+            AgregadoParcial combinado = coluna.agregar(0, 777).combinar(coluna.agregar(777, 12345)).combinar(coluna.agregar(12345, 20000));
+            assertEquals(coluna.getContagemValidos(0, 777) + coluna.getContagemValidos(777, 20000), combinado.getContagem());
+            assertEquals(total.getMedia(), combinado.getMedia(), 1e-9);
+            assertEquals(total.getVariancia(), combinado.getVariancia(), total.getVariancia() * 1e-9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testeAgrupar() throws IOException {
+        // 6 categorias (uma delas "NA") x 200 valores numéricos de chave: 1200 grupos com cerca de 33 linhas cada
+        Random random = new Random(11);
+        String[] categorias = {"norte", "sul", "leste", "oeste", "centro"};
+        Map<List<String>, List<Double>> referencia = new HashMap<>();
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            int categoria = random.nextInt(categorias.length + 1);
+            String textoCategoria = categoria == categorias.length ? "NA" : categorias[categoria];
+            String textoCodigo = String.valueOf(random.nextInt(200));
+            boolean valido = random.nextInt(10) != 0;
+            double valor = Math.round(random.nextGaussian() * 1000) / 10.0;
+            conteudo.append(textoCategoria).append(',').append(textoCodigo).append(',').append(valido ? String.valueOf(valor) : "NA").append('\n');
+            List<Double> valores = referencia.computeIfAbsent(Arrays.asList(textoCategoria, textoCodigo), chave -> new ArrayList<>());
+            if (valido) {
+                valores.add(valor);
+            }
+        }
+        DataSet ds = new DataSet(criarArquivo(conteudo.toString()));
+        int[] chaves = {0, 1};
+        int[] valores = {2};
+
+        ResultadoAgrupamento emMemoria = estatisticaFramework.agrupar(ds, chaves, valores);
+        assertEquals(0, emMemoria.getLinhasDerramadas());
+        ResultadoAgrupamento derramado = estatisticaFramework.agrupar(ds, chaves, valores, 20000);
+        assertTrue(derramado.getLinhasDerramadas() > 0);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ResultadoAgrupamento paralelo;
+        try {
+            EstatisticaFramework framework = new EstatisticaFramework();
+            framework.setPoolParalelo(pool);
+            paralelo = framework.agrupar(ds, chaves, valores, 200000);
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(paralelo.getLinhasDerramadas() > 0);
+
+        for (ResultadoAgrupamento resultado : new ResultadoAgrupamento[] {emMemoria, derramado, paralelo}) {
+            assertEquals(referencia.size(), resultado.getQuantidadeGrupos());
+            long linhas = 0;
+            for (Grupo grupo : resultado.getGrupos()) {
+                List<Double> esperados = referencia.get(grupo.getChaves());
+                assertNotNull(esperados);
+                linhas += grupo.getQuantidade();
+                assertEquals(esperados.size(), grupo.getContagem(0));
+                double soma = 0;
+                for (double valor : esperados) {
+                    soma += valor;
+                }
+                double media = soma / esperados.size();
+                double m2 = 0;
+                for (double valor : esperados) {
+                    m2 += (valor - media) * (valor - media);
+                }
+                Collections.sort(esperados);
+                int meio = esperados.size() / 2;
+                double mediana = esperados.size() % 2 == 1 ? esperados.get(meio) : (esperados.get(meio - 1) + esperados.get(meio)) / 2;
+                assertEquals(media, grupo.getMedia(0), 1e-9);
+                assertEquals(m2 / (esperados.size() - 1), grupo.getVariancia(0), 1e-6);
+                assertEquals(mediana, grupo.getMediana(0), 1e-9);
+            }
+            assertEquals(40000, linhas);
+            assertEquals(Arrays.asList("NA", "199"), resultado.getGrupos().get(resultado.getQuantidadeGrupos() - 1).getChaves());
+        }
+    }
+
+    @Test
+    public void testeArquivoColunar() throws IOException {
+        // 70000 linhas: mais de um bloco de estatísticas, textos com acentos e "NA" nas duas colunas
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            conteudo.append(i % 11 == 0 ? "NA" : String.valueOf(i * 0.25)).append(',')
+                    .append(i % 13 == 0 ? "NA" : "categoria" + (i % 5) + (i % 2 == 0 ? "ç" : "")).append('\n');
+        }
+        DataSet original = new DataSet(criarArquivo(conteudo.toString()));
+        File arquivo = File.createTempFile("teste", ".colunar");
+        arquivo.deleteOnExit();
+        original.salvar(arquivo.getPath());
+
+        DataSet aberto = DataSet.abrir(arquivo.getPath());
+        assertEquals(original.getAltura(), aberto.getAltura());
+        assertEquals(original.getLargura(), aberto.getLargura());
+        assertEquals(original.getDados(), aberto.getDados());
+        assertTrue(aberto.getColunaArmazenada(1) instanceof ColunaTexto);
+        assertEquals(((ColunaTexto) original.getColunaArmazenada(1)).getDicionario(), ((ColunaTexto) aberto.getColunaArmazenada(1)).getDicionario());
+        assertEquals(original.getColunaNumerica(0).getContagemValidos(), aberto.getColunaNumerica(0).getContagemValidos());
+        assertEquals(estatisticaFramework.calcularMedia(original, 0), estatisticaFramework.calcularMedia(aberto, 0), 0.0);
+
+        DataSet pequeno = new DataSet("teste.csv");
+        pequeno.salvar(arquivo.getPath(), false);
+        assertEquals(pequeno.getDados(), DataSet.abrir(arquivo.getPath()).getDados());
+
+        Files.write(arquivo.toPath(), "1,2,3\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            DataSet.abrir(arquivo.getPath());
+            fail();
+        } catch (IOException e) {
+            // O arquivo não começa com o número mágico.
+        }
+    }
+
+    @Test
+    public void testeMapaZonas() throws IOException {
+        // valores crescentes com ruído: a faixa cobre alguns blocos inteiros e cruza só os blocos das pontas
+        Random random = new Random(5);
+        int linhas = 300000;
+        double[] valores = new double[linhas];
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < linhas; i++) {
+            valores[i] = i % 17 == 0 ? Double.NaN : i + random.nextDouble();
+            conteudo.append(Double.isNaN(valores[i]) ? "NA" : String.valueOf(valores[i])).append('\n');
+        }
+        DataSet ds = new DataSet(criarArquivo(conteudo.toString()));
+        ColunaNumerica coluna = ds.getColunaNumerica(0);
+        MapaZonas zonas = coluna.getMapaZonas();
+        assertEquals((linhas + MapaZonas.TAMANHO_BLOCO_PADRAO - 1) / MapaZonas.TAMANHO_BLOCO_PADRAO, zonas.getQuantidadeBlocos());
+        long contagemNA = 0;
+        for (int bloco = 0; bloco < zonas.getQuantidadeBlocos(); bloco++) {
+            contagemNA += zonas.getContagemNA(bloco);
+        }
+        assertEquals(linhas - coluna.getContagemValidos(), contagemNA);
+        assertEquals(coluna.getContagemValidos(), zonas.agregar().getContagem());
+        assertEquals(coluna.getMax(), Arrays.stream(valores).filter(v -> !Double.isNaN(v)).max().getAsDouble(), 0);
+        assertEquals(coluna.getMin(), Arrays.stream(valores).filter(v -> !Double.isNaN(v)).min().getAsDouble(), 0);
+
+        double[][] faixas = {{70000.5, 250000.5}, {-10, 1e9}, {5, 4}, {123456, 123457}};
+        for (double[] faixa : faixas) {
+            AgregadoParcial esperado = new AgregadoParcial();
+            for (double valor : valores) {
+                if (valor >= faixa[0] && valor <= faixa[1]) {
+                    esperado.adicionar(valor);
+                }
+            }
+            AgregadoParcial filtrado = estatisticaFramework.calcularAgregadoEntre(ds, 0, faixa[0], faixa[1]);
+            assertEquals(esperado.getContagem(), filtrado.getContagem());
+            assertEquals(esperado.getSoma(), filtrado.getSoma(), Math.abs(esperado.getSoma()) * 1e-12);
+            assertEquals(esperado.getVariancia(), filtrado.getVariancia(), Math.abs(esperado.getVariancia()) * 1e-9);
+            assertEquals(esperado.getMax(), filtrado.getMax(), 0);
+            assertEquals(esperado.getMin(), filtrado.getMin(), 0);
+        }
+        assertEquals(2, zonas.contarBlocosParciais(70000.5, 250000.5));
+        assertEquals(0, zonas.contarBlocosParciais(-10, 1e9));
+
+        AgregadoParcial intervalo = coluna.agregar(1000, 200000);
+        AgregadoParcial varrido = new AgregadoParcial();
+        for (int i = 1000; i < 200000; i++) {
+            if (!Double.isNaN(valores[i])) {
+                varrido.adicionar(valores[i]);
+            }
+        }
+        assertEquals(varrido.getContagem(), intervalo.getContagem());
+        assertEquals(varrido.getMedia(), intervalo.getMedia(), 1e-6);
+        assertEquals(varrido.getVariancia(), intervalo.getVariancia(), varrido.getVariancia() * 1e-9);
+
+        // o mapa de zonas gravado no arquivo colunar é reaproveitado na abertura
+        File arquivo = File.createTempFile("teste", ".colunar");
+        arquivo.deleteOnExit();
+        ds.salvar(arquivo.getPath());
+        MapaZonas aberto = DataSet.abrir(arquivo.getPath()).getColunaNumerica(0).getMapaZonas();
+        for (int bloco = 0; bloco < zonas.getQuantidadeBlocos(); bloco++) {
+            assertEquals(zonas.getContagem(bloco), aberto.getContagem(bloco));
+            assertEquals(zonas.getSoma(bloco), aberto.getSoma(bloco), 0);
+            assertEquals(zonas.getMax(bloco), aberto.getMax(bloco), 0);
+        }
+    }
+
+    @Test
+    public void testeAdicionarLinhas() {
+        EstatisticasIncrementais estatisticas = dataSet.acompanharColuna(0);
+        assertEquals(3.0, estatisticaFramework.calcularMedia(dataSet, 0), 0);
+        assertEquals(5, estatisticas.getContagem());
+
+        dataSet.adicionarLinha(6, 7, 8);
+        dataSet.adicionarLinhas("7,NA,x\n3,3,5,9\n");
+        assertEquals(8, dataSet.getAltura());
+        assertEquals(4, dataSet.getLargura());
+        assertEquals(Arrays.asList(9.0), dataSet.getColuna(3));
+        assertEquals("NA", dataSet.getDados().get(0).get(3));
+        assertEquals("NA", dataSet.getDados().get(6).get(2));
+
+        // os resultados guardados no cache são recalculados e as estatísticas incrementais já estão atualizadas
+        double[] valores = {1, 2, 3, 4, 5, 6, 7, 3};
+        double media = Arrays.stream(valores).average().getAsDouble();
+        assertEquals(media, estatisticaFramework.calcularMedia(dataSet, 0), 1e-12);
+        assertEquals(media, estatisticas.getMedia(), 1e-12);
+        assertEquals(estatisticaFramework.calcularVariancia(dataSet, 0), estatisticas.getVariancia(), 1e-12);
+        assertEquals(8, estatisticas.getContagem());
+        assertEquals(0, estatisticas.getContagemNA());
+        assertEquals(7, estatisticas.getMax(), 0);
+        assertEquals(1, estatisticas.getMin(), 0);
+        assertEquals(3, estatisticas.getModa(), 0);
+        assertEquals(2, estatisticas.getQuantidade(3));
+        assertEquals(estatisticaFramework.calcularModa(dataSet, 0), estatisticas.getModa(), 0);
+        assertEquals(estatisticaFramework.gerarRollPorValor(dataSet, 0).getfi(), estatisticas.gerarRoll().getfi());
+        assertEquals(estatisticaFramework.getMax(dataSet, 0), dataSet.getColunaNumerica(0).getMapaZonas().getMax(), 0);
+
+        // texto em coluna numérica vira "NA"
+        EstatisticasIncrementais coluna2 = dataSet.acompanharColuna(2);
+        assertEquals(1, coluna2.getContagemNA());
+        dataSet.adicionarLinhas("1,1,texto");
+        assertEquals(2, coluna2.getContagemNA());
+        assertEquals(7, coluna2.getContagem());
+        dataSet.adicionarLinhas("1,1,5");
+        assertEquals(8, coluna2.getContagem());
+        assertEquals(5, coluna2.getModa(), 0);
+
+        try {
+            dataSet.acompanharColuna(10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A coluna não existe.
+        }
+    }
+
+    @Test
+    public void testeAtualizacaoIncremental() throws IOException {
+        DataSet ds = new DataSet(criarArquivo("0,NA\n"));
+        EstatisticasIncrementais estatisticas = ds.acompanharColuna(0);
+        EstatisticasIncrementais vazia = ds.acompanharColuna(1);
+        ColunaNumerica inicial = ds.getColunaNumerica(0);
+        MapaZonas zonas = ((ColunaNumerica) ds.getColunaArmazenada(0)).getMapaZonas();
+
+        // as linhas novas atualizam o último bloco do mapa de zonas e abrem blocos novos, sem descartar o mapa
+        StringBuilder conteudo = new StringBuilder("0,NA\n");
+        StringBuilder novas = new StringBuilder();
+        int linhas = MapaZonas.TAMANHO_BLOCO_PADRAO + 100;
+        for (int i = 1; i < linhas; i++) {
+            novas.append(i % 7 == 0 ? "NA" : String.valueOf(i % 50)).append(",NA\n");
+            if (i % 40000 == 0 || i == linhas - 1) {
+                ds.adicionarLinhas(novas.toString());
+                conteudo.append(novas);
+                novas.setLength(0);
+            }
+        }
+        assertSame(zonas, ((ColunaNumerica) ds.getColunaArmazenada(0)).getMapaZonas());
+
+        // o instantâneo obtido antes das linhas novas mantém a quantidade de linhas e o mapa de zonas daquele momento
+        assertEquals(1, inicial.getTamanho());
+        assertEquals(1, inicial.getMapaZonas().getQuantidadeBlocos());
+        assertEquals(1, inicial.getMapaZonas().agregar().getContagem());
+        assertEquals(linhas, ds.getColunaNumerica(0).getTamanho());
+        MapaZonas recalculado = new DataSet(criarArquivo(conteudo.toString())).getColunaNumerica(0).getMapaZonas();
+        assertEquals(recalculado.getQuantidadeBlocos(), zonas.getQuantidadeBlocos());
+        for (int bloco = 0; bloco < zonas.getQuantidadeBlocos(); bloco++) {
+            assertEquals(recalculado.getContagem(bloco), zonas.getContagem(bloco));
+            assertEquals(recalculado.getContagemNA(bloco), zonas.getContagemNA(bloco));
+            assertEquals(recalculado.getSoma(bloco), zonas.getSoma(bloco), 0);
+            assertEquals(recalculado.getAgregado(bloco).getM2(), zonas.getAgregado(bloco).getM2(), 1e-6);
+            assertEquals(recalculado.getMin(bloco), zonas.getMin(bloco), 0);
+            assertEquals(recalculado.getMax(bloco), zonas.getMax(bloco), 0);
+        }
+        assertEquals(ds.getColunaNumerica(0).getSoma(), estatisticas.getSoma(), 0);
+
+        // o Roll das estatísticas incrementais é igual ao Roll calculado sobre a coluna
+        Roll roll = estatisticaFramework.gerarRollPorValor(ds, 0);
+        Roll incremental = estatisticas.gerarRoll();
+        assertSame(incremental, estatisticas.gerarRoll());
+        assertEquals(roll.getfi(), incremental.getfi());
+        assertEquals(roll.getFi(), incremental.getFi());
+        assertEquals(roll.getfr(), incremental.getfr());
+        assertEquals(roll.getColuna(), incremental.getColuna());
+        assertEquals(50, estatisticas.getQuantidadeClasses());
+        assertEquals((long) roll.getfi().get(3), estatisticas.getfi(3));
+        assertEquals((long) roll.getFi().get(20), estatisticas.getFi(20));
+
+        // um valor menor que todos abre a primeira classe
+        ds.adicionarLinhas("-1,NA\n");
+        assertEquals(51, estatisticas.getQuantidadeClasses());
+        assertEquals(1, estatisticas.getfi(0));
+        assertEquals(estatisticas.getContagem(), estatisticas.getFi(50));
+        assertEquals(estatisticaFramework.gerarRollPorValor(ds, 0).getFi(), estatisticas.gerarRoll().getFi());
+
+        // valores contínuos (todos distintos) adicionados um a um só são ordenados quando o Roll é lido
+        DataSet continuo = new DataSet(criarArquivo("0.5\n"));
+        EstatisticasIncrementais distintas = continuo.acompanharColuna(0);
+        for (int i = 1; i <= 20000; i++) {
+            continuo.adicionarLinha(((i * 7919L) % 20011) + 0.5);
+        }
+        assertEquals(20001, distintas.getQuantidadeClasses());
+        Roll rollContinuo = distintas.gerarRoll();
+        assertEquals(20001, rollContinuo.getQuantidadeClasses());
+        assertEquals(20001, distintas.getFi(20000));
+        assertEquals(estatisticaFramework.gerarRollPorValor(continuo, 0).getfi(), rollContinuo.getfi());
+
+        // a coluna sem números que recebe um texto deixa de ser numérica e o acompanhamento é desanexado
+        assertFalse(vazia.isDesanexada());
+        ds.adicionarLinhas("1,texto\n");
+        assertTrue(vazia.isDesanexada());
+        try {
+            ds.acompanharColuna(1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A coluna não é mais numérica.
+        }
+    }
+
+    @Test
+    public void testeLeituraConcorrente() throws IOException, InterruptedException {
+        DataSet ds = new DataSet(criarArquivo("1,2\n"));
+        EstatisticasIncrementais estatisticas = ds.acompanharColuna(0);
+        int lotes = 200;
+        Thread escritor = new Thread(() -> {
+            StringBuilder linhas = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                linhas.append("1,").append(i % 10).append('\n');
+            }
+            for (int lote = 0; lote < lotes; lote++) {
+                ds.adicionarLinhas(linhas.toString());
+            }
+        });
+        escritor.start();
+
+        // as leituras feitas enquanto as linhas são adicionadas sempre veem linhas inteiras
+        int altura = 0;
+        while (escritor.isAlive()) {
+            assertEquals(1, estatisticaFramework.calcularMedia(ds, 0), 0);
+            assertEquals(1, estatisticaFramework.getMax(ds, 0), 0);
+            assertEquals(1, estatisticaFramework.calcularAgregadoEntre(ds, 0, 0, 2).getMedia(), 0);
+            assertEquals(1, estatisticas.getMedia(), 0);
+            Roll roll = estatisticaFramework.gerarRoll(ds, 1);
+            assertEquals(roll.getColuna().size(), (int) roll.getFi().get(roll.getFi().size() - 1));
+            assertTrue(ds.getAltura() >= altura);
+            altura = ds.getAltura();
+        }
+        escritor.join();
+        assertEquals(1 + lotes * 500, ds.getAltura());
+        assertEquals(1 + lotes * 500, estatisticas.getContagem());
+        assertEquals(1 + lotes * 500, estatisticas.gerarRoll().getColuna().size());
+    }
+
+    @Test
+    public void testeRotacaoPorCopia() throws IOException {
+        String arquivo = criarArquivo("1,a\n2,b\n");
+        try (AcompanhadorArquivo acompanhador = AcompanhadorArquivo.abrir(arquivo)) {
+            DataSet ds = acompanhador.getDataSet();
+            EstatisticasIncrementais estatisticas = ds.acompanharColuna(0);
+
+            // cópia e truncamento: entre as verificações o arquivo é esvaziado e volta a crescer além da posição já lida
+            Files.write(Paths.get(arquivo), "3,c\n4,d\n5,e\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(3, acompanhador.verificar());
+            assertEquals(1, acompanhador.getRotacoes());
+            assertEquals(5, ds.getAltura());
+            assertEquals("c", ds.getDados().get(2).get(1));
+            assertEquals(15, estatisticas.getSoma(), 0);
+
+            // linhas acrescentadas depois não são confundidas com uma rotação
+            Files.write(Paths.get(arquivo), "6,f\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            assertEquals(1, acompanhador.verificar());
+            assertEquals(0, acompanhador.verificar());
+            assertEquals(1, acompanhador.getRotacoes());
+            assertEquals(6, ds.getAltura());
+        }
+    }
+
+    @Test
+    public void testeAcompanharArquivo() throws IOException, InterruptedException {
+        // a última linha ainda está incompleta: só entra no DataSet quando terminar
+        String arquivo = criarArquivo("1,a\n2,b\n3,");
+        try (AcompanhadorArquivo acompanhador = AcompanhadorArquivo.abrir(arquivo)) {
+            DataSet ds = acompanhador.getDataSet();
+            assertEquals(2, ds.getAltura());
+            EstatisticasIncrementais estatisticas = ds.acompanharColuna(0);
+            assertEquals(0, acompanhador.verificar());
+
+            Files.write(Paths.get(arquivo), "c\n4,d\n5".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            assertEquals(2, acompanhador.verificar());
+            assertEquals(4, ds.getAltura());
+            assertEquals("c", ds.getDados().get(2).get(1));
+            assertEquals(2.5, estatisticas.getMedia(), 1e-12);
+            assertEquals(2.5, estatisticaFramework.calcularMedia(ds, 0), 1e-12);
+
+            // rotação: o arquivo é renomeado e um novo é criado; a linha incompleta do antigo é adicionada
+            File antigo = new File(arquivo + ".1");
+            antigo.deleteOnExit();
+            assertTrue(new File(arquivo).renameTo(antigo));
+            Files.write(Paths.get(arquivo), "10,e\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(2, acompanhador.verificar());
+            assertEquals(1, acompanhador.getRotacoes());
+            assertEquals(6, ds.getAltura());
+            assertEquals(6, estatisticas.getContagem());
+            assertEquals(10, estatisticas.getMax(), 0);
+
+            // truncamento: o arquivo é lido novamente desde o início
+            Files.write(Paths.get(arquivo), "7\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(1, acompanhador.verificar());
+            assertEquals(2, acompanhador.getRotacoes());
+            assertEquals(7, estatisticas.getContagem());
+
+            // thread própria: as linhas novas chegam sem chamar verificar
+            acompanhador.iniciar(20);
+            Files.write(Paths.get(arquivo), "8,f\n9,g\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            long limite = System.currentTimeMillis() + 10000;
+            while (System.currentTimeMillis() < limite) {
+                synchronized (ds) {
+                    if (ds.getAltura() == 9) {
+                        break;
+                    }
+                }
+                Thread.sleep(10);
+            }
+            synchronized (ds) {
+                assertEquals(9, ds.getAltura());
+                assertEquals(9, estatisticas.getContagem());
+            }
+        }
+    }
+
+    @Test
+    public void testeProjecaoColunas() throws IOException {
+        Random random = new Random(13);
+        StringBuilder conteudo = new StringBuilder("id,nome,x,y,z\n");
+        for (int i = 0; i < 5000; i++) {
+            conteudo.append(i).append(",\"n,").append(i % 7).append("\",").append(random.nextGaussian()).append(',')
+                .append(i % 3 == 0 ? "NA" : String.valueOf(random.nextInt(100)));
+            if (i % 10 != 0) {
+                conteudo.append(',').append(i * 0.5);
+            }
+            conteudo.append('\n');
+        }
+        String arquivo = criarArquivo(conteudo.toString());
+        DataSet completo = new DataSet(arquivo);
+
+        DataSet porNumero = new DataSet(arquivo, new OpcoesCSV().setColunas(4, 2));
+        assertEquals(2, porNumero.getLargura());
+        assertEquals(completo.getAltura(), porNumero.getAltura());
+        assertEquals(completo.getColuna(4), porNumero.getColuna(0));
+        assertEquals(completo.getColuna(2), porNumero.getColuna(1));
+        assertEquals(completo.getColunaNumerica(4).getContagemValidos(), porNumero.getColunaNumerica(0).getContagemValidos());
+
+        // por nome: o cabeçalho não entra no DataSet (nem na leitura completa, que detecta o cabeçalho)
+        DataSet porNome = new DataSet(arquivo, new OpcoesCSV().setColunas("z", "nome", "x").setParalelismo(4).setTamanhoSegmento(4096));
+        assertEquals(3, porNome.getLargura());
+        assertEquals(completo.getAltura(), porNome.getAltura());
+        assertEquals(completo.getColuna(4), porNome.getColuna(0));
+        assertEquals("n,3", porNome.getDados().get(3).get(1));
+        assertEquals(completo.getColuna(2), porNome.getColuna(2));
+
+        // linhas adicionadas depois da leitura também são projetadas
+        porNome.adicionarLinhas("9999,\"n,8\",1.5,77,4999.5");
+        assertEquals(4999.5, porNome.getColunaNumerica(0).getValor(porNome.getAltura() - 1), 0);
+        assertEquals("n,8", porNome.getDados().get(porNome.getAltura() - 1).get(1));
+        assertEquals(1.5, porNome.getColunaNumerica(2).getValor(porNome.getAltura() - 1), 0);
+
+        try {
+            new DataSet(arquivo, new OpcoesCSV().setColunas("x", "inexistente"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A coluna não existe no cabeçalho.
+        }
+        try {
+            new OpcoesCSV().setColunas(1, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A coluna foi escolhida duas vezes.
+        }
+    }
+
+    @Test
+    public void testeEsquemaCabecalho() throws IOException {
+        StringBuilder conteudo = new StringBuilder("id,grande,valor,ativo,data,cidade\n");
+        for (int i = 0; i < 30; i++) {
+            conteudo.append(i).append(',').append(3000000000L + i).append(',').append(i * 0.5).append(',')
+                    .append(i % 2 == 0 ? "sim" : "false").append(",2024-01-").append(String.format("%02d", i + 1))
+                    .append(",cidade").append(i % 3).append('\n');
+        }
+        String arquivo = criarArquivo(conteudo.toString());
+        EsquemaCSV esquema = EsquemaCSV.inferir(arquivo);
+        assertTrue(esquema.isCabecalho());
+        assertEquals(6, esquema.getQuantidadeColunas());
+        assertEquals(TipoColuna.DATA, esquema.getTipo(4));
+
+        DataSet ds = new DataSet(arquivo);
+        assertTrue(ds.isCabecalho());
+        assertEquals(30, ds.getAltura());
+        assertEquals(Arrays.asList("id", "grande", "valor", "ativo", "data", "cidade"), ds.getNomesColunas());
+        assertEquals(Arrays.asList(TipoColuna.INTEIRO, TipoColuna.LONGO, TipoColuna.DECIMAL, TipoColuna.BOOLEANO, TipoColuna.DATA, TipoColuna.CATEGORICO),
+                Arrays.asList(ds.getTipoColuna(0), ds.getTipoColuna(1), ds.getTipoColuna(2), ds.getTipoColuna(3), ds.getTipoColuna(4), ds.getTipoColuna(5)));
+        assertEquals(LocalDate.of(2024, 1, 1).toEpochDay(), ds.getColunaNumerica(4).getValor(0), 0);
+        assertEquals(1.0, ds.getColunaNumerica(3).getValor(0), 0);
+        assertEquals("3000000000", ds.getDados().get(0).get(1));
+        assertEquals("false", ds.getDados().get(1).get(3));
+        assertEquals("2024-01-02", ds.getDados().get(1).get(4));
+        assertEquals("cidade2", ds.getDados().get(2).get(5));
+
+        // métodos do framework com o nome da coluna
+        assertEquals(14.5, estatisticaFramework.calcularMedia(ds, "id"), 0.0);
+        assertEquals(0.5, estatisticaFramework.calcularMedia(ds, "ativo"), 0.0);
+        assertEquals(3000000029.0, estatisticaFramework.getMax(ds, "grande"), 0.0);
+        assertEquals(estatisticaFramework.calcularMediana(ds, 2), estatisticaFramework.calcularMediana(ds, "valor"), 0.0);
+        assertEquals(3, estatisticaFramework.agrupar(ds, new String[] {"cidade"}, new String[] {"valor"}).getQuantidadeGrupos());
+        ResultadoStream resultado = estatisticaFramework.calcularStream(arquivo, new String[] {"valor", "id"}, Estatistica.MEDIA, Estatistica.MAX);
+        assertEquals(30, resultado.getLinhas());
+        assertEquals(14.5, resultado.getValor(0, Estatistica.MAX), 0.0);
+        assertEquals(14.5, resultado.getValor(1, Estatistica.MEDIA), 0.0);
+
+        // sem cabeçalho detectado (teste.csv) ou com o cabeçalho desligado nas opções
+        assertTrue(!dataSet.isCabecalho());
+        assertTrue(dataSet.getNomesColunas().isEmpty());
+        assertEquals(TipoColuna.INTEIRO, dataSet.getTipoColuna(0));
+        DataSet semCabecalho = new DataSet(arquivo, new OpcoesCSV().setCabecalho(false));
+        assertEquals(31, semCabecalho.getAltura());
+        assertEquals(30, semCabecalho.getColunaNumerica(0).getContagemValidos());
+        assertEquals("cidade", semCabecalho.getDados().get(0).get(5));
+
+        // tipos ampliados depois da amostra e célula inválida em coluna numérica
+        DataSet amostra = new DataSet(criarArquivo("a,b,c\n1,1,1\n2,2,2\n3,3000000000,x\n4,2.5,3\n"), new OpcoesCSV().setAmostraEsquema(2));
+        assertEquals(TipoColuna.INTEIRO, amostra.getTipoColuna(0));
+        assertEquals(TipoColuna.DECIMAL, amostra.getTipoColuna(1));
+        assertEquals(TipoColuna.INTEIRO, amostra.getTipoColuna(2));
+        assertEquals(3, amostra.getColunaNumerica(2).getContagemValidos());
+        assertEquals("NA", amostra.getDados().get(2).get(2));
+
+        // o arquivo colunar guarda os nomes e os tipos
+        File colunar = File.createTempFile("teste", ".colunar");
+        colunar.deleteOnExit();
+        ds.salvar(colunar.getPath());
+        DataSet aberto = DataSet.abrir(colunar.getPath());
+        assertEquals(ds.getNomesColunas(), aberto.getNomesColunas());
+        for (int i = 0; i < ds.getLargura(); i++) {
+            assertEquals(ds.getTipoColuna(i), aberto.getTipoColuna(i));
+        }
+        assertEquals(ds.getDados(), aberto.getDados());
+        assertEquals(14.5, estatisticaFramework.calcularMedia(aberto, "id"), 0.0);
+
+        try {
+            estatisticaFramework.calcularMedia(ds, "inexistente");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A coluna não existe no cabeçalho.
+        }
+    }
+
+    @Test
+    public void testeDivisaoClasses() throws IOException {
+        // teste.csv, coluna 0: 1, 2, 3, 4, 5 -> Sturges: 4 classes de largura 1
+        Roll sturges = estatisticaFramework.gerarRoll(dataSet, 0, EstrategiaClasses.STURGES);
+        assertEquals(Arrays.asList("1 ⊢ 2", "2 ⊢ 3", "3 ⊢ 4", "4 ⊢⊣ 5"), sturges.getClasses());
+        assertEquals(Arrays.asList(1, 1, 1, 2), sturges.getfi());
+        assertEquals(Arrays.asList(1, 2, 3, 5), sturges.getFi());
+        assertEquals(Arrays.asList(1.5, 2.5, 3.5, 4.5), sturges.getMedias());
+        assertEquals(5, sturges.getfiFinal());
+        assertEquals(100.0, sturges.getfrFinal(), 1e-9);
+
+        // largura fixa 1 repete as classes originais para valores inteiros
+        Roll fixa = estatisticaFramework.gerarRoll(dataSet, 0, EstrategiaClasses.LARGURA_FIXA);
+        assertEquals(estatisticaFramework.gerarRollPorValor(dataSet, 0).getClasses(), fixa.getClasses());
+        assertEquals(estatisticaFramework.gerarRollPorValor(dataSet, 0).getfi(), fixa.getfi());
+
+        // a tabela Roll padrão (e o relatório e os gráficos) utiliza a estratégia definida no framework, Sturges por padrão
+        assertEquals(sturges.getClasses(), estatisticaFramework.gerarRoll(dataSet, 0).getClasses());
+        Random continua = new Random(5);
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            conteudo.append(continua.nextDouble() * 100).append('\n');
+        }
+        DataSet dsContinuo = new DataSet(criarArquivo(conteudo.toString()));
+        assertEquals(DivisaoClasses.classesSturges(10000), estatisticaFramework.gerarRoll(dsContinuo, 0).getQuantidadeClasses());
+        assertEquals(10000, estatisticaFramework.gerarRollPorValor(dsContinuo, 0).getQuantidadeClasses());
+        EstatisticaFramework porQuantis = new EstatisticaFramework();
+        porQuantis.setEstrategiaClasses(EstrategiaClasses.QUANTIS);
+        assertEquals(EstrategiaClasses.QUANTIS, porQuantis.gerarRoll(dsContinuo, 0).getDivisaoClasses().getEstrategia());
+        try {
+            porQuantis.setEstrategiaClasses(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A estratégia é obrigatória.
+        }
+
+        // coluna constante: uma única classe
+        Roll constante = estatisticaFramework.gerarRoll(dataSet, 2, EstrategiaClasses.FREEDMAN_DIACONIS);
+        assertEquals(Arrays.asList("5 ⊢⊣ 6"), constante.getClasses());
+
+        Random random = new Random(11);
+        double[] valores = new double[100000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = i % 1000 == 0 ? Double.NaN : random.nextGaussian() * 10;
+        }
+        for (EstrategiaClasses estrategia : EstrategiaClasses.values()) {
+            DivisaoClasses divisao = DivisaoClasses.calcular(valores, estrategia);
+            long[] esperado = new long[divisao.getQuantidadeClasses()];
+            for (double valor : valores) {
+                int classe = divisao.classificar(valor);
+                if (classe >= 0) {
+                    esperado[classe]++;
+                }
+            }
+            long total = 0;
+            for (int i = 0; i < divisao.getQuantidadeClasses(); i++) {
+                assertEquals(esperado[i], divisao.getQuantidade(i));
+                assertTrue(divisao.getLimiteInferior(i) < divisao.getLimiteSuperior(i));
+                total += divisao.getQuantidade(i);
+            }
+            assertEquals(valores.length - 100, total);
+            assertEquals(total, divisao.getTotal());
+        }
+        assertEquals(DivisaoClasses.classesSturges(99900), DivisaoClasses.calcular(valores, EstrategiaClasses.STURGES).getQuantidadeClasses());
+        DivisaoClasses quantis = DivisaoClasses.calcularQuantis(valores, 4);
+        assertEquals(4, quantis.getQuantidadeClasses());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(99900 / 4.0, quantis.getQuantidade(i), 2);
+        }
+        DivisaoClasses largura = DivisaoClasses.calcularLarguraFixa(valores, 2.5);
+        assertEquals(0, largura.getLimiteInferior(0) % 2.5, 0);
+        assertEquals(2.5, largura.getLimiteSuperior(0) - largura.getLimiteInferior(0), 1e-9);
+
+        try {
+            DivisaoClasses.calcularLarguraFixa(valores, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // A largura deve ser positiva.
+        }
+
+        // largura informada pelo framework
+        Roll larguraDois = estatisticaFramework.gerarRoll(dataSet, 0, 2.0);
+        assertEquals(Arrays.asList("0 ⊢ 2", "2 ⊢ 4", "4 ⊢⊣ 6"), larguraDois.getClasses());
+        assertEquals(Arrays.asList(1, 2, 2), larguraDois.getfi());
+
+        // amplitude grande: a largura padrão aumenta em potências de 10 e a largura informada é recusada
+        double[] amplos = {0, 5e8, 1e9, 123456.5};
+        DivisaoClasses ampla = DivisaoClasses.calcular(amplos, EstrategiaClasses.LARGURA_FIXA);
+        assertTrue(ampla.getQuantidadeClasses() <= DivisaoClasses.MAXIMO_CLASSES);
+        assertEquals(1e5, ampla.getLimiteSuperior(0) - ampla.getLimiteInferior(0), 0);
+        assertEquals(4, ampla.getTotal());
+        try {
+            DivisaoClasses.calcularLarguraFixa(amplos, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Classes demais para a amplitude dos valores.
+        }
+
+        // NaN e infinitos não entram nas porcentagens
+        Roll comInfinitos = new Roll(new double[] {1, 2, 3, Double.NaN, Double.POSITIVE_INFINITY},
+                DivisaoClasses.calcular(new double[] {1, 2, 3, Double.NaN, Double.POSITIVE_INFINITY}, EstrategiaClasses.STURGES));
+        assertEquals(3, comInfinitos.getfiFinal());
+        assertEquals(100.0, comInfinitos.getfrFinal(), 1e-9);
+        assertEquals(100.0, comInfinitos.getFr().get(comInfinitos.getQuantidadeClasses() - 1), 1e-9);
+    }
+
+    @Test
+    public void testeLeitorCSV() throws IOException {
+        String conteudo = "1.5;\"texto; com \"\"aspas\"\"\";-2e3\r\n"
+                + " 2 ;\"linha\nquebrada\";NA\r\n"
+                + "\"3\";b;0.25";
+        OpcoesCSV opcoes = new OpcoesCSV().setDelimitador(';').setTamanhoSegmento(8);
+        DataSet ds = new DataSet(criarArquivo(conteudo), opcoes);
+        assertEquals(3, ds.getAltura());
+        assertEquals(3, ds.getLargura());
+        assertEquals(6.5, estatisticaFramework.calcularMedia(ds, 0) * 3, 0.001);
+        assertEquals("texto; com \"aspas\"", ds.getColunaArmazenada(1).getTexto(0));
+        assertEquals("linha\nquebrada", ds.getColunaArmazenada(1).getTexto(1));
+        assertEquals(-2000.0, ds.getColunaNumerica(2).getValor(0), 0.001);
+        assertTrue(!ds.getColunaNumerica(2).isValido(1));
+        assertEquals(0.25, ds.getColunaNumerica(2).getValor(2), 0.0);
+    }
+
+    @Test
+    public void testeLeituraParalela() throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 0; i < 300000; i++) {
+            conteudo.append(i).append(',').append(i % 7 == 0 ? "NA" : String.valueOf(i * 0.5));
+            if (i % 1000 == 0) {
+                conteudo.append(",extra").append(i % 3);
+            }
+            conteudo.append('\n');
+        }
+        String arquivo = criarArquivo(conteudo.toString());
+
+        DataSet sequencial = new DataSet(arquivo);
+        DataSet paralelo = new DataSet(arquivo, new OpcoesCSV().setParalelismo(4));
+        assertEquals(sequencial.getAltura(), paralelo.getAltura());
+        assertEquals(sequencial.getLargura(), paralelo.getLargura());
+        assertEquals(sequencial.getDados(), paralelo.getDados());
+        assertEquals(estatisticaFramework.calcularMedia(sequencial, 1), estatisticaFramework.calcularMedia(paralelo, 1), 0.0);
+
+        // campos entre aspas com quebras de linha não são divididos entre as partes
+        conteudo.setLength(0);
+        for (int i = 0; i < 120000; i++) {
+            conteudo.append(i).append(",\"linha\num ").append(i).append("\",x\n");
+        }
+        arquivo = criarArquivo(conteudo.toString());
+        sequencial = new DataSet(arquivo);
+        paralelo = new DataSet(arquivo, new OpcoesCSV().setParalelismo(8));
+        assertEquals(120000, sequencial.getAltura());
+        assertEquals(120000, paralelo.getAltura());
+        assertEquals(sequencial.getDados(), paralelo.getDados());
+    }
+
+    @Test
+    public void testeCalcularStream() throws IOException {
+        ResultadoStream resultado = estatisticaFramework.calcularStream("teste.csv", new int[] {0, 1});
+        assertEquals(5, resultado.getLinhas());
+        assertEquals(5, resultado.getContagem(1));
+        assertEquals(3.0, resultado.getValor(0, Estatistica.MEDIA), 0.001);
+        assertEquals(2.5, resultado.getValor(0, Estatistica.VARIANCIA), 0.001);
+        assertEquals(5.0, resultado.getValor(0, Estatistica.MAX), 0.001);
+        assertEquals(3.0, resultado.getValor(1, Estatistica.MEDIANA), 0.001);
+        assertEquals(2.0, resultado.getValor(1, Estatistica.MODA), 0.001);
+
+        StringBuilder conteudo = new StringBuilder();
+        for (int i = 1; i <= 100001; i++) {
+            conteudo.append((i * 7919) % 100001).append(',').append(i % 10 == 0 ? 42 : i).append('\n');
+        }
+        resultado = estatisticaFramework.calcularStream(criarArquivo(conteudo.toString()), new int[] {0, 1}, Estatistica.MEDIANA, Estatistica.MODA);
+        assertEquals(50000, resultado.getValor(0, Estatistica.MEDIANA), 500);
+        assertEquals(42.0, resultado.getValor(1, Estatistica.MODA), 0.0);
+    }
+
+    @Test
+    public void testeEsbocoKLL() {
+        EsbocoKLL pequeno = estatisticaFramework.calcularEsboco(dataSet, 0);
+        assertEquals(estatisticaFramework.calcularMediana(dataSet, 0), pequeno.getMediana(), 0.0);
+        assertEquals(4.6, pequeno.getQuantil(0.9), 0.001);
+
+        int quantidade = 1000000;
+        Random random = new Random(7);
+        double[] valores = new double[quantidade];
+        EsbocoKLL completo = new EsbocoKLL();
+        EsbocoKLL[] partes = new EsbocoKLL[4];
+        for (int i = 0; i < partes.length; i++) {
+            partes[i] = new EsbocoKLL();
+        }
+        for (int i = 0; i < quantidade; i++) {
+            valores[i] = random.nextGaussian();
+            completo.adicionar(valores[i]);
+            partes[i % partes.length].adicionar(valores[i]);
+        }
+        EsbocoKLL combinado = partes[0];
+        for (int i = 1; i < partes.length; i++) {
+            combinado.combinar(partes[i]);
+        }
+        Arrays.sort(valores);
+
+        for (EsbocoKLL esboco : new EsbocoKLL[] {completo, combinado}) {
+            assertEquals(quantidade, esboco.getContagem());
+            assertTrue(esboco.getTamanho() < 2000);
+            assertEquals(valores[0], esboco.getMin(), 0.0);
+            assertEquals(valores[quantidade - 1], esboco.getMax(), 0.0);
+            for (double quantil : new double[] {0.01, 0.25, 0.5, 0.9, 0.99}) {
+                double estimativa = esboco.getQuantil(quantil);
+                int posicao = Arrays.binarySearch(valores, estimativa);
+                posicao = posicao < 0 ? -posicao - 1 : posicao;
+                assertEquals(quantil, (double) posicao / quantidade, 0.02);
+            }
+            double[] limites = esboco.getLimitesClasses(4);
+            assertEquals(5, limites.length);
+            long total = 0;
+            for (long quantidadeClasse : esboco.estimarQuantidades(limites)) {
+                assertEquals(quantidade / 4.0, quantidadeClasse, quantidade * 0.02);
+                total += quantidadeClasse;
+            }
+            assertEquals(quantidade, total);
+        }
+    }
+
+    private String criarArquivo(String conteudo) throws IOException {
+        File arquivo = File.createTempFile("teste", ".csv");
+        arquivo.deleteOnExit();
+        try (FileWriter fileWriter = new FileWriter(arquivo)) {
+            fileWriter.write(conteudo);
+        }
+        return arquivo.getPath();
+    }
+
+}